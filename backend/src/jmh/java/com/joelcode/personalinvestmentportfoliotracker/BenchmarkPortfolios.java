@@ -0,0 +1,78 @@
+package com.joelcode.personalinvestmentportfoliotracker;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Holding;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Stock;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic portfolios shared by the benchmarks: one account holding holdingCount stocks, with cent-precision
+ * prices between 1 and 500, whole-share quantities and realistic cost bases and gains.
+ */
+public final class BenchmarkPortfolios {
+
+    private static final String[] INDUSTRIES = {
+            "Technology", "Healthcare", "Financial Services", "Energy", "Consumer Cyclical", "Industrials", "Utilities"
+    };
+
+    private BenchmarkPortfolios() {}
+
+    public static Account account(Random random) {
+        Account account = new Account(uuid(random), "Benchmark account", cents(random, 100_000_000), null);
+        account.setUserId(uuid(random));
+        return account;
+    }
+
+    public static List<Holding> holdings(Account account, int holdingCount, Random random) {
+        List<Holding> holdings = new ArrayList<>(holdingCount);
+        LocalDateTime purchased = LocalDateTime.of(2020, 1, 2, 15, 30);
+        for (int i = 0; i < holdingCount; i++) {
+            Stock stock = new Stock(String.format("S%05d", i), "Company " + i, cents(random, 50_000), BigDecimal.ZERO);
+            stock.setStockId(uuid(random));
+            stock.setIndustry(INDUSTRIES[i % INDUSTRIES.length]);
+
+            BigDecimal quantity = BigDecimal.valueOf(1 + random.nextInt(1_000));
+            BigDecimal averageCost = cents(random, 50_000);
+            Holding holding = new Holding();
+            holding.setHoldingId(uuid(random));
+            holding.setAccount(account);
+            holding.setStock(stock);
+            holding.setQuantity(quantity);
+            holding.setAverageCostBasis(averageCost);
+            holding.setTotalCostBasis(averageCost.multiply(quantity));
+            holding.setRealizedGain(cents(random, 200_000).subtract(BigDecimal.valueOf(1_000)));
+            holding.setFirstPurchaseDate(purchased.plusDays(i % 1_000));
+            holdings.add(holding);
+        }
+        return holdings;
+    }
+
+    // One buy per holding, at its average cost
+    public static List<Transaction> transactions(Account account, List<Holding> holdings) {
+        List<Transaction> transactions = new ArrayList<>(holdings.size());
+        for (Holding holding : holdings) {
+            Transaction transaction = new Transaction(holding.getQuantity(), holding.getAverageCostBasis(),
+                    BigDecimal.ZERO, holding.getStock(), account);
+            transaction.setTransactionId(UUID.nameUUIDFromBytes(holding.getHoldingId().toString().getBytes()));
+            transaction.setTransactionType(Transaction.TransactionType.BUY);
+            transaction.setCreatedAt(holding.getFirstPurchaseDate());
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    private static BigDecimal cents(Random random, int maxCents) {
+        return BigDecimal.valueOf(100 + random.nextInt(maxCents), 2);
+    }
+
+    private static UUID uuid(Random random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+}
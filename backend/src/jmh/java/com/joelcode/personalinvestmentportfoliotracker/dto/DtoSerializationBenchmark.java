@@ -0,0 +1,116 @@
+package com.joelcode.personalinvestmentportfoliotracker.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.joelcode.personalinvestmentportfoliotracker.BenchmarkPortfolios;
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubCandleDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.portfolio.AllocationBreakdownDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.transaction.TransactionDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.utility.DashboardDTO;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Holding;
+import com.joelcode.personalinvestmentportfoliotracker.services.mapping.PortfolioMapper;
+import com.joelcode.personalinvestmentportfoliotracker.services.mapping.TransactionMapper;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.AccountValuation;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PositionValuation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the two largest response bodies.
+ *
+ * dashboard writes a DashboardDTO for an account of size holdings: the overview with every holding, the
+ * performance totals, one allocation per holding and the 10 most recent transactions. candles writes a
+ * FinnhubCandleDTO of size daily candles. The ObjectMapper is configured like Spring Boot's (Java time support,
+ * ISO dates), and both write to a byte[] as the message converters do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private DashboardDTO dashboard;
+    private FinnhubCandleDTO candles;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        Random random = new Random(42);
+        Account account = BenchmarkPortfolios.account(random);
+        List<Holding> holdings = BenchmarkPortfolios.holdings(account, size, random);
+        List<PositionValuation> positions = holdings.stream()
+                .map(h -> PositionValuation.from(h, h.getStock().getStockValue()))
+                .toList();
+        AccountValuation valuation = AccountValuation.of(account.getAccountId(), account.getUserid(),
+                account.getAccountBalance(), BigDecimal.ZERO, positions);
+
+        List<AllocationBreakdownDTO> allocations = new ArrayList<>(size);
+        for (PositionValuation position : positions) {
+            allocations.add(new AllocationBreakdownDTO(position.getStockCode(),
+                    position.getMarketValue().multiply(BigDecimal.valueOf(100))
+                            .divide(valuation.getHoldingsValue(), 2, RoundingMode.HALF_UP),
+                    position.getMarketValue()));
+        }
+        List<TransactionDTO> recentTransactions = BenchmarkPortfolios.transactions(account, holdings).stream()
+                .limit(10)
+                .map(TransactionMapper::toDTO)
+                .toList();
+        dashboard = new DashboardDTO(PortfolioMapper.toOverviewDTO(valuation), PortfolioMapper.toPerformanceDTO(valuation),
+                allocations, recentTransactions);
+
+        candles = candles(size, random);
+    }
+
+    @Benchmark
+    public byte[] dashboard() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dashboard);
+    }
+
+    @Benchmark
+    public byte[] candles() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(candles);
+    }
+
+    // A random walk of daily candles, prices in cents
+    private static FinnhubCandleDTO candles(int count, Random random) {
+        List<BigDecimal> open = new ArrayList<>(count);
+        List<BigDecimal> high = new ArrayList<>(count);
+        List<BigDecimal> low = new ArrayList<>(count);
+        List<BigDecimal> close = new ArrayList<>(count);
+        List<Long> timestamps = new ArrayList<>(count);
+        List<Long> volumes = new ArrayList<>(count);
+
+        long cents = 15_000;
+        long day = 1_577_836_800L;
+        for (int i = 0; i < count; i++) {
+            long openCents = cents;
+            long closeCents = Math.max(100, openCents + random.nextInt(601) - 300);
+            open.add(BigDecimal.valueOf(openCents, 2));
+            close.add(BigDecimal.valueOf(closeCents, 2));
+            high.add(BigDecimal.valueOf(Math.max(openCents, closeCents) + random.nextInt(200), 2));
+            low.add(BigDecimal.valueOf(Math.max(1, Math.min(openCents, closeCents) - random.nextInt(200)), 2));
+            timestamps.add(day + i * 86_400L);
+            volumes.add(1_000_000L + random.nextInt(50_000_000));
+            cents = closeCents;
+        }
+        return new FinnhubCandleDTO(close, high, low, open, timestamps, volumes, "ok");
+    }
+}
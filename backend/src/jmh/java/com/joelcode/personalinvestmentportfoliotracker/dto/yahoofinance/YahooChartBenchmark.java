@@ -0,0 +1,120 @@
+package com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubCandleDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Yahoo chart response to candles response body, the way YahooFinanceApiClientImpl used to do it against the
+ * streaming path it uses now.
+ *
+ * The input is a chart response of size one-minute bars as Yahoo sends it (float prices, meta, adjclose);
+ * 500000 bars is about five years of regular trading minutes. dtoParse and seriesParse stop after reading, dtoPath
+ * and seriesPath also write the response as the controller does. Run with -prof gc to compare the bytes allocated
+ * per operation; the parsed DTOs hold a BigDecimal or Long per value where CandleSeries holds 48 bytes per bar.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class YahooChartBenchmark {
+
+    @Param({"1000", "100000", "500000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader chartReader;
+    private byte[] chart;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        chartReader = objectMapper.copy()
+                .registerModule(new SimpleModule().addDeserializer(CandleSeries.class, new YahooChartDeserializer()))
+                .readerFor(CandleSeries.class);
+        chart = objectMapper.writeValueAsBytes(chart(size, new Random(42)));
+    }
+
+    @Benchmark
+    public YahooChartResponse dtoParse() throws IOException {
+        return objectMapper.readValue(chart, YahooChartResponse.class);
+    }
+
+    @Benchmark
+    public CandleSeries seriesParse() throws IOException {
+        return chartReader.readValue(chart);
+    }
+
+    @Benchmark
+    public byte[] dtoPath() throws IOException {
+        YahooChartResponse response = objectMapper.readValue(chart, YahooChartResponse.class);
+        return objectMapper.writeValueAsBytes(toCandles(response.getChart().getResult().get(0)));
+    }
+
+    @Benchmark
+    public byte[] seriesPath() throws IOException {
+        CandleSeries series = chartReader.readValue(chart);
+        return objectMapper.writeValueAsBytes(series);
+    }
+
+    // The conversion YahooFinanceApiClientImpl did before reading into CandleSeries
+    private static FinnhubCandleDTO toCandles(YahooChartResult result) {
+        YahooQuote quote = result.getIndicators().getQuote().get(0);
+        return new FinnhubCandleDTO(quote.getClose(), quote.getHigh(), quote.getLow(), quote.getOpen(),
+                result.getTimestamp(), quote.getVolume(), "ok");
+    }
+
+    // A random walk of one-minute bars with Yahoo's float noise in the prices
+    private static Map<String, Object> chart(int count, Random random) {
+        List<Long> timestamps = new ArrayList<>(count);
+        List<Double> open = new ArrayList<>(count);
+        List<Double> high = new ArrayList<>(count);
+        List<Double> low = new ArrayList<>(count);
+        List<Double> close = new ArrayList<>(count);
+        List<Long> volumes = new ArrayList<>(count);
+
+        double price = 150;
+        long minute = 1_577_975_400L;
+        for (int i = 0; i < count; i++) {
+            double openPrice = price;
+            double closePrice = Math.max(1, openPrice + (random.nextInt(41) - 20) / 100.0);
+            timestamps.add(minute + i * 60L);
+            open.add((double) (float) openPrice);
+            close.add((double) (float) closePrice);
+            high.add((double) (float) (Math.max(openPrice, closePrice) + random.nextInt(10) / 100.0));
+            low.add((double) (float) (Math.min(openPrice, closePrice) - random.nextInt(10) / 100.0));
+            volumes.add(10_000L + random.nextInt(500_000));
+            price = closePrice;
+        }
+
+        Map<String, Object> quote = new HashMap<>();
+        quote.put("open", open);
+        quote.put("high", high);
+        quote.put("low", low);
+        quote.put("close", close);
+        quote.put("volume", volumes);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("meta", Map.of("symbol", "BENCH", "currency", "USD", "regularMarketPrice", BigDecimal.valueOf(price)));
+        result.put("timestamp", timestamps);
+        result.put("indicators", Map.of("quote", List.of(quote), "adjclose", List.of(Map.of("adjclose", close))));
+
+        Map<String, Object> chart = new HashMap<>();
+        chart.put("result", List.of(result));
+        chart.put("error", null);
+        return Map.of("chart", chart);
+    }
+}
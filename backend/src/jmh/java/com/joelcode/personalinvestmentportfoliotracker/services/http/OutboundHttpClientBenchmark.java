@@ -0,0 +1,93 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joelcode.personalinvestmentportfoliotracker.config.OutboundHttpClientConfig;
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubQuoteDTO;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request latency of a Finnhub-sized quote call against a local stub server.
+ *
+ * newConnectionPerRequest is the old behaviour: a RestTemplate that opens (and closes) a connection for every
+ * call. pooledClient goes through OutboundHttpClient and reuses its keep-alive connection. Sample time mode
+ * reports the p50/p99 of both. The stub is plain HTTP on loopback, where opening a connection is almost free, so
+ * this mostly measures the client overhead; against the real providers every new connection also pays a network
+ * round trip and a TLS handshake, which is what the pool saves. Run with -t 4 to see contention on the host slots.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutboundHttpClientBenchmark {
+
+    private static final byte[] QUOTE_JSON = ("{\"c\":155.5,\"h\":157.0,\"l\":150.0,\"o\":151.0,\"pc\":150.5,"
+            + "\"t\":1700000000,\"d\":5.0,\"dp\":3.32}").getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String quoteUrl;
+
+    private RestTemplate restTemplate;
+    private HttpEntity<Void> closeConnection;
+    private OutboundHttpClient outboundHttpClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // The stub writes headers and body separately; without this, Nagle plus delayed ACKs add ~40ms to every
+        // response on a kept-alive connection, which is a stub artefact rather than anything the client does
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        server.setExecutor(serverExecutor);
+        server.createContext("/quote", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, QUOTE_JSON.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(QUOTE_JSON);
+            }
+        });
+        server.start();
+        quoteUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/quote?symbol=AAPL";
+
+        restTemplate = new RestTemplate(new SimpleClientHttpRequestFactory());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setConnection("close");
+        closeConnection = new HttpEntity<>(headers);
+
+        outboundHttpClient = new OutboundHttpClient(
+                new OutboundHttpClientConfig().pooledHttpClient(Duration.ofSeconds(5)),
+                new ObjectMapper(), Duration.ofSeconds(5), 16);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public FinnhubQuoteDTO newConnectionPerRequest() {
+        return restTemplate.exchange(quoteUrl, HttpMethod.GET, closeConnection, FinnhubQuoteDTO.class).getBody();
+    }
+
+    @Benchmark
+    public FinnhubQuoteDTO pooledClient() {
+        return outboundHttpClient.get(quoteUrl, FinnhubQuoteDTO.class);
+    }
+}
@@ -0,0 +1,71 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.mapping;
+
+import com.joelcode.personalinvestmentportfoliotracker.BenchmarkPortfolios;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Holding;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Transaction;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PositionValuation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping for a whole account of holdingCount holdings, as done for every holdings, overview and
+ * transaction listing.
+ *
+ * holdingFromEntity maps Holding entities at their stock's price (HoldingMapper.toDTO(Holding, BigDecimal)),
+ * holdingFromPosition maps the valuation engine's positions instead, and transaction maps one buy per holding.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int holdingCount;
+
+    private UUID accountId;
+    private List<Holding> holdings;
+    private List<PositionValuation> positions;
+    private List<Transaction> transactions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        Account account = BenchmarkPortfolios.account(random);
+        accountId = account.getAccountId();
+        holdings = BenchmarkPortfolios.holdings(account, holdingCount, random);
+        positions = holdings.stream()
+                .map(h -> PositionValuation.from(h, h.getStock().getStockValue()))
+                .toList();
+        transactions = BenchmarkPortfolios.transactions(account, holdings);
+    }
+
+    @Benchmark
+    public void holdingFromEntity(Blackhole blackhole) {
+        for (Holding holding : holdings) {
+            blackhole.consume(HoldingMapper.toDTO(holding, holding.getStock().getStockValue()));
+        }
+    }
+
+    @Benchmark
+    public void holdingFromPosition(Blackhole blackhole) {
+        for (PositionValuation position : positions) {
+            blackhole.consume(HoldingMapper.toDTO(accountId, position));
+        }
+    }
+
+    @Benchmark
+    public void transaction(Blackhole blackhole) {
+        for (Transaction transaction : transactions) {
+            blackhole.consume(TransactionMapper.toDTO(transaction));
+        }
+    }
+}
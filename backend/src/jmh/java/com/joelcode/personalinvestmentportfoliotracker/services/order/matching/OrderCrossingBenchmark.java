@@ -0,0 +1,95 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.order.matching;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.Order;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tick cost of the limit order crossing check that LimitOrderScheduler's reconciliation and the price tick
+ * path run, for one stock with orderCount pending orders.
+ *
+ * BUY_LIMIT orders rest below 100 and SELL_LIMIT orders above it. quietTick moves the price inside the gap so
+ * nothing crosses (the common case); firingTick crosses the highest buys and puts them straight back so the book
+ * stays the same size. linearScan is the check without the book: RestingOrder.crosses on every pending order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCrossingBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int orderCount;
+
+    private OrderBook book;
+    private List<RestingOrder> orders;
+    private BigDecimal[] quietPrices;
+    private BigDecimal firingPrice;
+    private int tick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        UUID accountId = UUID.randomUUID();
+        UUID stockId = UUID.randomUUID();
+        book = new OrderBook();
+        orders = new ArrayList<>(orderCount);
+
+        for (int i = 0; i < orderCount; i++) {
+            boolean buy = i % 2 == 0;
+            // Cent-precision limits, strictly below 100 for buys and strictly above 100 for sells
+            long cents = 1 + random.nextInt(9_999);
+            BigDecimal limit = buy
+                    ? BigDecimal.valueOf(10_000 - cents, 2)
+                    : BigDecimal.valueOf(10_000 + cents, 2);
+            RestingOrder order = new RestingOrder(UUID.randomUUID(), accountId, stockId, "BENCH",
+                    buy ? Order.OrderType.BUY_LIMIT : Order.OrderType.SELL_LIMIT, BigDecimal.TEN, limit);
+            book.add(order);
+            orders.add(order);
+        }
+
+        quietPrices = new BigDecimal[]{
+                new BigDecimal("100.00"), new BigDecimal("100.005"), new BigDecimal("99.995")
+        };
+        // Crosses roughly orderCount / 20_000 buys, and at least the highest one
+        firingPrice = orders.stream()
+                .filter(o -> o.orderType() == Order.OrderType.BUY_LIMIT)
+                .map(RestingOrder::limitPrice)
+                .max(BigDecimal::compareTo)
+                .map(highest -> highest.min(new BigDecimal("99.95")))
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public void quietTick(Blackhole blackhole) {
+        blackhole.consume(book.takeCrossing(quietPrices[tick++ % quietPrices.length]));
+    }
+
+    @Benchmark
+    public void firingTick(Blackhole blackhole) {
+        List<RestingOrder> crossing = book.takeCrossing(firingPrice);
+        for (RestingOrder order : crossing) {
+            book.add(order);
+        }
+        blackhole.consume(crossing);
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        BigDecimal price = quietPrices[tick++ % quietPrices.length];
+        for (RestingOrder order : orders) {
+            if (order.crosses(price)) {
+                blackhole.consume(order);
+            }
+        }
+    }
+}
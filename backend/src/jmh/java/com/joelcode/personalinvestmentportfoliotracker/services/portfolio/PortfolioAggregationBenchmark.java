@@ -0,0 +1,114 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.portfolio;
+
+import com.joelcode.personalinvestmentportfoliotracker.BenchmarkPortfolios;
+import com.joelcode.personalinvestmentportfoliotracker.dto.portfolio.AllocationBreakdownDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.portfolio.PortfolioPerformanceDTO;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Holding;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.HoldingRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.account.AccountValidationService;
+import com.joelcode.personalinvestmentportfoliotracker.services.dividendpayment.DividendPaymentService;
+import com.joelcode.personalinvestmentportfoliotracker.services.holding.HoldingCalculationServiceImpl;
+import com.joelcode.personalinvestmentportfoliotracker.services.mapping.PortfolioMapper;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.allocation.AllocationBreakdownServiceImpl;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.performance.PortfolioPerformanceServiceImpl;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.AccountValuation;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PortfolioValuationServiceImpl;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PositionValuation;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PriceTickEvent;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceHistoryService;
+import com.joelcode.personalinvestmentportfoliotracker.services.stock.StockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * BigDecimal aggregation behind the performance and allocation endpoints, for one account of holdingCount holdings.
+ *
+ * performanceFromScratch totals every position the way the valuation engine does when it loads or reconciles an
+ * account. performanceAfterPriceTick is the steady state of getPerformanceForAccount: one price tick moves the
+ * running totals, then the next read snapshots the positions and maps them. allocation runs
+ * getAllocationForAccount, which values every holding twice. Repositories are stub-only mocks that just return the
+ * prepared holdings, so no database time is included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PortfolioAggregationBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int holdingCount;
+
+    private Account account;
+    private List<PositionValuation> positions;
+    private PortfolioValuationServiceImpl valuationService;
+    private PortfolioPerformanceServiceImpl performanceService;
+    private AllocationBreakdownServiceImpl allocationService;
+    private UUID[] stockIds;
+    private BigDecimal[] tickPrices;
+    private int tick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        account = BenchmarkPortfolios.account(random);
+        List<Holding> holdings = BenchmarkPortfolios.holdings(account, holdingCount, random);
+        positions = holdings.stream()
+                .map(h -> PositionValuation.from(h, h.getStock().getStockValue()))
+                .toList();
+
+        AccountValidationService accountValidationService = mock(AccountValidationService.class, withSettings().stubOnly());
+        HoldingRepository holdingRepository = mock(HoldingRepository.class, withSettings().stubOnly());
+        PriceHistoryService priceHistoryService = mock(PriceHistoryService.class, withSettings().stubOnly());
+        DividendPaymentService dividendPaymentService = mock(DividendPaymentService.class, withSettings().stubOnly());
+        when(accountValidationService.validateAccountExistsById(account.getAccountId())).thenReturn(account);
+        when(holdingRepository.findByAccount_AccountId(account.getAccountId())).thenReturn(holdings);
+        when(priceHistoryService.getCurrentPrices(anyCollection())).thenReturn(Map.of());
+        when(dividendPaymentService.getDividendPaymentsForAccount(account.getAccountId())).thenReturn(List.of());
+
+        valuationService = new PortfolioValuationServiceImpl(accountValidationService, holdingRepository,
+                priceHistoryService, dividendPaymentService, mock(StockService.class, withSettings().stubOnly()),
+                new SimpleMeterRegistry());
+        // Only the valuation engine is used by getPerformanceForAccount
+        performanceService = new PortfolioPerformanceServiceImpl(null, valuationService, null, null, null, null,
+                null, null, null, null);
+        allocationService = new AllocationBreakdownServiceImpl(new HoldingCalculationServiceImpl(null, null, null),
+                holdingRepository, null);
+
+        // Load the account so ticks reach it
+        valuationService.getAccountValuation(account.getAccountId());
+        stockIds = holdings.stream().map(h -> h.getStock().getStockId()).toArray(UUID[]::new);
+        tickPrices = new BigDecimal[]{new BigDecimal("101.25"), new BigDecimal("99.80")};
+    }
+
+    @Benchmark
+    public PortfolioPerformanceDTO performanceFromScratch() {
+        return PortfolioMapper.toPerformanceDTO(AccountValuation.of(account.getAccountId(), account.getUserid(),
+                account.getAccountBalance(), BigDecimal.ZERO, positions));
+    }
+
+    @Benchmark
+    public PortfolioPerformanceDTO performanceAfterPriceTick() {
+        int next = tick++;
+        valuationService.onPriceTick(new PriceTickEvent(stockIds[next % stockIds.length],
+                tickPrices[(next / stockIds.length) % tickPrices.length]));
+        return performanceService.getPerformanceForAccount(account.getAccountId());
+    }
+
+    @Benchmark
+    public List<AllocationBreakdownDTO> allocation() {
+        return allocationService.getAllocationForAccount(account.getAccountId());
+    }
+}
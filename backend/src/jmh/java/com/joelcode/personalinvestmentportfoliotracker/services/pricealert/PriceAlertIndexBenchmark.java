@@ -0,0 +1,72 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricealert;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tick cost of the price alert threshold index.
+ *
+ * One stock carries every alert: ABOVE targets between 100 and 200, BELOW targets between 0 and 100.
+ * quietTick moves the price inside the gap so nothing fires (the common case); firingTick crosses the
+ * lowest ABOVE targets and puts the fired alerts straight back so the index stays the same size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceAlertIndexBenchmark {
+
+    @Param({"100000", "500000"})
+    private int alertCount;
+
+    private PriceAlertIndex index;
+    private BigDecimal[] quietPrices;
+    private BigDecimal firingPrice;
+    private int tick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        UUID stockId = UUID.randomUUID();
+        index = new PriceAlertIndex();
+
+        for (int i = 0; i < alertCount; i++) {
+            boolean above = i % 2 == 0;
+            // Cent-precision targets, strictly above 100 for ABOVE and strictly below 100 for BELOW
+            long cents = 1 + random.nextInt(9_999);
+            BigDecimal target = above
+                    ? BigDecimal.valueOf(10_000 + cents, 2)
+                    : BigDecimal.valueOf(10_000 - cents, 2);
+            index.add(new IndexedAlert(UUID.randomUUID(), UUID.randomUUID(), stockId, "BENCH",
+                    above ? "ABOVE" : "BELOW", target));
+        }
+
+        quietPrices = new BigDecimal[]{
+                new BigDecimal("100.00"), new BigDecimal("100.005"), new BigDecimal("99.995")
+        };
+        // Crosses roughly alertCount / 20_000 ABOVE alerts
+        firingPrice = new BigDecimal("100.05");
+    }
+
+    @Benchmark
+    public void quietTick(Blackhole blackhole) {
+        blackhole.consume(index.takeCrossed(quietPrices[tick++ % quietPrices.length]));
+    }
+
+    @Benchmark
+    public void firingTick(Blackhole blackhole) {
+        List<IndexedAlert> crossed = index.takeCrossed(firingPrice);
+        for (IndexedAlert alert : crossed) {
+            index.add(alert);
+        }
+        blackhole.consume(crossed);
+    }
+}
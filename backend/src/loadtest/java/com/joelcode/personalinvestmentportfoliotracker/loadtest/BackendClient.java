@@ -0,0 +1,93 @@
+package com.joelcode.personalinvestmentportfoliotracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * JSON calls to the backend under test, each timed into the LatencyRecorder under its endpoint name.
+ *
+ * A call that fails, either with a status of 400 or above or without a response, is recorded as an error and
+ * returns null, so a virtual user can carry on with its next scenario.
+ */
+public class BackendClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+    private final Duration timeout;
+
+    public BackendClient(HttpClient httpClient, String baseUrl, LatencyRecorder recorder, Duration timeout) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+        this.timeout = timeout;
+    }
+
+    public JsonNode get(String endpoint, String path, String token) {
+        return send(endpoint, "GET", path, null, token);
+    }
+
+    public JsonNode post(String endpoint, String path, Object body, String token) {
+        return send(endpoint, "POST", path, body, token);
+    }
+
+    public JsonNode delete(String endpoint, String path, String token) {
+        return send(endpoint, "DELETE", path, null, token);
+    }
+
+    private JsonNode send(String endpoint, String method, String path, Object body, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        try {
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize request body for " + endpoint, e);
+        }
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            boolean failed = response.statusCode() >= 400;
+            recorder.record(endpoint, System.nanoTime() - start, failed);
+            if (failed) {
+                return null;
+            }
+            return parse(response.body());
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, true);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // Some endpoints answer with plain text; callers only need JSON bodies
+    private JsonNode parse(byte[] body) {
+        if (body.length == 0) {
+            return objectMapper.nullNode();
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return objectMapper.nullNode();
+        }
+    }
+}
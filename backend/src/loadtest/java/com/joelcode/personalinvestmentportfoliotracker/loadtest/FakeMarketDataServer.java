@@ -0,0 +1,254 @@
+package com.joelcode.personalinvestmentportfoliotracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Finnhub and Yahoo Finance endpoints the backend calls.
+ *
+ * Finnhub is served under /finnhub and Yahoo under /yahoo, with response bodies shaped like the real ones. Every
+ * response waits latency plus a uniformly random jitter, and errorRate of them fail with a 503. Quotes follow one
+ * PriceWalk per symbol, so prices move between calls the way live ones do.
+ */
+public class FakeMarketDataServer implements AutoCloseable {
+
+    private static final String[] INDUSTRIES = {
+            "Technology", "Healthcare", "Financial Services", "Energy", "Consumer Cyclical", "Industrials", "Utilities"
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PriceWalk prices;
+    private final Duration latency;
+    private final Duration jitter;
+    private final double errorRate;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public FakeMarketDataServer(PriceWalk prices, Duration latency, Duration jitter, double errorRate) throws IOException {
+        this.prices = prices;
+        this.latency = latency;
+        this.jitter = jitter;
+        this.errorRate = errorRate;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fake-market-data-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+
+        route("/finnhub/quote", query -> quote(query.get("symbol")));
+        route("/finnhub/stock/profile2", query -> profile(query.get("symbol")));
+        route("/finnhub/stock/metric", query -> metrics(query.get("symbol")));
+        route("/finnhub/stock/candle", query -> finnhubCandles(query.get("symbol"),
+                Long.parseLong(query.getOrDefault("from", "0")), Long.parseLong(query.getOrDefault("to", "0"))));
+        route("/finnhub/search", query -> Map.of("count", 0, "result", List.of()));
+        route("/finnhub/calendar/earnings", query -> Map.of("earningsCalendar", List.of()));
+        route("/yahoo/v8/finance/chart/", query -> yahooChart(query.get("path"),
+                Long.parseLong(query.getOrDefault("period1", "0")), Long.parseLong(query.getOrDefault("period2", "0"))));
+        route("/yahoo/v1/finance/search", query -> Map.of("quotes", List.of(), "news", List.of()));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public String getFinnhubBaseUrl() {return baseUrl() + "/finnhub";}
+
+    public String getYahooBaseUrl() {return baseUrl() + "/yahoo";}
+
+    public long getServed() {return served.get();}
+
+    public long getFailed() {return failed.get();}
+
+
+    // Responses
+
+    private Map<String, Object> quote(String symbol) {
+        PriceWalk.Tick tick = prices.next(symbol);
+        Map<String, Object> quote = new LinkedHashMap<>();
+        quote.put("c", tick.price());
+        quote.put("h", tick.high());
+        quote.put("l", tick.low());
+        quote.put("o", tick.open());
+        quote.put("pc", tick.open());
+        quote.put("t", Instant.now().getEpochSecond());
+        quote.put("d", tick.price().subtract(tick.open()));
+        quote.put("dp", tick.changePercent());
+        return quote;
+    }
+
+    private Map<String, Object> profile(String symbol) {
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("ticker", symbol);
+        profile.put("name", symbol + " Inc");
+        profile.put("finnhubIndustry", INDUSTRIES[Math.floorMod(symbol.hashCode(), INDUSTRIES.length)]);
+        profile.put("marketCapitalization", 1_000 + Math.floorMod(symbol.hashCode(), 500_000));
+        profile.put("country", "US");
+        profile.put("currency", "USD");
+        return profile;
+    }
+
+    private Map<String, Object> metrics(String symbol) {
+        PriceWalk.Tick tick = prices.next(symbol);
+        Map<String, Object> metric = new LinkedHashMap<>();
+        metric.put("52WeekHigh", tick.high());
+        metric.put("52WeekLow", tick.low());
+        metric.put("peExclExtraTTM", 21.5);
+        metric.put("dividendYieldIndicatedAnnual", 1.2);
+        return Map.of("metric", metric, "symbol", symbol);
+    }
+
+    private Map<String, Object> finnhubCandles(String symbol, long from, long to) {
+        Map<String, List<Object>> candles = candles(symbol, from, to);
+        Map<String, Object> body = new LinkedHashMap<>(Map.of(
+                "o", candles.get("open"), "h", candles.get("high"), "l", candles.get("low"),
+                "c", candles.get("close"), "v", candles.get("volume"), "t", candles.get("timestamp")));
+        body.put("s", "ok");
+        return body;
+    }
+
+    private Map<String, Object> yahooChart(String symbol, long from, long to) {
+        Map<String, List<Object>> candles = candles(symbol, from, to);
+        Map<String, Object> quote = Map.of("open", candles.get("open"), "high", candles.get("high"),
+                "low", candles.get("low"), "close", candles.get("close"), "volume", candles.get("volume"));
+        Map<String, Object> result = Map.of(
+                "meta", Map.of("symbol", symbol, "currency", "USD"),
+                "timestamp", candles.get("timestamp"),
+                "indicators", Map.of("quote", List.of(quote)));
+        Map<String, Object> chart = new HashMap<>();
+        chart.put("result", List.of(result));
+        chart.put("error", null);
+        return Map.of("chart", chart);
+    }
+
+    // Daily candles between from and to (at most a year of them), walking back from the current price
+    private Map<String, List<Object>> candles(String symbol, long from, long to) {
+        long end = to > 0 ? to : Instant.now().getEpochSecond();
+        int days = (int) Math.max(1, Math.min(365, (end - Math.max(0, from)) / 86_400));
+        double close = prices.next(symbol).price().doubleValue();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        Map<String, List<Object>> columns = new LinkedHashMap<>();
+        for (String column : List.of("open", "high", "low", "close", "volume", "timestamp")) {
+            columns.put(column, new ArrayList<>(days));
+        }
+        for (int i = days - 1; i >= 0; i--) {
+            double open = close * (1 + random.nextGaussian() * 0.01);
+            columns.get("open").add(0, round(open));
+            columns.get("close").add(0, round(close));
+            columns.get("high").add(0, round(Math.max(open, close) * 1.005));
+            columns.get("low").add(0, round(Math.min(open, close) * 0.995));
+            columns.get("volume").add(0, 1_000_000L + random.nextInt(10_000_000));
+            columns.get("timestamp").add(0, end - (long) (days - 1 - i) * 86_400);
+            close = open;
+        }
+        return columns;
+    }
+
+
+    // Helpers
+
+    private interface Responder {
+        Object respond(Map<String, String> query) throws IOException;
+    }
+
+    private void route(String path, Responder responder) {
+        server.createContext(path, exchange -> {
+            try {
+                pause();
+                served.incrementAndGet();
+                if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                    failed.incrementAndGet();
+                    send(exchange, 503, "{\"error\":\"injected failure\"}".getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+
+                Map<String, String> query = query(exchange);
+                // Path parameters (the Yahoo chart symbol) follow the context path
+                query.put("path", exchange.getRequestURI().getPath().substring(path.length()));
+                send(exchange, 200, objectMapper.writeValueAsBytes(responder.respond(query)));
+            } catch (RuntimeException e) {
+                send(exchange, 500, "{\"error\":\"stub failure\"}".getBytes(StandardCharsets.UTF_8));
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    private void pause() {
+        long nanos = latency.toNanos();
+        if (!jitter.isZero()) {
+            nanos += ThreadLocalRandom.current().nextLong(jitter.toNanos() + 1);
+        }
+        if (nanos > 0) {
+            try {
+                Thread.sleep(Duration.ofNanos(nanos).toMillis(), (int) (nanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static double round(double price) {
+        return Math.round(price * 100) / 100.0;
+    }
+}
@@ -0,0 +1,78 @@
+package com.joelcode.personalinvestmentportfoliotracker.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency of every measured request, kept per endpoint so exact percentiles can be read at the end of the run.
+ *
+ * Endpoints are named by method and route template ("GET /api/dashboard/account/{accountId}"), so all users'
+ * requests to one route land together. Requests are only kept while recording is on, which leaves warmup out.
+ */
+public class LatencyRecorder {
+
+    public record EndpointStats(String endpoint, long requests, long errors, double throughputPerSecond,
+                                double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+
+        public double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    public void record(String endpoint, long durationNanos, boolean failed) {
+        if (recording) {
+            samples.computeIfAbsent(endpoint, name -> new Samples()).add(durationNanos, failed);
+        }
+    }
+
+    // Per endpoint results over a measured window of the given length, sorted by endpoint
+    public Map<String, EndpointStats> summarize(double windowSeconds) {
+        Map<String, EndpointStats> stats = new TreeMap<>();
+        samples.forEach((endpoint, endpointSamples) -> stats.put(endpoint, endpointSamples.summarize(endpoint, windowSeconds)));
+        return stats;
+    }
+
+
+    private static final class Samples {
+
+        private long[] durations = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long durationNanos, boolean failed) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = durationNanos;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        synchronized EndpointStats summarize(String endpoint, double windowSeconds) {
+            long[] sorted = Arrays.copyOf(durations, count);
+            Arrays.sort(sorted);
+            return new EndpointStats(endpoint, count, errors, count / windowSeconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        // Nearest-rank percentile, in milliseconds
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+}
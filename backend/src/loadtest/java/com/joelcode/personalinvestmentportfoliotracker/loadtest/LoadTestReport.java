@@ -0,0 +1,87 @@
+package com.joelcode.personalinvestmentportfoliotracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.joelcode.personalinvestmentportfoliotracker.loadtest.LatencyRecorder.EndpointStats;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of a load test run: a table for the console and a JSON file that later runs can use as their baseline.
+ *
+ * Against a baseline, an endpoint regresses when its p95 or p99 latency grows, or its throughput drops, by more
+ * than the tolerance. Any endpoint failing more than the allowed share of its requests fails the run on its own.
+ */
+public record LoadTestReport(Instant finishedAt, int users, String database, double measuredSeconds,
+                             Map<String, EndpointStats> endpoints) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    public void print(PrintStream out) {
+        out.printf("%nLoad test: %d users for %.0fs against %s%n", users, measuredSeconds, database);
+        out.printf("%-52s %9s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        endpoints.values().forEach(stats -> out.printf("%-52s %9d %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                stats.endpoint(), stats.requests(), stats.errors(), stats.throughputPerSecond(),
+                stats.p50Millis(), stats.p95Millis(), stats.p99Millis(), stats.maxMillis()));
+    }
+
+    public void write(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        MAPPER.writeValue(path.toFile(), this);
+    }
+
+    public static LoadTestReport read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), LoadTestReport.class);
+    }
+
+    // Reasons this run fails, empty when it passes
+    public List<String> failures(LoadTestReport baseline, double tolerance, double maxErrorRate) {
+        List<String> failures = new ArrayList<>();
+        endpoints.values().forEach(stats -> {
+            if (stats.errorRate() > maxErrorRate) {
+                failures.add(String.format("%s failed %.1f%% of requests (allowed %.1f%%)",
+                        stats.endpoint(), stats.errorRate() * 100, maxErrorRate * 100));
+            }
+        });
+        if (baseline == null) {
+            return failures;
+        }
+
+        baseline.endpoints().forEach((endpoint, expected) -> {
+            EndpointStats actual = endpoints.get(endpoint);
+            if (actual == null) {
+                failures.add(endpoint + " received no traffic, the baseline has " + expected.requests() + " requests");
+                return;
+            }
+            checkLatency(failures, endpoint, "p95", actual.p95Millis(), expected.p95Millis(), tolerance);
+            checkLatency(failures, endpoint, "p99", actual.p99Millis(), expected.p99Millis(), tolerance);
+            if (actual.throughputPerSecond() < expected.throughputPerSecond() * (1 - tolerance)) {
+                failures.add(String.format("%s throughput fell to %.1f req/s from a baseline of %.1f req/s",
+                        endpoint, actual.throughputPerSecond(), expected.throughputPerSecond()));
+            }
+        });
+        return failures;
+    }
+
+    private static void checkLatency(List<String> failures, String endpoint, String percentile,
+                                     double actual, double expected, double tolerance) {
+        if (actual > expected * (1 + tolerance)) {
+            failures.add(String.format("%s %s grew to %.1f ms from a baseline of %.1f ms",
+                    endpoint, percentile, actual, expected));
+        }
+    }
+}
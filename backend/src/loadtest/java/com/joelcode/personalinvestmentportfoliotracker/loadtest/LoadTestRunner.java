@@ -0,0 +1,199 @@
+package com.joelcode.personalinvestmentportfoliotracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.joelcode.personalinvestmentportfoliotracker.PersonalInvestmentPortfolioTrackerApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test: boots the whole backend against a fake market data server, drives it with virtual users
+ * running a mix of dashboard, watchlist, trade and limit order traffic, and reports throughput and p50/p95/p99
+ * latency per endpoint.
+ *
+ * Runs through the loadtest Maven profile, see LoadTestSettings for the options:
+ *   mvn -P loadtest test-compile exec:exec -Dloadtest.args="--users=100 --duration=2m"
+ *
+ * The process exits with status 1 when the run regresses against the baseline report, so it can gate a pipeline.
+ */
+public class LoadTestRunner {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        // DevTools would relaunch main in a restart class loader, starting a second fake server and run
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        PriceWalk prices = new PriceWalk(settings.volatility(), settings.seed());
+        int exitCode;
+        try (FakeMarketDataServer marketData = new FakeMarketDataServer(
+                prices, settings.latency(), settings.jitter(), settings.errorRate())) {
+            marketData.start();
+
+            ConfigurableApplicationContext context = SpringApplication.run(
+                    PersonalInvestmentPortfolioTrackerApplication.class, applicationArguments(settings, marketData));
+            try {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                exitCode = run(settings, "http://127.0.0.1:" + port, marketData);
+            } finally {
+                context.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static int run(LoadTestSettings settings, String baseUrl, FakeMarketDataServer marketData) throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        BackendClient client = new BackendClient(httpClient, baseUrl, recorder, REQUEST_TIMEOUT);
+
+        List<VirtualUser.StockRef> stocks = seedStocks(client, settings.symbols());
+        System.out.printf("Seeded %d stocks, setting up %d users%n", stocks.size(), settings.users());
+
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<VirtualUser> users = new ArrayList<>(settings.users());
+        for (int i = 0; i < settings.users(); i++) {
+            users.add(new VirtualUser("lt" + runId + "u" + i, client, stocks, settings.mix(),
+                    settings.thinkTime(), settings.seed() + i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.users(), runnable -> {
+            Thread thread = new Thread(runnable, "virtual-user");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // Accounts and starting positions are set up concurrently, before the clock starts
+            List<Future<?>> setUps = new ArrayList<>();
+            users.forEach(user -> setUps.add(executor.submit(user::setUp)));
+            for (Future<?> setUp : setUps) {
+                setUp.get();
+            }
+
+            long deadline = System.nanoTime() + settings.warmup().toNanos() + settings.duration().toNanos();
+            users.forEach(user -> executor.submit(() -> user.runUntil(deadline)));
+
+            Thread.sleep(settings.warmup().toMillis());
+            recorder.setRecording(true);
+            long measuredFrom = System.nanoTime();
+            executor.shutdown();
+            executor.awaitTermination(settings.duration().toMillis() + REQUEST_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            recorder.setRecording(false);
+            double measuredSeconds = (Math.min(System.nanoTime(), deadline) - measuredFrom) / 1e9;
+
+            LoadTestReport report = new LoadTestReport(Instant.now(), settings.users(),
+                    settings.dbUrl() != null ? settings.dbUrl() : "H2 (PostgreSQL mode)", measuredSeconds,
+                    recorder.summarize(measuredSeconds));
+            report.print(System.out);
+            System.out.printf("Fake market data served %d responses, %d failed on purpose%n",
+                    marketData.getServed(), marketData.getFailed());
+            return judge(settings, report);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int judge(LoadTestSettings settings, LoadTestReport report) throws Exception {
+        report.write(settings.report());
+        System.out.println("Report written to " + settings.report().toAbsolutePath());
+
+        if (settings.recordBaseline()) {
+            report.write(settings.baseline());
+            System.out.println("Baseline recorded at " + settings.baseline().toAbsolutePath());
+            return 0;
+        }
+
+        LoadTestReport baseline = null;
+        if (Files.exists(settings.baseline())) {
+            baseline = LoadTestReport.read(settings.baseline());
+        } else {
+            System.out.println("No baseline at " + settings.baseline() + ", only error rates are checked");
+        }
+        List<String> failures = report.failures(baseline, settings.tolerance(), settings.maxErrorRate());
+        if (failures.isEmpty()) {
+            System.out.println("PASSED");
+            return 0;
+        }
+        System.out.println("FAILED");
+        failures.forEach(failure -> System.out.println("  " + failure));
+        return 1;
+    }
+
+    // Stocks are created through the API, which fetches their profile and quote from the fake Finnhub
+    private static List<VirtualUser.StockRef> seedStocks(BackendClient client, int count) {
+        String password = "loadtest-password";
+        String seeder = "ltseed" + Long.toString(System.currentTimeMillis(), 36);
+        JsonNode registered = client.post("POST /api/auth/register", "/api/auth/register", Map.of(
+                "email", seeder + "@loadtest.local", "username", seeder,
+                "password", password, "fullName", "Load Test Seeder"), null);
+        if (registered == null) {
+            throw new IllegalStateException("Could not register the seeding user");
+        }
+        String token = registered.path("token").asText();
+
+        List<VirtualUser.StockRef> stocks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String symbol = symbol(i);
+            JsonNode stock = client.get("GET /api/stocks/symbol/{symbol}", "/api/stocks/symbol/" + symbol, token);
+            if (stock != null && stock.hasNonNull("stockId")) {
+                stocks.add(new VirtualUser.StockRef(UUID.fromString(stock.get("stockId").asText()), symbol,
+                        new BigDecimal(stock.path("stockValue").asText("100"))));
+            }
+        }
+        if (stocks.isEmpty()) {
+            throw new IllegalStateException("No stocks could be created, is the fake market data server reachable?");
+        }
+        return stocks;
+    }
+
+    // LTAA, LTAB, ... so load test stocks never collide with real tickers
+    private static String symbol(int index) {
+        return "LT" + (char) ('A' + index / 26 % 26) + (char) ('A' + index % 26);
+    }
+
+    private static String[] applicationArguments(LoadTestSettings settings, FakeMarketDataServer marketData) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.profiles.active=loadtest",
+                "--server.port=0",
+                "--finnhub.api.base-url=" + marketData.getFinnhubBaseUrl(),
+                "--yahoo.api.base-url=" + marketData.getYahooBaseUrl()));
+        if (settings.dbUrl() == null) {
+            arguments.addAll(List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                            + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                    "--spring.jpa.hibernate.ddl-auto=create-drop",
+                    "--spring.flyway.enabled=false"));
+        } else {
+            // A real PostgreSQL gets the production schema from the Flyway migrations
+            arguments.addAll(List.of(
+                    "--spring.datasource.url=" + settings.dbUrl(),
+                    "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                    "--spring.datasource.username=" + settings.dbUser(),
+                    "--spring.datasource.password=" + settings.dbPassword(),
+                    "--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                    "--spring.jpa.hibernate.ddl-auto=validate",
+                    "--spring.flyway.enabled=true",
+                    "--spring.flyway.locations=classpath:db/migration"));
+        }
+        return arguments.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,88 @@
+package com.joelcode.personalinvestmentportfoliotracker.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Options of a load test run, given as --name=value arguments. Durations take the same forms as Spring properties
+ * (500ms, 30s, 2m).
+ *
+ * --users               virtual users driving traffic at once (default 50)
+ * --duration            how long traffic is measured (default 60s), after --warmup (default 15s) of unmeasured traffic
+ * --think-time          upper bound of the random pause between a user's scenarios (default 200ms)
+ * --mix                 scenario weights, e.g. dashboard:50,watchlist:25,trade:15,limit-order:10 (the default)
+ * --symbols             size of the stock universe users trade and watch (default 40)
+ * --latency, --jitter   delay of every fake provider response, fixed plus uniformly random (default 80ms and 40ms)
+ * --error-rate          share of fake provider responses that fail with a 503 (default 0.01)
+ * --volatility          per-quote standard deviation of the price walk (default 0.002)
+ * --seed                seed of the price walks and the traffic mix (default 42)
+ * --db-url              JDBC URL of a local PostgreSQL to run against, migrated by Flyway; H2 in PostgreSQL mode
+ *                       when absent. --db-user and --db-password go with it
+ * --report              where the JSON report is written (default target/loadtest-report.json)
+ * --baseline            baseline report to compare against (default src/loadtest/resources/loadtest-baseline.json);
+ *                       the run fails when it regresses, and is only reported when the file does not exist
+ * --tolerance           allowed regression against the baseline (default 0.25, i.e. 25%)
+ * --max-error-rate      highest share of failed requests per endpoint before the run fails (default 0.02)
+ * --record-baseline     write this run's results as the new baseline instead of comparing
+ */
+public record LoadTestSettings(int users, Duration duration, Duration warmup, Duration thinkTime,
+                               Map<Scenario, Integer> mix, int symbols, Duration latency, Duration jitter,
+                               double errorRate, double volatility, long seed, String dbUrl, String dbUser,
+                               String dbPassword, Path report, Path baseline, double tolerance,
+                               double maxErrorRate, boolean recordBaseline) {
+
+    public static LoadTestSettings parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument " + arg + ", options look like --users=50");
+            }
+            int equals = arg.indexOf('=');
+            options.put(equals > 0 ? arg.substring(2, equals) : arg.substring(2),
+                    equals > 0 ? arg.substring(equals + 1) : "true");
+        }
+
+        return new LoadTestSettings(
+                Integer.parseInt(options.getOrDefault("users", "50")),
+                duration(options.getOrDefault("duration", "60s")),
+                duration(options.getOrDefault("warmup", "15s")),
+                duration(options.getOrDefault("think-time", "200ms")),
+                mix(options.getOrDefault("mix", "dashboard:50,watchlist:25,trade:15,limit-order:10")),
+                Integer.parseInt(options.getOrDefault("symbols", "40")),
+                duration(options.getOrDefault("latency", "80ms")),
+                duration(options.getOrDefault("jitter", "40ms")),
+                Double.parseDouble(options.getOrDefault("error-rate", "0.01")),
+                Double.parseDouble(options.getOrDefault("volatility", "0.002")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                options.get("db-url"),
+                options.getOrDefault("db-user", "postgres"),
+                options.getOrDefault("db-password", ""),
+                Path.of(options.getOrDefault("report", "target/loadtest-report.json")),
+                Path.of(options.getOrDefault("baseline", "src/loadtest/resources/loadtest-baseline.json")),
+                Double.parseDouble(options.getOrDefault("tolerance", "0.25")),
+                Double.parseDouble(options.getOrDefault("max-error-rate", "0.02")),
+                Boolean.parseBoolean(options.getOrDefault("record-baseline", "false")));
+    }
+
+    private static Duration duration(String value) {
+        return DurationStyle.detectAndParse(value);
+    }
+
+    private static Map<Scenario, Integer> mix(String value) {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        for (String entry : List.of(value.split(","))) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like dashboard:50, got " + entry);
+            }
+            mix.put(Scenario.fromName(parts[0]), Integer.parseInt(parts[1]));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,77 @@
+package com.joelcode.personalinvestmentportfoliotracker.loadtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A geometric random walk of prices per symbol, stepped once per quote.
+ *
+ * Every symbol starts at a price between 10 and 500 derived from its name, and each step moves it by a normally
+ * distributed return with the given volatility (0.002 is a 0.2% standard deviation per step). The first price is
+ * kept as the day's open, and the day's high and low follow the walk.
+ */
+public class PriceWalk {
+
+    public record Tick(BigDecimal price, BigDecimal open, BigDecimal high, BigDecimal low) {
+
+        public BigDecimal changePercent() {
+            return price.subtract(open).multiply(BigDecimal.valueOf(100)).divide(open, 4, RoundingMode.HALF_UP);
+        }
+    }
+
+    private final double volatility;
+    private final long seed;
+    private final Map<String, Walk> walks = new ConcurrentHashMap<>();
+
+    public PriceWalk(double volatility, long seed) {
+        this.volatility = volatility;
+        this.seed = seed;
+    }
+
+    public Tick next(String symbol) {
+        return walks.computeIfAbsent(symbol, this::start).step(volatility);
+    }
+
+    private Walk start(String symbol) {
+        SplittableRandom random = new SplittableRandom(seed ^ symbol.hashCode());
+        return new Walk(10 + random.nextDouble() * 490, random);
+    }
+
+
+    private static final class Walk {
+
+        private final double open;
+        private final SplittableRandom random;
+        private double price;
+        private double high;
+        private double low;
+
+        private Walk(double open, SplittableRandom random) {
+            this.open = open;
+            this.random = random;
+            this.price = open;
+            this.high = open;
+            this.low = open;
+        }
+
+        synchronized Tick step(double volatility) {
+            price = Math.max(0.01, price * (1 + gaussian() * volatility));
+            high = Math.max(high, price);
+            low = Math.min(low, price);
+            return new Tick(cents(price), cents(open), cents(high), cents(low));
+        }
+
+        // Box-Muller, since SplittableRandom has no nextGaussian on Java 17
+        private double gaussian() {
+            double u = 1 - random.nextDouble();
+            return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+        }
+
+        private static BigDecimal cents(double value) {
+            return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.joelcode.personalinvestmentportfoliotracker.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * What a virtual user does in one step, picked at random by the weights of the run's mix.
+ *
+ * DASHBOARD    loads the account dashboard
+ * WATCHLIST    loads the watchlist with live quotes
+ * TRADE        buys one share of a random stock at its market price
+ * LIMIT_ORDER  places a buy limit order below the market, lists pending orders and cancels it
+ */
+public enum Scenario {
+
+    DASHBOARD("dashboard"),
+    WATCHLIST("watchlist"),
+    TRADE("trade"),
+    LIMIT_ORDER("limit-order");
+
+    private final String optionName;
+
+    Scenario(String optionName) {
+        this.optionName = optionName;
+    }
+
+    public static Scenario fromName(String name) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.optionName.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown scenario " + name + ", expected one of "
+                        + Arrays.stream(values()).map(s -> s.optionName).toList()));
+    }
+}
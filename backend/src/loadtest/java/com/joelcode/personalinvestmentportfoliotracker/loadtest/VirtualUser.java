@@ -0,0 +1,152 @@
+package com.joelcode.personalinvestmentportfoliotracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * One simulated investor: registers, opens an account, watches and buys a few stocks, then runs scenarios from the
+ * mix with a random think time between them until the run ends.
+ */
+public class VirtualUser {
+
+    public record StockRef(UUID stockId, String symbol, BigDecimal price) {}
+
+    private static final BigDecimal STARTING_CASH = new BigDecimal("1000000");
+    private static final int WATCHED_STOCKS = 5;
+    private static final int STARTING_POSITIONS = 5;
+
+    // Define key fields
+    private final String name;
+    private final BackendClient client;
+    private final List<StockRef> stocks;
+    private final Map<Scenario, Integer> mix;
+    private final int totalWeight;
+    private final Duration thinkTime;
+    private final SplittableRandom random;
+
+    private String token;
+    private UUID accountId;
+
+
+    // Constructor
+    public VirtualUser(String name, BackendClient client, List<StockRef> stocks, Map<Scenario, Integer> mix,
+                       Duration thinkTime, long seed) {
+        this.name = name;
+        this.client = client;
+        this.stocks = stocks;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.thinkTime = thinkTime;
+        this.random = new SplittableRandom(seed);
+    }
+
+
+    // Register, open a funded account and build a small portfolio and watchlist
+    public void setUp() {
+        JsonNode registered = client.post("POST /api/auth/register", "/api/auth/register", Map.of(
+                "email", name + "@loadtest.local",
+                "username", name,
+                "password", "loadtest-password",
+                "fullName", "Load Test " + name), null);
+        if (registered == null) {
+            throw new IllegalStateException("Could not register " + name);
+        }
+        token = registered.path("token").asText();
+
+        JsonNode account = client.post("POST /api/accounts", "/api/accounts", Map.of(
+                "accountName", "Portfolio of " + name,
+                "userId", registered.path("userId").asText(),
+                "cashBalance", STARTING_CASH), token);
+        if (account == null) {
+            throw new IllegalStateException("Could not open an account for " + name);
+        }
+        accountId = UUID.fromString(account.path("accountId").asText());
+
+        List<StockRef> shuffled = new ArrayList<>(stocks);
+        for (int i = shuffled.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            shuffled.set(i, shuffled.set(j, shuffled.get(i)));
+        }
+        for (StockRef stock : shuffled.subList(0, Math.min(WATCHED_STOCKS, shuffled.size()))) {
+            client.post("POST /api/watchlist", "/api/watchlist", Map.of("stockId", stock.stockId().toString()), token);
+        }
+        for (int i = 0; i < STARTING_POSITIONS; i++) {
+            buy(shuffled.get(i % shuffled.size()), BigDecimal.TEN);
+        }
+    }
+
+    // Run scenarios from the mix until System.nanoTime() reaches the deadline
+    public void runUntil(long deadlineNanos) {
+        while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+            switch (pick()) {
+                case DASHBOARD -> client.get("GET /api/dashboard/account/{accountId}",
+                        "/api/dashboard/account/" + accountId, token);
+                case WATCHLIST -> client.get("GET /api/watchlist", "/api/watchlist", token);
+                case TRADE -> buy(randomStock(), BigDecimal.ONE);
+                case LIMIT_ORDER -> placeAndCancelLimitOrder(randomStock());
+            }
+            think();
+        }
+    }
+
+
+    // Helper methods
+
+    private void buy(StockRef stock, BigDecimal quantity) {
+        client.post("POST /api/transactions", "/api/transactions", Map.of(
+                "accountId", accountId.toString(),
+                "stockId", stock.stockId().toString(),
+                "shareQuantity", quantity,
+                "pricePerShare", stock.price(),
+                "transactionType", "BUY"), token);
+    }
+
+    // A buy limit far below the market, so it rests in the order book until cancelled
+    private void placeAndCancelLimitOrder(StockRef stock) {
+        JsonNode order = client.post("POST /api/orders", "/api/orders", Map.of(
+                "accountId", accountId.toString(),
+                "stockId", stock.stockId().toString(),
+                "quantity", BigDecimal.ONE,
+                "limitPrice", stock.price().divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP),
+                "orderType", "BUY_LIMIT"), token);
+        client.get("GET /api/orders/account/{accountId}/pending", "/api/orders/account/" + accountId + "/pending", token);
+        if (order != null && order.hasNonNull("orderId")) {
+            client.delete("DELETE /api/orders/{orderId}", "/api/orders/" + order.get("orderId").asText(), token);
+        }
+    }
+
+    private Scenario pick() {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Scenario, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Scenario weights must be positive");
+    }
+
+    private StockRef randomStock() {
+        return stocks.get(random.nextInt(stocks.size()));
+    }
+
+    private void think() {
+        long maxMillis = thinkTime.toMillis();
+        if (maxMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(random.nextLong(maxMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.joelcode.personalinvestmentportfoliotracker.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import com.joelcode.personalinvestmentportfoliotracker.logging.BetterStackAppender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Ships all SLF4J logging to Better Stack when BETTERSTACK_TOKEN is set, by attaching a BetterStackAppender to the
+ * root logger. The appender is stopped, and its queue flushed, when the context closes.
+ *
+ * Metrics: app.logging.events{appender=betterstack, result=shipped|failed|dropped} and app.logging.queue.size
+ */
+@Configuration
+@ConditionalOnProperty(name = "BETTERSTACK_TOKEN")
+public class BetterStackLoggingConfig {
+
+    @Bean(destroyMethod = "stop")
+    public BetterStackAppender betterStackAppender(@Value("${BETTERSTACK_TOKEN}") String token,
+                                                   @Value("${betterstack.url:https://s1622070.eu-nbg-2.betterstackdata.com}") String url,
+                                                   @Value("${betterstack.queue-capacity:10000}") int queueCapacity,
+                                                   @Value("${betterstack.batch-size:500}") int batchSize,
+                                                   @Value("${betterstack.flush-interval:2s}") Duration flushInterval,
+                                                   @Value("${betterstack.shutdown-timeout:5s}") Duration shutdownTimeout,
+                                                   @Value("${outbound-http.read-timeout:10s}") Duration requestTimeout,
+                                                   @Qualifier("pooledHttpClient") HttpClient pooledHttpClient,
+                                                   MeterRegistry meterRegistry) {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        BetterStackAppender appender = new BetterStackAppender();
+        appender.setName("BETTERSTACK");
+        appender.setContext(loggerContext);
+        appender.setUrl(url);
+        appender.setToken(token);
+        appender.setQueueCapacity(queueCapacity);
+        appender.setBatchSize(batchSize);
+        appender.setFlushIntervalMillis(flushInterval.toMillis());
+        appender.setShutdownTimeoutMillis(shutdownTimeout.toMillis());
+        appender.setRequestTimeoutMillis(requestTimeout.toMillis());
+        appender.setHttpClient(pooledHttpClient);
+        appender.start();
+        loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+
+        eventCounter(meterRegistry, appender, "shipped", BetterStackAppender::getShippedCount);
+        eventCounter(meterRegistry, appender, "failed", BetterStackAppender::getFailedCount);
+        eventCounter(meterRegistry, appender, "dropped", BetterStackAppender::getDroppedCount);
+        Gauge.builder("app.logging.queue.size", appender, BetterStackAppender::getQueueSize)
+                .tag("appender", "betterstack")
+                .register(meterRegistry);
+        return appender;
+    }
+
+    private void eventCounter(MeterRegistry meterRegistry, BetterStackAppender appender, String result,
+                              ToDoubleFunction<BetterStackAppender> count) {
+        FunctionCounter.builder("app.logging.events", appender, count)
+                .tag("appender", "betterstack")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,27 @@
+package com.joelcode.personalinvestmentportfoliotracker.config;
+
+import com.joelcode.personalinvestmentportfoliotracker.monitoring.ProfilePropagatingExecutorService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class DashboardExecutorConfig {
+
+    // Bounded pool used to build a user's account dashboards side by side
+    @Bean(name = "dashboardExecutor", destroyMethod = "shutdown")
+    public ExecutorService dashboardExecutor(@Value("${dashboard.max-concurrency:4}") int maxConcurrency) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ProfilePropagatingExecutorService(Executors.newFixedThreadPool(Math.max(1, maxConcurrency), threadFactory));
+    }
+}
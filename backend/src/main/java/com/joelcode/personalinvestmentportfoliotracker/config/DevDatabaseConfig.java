@@ -1,6 +1,8 @@
 package com.joelcode.personalinvestmentportfoliotracker.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -13,6 +15,8 @@ import javax.sql.DataSource;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import jakarta.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 @Configuration
@@ -44,7 +48,8 @@ public class DevDatabaseConfig {
     @Bean(name = "entityManagerFactory")
     public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource,
                                                                        @Value("${spring.jpa.database-platform}") String dialect,
-                                                                       @Value("${spring.jpa.hibernate.ddl-auto:validate}") String ddlAuto) {
+                                                                       @Value("${spring.jpa.hibernate.ddl-auto:validate}") String ddlAuto,
+                                                                       ObjectProvider<HibernatePropertiesCustomizer> customizers) {
         LocalContainerEntityManagerFactoryBean emf = new LocalContainerEntityManagerFactoryBean();
         emf.setDataSource(dataSource);
         emf.setPackagesToScan("com.joelcode.personalinvestmentportfoliotracker.entities");
@@ -52,6 +57,10 @@ public class DevDatabaseConfig {
         Properties jpaProps = new Properties();
         jpaProps.put("hibernate.dialect", dialect);
         jpaProps.put("hibernate.hbm2ddl.auto", ddlAuto);
+        // This factory bypasses Boot's JPA auto-configuration, so apply its customizers (e.g. instrumentation) here
+        Map<String, Object> customized = new HashMap<>();
+        customizers.orderedStream().forEach(customizer -> customizer.customize(customized));
+        jpaProps.putAll(customized);
         emf.setJpaProperties(jpaProps);
         return emf;
     }
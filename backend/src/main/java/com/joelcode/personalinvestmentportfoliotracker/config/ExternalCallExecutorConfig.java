@@ -0,0 +1,71 @@
+package com.joelcode.personalinvestmentportfoliotracker.config;
+
+import com.joelcode.personalinvestmentportfoliotracker.monitoring.ProfilePropagatingExecutorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ExternalCallExecutorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExternalCallExecutorConfig.class);
+
+    // Runs blocking calls to external APIs. spring.threads.virtual.enabled switches both Tomcat and this executor
+    // to virtual threads on Java 21+; on older runtimes it falls back to a bounded pool of platform threads.
+    // Tasks carry the submitting request's profile, so their external API time is reported against it.
+    @Bean(name = "externalCallExecutor", destroyMethod = "shutdown")
+    public ExecutorService externalCallExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                                @Value("${external-calls.max-concurrency:16}") int maxConcurrency) {
+        if (virtualThreads) {
+            ExecutorService executor = newVirtualThreadPerTaskExecutor();
+            if (executor != null) {
+                logger.info("External API calls run on virtual threads");
+                return new ProfilePropagatingExecutorService(executor);
+            }
+            logger.warn("Virtual threads need Java 21 or later (running {}), using {} platform threads for external API calls",
+                    Runtime.version().feature(), maxConcurrency);
+        }
+
+        return new ProfilePropagatingExecutorService(newDaemonPool("external-call-", maxConcurrency));
+    }
+
+    // Runs provider calls that a caller stopped waiting for while it was served the last known value. Kept apart
+    // from externalCallExecutor because fan-out calls can themselves start one of these and wait on it briefly.
+    @Bean(name = "staleRefreshExecutor", destroyMethod = "shutdown")
+    public ExecutorService staleRefreshExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                                @Value("${resilience.refresh.max-concurrency:8}") int maxConcurrency) {
+        if (virtualThreads) {
+            ExecutorService executor = newVirtualThreadPerTaskExecutor();
+            if (executor != null) {
+                return new ProfilePropagatingExecutorService(executor);
+            }
+        }
+        return new ProfilePropagatingExecutorService(newDaemonPool("stale-refresh-", maxConcurrency));
+    }
+
+    private static ExecutorService newDaemonPool(String prefix, int size) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(Math.max(1, size), threadFactory);
+    }
+
+    // Looked up reflectively so the build can keep targeting Java 17
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
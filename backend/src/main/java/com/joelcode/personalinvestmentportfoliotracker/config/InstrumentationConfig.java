@@ -0,0 +1,57 @@
+package com.joelcode.personalinvestmentportfoliotracker.config;
+
+import com.joelcode.personalinvestmentportfoliotracker.monitoring.JdbcTimingListener;
+import com.joelcode.personalinvestmentportfoliotracker.monitoring.RequestProfilingFilter;
+import com.joelcode.personalinvestmentportfoliotracker.monitoring.ServiceTimingPostProcessor;
+import com.joelcode.personalinvestmentportfoliotracker.monitoring.SqlStatementCounter;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+import java.util.List;
+
+@Configuration
+public class InstrumentationConfig {
+
+    private static final String BASE_PACKAGE = "com.joelcode.personalinvestmentportfoliotracker.";
+
+    // Times every public method of the portfolio services, the transaction processor and the schedulers.
+    // Static so the post processor is registered before the beans it advises are created.
+    @Bean
+    public static ServiceTimingPostProcessor serviceTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ServiceTimingPostProcessor(List.of(
+                BASE_PACKAGE + "services.portfolio.",
+                BASE_PACKAGE + "services.transaction.TransactionProcessorServiceImpl",
+                BASE_PACKAGE + "services.scheduler."), meterRegistry);
+    }
+
+    // Counts and times every SQL statement Hibernate runs, feeding the per-request profile
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer(MeterRegistry meterRegistry) {
+        Counter statements = Counter.builder("app.db.statements").register(meterRegistry);
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter(statements));
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingListener.class.getName());
+        };
+    }
+
+    // Tags http.server.requests with n_plus_one=true|false, as flagged by RequestProfilingFilter
+    @Bean
+    public ServerRequestObservationConvention nPlusOneTaggingConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                boolean suspected = context.getCarrier().getAttribute(RequestProfilingFilter.SUSPECTED_N_PLUS_ONE) != null;
+                return super.getLowCardinalityKeyValues(context).and("n_plus_one", String.valueOf(suspected));
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.joelcode.personalinvestmentportfoliotracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class MarketDataExecutorConfig {
+
+    // Bounded pool used to fan out quote lookups so a large portfolio cannot open unbounded connections
+    @Bean(name = "marketDataExecutor", destroyMethod = "shutdown")
+    public ExecutorService marketDataExecutor(@Value("${finnhub.fanout.max-concurrency:8}") int maxConcurrency) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "market-data-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(Math.max(1, maxConcurrency), threadFactory);
+    }
+}
@@ -0,0 +1,21 @@
+package com.joelcode.personalinvestmentportfoliotracker.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class OrderMatchingExecutorConfig {
+
+    // Single worker so limit order executions run one at a time and in the order they were matched
+    @Bean(name = "orderMatchingExecutor", destroyMethod = "shutdown")
+    public ExecutorService orderMatchingExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-matching");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,39 @@
+package com.joelcode.personalinvestmentportfoliotracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class OutboundHttpClientConfig {
+
+    // One JDK HttpClient shared by every outbound call so connections (and TLS sessions) are kept alive and reused.
+    // HTTP/2 is negotiated where the provider supports it, otherwise the client pools HTTP/1.1 keep-alive connections.
+    @Bean
+    public HttpClient pooledHttpClient(@Value("${outbound-http.connect-timeout:10s}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(outboundHttpExecutor())
+                .build();
+    }
+
+    // Completes async responses; the client only hands work to it, so an unbounded cached pool stays small
+    private ExecutorService outboundHttpExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "outbound-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newCachedThreadPool(threadFactory);
+    }
+}
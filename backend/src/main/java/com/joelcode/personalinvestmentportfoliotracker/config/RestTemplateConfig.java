@@ -3,18 +3,24 @@ package com.joelcode.personalinvestmentportfoliotracker.config;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
 import java.time.Duration;
 
 @Configuration
 public class RestTemplateConfig {
 
+    // Shares the pooled outbound HttpClient so any RestTemplate caller reuses the same connections
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    public RestTemplate restTemplate(RestTemplateBuilder builder, HttpClient pooledHttpClient) {
         return builder
-                .connectTimeout(Duration.ofSeconds(10))
-                .readTimeout(Duration.ofSeconds(10))
+                .requestFactory(() -> {
+                    JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(pooledHttpClient);
+                    requestFactory.setReadTimeout(Duration.ofSeconds(10));
+                    return requestFactory;
+                })
                 .build();
     }
 }
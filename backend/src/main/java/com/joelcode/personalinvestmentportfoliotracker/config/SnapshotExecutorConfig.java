@@ -0,0 +1,37 @@
+package com.joelcode.personalinvestmentportfoliotracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class SnapshotExecutorConfig {
+
+    // Bounded pool for calculating a page of portfolio snapshots in parallel chunks
+    @Bean(name = "snapshotExecutor", destroyMethod = "shutdown")
+    public ExecutorService snapshotExecutor(@Value("${snapshot.batch.max-concurrency:4}") int maxConcurrency) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(Math.max(1, maxConcurrency), threadFactory);
+    }
+
+    // Single worker for resuming an interrupted snapshot run at startup, kept apart from snapshotExecutor so the
+    // resume never waits on its own chunks
+    @Bean(name = "snapshotResumeExecutor", destroyMethod = "shutdown")
+    public ExecutorService snapshotResumeExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-resume");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
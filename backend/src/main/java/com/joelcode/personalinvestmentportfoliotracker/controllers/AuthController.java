@@ -13,6 +13,7 @@ import com.joelcode.personalinvestmentportfoliotracker.entities.User;
 import com.joelcode.personalinvestmentportfoliotracker.jwt.JwtTokenProvider;
 import com.joelcode.personalinvestmentportfoliotracker.model.CustomUserDetails;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.UserRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.customuserdetails.CustomUserDetailsService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.context.annotation.Profile;
@@ -43,6 +44,7 @@ public class AuthController {
     private final JwtTokenProvider jwtTokenProvider;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService customUserDetailsService;
 
     // In-memory store for password reset tokens (userId -> resetToken)
     private static final Map<UUID, String> resetTokens = new HashMap<>();
@@ -51,11 +53,13 @@ public class AuthController {
     public AuthController(AuthenticationManager authenticationManager,
                           JwtTokenProvider jwtTokenProvider,
                           UserRepository userRepository,
-                          PasswordEncoder passwordEncoder) {
+                          PasswordEncoder passwordEncoder,
+                          CustomUserDetailsService customUserDetailsService) {
         this.authenticationManager = authenticationManager;
         this.jwtTokenProvider = jwtTokenProvider;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.customUserDetailsService = customUserDetailsService;
     }
 
     //Login to existing account - POST /api/auth/login
@@ -202,6 +206,11 @@ public class AuthController {
     public ResponseEntity<Map<String, String>> logout(HttpServletRequest request) {
         // Note: JWT tokens are stateless, so logout is typically client-side (discard token)
         // This endpoint can be used for server-side token blacklisting if implemented
+        // Drop the cached user so a later request with the old token reloads it
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            customUserDetailsService.evict(userDetails.getUser().getUserId());
+        }
         return ResponseEntity.ok(Map.of("message", "Logout successful"));
     }
 
@@ -222,6 +231,7 @@ public class AuthController {
 
         dbUser.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(dbUser);
+        customUserDetailsService.evict(dbUser.getUserId());
 
         return ResponseEntity.ok(Map.of("message", "Password changed successfully"));
     }
@@ -266,6 +276,7 @@ public class AuthController {
         // Update user password
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        customUserDetailsService.evict(userId);
 
         // Remove used token
         resetTokens.remove(userId);
@@ -2,12 +2,15 @@ package com.joelcode.personalinvestmentportfoliotracker.controllers.entitycontro
 
 import com.joelcode.personalinvestmentportfoliotracker.dto.pricehistory.PriceHistoryDTO;
 import com.joelcode.personalinvestmentportfoliotracker.dto.pricehistory.PriceHistoryCreateRequest;
+import com.joelcode.personalinvestmentportfoliotracker.dto.pricehistory.PriceSeriesDTO;
 import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceHistoryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -50,10 +53,27 @@ public class PriceHistoryController {
         return ResponseEntity.noContent().build();
     }
 
-    // Get all price history for a specific stock
+    // Get price history for a specific stock: all of it, a from/to range, downsampled to at most points entries,
+    // or the last entries
     @GetMapping("/stock/{stockId}")
-    public ResponseEntity<List<PriceHistoryDTO>> getPriceHistoryForStock(@PathVariable UUID stockId) {
-        return ResponseEntity.ok(priceHistoryService.getPriceHistoryForStock(stockId));
+    public ResponseEntity<List<PriceHistoryDTO>> getPriceHistoryForStock(
+            @PathVariable UUID stockId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer points,
+            @RequestParam(required = false) Integer last) {
+        return ResponseEntity.ok(priceHistoryService.getPriceHistoryForStock(stockId, from, to, points, last));
+    }
+
+    // Same query as above as two parallel arrays (epoch millisecond times and prices), for charts
+    @GetMapping("/stock/{stockId}/series")
+    public ResponseEntity<PriceSeriesDTO> getPriceSeriesForStock(
+            @PathVariable UUID stockId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer points,
+            @RequestParam(required = false) Integer last) {
+        return ResponseEntity.ok(priceHistoryService.getPriceSeriesForStock(stockId, from, to, points, last));
     }
 
     // Get latest price for a specific stock
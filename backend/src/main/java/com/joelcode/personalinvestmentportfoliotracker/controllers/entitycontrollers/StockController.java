@@ -1,6 +1,5 @@
 package com.joelcode.personalinvestmentportfoliotracker.controllers.entitycontrollers;
 
-import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubCandleDTO;
 import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubCompanyProfileDTO;
 import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubMetricsDTO;
 import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubQuoteDTO;
@@ -8,6 +7,7 @@ import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubSearch
 import com.joelcode.personalinvestmentportfoliotracker.dto.stock.StockCreateRequest;
 import com.joelcode.personalinvestmentportfoliotracker.dto.stock.StockDTO;
 import com.joelcode.personalinvestmentportfoliotracker.dto.stock.StockUpdateRequest;
+import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.CandleSeries;
 import com.joelcode.personalinvestmentportfoliotracker.services.finnhub.FinnhubApiClient;
 import com.joelcode.personalinvestmentportfoliotracker.services.yahoofinance.YahooFinanceApiClient;
 import com.joelcode.personalinvestmentportfoliotracker.services.stock.StockService;
@@ -177,7 +177,7 @@ public class StockController {
             @RequestParam long from,
             @RequestParam long to) {
         try {
-            FinnhubCandleDTO candles = yahooFinanceApiClient.getCandles(symbol, resolution, from, to);
+            CandleSeries candles = yahooFinanceApiClient.getCandles(symbol, resolution, from, to);
             return ResponseEntity.ok(candles);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error fetching candles for symbol: " + symbol);
@@ -8,7 +8,11 @@ import com.joelcode.personalinvestmentportfoliotracker.entities.User;
 import com.joelcode.personalinvestmentportfoliotracker.model.CustomUserDetails;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceAlertRepository;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.StockRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricealert.IndexedAlert;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricealert.PriceAlertCreatedEvent;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricealert.PriceAlertRemovedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,7 +23,6 @@ import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/price-alerts")
@@ -33,6 +36,9 @@ public class PriceAlertController {
     @Autowired
     private StockRepository stockRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // GET /api/price-alerts - Get all price alerts for authenticated user
     @GetMapping
     @PreAuthorize("isAuthenticated()")
@@ -42,28 +48,14 @@ public class PriceAlertController {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         User user = userDetails.getUser();
 
-        List<PriceAlert> alerts;
+        // Projected straight to DTOs so the stock is not loaded per alert
+        List<PriceAlertDTO> alertDTOs;
         if (active != null) {
-            alerts = priceAlertRepository.findByUser_UserIdAndIsActive(user.getUserId(), active);
+            alertDTOs = priceAlertRepository.findAlertDTOsByUserIdAndIsActive(user.getUserId(), active);
         } else {
-            alerts = priceAlertRepository.findByUser_UserId(user.getUserId());
+            alertDTOs = priceAlertRepository.findAlertDTOsByUserId(user.getUserId());
         }
 
-        List<PriceAlertDTO> alertDTOs = alerts.stream()
-                .map(alert -> new PriceAlertDTO(
-                        alert.getAlertId(),
-                        user.getUserId(),
-                        alert.getStock().getStockId(),
-                        alert.getStock().getStockCode(),
-                        alert.getStock().getCompanyName(),
-                        alert.getType(),
-                        alert.getTargetPrice(),
-                        alert.getIsActive(),
-                        alert.getCreatedAt(),
-                        alert.getTriggeredAt()
-                ))
-                .collect(Collectors.toList());
-
         return ResponseEntity.ok(alertDTOs);
     }
 
@@ -88,6 +80,7 @@ public class PriceAlertController {
         // Create new price alert
         PriceAlert alert = new PriceAlert(user, stock, request.getType(), request.getTargetPrice());
         priceAlertRepository.save(alert);
+        eventPublisher.publishEvent(new PriceAlertCreatedEvent(IndexedAlert.from(alert)));
 
         PriceAlertDTO dto = new PriceAlertDTO(
                 alert.getAlertId(),
@@ -123,6 +116,7 @@ public class PriceAlertController {
         }
 
         priceAlertRepository.delete(alert);
+        eventPublisher.publishEvent(new PriceAlertRemovedEvent(alert.getStock().getStockId(), alertId));
         return ResponseEntity.noContent().build();
     }
 }
@@ -9,6 +9,7 @@ import com.joelcode.personalinvestmentportfoliotracker.entities.Watchlist;
 import com.joelcode.personalinvestmentportfoliotracker.model.CustomUserDetails;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.StockRepository;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.WatchlistRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.fanout.ExternalCallFanOut;
 import com.joelcode.personalinvestmentportfoliotracker.services.finnhub.FinnhubApiClient;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +22,7 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @RestController
@@ -32,12 +34,14 @@ public class WatchlistController {
     private final WatchlistRepository watchlistRepository;
     private final StockRepository stockRepository;
     private final FinnhubApiClient finnhubApiClient;
+    private final ExternalCallFanOut externalCallFanOut;
 
     public WatchlistController(WatchlistRepository watchlistRepository, StockRepository stockRepository,
-                               FinnhubApiClient finnhubApiClient) {
+                               FinnhubApiClient finnhubApiClient, ExternalCallFanOut externalCallFanOut) {
         this.watchlistRepository = watchlistRepository;
         this.stockRepository = stockRepository;
         this.finnhubApiClient = finnhubApiClient;
+        this.externalCallFanOut = externalCallFanOut;
     }
 
     // GET /api/watchlist - Get user's watchlist
@@ -49,44 +53,43 @@ public class WatchlistController {
         User user = userDetails.getUser();
 
         List<Watchlist> watchlist = watchlistRepository.findByUser_UserId(user.getUserId());
+
+        // Quotes and profiles for every symbol are requested together, so the list costs one round trip
+        List<String> symbols = watchlist.stream().map(w -> w.getStock().getStockCode()).toList();
+        Map<String, CompletableFuture<FinnhubQuoteDTO>> pendingQuotes =
+                externalCallFanOut.submitAll(symbols, finnhubApiClient::getQuote);
+        Map<String, CompletableFuture<FinnhubCompanyProfileDTO>> pendingProfiles =
+                externalCallFanOut.submitAll(symbols, finnhubApiClient::getCompanyProfile);
+        Map<String, FinnhubQuoteDTO> quotes = externalCallFanOut.joinAll(pendingQuotes);
+        Map<String, FinnhubCompanyProfileDTO> profiles = externalCallFanOut.joinAll(pendingProfiles);
+
         List<WatchlistItemDTO> items = watchlist.stream()
                 .map(w -> {
                     Stock stock = w.getStock();
 
-                    // Get full quote from Finnhub (includes change and changePercent)
+                    // Use Finnhub's quote (includes change and changePercent), falling back to the stored price
                     BigDecimal currentPrice = stock.getStockValue();
                     BigDecimal change = BigDecimal.ZERO;
                     BigDecimal changePercent = BigDecimal.ZERO;
 
-                    try {
-                        var quote = finnhubApiClient.getQuote(stock.getStockCode());
-                        if (quote != null) {
-                            // Use Finnhub's current price if available
-                            if (quote.getCurrentPrice() != null) {
-                                currentPrice = quote.getCurrentPrice();
-                            }
-                            // Use Finnhub's change data directly (already calculated)
-                            if (quote.getChange() != null) {
-                                change = quote.getChange();
-                            }
-                            if (quote.getChangePercent() != null) {
-                                changePercent = quote.getChangePercent();
-                            }
+                    FinnhubQuoteDTO quote = quotes.get(stock.getStockCode());
+                    if (quote != null) {
+                        if (quote.getCurrentPrice() != null) {
+                            currentPrice = quote.getCurrentPrice();
+                        }
+                        if (quote.getChange() != null) {
+                            change = quote.getChange();
+                        }
+                        if (quote.getChangePercent() != null) {
+                            changePercent = quote.getChangePercent();
                         }
-                    } catch (Exception e) {
-                        // Fallback: use stored price if API fails
-                        currentPrice = stock.getStockValue();
                     }
 
-                    // ✅ Get sector from Finnhub profile
+                    // ✅ Sector from the Finnhub profile, "Other" if it could not be fetched
                     String sector = "Other";
-                    try {
-                        FinnhubCompanyProfileDTO profile = finnhubApiClient.getCompanyProfile(stock.getStockCode());
-                        if (profile != null && profile.getIndustry() != null) {
-                            sector = profile.getIndustry();
-                        }
-                    } catch (Exception e) {
-                        // Fallback to "Other" if profile fetch fails
+                    FinnhubCompanyProfileDTO profile = profiles.get(stock.getStockCode());
+                    if (profile != null && profile.getIndustry() != null) {
+                        sector = profile.getIndustry();
                     }
 
                     return new WatchlistItemDTO(
@@ -0,0 +1,67 @@
+package com.joelcode.personalinvestmentportfoliotracker.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// Generates the synthetic dataset described by the datagen.* properties, then shuts the application down
+@Component
+@Profile("datagen")
+public class DataGenerationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DataGenerationRunner.class);
+
+    // Define key fields
+    private final SyntheticDataGenerator generator;
+    private final ConfigurableApplicationContext context;
+    private final DataGenerationSettings settings;
+
+
+    // Constructor
+    public DataGenerationRunner(SyntheticDataGenerator generator,
+                                ConfigurableApplicationContext context,
+                                @Value("${datagen.users:1000}") int users,
+                                @Value("${datagen.accounts-per-user:2}") int accountsPerUser,
+                                @Value("${datagen.stocks:500}") int stocks,
+                                @Value("${datagen.years:3}") int years,
+                                @Value("${datagen.snapshot-days:365}") int snapshotDays,
+                                @Value("${datagen.holdings-per-account:8}") int holdingsPerAccount,
+                                @Value("${datagen.lots-per-holding:4}") int lotsPerHolding,
+                                @Value("${datagen.pending-orders-per-account:2}") int pendingOrdersPerAccount,
+                                @Value("${datagen.alerts-per-user:3}") int alertsPerUser,
+                                @Value("${datagen.watchlist-per-user:5}") int watchlistPerUser,
+                                @Value("${datagen.seed:42}") long seed,
+                                @Value("${datagen.as-of:}") String asOf,
+                                @Value("${datagen.prefix:gen}") String prefix,
+                                @Value("${datagen.threads:4}") int threads,
+                                @Value("${datagen.batch-size:10000}") int batchSize) {
+        this.generator = generator;
+        this.context = context;
+        this.settings = new DataGenerationSettings(users, accountsPerUser, stocks, years, snapshotDays,
+                holdingsPerAccount, lotsPerHolding, pendingOrdersPerAccount, alertsPerUser, watchlistPerUser, seed,
+                asOf.isBlank() ? LocalDate.now() : LocalDate.parse(asOf), prefix, threads, batchSize);
+    }
+
+
+    // Interface functions
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        log.info("Generating synthetic data: {}", settings);
+        SyntheticDataGenerator.Result result = generator.generate(settings);
+
+        result.rowsPerTable().forEach((table, rows) -> log.info("  {}: {} rows", table, rows));
+        log.info("Wrote {} rows in {}s ({} rows/minute)", result.totalRows(), result.elapsed().toSeconds(),
+                Math.round(result.rowsPerMinute()));
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
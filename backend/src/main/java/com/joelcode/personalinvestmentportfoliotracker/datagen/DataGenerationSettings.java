@@ -0,0 +1,37 @@
+package com.joelcode.personalinvestmentportfoliotracker.datagen;
+
+import java.time.LocalDate;
+
+/**
+ * Shape of a synthetic dataset. Every row follows from the seed, so two runs with the same settings and asOf
+ * date produce the same data.
+ *
+ * users                    users to create, each with accountsPerUser accounts
+ * stocks                   size of the stock universe, each with a daily price history of the last years
+ * snapshotDays             trailing calendar days that get a daily portfolio snapshot per account
+ * holdingsPerAccount       distinct stocks held per account, bought in up to lotsPerHolding lots over the years
+ * pendingOrdersPerAccount  open limit orders per account, away from the market so they stay pending
+ * alertsPerUser            price alerts per user, watchlistPerUser watchlist entries per user
+ * prefix                   prefix of generated usernames, emails and stock codes, so datasets can coexist
+ * threads, batchSize       writer threads (each with its own connection) and rows per COPY / JDBC batch
+ */
+public record DataGenerationSettings(int users, int accountsPerUser, int stocks, int years, int snapshotDays,
+                                     int holdingsPerAccount, int lotsPerHolding, int pendingOrdersPerAccount,
+                                     int alertsPerUser, int watchlistPerUser, long seed, LocalDate asOf,
+                                     String prefix, int threads, int batchSize) {
+
+    public DataGenerationSettings {
+        if (users < 0 || accountsPerUser < 1 || stocks < 1 || years < 1) {
+            throw new IllegalArgumentException("Need at least one stock, one account per user and one year of prices");
+        }
+        if (snapshotDays > years * 365) {
+            throw new IllegalArgumentException("snapshotDays cannot reach back further than the price history");
+        }
+        if (holdingsPerAccount > stocks || watchlistPerUser > stocks) {
+            throw new IllegalArgumentException("Holdings and watchlist entries are distinct stocks, at most " + stocks);
+        }
+        if (lotsPerHolding < 1 || threads < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("lotsPerHolding, threads and batchSize must be positive");
+        }
+    }
+}
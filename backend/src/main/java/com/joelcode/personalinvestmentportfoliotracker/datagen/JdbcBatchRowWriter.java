@@ -0,0 +1,68 @@
+package com.joelcode.personalinvestmentportfoliotracker.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+// Portable RowWriter: one prepared INSERT, executed as a JDBC batch
+class JdbcBatchRowWriter implements RowWriter {
+
+    // Define key fields
+    private final PreparedStatement statement;
+    private final int columnCount;
+    private int pending;
+    private long rowsWritten;
+
+
+    // Constructor
+    JdbcBatchRowWriter(Connection connection, String table, List<String> columns) throws SQLException {
+        this.statement = connection.prepareStatement("INSERT INTO " + table + " (" + String.join(", ", columns) +
+                ") VALUES (" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")");
+        this.columnCount = columns.size();
+    }
+
+
+    // Interface functions
+
+    @Override
+    public void add(Object... values) throws SQLException {
+        if (values.length != columnCount) {
+            throw new IllegalArgumentException("Expected " + columnCount + " values, got " + values.length);
+        }
+        for (int i = 0; i < values.length; i++) {
+            statement.setObject(i + 1, values[i]);
+        }
+        statement.addBatch();
+        pending++;
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        if (pending > 0) {
+            statement.executeBatch();
+            rowsWritten += pending;
+            pending = 0;
+        }
+    }
+
+    @Override
+    public int getPendingRows() {
+        return pending;
+    }
+
+    @Override
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+        } finally {
+            statement.close();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.joelcode.personalinvestmentportfoliotracker.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.List;
+
+// PostgreSQL RowWriter: rows are buffered as CSV and streamed with COPY ... FROM STDIN
+class PostgresCopyRowWriter implements RowWriter {
+
+    // Define key fields
+    private final CopyManager copyManager;
+    private final String copySql;
+    private final int columnCount;
+    private final StringBuilder buffer = new StringBuilder(1 << 16);
+    private int pending;
+    private long rowsWritten;
+
+
+    // Constructor
+    PostgresCopyRowWriter(PGConnection connection, String table, List<String> columns) throws SQLException {
+        this.copyManager = connection.getCopyAPI();
+        this.copySql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+        this.columnCount = columns.size();
+    }
+
+
+    // Interface functions
+
+    @Override
+    public void add(Object... values) throws SQLException {
+        if (values.length != columnCount) {
+            throw new IllegalArgumentException("Expected " + columnCount + " values, got " + values.length);
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            appendValue(values[i]);
+        }
+        buffer.append('\n');
+        pending++;
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        if (pending == 0) {
+            return;
+        }
+        try {
+            copyManager.copyIn(copySql, new StringReader(buffer.toString()));
+        } catch (IOException e) {
+            throw new SQLException("COPY failed: " + copySql, e);
+        }
+        rowsWritten += pending;
+        pending = 0;
+        buffer.setLength(0);
+    }
+
+    @Override
+    public int getPendingRows() {
+        return pending;
+    }
+
+    @Override
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        flush();
+    }
+
+
+    // Helper methods
+
+    // In CSV format an unquoted empty field is NULL; text is quoted whenever it could be misread
+    private void appendValue(Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof BigDecimal decimal) {
+            buffer.append(decimal.toPlainString());
+            return;
+        }
+        String text = value.toString();
+        if (value instanceof String && (text.isEmpty() || text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0)) {
+            buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+        } else {
+            buffer.append(text);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.joelcode.personalinvestmentportfoliotracker.datagen;
+
+import org.postgresql.PGConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Buffered bulk writer of rows into one table. Rows reach the database on flush and on close, so a caller writing
+ * related tables flushes parents before children to keep foreign keys satisfied.
+ *
+ * PostgreSQL connections stream rows through COPY; other databases (H2 in tests) get JDBC batch inserts.
+ * Rows are written on the caller's connection and transaction.
+ */
+public interface RowWriter extends AutoCloseable {
+
+    void add(Object... values) throws SQLException;
+
+    void flush() throws SQLException;
+
+    int getPendingRows();
+
+    long getRowsWritten();
+
+    @Override
+    void close() throws SQLException;
+
+    static RowWriter open(Connection connection, String table, List<String> columns) throws SQLException {
+        if (connection.isWrapperFor(PGConnection.class)) {
+            return new PostgresCopyRowWriter(connection.unwrap(PGConnection.class), table, columns);
+        }
+        return new JdbcBatchRowWriter(connection, table, columns);
+    }
+}
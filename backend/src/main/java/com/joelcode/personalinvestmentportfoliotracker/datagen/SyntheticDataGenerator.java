@@ -0,0 +1,495 @@
+package com.joelcode.personalinvestmentportfoliotracker.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the schema with a synthetic, production-shaped dataset for scale testing: users with funded accounts,
+ * holdings built from years of buy and sell transactions, daily portfolio snapshots, dense price history,
+ * dividends with their payments, pending limit orders, price alerts and watchlists.
+ *
+ * The stock universe is written first, then users are written in chunks by parallel workers, each chunk in one
+ * transaction on its own connection. Every user draws from its own seeded random stream, so the data does not
+ * depend on the number of threads. Rows go through RowWriter, which uses COPY on PostgreSQL.
+ */
+@Component
+@Profile("datagen")
+public class SyntheticDataGenerator {
+
+    public static final String DEFAULT_PASSWORD = "synthetic-password";
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final int USERS_PER_CHUNK = 250;
+
+    // Tables in foreign key order; writers are always flushed in this order
+    private static final Map<String, List<String>> MARKET_TABLES = tables(
+            "stock", List.of("stock_id", "stock_code", "company_name", "stock_value", "dividend_per_share",
+                    "industry", "created_at", "updated_at"),
+            "price_history", List.of("price_history_id", "stock_id", "close_date", "close_price"),
+            "dividends", List.of("dividend_id", "stock_id", "dividend_per_share", "pay_date", "announcement_date"));
+
+    private static final Map<String, List<String>> USER_TABLES = tables(
+            "users", List.of("user_id", "email", "username", "password", "full_name", "roles", "created_at",
+                    "updated_at", "price_alerts", "portfolio_updates", "market_news", "dividend_notifications",
+                    "earning_season"),
+            "accounts", List.of("account_id", "user_id", "account_name", "account_balance", "created_at"),
+            "watchlist", List.of("watchlist_id", "user_id", "stock_id", "added_at"),
+            "price_alerts", List.of("alert_id", "user_id", "stock_id", "type", "target_price", "is_active",
+                    "created_at", "triggered_at"),
+            "transactions", List.of("transaction_id", "account_id", "stock_id", "share_quantity", "price_per_share",
+                    "commission", "transaction_type", "created_at", "updated_at"),
+            "holdings", List.of("holding_id", "account_id", "stock_id", "quantity", "average_cost_basis",
+                    "total_cost_basis", "unrealized_gain", "realized_gain", "first_purchase_date", "created_at",
+                    "updated_at"),
+            "dividend_payments", List.of("payment_id", "account_id", "stock_id", "dividend_id", "share_quantity",
+                    "total_amount", "payment_date", "recorded_at", "status"),
+            "portfolio_snapshots", List.of("snapshot_id", "account_id", "snapshot_date", "total_value",
+                    "cash_balance", "total_cost_basis", "total_gain", "day_change", "day_change_percent",
+                    "realized_gain", "unrealized_gain", "total_dividends", "roi_percentage", "created_at",
+                    "updated_at"),
+            "orders", List.of("order_id", "account_id", "stock_id", "order_type", "quantity", "limit_price",
+                    "status", "created_at"));
+
+    private static final BigDecimal COMMISSION = new BigDecimal("4.95");
+
+    public record Result(Map<String, Long> rowsPerTable, Duration elapsed) {
+
+        public long totalRows() {
+            return rowsPerTable.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public double rowsPerMinute() {
+            return elapsed.isZero() ? 0 : totalRows() * 60_000.0 / elapsed.toMillis();
+        }
+    }
+
+    // Define key fields
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+
+
+    // Constructor
+    public SyntheticDataGenerator(DataSource dataSource, PasswordEncoder passwordEncoder) {
+        this.dataSource = dataSource;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+
+    // Interface functions
+
+    public Result generate(DataGenerationSettings settings) throws SQLException, InterruptedException {
+        long start = System.nanoTime();
+        Map<String, AtomicLong> counts = new ConcurrentHashMap<>();
+
+        SyntheticMarket market = new SyntheticMarket(settings);
+        writeMarket(settings, market, counts);
+        log.info("Wrote {} stocks over {} trading days", market.getStockCount(), market.getTradingDays().size());
+
+        // Every generated user gets the same (expensive) password hash
+        String passwordHash = passwordEncoder.encode(DEFAULT_PASSWORD);
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(settings.threads(), runnable -> {
+            Thread thread = new Thread(runnable, "datagen-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            AtomicInteger usersDone = new AtomicInteger();
+            for (int from = 0; from < settings.users(); from += USERS_PER_CHUNK) {
+                int first = from;
+                int last = Math.min(settings.users(), from + USERS_PER_CHUNK);
+                chunks.add(workers.submit(() -> {
+                    writeUsers(settings, market, passwordHash, first, last, counts);
+                    int done = usersDone.addAndGet(last - first);
+                    log.info("Generated {}/{} users ({} rows so far)", done, settings.users(), total(counts));
+                    return null;
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException("Data generation failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+
+        Map<String, Long> rowsPerTable = new LinkedHashMap<>();
+        MARKET_TABLES.keySet().forEach(table -> rowsPerTable.put(table, count(counts, table)));
+        USER_TABLES.keySet().forEach(table -> rowsPerTable.put(table, count(counts, table)));
+        return new Result(rowsPerTable, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+
+    // Market
+
+    private void writeMarket(DataGenerationSettings settings, SyntheticMarket market, Map<String, AtomicLong> counts)
+            throws SQLException {
+        List<LocalDate> days = market.getTradingDays();
+        LocalDateTime createdAt = days.get(0).atStartOfDay();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Writers writers = new Writers(connection, MARKET_TABLES, settings.batchSize(), counts)) {
+                for (int stock = 0; stock < market.getStockCount(); stock++) {
+                    UUID stockId = market.getStockId(stock);
+                    List<SyntheticMarket.Dividend> dividends = market.getDividends(stock);
+                    double lastDividend = dividends.isEmpty() ? 0 : dividends.get(dividends.size() - 1).perShare();
+                    writers.add("stock", stockId, market.getStockCode(stock), market.getCompanyName(stock),
+                            money(market.getLastClose(stock)), money(lastDividend), market.getIndustry(stock),
+                            createdAt, createdAt);
+
+                    SplittableRandom random = random(settings.seed(), stock);
+                    for (int day = 0; day < days.size(); day++) {
+                        writers.add("price_history", uuid(random), stockId, days.get(day).atTime(16, 0),
+                                money(market.getClose(stock, day)));
+                    }
+                    for (SyntheticMarket.Dividend dividend : dividends) {
+                        LocalDate payDate = days.get(dividend.day());
+                        writers.add("dividends", dividend.dividendId(), stockId, money(dividend.perShare()),
+                                payDate.atStartOfDay(), payDate.minusWeeks(3).atStartOfDay());
+                    }
+                    writers.flushIfFull();
+                }
+            }
+            connection.commit();
+        }
+    }
+
+
+    // Users and their accounts
+
+    private void writeUsers(DataGenerationSettings settings, SyntheticMarket market, String passwordHash,
+                            int first, int last, Map<String, AtomicLong> counts) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Writers writers = new Writers(connection, USER_TABLES, settings.batchSize(), counts)) {
+                for (int user = first; user < last; user++) {
+                    writeUser(settings, market, passwordHash, user, writers);
+                    writers.flushIfFull();
+                }
+            }
+            connection.commit();
+        }
+    }
+
+    private void writeUser(DataGenerationSettings settings, SyntheticMarket market, String passwordHash, int user,
+                           Writers writers) throws SQLException {
+        SplittableRandom random = random(settings.seed(), (long) Integer.MAX_VALUE + user);
+        List<LocalDate> days = market.getTradingDays();
+        UUID userId = uuid(random);
+        String username = settings.prefix() + "user" + user;
+        int joinedDay = random.nextInt(Math.max(1, days.size() / 4));
+        LocalDateTime joinedAt = days.get(joinedDay).atTime(9, random.nextInt(60));
+
+        writers.add("users", userId, username + "@synthetic.local", username, passwordHash,
+                "Synthetic User " + user, "ROLE_USER", joinedAt, joinedAt,
+                true, true, random.nextBoolean(), true, random.nextBoolean());
+
+        for (int stock : distinctStocks(random, market.getStockCount(), settings.watchlistPerUser())) {
+            writers.add("watchlist", uuid(random), userId, market.getStockId(stock), joinedAt.plusDays(random.nextInt(30)));
+        }
+
+        for (int stock : distinctStocks(random, market.getStockCount(), settings.alertsPerUser())) {
+            boolean above = random.nextBoolean();
+            double last = market.getLastClose(stock);
+            double target = last * (above ? 1.05 + random.nextDouble() * 0.2 : 0.75 + random.nextDouble() * 0.2);
+            boolean triggered = random.nextInt(5) == 0;
+            LocalDateTime createdAt = days.get(days.size() - 1 - random.nextInt(Math.min(60, days.size()))).atTime(12, 0);
+            writers.add("price_alerts", uuid(random), userId, market.getStockId(stock), above ? "ABOVE" : "BELOW",
+                    money(target), !triggered, createdAt, triggered ? createdAt.plusDays(1) : null);
+        }
+
+        for (int account = 0; account < settings.accountsPerUser(); account++) {
+            writeAccount(settings, market, random, userId, account, joinedDay, writers);
+        }
+    }
+
+    private void writeAccount(DataGenerationSettings settings, SyntheticMarket market, SplittableRandom random,
+                              UUID userId, int accountNumber, int openedDay, Writers writers) throws SQLException {
+        List<LocalDate> days = market.getTradingDays();
+        int lastDay = days.size() - 1;
+        UUID accountId = uuid(random);
+        double cash = 1_000 + random.nextInt(99_000);
+        writers.add("accounts", accountId, userId, "Account " + (accountNumber + 1), money(cash),
+                days.get(openedDay).atTime(9, 30));
+
+        // Values per day of the snapshot window, summed over the account's holdings
+        int windowStart = firstDayOnOrAfter(days, settings.asOf().minusDays(settings.snapshotDays() - 1L));
+        int windowLength = days.size() - windowStart;
+        double[] marketValue = new double[windowLength];
+        double[] costBasis = new double[windowLength];
+        double[] realized = new double[windowLength];
+        double[] dividendsReceived = new double[windowLength];
+
+        for (int stock : distinctStocks(random, market.getStockCount(), settings.holdingsPerAccount())) {
+            UUID stockId = market.getStockId(stock);
+
+            // Buy lots on sorted days after the account opened, then maybe sell part of the position
+            int lots = 1 + random.nextInt(settings.lotsPerHolding());
+            int[] lotDays = new int[lots];
+            for (int lot = 0; lot < lots; lot++) {
+                lotDays[lot] = openedDay + random.nextInt(lastDay - openedDay + 1);
+            }
+            Arrays.sort(lotDays);
+            int[] lotQuantities = new int[lots];
+            for (int lot = 0; lot < lots; lot++) {
+                lotQuantities[lot] = 1 + random.nextInt(100);
+                LocalDateTime tradedAt = tradeTime(days, lotDays[lot], random);
+                writers.add("transactions", uuid(random), accountId, stockId, shares(lotQuantities[lot]),
+                        money(market.getClose(stock, lotDays[lot])), COMMISSION, "BUY", tradedAt, tradedAt);
+            }
+            int sellDay = -1;
+            int sellQuantity = 0;
+            int bought = Arrays.stream(lotQuantities).sum();
+            if (bought > 1 && lotDays[lots - 1] < lastDay && random.nextInt(10) < 3) {
+                sellDay = lotDays[lots - 1] + 1 + random.nextInt(lastDay - lotDays[lots - 1]);
+                sellQuantity = 1 + random.nextInt(bought - 1);
+                LocalDateTime tradedAt = tradeTime(days, sellDay, random);
+                writers.add("transactions", uuid(random), accountId, stockId, shares(sellQuantity),
+                        money(market.getClose(stock, sellDay)), COMMISSION, "SELL", tradedAt, tradedAt);
+            }
+
+            // Walk the position through every day, valuing it inside the snapshot window and paying dividends
+            List<SyntheticMarket.Dividend> dividends = market.getDividends(stock);
+            int nextLot = 0;
+            int nextDividend = 0;
+            double quantity = 0;
+            double cost = 0;
+            double realizedGain = 0;
+            double dividendTotal = 0;
+            for (int day = lotDays[0]; day <= lastDay; day++) {
+                while (nextLot < lots && lotDays[nextLot] == day) {
+                    quantity += lotQuantities[nextLot];
+                    cost += lotQuantities[nextLot] * market.getClose(stock, day);
+                    nextLot++;
+                }
+                if (day == sellDay) {
+                    double averageCost = cost / quantity;
+                    realizedGain += sellQuantity * (market.getClose(stock, day) - averageCost);
+                    cost -= sellQuantity * averageCost;
+                    quantity -= sellQuantity;
+                }
+                while (nextDividend < dividends.size() && dividends.get(nextDividend).day() < day) {
+                    nextDividend++;
+                }
+                if (nextDividend < dividends.size() && dividends.get(nextDividend).day() == day) {
+                    SyntheticMarket.Dividend dividend = dividends.get(nextDividend);
+                    double amount = quantity * dividend.perShare();
+                    dividendTotal += amount;
+                    LocalDateTime paidAt = days.get(day).atStartOfDay();
+                    writers.add("dividend_payments", uuid(random), accountId, stockId, dividend.dividendId(),
+                            shares(quantity), money(amount), paidAt, paidAt.plusHours(6), "PAID");
+                }
+                if (day >= windowStart) {
+                    int slot = day - windowStart;
+                    marketValue[slot] += quantity * market.getClose(stock, day);
+                    costBasis[slot] += cost;
+                    realized[slot] += realizedGain;
+                    dividendsReceived[slot] += dividendTotal;
+                }
+            }
+
+            double last = market.getLastClose(stock);
+            double averageCost = cost / quantity;
+            LocalDateTime firstPurchase = days.get(lotDays[0]).atTime(10, 0);
+            writers.add("holdings", uuid(random), accountId, stockId, shares(quantity),
+                    BigDecimal.valueOf(averageCost).setScale(4, RoundingMode.HALF_UP), money(cost),
+                    money(quantity * last - cost), money(realizedGain), firstPurchase, firstPurchase,
+                    days.get(lastDay).atTime(16, 0));
+        }
+
+        writeSnapshots(days, windowStart, accountId, cash, marketValue, costBasis, realized, dividendsReceived, writers);
+
+        // Limit orders far enough from the last close to stay pending
+        for (int stock : distinctStocks(random, market.getStockCount(), settings.pendingOrdersPerAccount())) {
+            double last = market.getLastClose(stock);
+            boolean buy = random.nextBoolean();
+            double limit = last * (buy ? 0.80 + random.nextDouble() * 0.15 : 1.05 + random.nextDouble() * 0.15);
+            writers.add("orders", uuid(random), accountId, market.getStockId(stock), buy ? "BUY_LIMIT" : "SELL_LIMIT",
+                    shares(1 + random.nextInt(50)), BigDecimal.valueOf(limit).setScale(4, RoundingMode.HALF_UP),
+                    "PENDING", tradeTime(days, lastDay - random.nextInt(Math.min(20, days.size())), random));
+        }
+    }
+
+    // One snapshot per trading day of the window, computed the way the batch snapshot job does
+    private void writeSnapshots(List<LocalDate> days, int windowStart, UUID accountId, double cash,
+                                double[] marketValue, double[] costBasis, double[] realized,
+                                double[] dividendsReceived, Writers writers) throws SQLException {
+        BigDecimal previousValue = null;
+        for (int slot = 0; slot < marketValue.length; slot++) {
+            BigDecimal totalValue = money(marketValue[slot]);
+            BigDecimal totalCost = money(costBasis[slot]);
+            BigDecimal unrealized = money(marketValue[slot] - costBasis[slot]);
+            BigDecimal realizedGain = money(realized[slot]);
+            BigDecimal totalGain = unrealized.add(realizedGain);
+            BigDecimal dayChange = previousValue == null ? BigDecimal.ZERO : totalValue.subtract(previousValue);
+            BigDecimal dayChangePercent = previousValue == null || previousValue.signum() <= 0 ? BigDecimal.ZERO
+                    : dayChange.divide(previousValue, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100));
+            BigDecimal roi = totalCost.signum() > 0
+                    ? totalGain.divide(totalCost, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
+                    : BigDecimal.ZERO;
+            LocalDate date = days.get(windowStart + slot);
+            LocalDateTime createdAt = date.plusDays(1).atStartOfDay();
+
+            writers.add("portfolio_snapshots", uuid(accountId, slot), accountId, date, totalValue, money(cash),
+                    totalCost, totalGain, dayChange, dayChangePercent, realizedGain, unrealized,
+                    money(dividendsReceived[slot]), roi, createdAt, createdAt);
+            previousValue = totalValue;
+        }
+    }
+
+
+    // Helper methods
+
+    // Independent random stream per stock, user or other unit of generation
+    static SplittableRandom random(long seed, long stream) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream);
+    }
+
+    // Random (version 4) UUID drawn from the seeded stream
+    static UUID uuid(SplittableRandom random) {
+        long mostSignificant = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSignificant = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    // Snapshot ids follow from the account and day, so the snapshot loop needs no random draws
+    private static UUID uuid(UUID accountId, int slot) {
+        return new UUID(accountId.getMostSignificantBits(), accountId.getLeastSignificantBits() + slot + 1);
+    }
+
+    private static int[] distinctStocks(SplittableRandom random, int stockCount, int count) {
+        int[] picked = new int[count];
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < count; ) {
+            int stock = random.nextInt(stockCount);
+            if (seen.add(stock)) {
+                picked[i++] = stock;
+            }
+        }
+        return picked;
+    }
+
+    private static int firstDayOnOrAfter(List<LocalDate> days, LocalDate date) {
+        for (int day = 0; day < days.size(); day++) {
+            if (!days.get(day).isBefore(date)) {
+                return day;
+            }
+        }
+        return days.size();
+    }
+
+    private static LocalDateTime tradeTime(List<LocalDate> days, int day, SplittableRandom random) {
+        return days.get(day).atTime(9 + random.nextInt(7), random.nextInt(60), random.nextInt(60));
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal shares(double quantity) {
+        return BigDecimal.valueOf(quantity).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static long count(Map<String, AtomicLong> counts, String table) {
+        AtomicLong count = counts.get(table);
+        return count != null ? count.get() : 0;
+    }
+
+    private static long total(Map<String, AtomicLong> counts) {
+        return counts.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    private static Map<String, List<String>> tables(Object... tablesAndColumns) {
+        Map<String, List<String>> tables = new LinkedHashMap<>();
+        for (int i = 0; i < tablesAndColumns.length; i += 2) {
+            @SuppressWarnings("unchecked")
+            List<String> columns = (List<String>) tablesAndColumns[i + 1];
+            tables.put((String) tablesAndColumns[i], columns);
+        }
+        return tables;
+    }
+
+
+    // One RowWriter per table on a connection, flushed together in foreign key order
+    private static final class Writers implements AutoCloseable {
+
+        private final Map<String, RowWriter> writers = new LinkedHashMap<>();
+        private final int batchSize;
+        private final Map<String, AtomicLong> counts;
+
+        private Writers(Connection connection, Map<String, List<String>> tables, int batchSize,
+                        Map<String, AtomicLong> counts) throws SQLException {
+            this.batchSize = batchSize;
+            this.counts = counts;
+            for (Map.Entry<String, List<String>> table : tables.entrySet()) {
+                writers.put(table.getKey(), RowWriter.open(connection, table.getKey(), table.getValue()));
+            }
+        }
+
+        void add(String table, Object... values) throws SQLException {
+            writers.get(table).add(values);
+        }
+
+        void flushIfFull() throws SQLException {
+            int pending = 0;
+            for (RowWriter writer : writers.values()) {
+                pending = Math.max(pending, writer.getPendingRows());
+            }
+            if (pending >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            for (RowWriter writer : writers.values()) {
+                writer.flush();
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            flush();
+            for (Map.Entry<String, RowWriter> writer : writers.entrySet()) {
+                writer.getValue().close();
+                counts.computeIfAbsent(writer.getKey(), table -> new AtomicLong())
+                        .addAndGet(writer.getValue().getRowsWritten());
+            }
+        }
+    }
+}
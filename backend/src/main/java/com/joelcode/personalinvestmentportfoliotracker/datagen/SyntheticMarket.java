@@ -0,0 +1,122 @@
+package com.joelcode.personalinvestmentportfoliotracker.datagen;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * The stock universe of a synthetic dataset: weekday closing prices per stock over the generated years, and a
+ * quarterly dividend for roughly two in five stocks. Held in memory so accounts can be valued on any day.
+ */
+class SyntheticMarket {
+
+    static final String[] INDUSTRIES = {
+            "Technology", "Healthcare", "Financial Services", "Energy", "Consumer Cyclical", "Consumer Defensive",
+            "Industrials", "Utilities", "Real Estate", "Communication Services", "Basic Materials"
+    };
+
+    private static final int TRADING_DAYS_PER_QUARTER = 63;
+
+    record Dividend(UUID dividendId, int day, double perShare) {}
+
+    // Define key fields
+    private final List<LocalDate> tradingDays;
+    private final UUID[] stockIds;
+    private final String[] stockCodes;
+    private final double[][] closes;
+    private final List<List<Dividend>> dividends;
+
+
+    // Constructor
+    SyntheticMarket(DataGenerationSettings settings) {
+        this.tradingDays = tradingDays(settings.asOf().minusYears(settings.years()), settings.asOf());
+        int stockCount = settings.stocks();
+        this.stockIds = new UUID[stockCount];
+        this.stockCodes = new String[stockCount];
+        this.closes = new double[stockCount][];
+        this.dividends = new ArrayList<>(stockCount);
+
+        for (int stock = 0; stock < stockCount; stock++) {
+            SplittableRandom random = SyntheticDataGenerator.random(settings.seed(), -1 - stock);
+            stockIds[stock] = SyntheticDataGenerator.uuid(random);
+            stockCodes[stock] = (settings.prefix() + code(stock)).toUpperCase();
+            closes[stock] = walk(random, tradingDays.size());
+            dividends.add(random.nextInt(5) < 2 ? dividends(random, closes[stock]) : List.of());
+        }
+    }
+
+
+    // Accessors
+
+    List<LocalDate> getTradingDays() {return tradingDays;}
+
+    int getStockCount() {return stockIds.length;}
+
+    UUID getStockId(int stock) {return stockIds[stock];}
+
+    String getStockCode(int stock) {return stockCodes[stock];}
+
+    String getCompanyName(int stock) {return stockCodes[stock] + " Synthetic Holdings";}
+
+    String getIndustry(int stock) {return INDUSTRIES[stock % INDUSTRIES.length];}
+
+    double getClose(int stock, int day) {return closes[stock][day];}
+
+    double getLastClose(int stock) {return closes[stock][closes[stock].length - 1];}
+
+    List<Dividend> getDividends(int stock) {return dividends.get(stock);}
+
+
+    // Helper methods
+
+    private static List<LocalDate> tradingDays(LocalDate from, LocalDate to) {
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    // Geometric random walk from a start between 5 and 500, with a small drift and 1.5% daily volatility
+    private static double[] walk(SplittableRandom random, int days) {
+        double[] prices = new double[days];
+        double price = 5 + random.nextDouble() * 495;
+        for (int day = 0; day < days; day++) {
+            price = Math.max(0.5, price * (1 + 0.0003 + gaussian(random) * 0.015));
+            prices[day] = Math.round(price * 100) / 100.0;
+        }
+        return prices;
+    }
+
+    // Quarterly payouts of 0.3% to 1% of the price at the time
+    private static List<Dividend> dividends(SplittableRandom random, double[] prices) {
+        double yield = 0.003 + random.nextDouble() * 0.007;
+        List<Dividend> dividends = new ArrayList<>();
+        for (int day = random.nextInt(TRADING_DAYS_PER_QUARTER); day < prices.length; day += TRADING_DAYS_PER_QUARTER) {
+            double perShare = Math.max(0.01, Math.round(prices[day] * yield * 100) / 100.0);
+            dividends.add(new Dividend(SyntheticDataGenerator.uuid(random), day, perShare));
+        }
+        return dividends;
+    }
+
+    // Box-Muller, since SplittableRandom has no nextGaussian on Java 17
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    // AAA, AAB, ... ZZZ, then BAAA onwards (base 26, at least three letters)
+    private static String code(int index) {
+        StringBuilder code = new StringBuilder();
+        int remaining = index;
+        for (int letters = 0; letters < 3 || remaining > 0; letters++) {
+            code.append((char) ('A' + remaining % 26));
+            remaining /= 26;
+        }
+        return code.reverse().toString();
+    }
+}
@@ -0,0 +1,34 @@
+package com.joelcode.personalinvestmentportfoliotracker.dto.pricehistory;
+
+import java.util.UUID;
+
+public class PriceSeriesDTO {
+
+    // Compact price series response DTO (output) for charts: times[i] is the close date of prices[i]
+    // as epoch milliseconds
+    private UUID stockId;
+    private long[] times;
+    private double[] prices;
+
+    // Constructors
+    public PriceSeriesDTO(UUID stockId, long[] times, double[] prices) {
+        this.stockId = stockId;
+        this.times = times;
+        this.prices = prices;
+    }
+
+    public PriceSeriesDTO() {}
+
+    // Getters and setters
+    public UUID getStockId() {return stockId;}
+
+    public long[] getTimes() {return times;}
+
+    public double[] getPrices() {return prices;}
+
+    public void setStockId(UUID stockId) {this.stockId = stockId;}
+
+    public void setTimes(long[] times) {this.times = times;}
+
+    public void setPrices(double[] prices) {this.prices = prices;}
+}
@@ -0,0 +1,134 @@
+package com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.Arrays;
+
+/**
+ * OHLCV candles held in primitive arrays, a bar costs 48 bytes however long the series is.
+ *
+ * Read from Yahoo chart responses by YahooChartDeserializer and written by CandleSeriesSerializer in the
+ * c/h/l/o/t/v/s shape of FinnhubCandleDTO, so no per-bar objects are built on the way through. Times are unix
+ * seconds. A price Yahoo left out is NaN and a missing volume is MISSING_VOLUME; both are written as null.
+ */
+@JsonSerialize(using = CandleSeriesSerializer.class)
+public final class CandleSeries {
+
+    public static final long MISSING_VOLUME = -1L;
+    public static final CandleSeries EMPTY = new Builder(0).build();
+
+    // Define key fields
+    private final int size;
+    private final long[] times;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final long[] volumes;
+
+
+    // Constructor
+    private CandleSeries(int size, long[] times, double[] open, double[] high, double[] low, double[] close,
+                         long[] volumes) {
+        this.size = size;
+        this.times = times;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volumes = volumes;
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    // Wraps columns of exactly size bars without copying them
+    static CandleSeries of(int size, long[] times, double[] open, double[] high, double[] low, double[] close,
+                           long[] volumes) {
+        return new CandleSeries(size, times, open, high, low, close, volumes);
+    }
+
+
+    // Getters
+    public int size() {return size;}
+
+    public boolean isEmpty() {return size == 0;}
+
+    public long time(int i) {return times[i];}
+
+    public double open(int i) {return open[i];}
+
+    public double high(int i) {return high[i];}
+
+    public double low(int i) {return low[i];}
+
+    public double close(int i) {return close[i];}
+
+    public long volume(int i) {return volumes[i];}
+
+    // Same statuses as YahooFinanceApiClientImpl has always returned
+    public String getStatus() {return size == 0 ? "no_data" : "ok";}
+
+
+    // Appends bars to arrays that double when full; build() trims them to size
+    public static final class Builder {
+
+        private int size;
+        private long[] times;
+        private double[] open;
+        private double[] high;
+        private double[] low;
+        private double[] close;
+        private long[] volumes;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(0, expectedSize);
+            times = new long[capacity];
+            open = new double[capacity];
+            high = new double[capacity];
+            low = new double[capacity];
+            close = new double[capacity];
+            volumes = new long[capacity];
+        }
+
+        public Builder add(long time, double openPrice, double highPrice, double lowPrice, double closePrice,
+                           long volume) {
+            if (size == times.length) {
+                grow();
+            }
+            times[size] = time;
+            open[size] = openPrice;
+            high[size] = highPrice;
+            low[size] = lowPrice;
+            close[size] = closePrice;
+            volumes[size] = volume;
+            size++;
+            return this;
+        }
+
+        public int size() {return size;}
+
+        public CandleSeries build() {
+            if (size < times.length) {
+                times = Arrays.copyOf(times, size);
+                open = Arrays.copyOf(open, size);
+                high = Arrays.copyOf(high, size);
+                low = Arrays.copyOf(low, size);
+                close = Arrays.copyOf(close, size);
+                volumes = Arrays.copyOf(volumes, size);
+            }
+            return new CandleSeries(size, times, open, high, low, close, volumes);
+        }
+
+        private void grow() {
+            int capacity = Math.max(16, times.length * 2);
+            times = Arrays.copyOf(times, capacity);
+            open = Arrays.copyOf(open, capacity);
+            high = Arrays.copyOf(high, capacity);
+            low = Arrays.copyOf(low, capacity);
+            close = Arrays.copyOf(close, capacity);
+            volumes = Arrays.copyOf(volumes, capacity);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+// Writes a CandleSeries straight from its arrays as {"c":[..],"h":[..],"l":[..],"o":[..],"t":[..],"v":[..],"s":".."},
+// the FinnhubCandleDTO shape the chart screens read
+public class CandleSeriesSerializer extends StdSerializer<CandleSeries> {
+
+    public CandleSeriesSerializer() {
+        super(CandleSeries.class);
+    }
+
+    @Override
+    public void serialize(CandleSeries series, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int size = series.size();
+        gen.writeStartObject();
+
+        gen.writeArrayFieldStart("c");
+        for (int i = 0; i < size; i++) {
+            writePrice(gen, series.close(i));
+        }
+        gen.writeEndArray();
+
+        gen.writeArrayFieldStart("h");
+        for (int i = 0; i < size; i++) {
+            writePrice(gen, series.high(i));
+        }
+        gen.writeEndArray();
+
+        gen.writeArrayFieldStart("l");
+        for (int i = 0; i < size; i++) {
+            writePrice(gen, series.low(i));
+        }
+        gen.writeEndArray();
+
+        gen.writeArrayFieldStart("o");
+        for (int i = 0; i < size; i++) {
+            writePrice(gen, series.open(i));
+        }
+        gen.writeEndArray();
+
+        gen.writeArrayFieldStart("t");
+        for (int i = 0; i < size; i++) {
+            gen.writeNumber(series.time(i));
+        }
+        gen.writeEndArray();
+
+        gen.writeArrayFieldStart("v");
+        for (int i = 0; i < size; i++) {
+            long volume = series.volume(i);
+            if (volume == CandleSeries.MISSING_VOLUME) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(volume);
+            }
+        }
+        gen.writeEndArray();
+
+        gen.writeStringField("s", series.getStatus());
+        gen.writeEndObject();
+    }
+
+    private static void writePrice(JsonGenerator gen, double price) throws IOException {
+        if (Double.isNaN(price)) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(price);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.NumberInput;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Reads a Yahoo chart response (the YahooChartResponse layout) token by token into a CandleSeries.
+ *
+ * Only chart.result[0].timestamp and the columns of chart.result[0].indicators.quote[0] are kept, everything else
+ * (meta, adjclose, further results) is skipped without being bound. Each column is read into a primitive array,
+ * nulls become NaN or CandleSeries.MISSING_VOLUME and columns shorter than timestamp are padded the same way.
+ * A chart.error fails the read with the error, as YahooFinanceApiClientImpl reported it before.
+ */
+public class YahooChartDeserializer extends StdDeserializer<CandleSeries> {
+
+    public YahooChartDeserializer() {
+        super(CandleSeries.class);
+    }
+
+    @Override
+    public CandleSeries deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        Columns columns = new Columns();
+        YahooChartError error = null;
+
+        expectObject(p);
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if (!"chart".equals(field) || value != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String chartField = p.currentName();
+                JsonToken chartValue = p.nextToken();
+                if ("result".equals(chartField) && chartValue == JsonToken.START_ARRAY) {
+                    readResults(p, columns);
+                } else if ("error".equals(chartField) && chartValue == JsonToken.START_OBJECT) {
+                    error = readError(p);
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+
+        if (error != null) {
+            throw JsonMappingException.from(p, "Yahoo Finance error: " + error);
+        }
+        return columns.toSeries();
+    }
+
+
+    // Helper methods
+
+    // The first result is read, the rest are skipped
+    private static void readResults(JsonParser p, Columns columns) throws IOException {
+        boolean first = true;
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (!first || p.currentToken() != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            first = false;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("timestamp".equals(field) && value == JsonToken.START_ARRAY) {
+                    columns.times = readLongs(p, 0L, 64);
+                } else if ("indicators".equals(field) && value == JsonToken.START_OBJECT) {
+                    readIndicators(p, columns);
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+    }
+
+    private static void readIndicators(JsonParser p, Columns columns) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if (!"quote".equals(field) || value != JsonToken.START_ARRAY) {
+                p.skipChildren();
+                continue;
+            }
+            boolean first = true;
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (!first || p.currentToken() != JsonToken.START_OBJECT) {
+                    p.skipChildren();
+                    continue;
+                }
+                first = false;
+                readQuote(p, columns);
+            }
+        }
+    }
+
+    private static void readQuote(JsonParser p, Columns columns) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if (value != JsonToken.START_ARRAY) {
+                p.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "open" -> columns.open = readDoubles(p, columns.expectedSize());
+                case "high" -> columns.high = readDoubles(p, columns.expectedSize());
+                case "low" -> columns.low = readDoubles(p, columns.expectedSize());
+                case "close" -> columns.close = readDoubles(p, columns.expectedSize());
+                case "volume" -> columns.volumes = readLongs(p, CandleSeries.MISSING_VOLUME, columns.expectedSize());
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private static YahooChartError readError(JsonParser p) throws IOException {
+        YahooChartError error = new YahooChartError();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if ("code".equals(field) && value.isScalarValue()) {
+                error.setCode(p.getValueAsString());
+            } else if ("description".equals(field) && value.isScalarValue()) {
+                error.setDescription(p.getValueAsString());
+            } else {
+                p.skipChildren();
+            }
+        }
+        return error;
+    }
+
+    // Called on START_ARRAY, returns the array trimmed to its length. Sized from timestamp when that came first,
+    // as it does in Yahoo's responses, so the columns are allocated once.
+    private static double[] readDoubles(JsonParser p, int capacity) throws IOException {
+        double[] values = new double[capacity];
+        int size = 0;
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.max(64, size * 2));
+            }
+            if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+                // Parsed from the parser's own buffer, getDoubleValue() would build a String for every price
+                values[size++] = NumberInput.parseDouble(p.getTextCharacters(), p.getTextOffset(), p.getTextLength(),
+                        true);
+            } else if (token == JsonToken.VALUE_NUMBER_INT) {
+                values[size++] = p.getLongValue();
+            } else {
+                values[size++] = Double.NaN;
+            }
+            p.skipChildren();
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    private static long[] readLongs(JsonParser p, long missing, int capacity) throws IOException {
+        long[] values = new long[capacity];
+        int size = 0;
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.max(64, size * 2));
+            }
+            if (token == JsonToken.VALUE_NUMBER_INT) {
+                values[size++] = p.getLongValue();
+            } else if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+                values[size++] = (long) p.getDoubleValue();
+            } else {
+                values[size++] = missing;
+            }
+            p.skipChildren();
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    private static void expectObject(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken() != null ? p.currentToken() : p.nextToken();
+        if (token != JsonToken.START_OBJECT) {
+            throw JsonMappingException.from(p, "Expected a Yahoo chart object but found " + token);
+        }
+    }
+
+
+    // Columns as read; a response without timestamps or closes has no bars
+    private static final class Columns {
+        private long[] times;
+        private double[] open;
+        private double[] high;
+        private double[] low;
+        private double[] close;
+        private long[] volumes;
+
+        private int expectedSize() {
+            return times != null ? Math.max(1, times.length) : 64;
+        }
+
+        private CandleSeries toSeries() {
+            if (times == null || times.length == 0 || close == null || close.length == 0) {
+                return CandleSeries.EMPTY;
+            }
+            int size = times.length;
+            return CandleSeries.of(size, times, pad(open, size), pad(high, size), pad(low, size), pad(close, size),
+                    pad(volumes, size));
+        }
+
+        private static double[] pad(double[] column, int size) {
+            if (column != null && column.length == size) {
+                return column;
+            }
+            double[] padded = new double[size];
+            Arrays.fill(padded, Double.NaN);
+            if (column != null) {
+                System.arraycopy(column, 0, padded, 0, Math.min(size, column.length));
+            }
+            return padded;
+        }
+
+        private static long[] pad(long[] column, int size) {
+            if (column != null && column.length == size) {
+                return column;
+            }
+            long[] padded = new long[size];
+            Arrays.fill(padded, CandleSeries.MISSING_VOLUME);
+            if (column != null) {
+                System.arraycopy(column, 0, padded, 0, Math.min(size, column.length));
+            }
+            return padded;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.joelcode.personalinvestmentportfoliotracker.entities;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Entity
+@Table(name = "candles")
+@IdClass(Candle.CandleId.class)
+public class Candle {
+    // One chart bar fetched from Yahoo Finance, read and written in bulk by CandleJdbcRepository
+
+    // Constructors
+    public Candle() {}
+
+
+    // Columns
+    @Id
+    @Column(name = "symbol", length = 20)
+    private String symbol;
+
+    @Id
+    @Column(name = "resolution", length = 4)
+    private String resolution;
+
+    @Id
+    @Column(name = "bar_time")
+    private long barTime;
+
+    @Column(name = "open_price")
+    private Double openPrice;
+
+    @Column(name = "high_price")
+    private Double highPrice;
+
+    @Column(name = "low_price")
+    private Double lowPrice;
+
+    @Column(name = "close_price", nullable = false)
+    private double closePrice;
+
+    @Column(name = "volume")
+    private Long volume;
+
+
+    // Getters
+    public String getSymbol() {return symbol;}
+
+    public String getResolution() {return resolution;}
+
+    public long getBarTime() {return barTime;}
+
+    public Double getOpenPrice() {return openPrice;}
+
+    public Double getHighPrice() {return highPrice;}
+
+    public Double getLowPrice() {return lowPrice;}
+
+    public double getClosePrice() {return closePrice;}
+
+    public Long getVolume() {return volume;}
+
+
+    // Composite key
+    public static class CandleId implements Serializable {
+        private String symbol;
+        private String resolution;
+        private long barTime;
+
+        public CandleId() {}
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CandleId other)) return false;
+            return barTime == other.barTime && Objects.equals(symbol, other.symbol)
+                    && Objects.equals(resolution, other.resolution);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(symbol, resolution, barTime);
+        }
+    }
+}
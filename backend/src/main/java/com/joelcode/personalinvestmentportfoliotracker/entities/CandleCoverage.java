@@ -0,0 +1,67 @@
+package com.joelcode.personalinvestmentportfoliotracker.entities;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Entity
+@Table(name = "candle_coverage")
+@IdClass(CandleCoverage.CandleCoverageId.class)
+public class CandleCoverage {
+    // A half-open range of unix seconds [rangeFrom, rangeTo) whose closed candles for a symbol and resolution are
+    // all in the candles table, maintained by CandleJdbcRepository
+
+    // Constructors
+    public CandleCoverage() {}
+
+
+    // Columns
+    @Id
+    @Column(name = "symbol", length = 20)
+    private String symbol;
+
+    @Id
+    @Column(name = "resolution", length = 4)
+    private String resolution;
+
+    @Id
+    @Column(name = "range_from")
+    private long rangeFrom;
+
+    @Column(name = "range_to", nullable = false)
+    private long rangeTo;
+
+
+    // Getters
+    public String getSymbol() {return symbol;}
+
+    public String getResolution() {return resolution;}
+
+    public long getRangeFrom() {return rangeFrom;}
+
+    public long getRangeTo() {return rangeTo;}
+
+
+    // Composite key
+    public static class CandleCoverageId implements Serializable {
+        private String symbol;
+        private String resolution;
+        private long rangeFrom;
+
+        public CandleCoverageId() {}
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CandleCoverageId other)) return false;
+            return rangeFrom == other.rangeFrom && Objects.equals(symbol, other.symbol)
+                    && Objects.equals(resolution, other.resolution);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(symbol, resolution, rangeFrom);
+        }
+    }
+}
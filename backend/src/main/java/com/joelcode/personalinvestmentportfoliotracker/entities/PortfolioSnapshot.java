@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "portfolio_snapshots")
+@Table(name = "portfolio_snapshots",
+        uniqueConstraints = @UniqueConstraint(name = "uq_portfolio_snapshots_account_date", columnNames = {"account_id", "snapshot_date"}))
 public class PortfolioSnapshot {
     // This entity is a snapshot of the state of a portfolio at a certain point in time. Storing performance metrics,
     // values, investments etc...
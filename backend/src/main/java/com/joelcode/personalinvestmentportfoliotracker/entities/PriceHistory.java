@@ -7,7 +7,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table (name = "price_history")
+@Table (name = "price_history",
+        uniqueConstraints = @UniqueConstraint(name = "uq_price_history_stock_date", columnNames = {"stock_id", "close_date"}))
 public class PriceHistory {
 
     // This entity stores the price movement history of a stock from a certain point in time
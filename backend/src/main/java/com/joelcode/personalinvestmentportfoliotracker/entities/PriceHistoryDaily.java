@@ -0,0 +1,87 @@
+package com.joelcode.personalinvestmentportfoliotracker.entities;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+@Entity
+@Table(name = "price_history_daily")
+@IdClass(PriceHistoryDaily.PriceHistoryDailyId.class)
+public class PriceHistoryDaily {
+    // Daily OHLC bar of a stock's price_history rows for one UTC day, written by PriceRollupJdbcRepository
+
+    // Constructors
+    public PriceHistoryDaily() {}
+
+
+    // Columns
+    @Id
+    @Column(name = "stock_id")
+    private UUID stockId;
+
+    @Id
+    @Column(name = "bucket_date")
+    private LocalDate bucketDate;
+
+    @Column(name = "open_price", nullable = false, precision = 19, scale = 2)
+    private BigDecimal openPrice;
+
+    @Column(name = "high_price", nullable = false, precision = 19, scale = 2)
+    private BigDecimal highPrice;
+
+    @Column(name = "low_price", nullable = false, precision = 19, scale = 2)
+    private BigDecimal lowPrice;
+
+    @Column(name = "close_price", nullable = false, precision = 19, scale = 2)
+    private BigDecimal closePrice;
+
+    @Column(name = "close_date", nullable = false)
+    private LocalDateTime closeDate;
+
+    @Column(name = "sample_count", nullable = false)
+    private int sampleCount;
+
+
+    // Getters
+    public UUID getStockId() {return stockId;}
+
+    public LocalDate getBucketDate() {return bucketDate;}
+
+    public BigDecimal getOpenPrice() {return openPrice;}
+
+    public BigDecimal getHighPrice() {return highPrice;}
+
+    public BigDecimal getLowPrice() {return lowPrice;}
+
+    public BigDecimal getClosePrice() {return closePrice;}
+
+    public LocalDateTime getCloseDate() {return closeDate;}
+
+    public int getSampleCount() {return sampleCount;}
+
+
+    // Composite key
+    public static class PriceHistoryDailyId implements Serializable {
+        private UUID stockId;
+        private LocalDate bucketDate;
+
+        public PriceHistoryDailyId() {}
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PriceHistoryDailyId other)) return false;
+            return Objects.equals(stockId, other.stockId) && Objects.equals(bucketDate, other.bucketDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(stockId, bucketDate);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.joelcode.personalinvestmentportfoliotracker.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "snapshot_job_checkpoints")
+public class SnapshotJobCheckpoint {
+    // Progress of the daily snapshot job for one snapshot date. Accounts are processed in account id order, so
+    // the last account id written is enough to resume a run that stopped part way through.
+
+    public enum Status {
+        RUNNING, COMPLETED
+    }
+
+    // Constructors
+    public SnapshotJobCheckpoint(LocalDate snapshotDate) {
+        this.snapshotDate = snapshotDate;
+    }
+
+    public SnapshotJobCheckpoint() {}
+
+
+    // Columns
+    @Id
+    @Column(name = "snapshot_date")
+    private LocalDate snapshotDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status = Status.RUNNING;
+
+    @Column(name = "last_account_id")
+    private UUID lastAccountId;
+
+    @Column(name = "accounts_processed", nullable = false)
+    private long accountsProcessed;
+
+    @Column(name = "snapshots_written", nullable = false)
+    private long snapshotsWritten;
+
+    @Column(name = "started_at", nullable = false, updatable = false)
+    private LocalDateTime startedAt = LocalDateTime.now();
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+
+    // Progress helpers
+
+    // Record a finished page of accounts
+    public void advance(UUID lastAccountId, int accounts, int written) {
+        this.lastAccountId = lastAccountId;
+        this.accountsProcessed += accounts;
+        this.snapshotsWritten += written;
+    }
+
+    public void complete() {
+        this.status = Status.COMPLETED;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+
+
+    // Getters and setters
+    public LocalDate getSnapshotDate() {
+        return snapshotDate;
+    }
+
+    public void setSnapshotDate(LocalDate snapshotDate) {
+        this.snapshotDate = snapshotDate;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public UUID getLastAccountId() {
+        return lastAccountId;
+    }
+
+    public void setLastAccountId(UUID lastAccountId) {
+        this.lastAccountId = lastAccountId;
+    }
+
+    public long getAccountsProcessed() {
+        return accountsProcessed;
+    }
+
+    public void setAccountsProcessed(long accountsProcessed) {
+        this.accountsProcessed = accountsProcessed;
+    }
+
+    public long getSnapshotsWritten() {
+        return snapshotsWritten;
+    }
+
+    public void setSnapshotsWritten(long snapshotsWritten) {
+        this.snapshotsWritten = snapshotsWritten;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.joelcode.personalinvestmentportfoliotracker.exceptions;
+
+// Runtime exception for an external API call refused by an open circuit breaker with no last known value to serve
+public class CircuitOpenException extends RuntimeException {
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -175,5 +175,22 @@ public class GlobalExceptionHandler {
                 ApiResponse.error(ex.getMessage(), 409)
         );
     }
-}
 
+    // Handle external API rate limit that could not be waited out
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ApiResponse<Void>> handleRateLimitExceeded(
+            RateLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(
+                ApiResponse.error(ex.getMessage(), 429)
+        );
+    }
+
+    // Handle external API endpoint whose circuit breaker is open
+    @ExceptionHandler(CircuitOpenException.class)
+    public ResponseEntity<ApiResponse<Void>> handleCircuitOpen(
+            CircuitOpenException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(
+                ApiResponse.error(ex.getMessage(), 503)
+        );
+    }
+}
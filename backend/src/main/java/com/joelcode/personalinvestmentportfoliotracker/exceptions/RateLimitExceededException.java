@@ -0,0 +1,8 @@
+package com.joelcode.personalinvestmentportfoliotracker.exceptions;
+
+// Runtime exception for an outbound API call that could not get a rate limit token in time
+public class RateLimitExceededException extends RuntimeException {
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,14 +1,13 @@
 package com.joelcode.personalinvestmentportfoliotracker.jwt;
 
-import com.joelcode.personalinvestmentportfoliotracker.entities.User;
 import com.joelcode.personalinvestmentportfoliotracker.model.CustomUserDetails;
-import com.joelcode.personalinvestmentportfoliotracker.repositories.UserRepository;
 import com.joelcode.personalinvestmentportfoliotracker.services.customuserdetails.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -21,19 +20,26 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.UUID;
 
+/**
+ * Authenticates requests carrying a bearer token. Each token is parsed and verified once, and the user is
+ * resolved through CustomUserDetailsService's cache, so a request from a known user needs no database query.
+ */
 @Component
 @Profile("!test")
 @ConditionalOnProperty(name = "jwt.filter.enabled", havingValue = "true", matchIfMissing = false)
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    @Autowired
-    private JwtTokenProvider jwtTokenProvider;
+    // Define key fields
+    private final JwtTokenProvider jwtTokenProvider;
+    private final CustomUserDetailsService customUserDetailsService;
 
-    @Autowired
-    private UserRepository userRepository;
 
-    @Autowired
-    private CustomUserDetailsService customUserDetailsService;
+    // Constructor
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
+                                   CustomUserDetailsService customUserDetailsService) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.customUserDetailsService = customUserDetailsService;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -48,22 +54,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             String jwt = getJwtFromRequest(request);
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                UUID userId = jwtTokenProvider.getUserIdFromToken(jwt);
-                User user = userRepository.findById(userId)
-                        .orElseThrow(() -> new ServletException("User not found"));
-
-                CustomUserDetails customUserDetails = customUserDetailsService.loadUserByUsername(user.getUsername());
-                logger.info("JWT: " + jwt);
-                logger.info("Is token valid? " + jwtTokenProvider.validateToken(jwt));
-                logger.info("User from DB: " + user);
-                logger.info("CustomUserDetails: " + customUserDetails);
+            if (StringUtils.hasText(jwt)) {
+                Claims claims = jwtTokenProvider.getClaims(jwt);
+                UUID userId = jwtTokenProvider.getUserId(claims);
+                CustomUserDetails customUserDetails = customUserDetailsService.loadUserById(userId);
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(customUserDetails, null, customUserDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                if (customUserDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(customUserDetails, null, customUserDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                } else {
+                    logger.debug("No user found for JWT subject " + userId);
+                }
             }
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Expired, tampered or malformed token: the request carries on unauthenticated
+            logger.debug("Rejected JWT: " + ex.getMessage());
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
         }
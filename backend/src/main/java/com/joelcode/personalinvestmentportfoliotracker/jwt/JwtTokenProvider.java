@@ -14,22 +14,24 @@ import java.util.UUID;
 /**
  * JWT Token Provider - Creates, parses, and validates JWT tokens.
  * Uses JJWT library with explicit algorithm specification to avoid deprecation warnings.
+ * The signing key and parser are built once, since every authenticated request verifies a token.
  */
 @Component
 public class JwtTokenProvider {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    // Define key fields
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final int jwtExpirationInMs;
 
-    @Value("${app.jwt.expiration}")
-    private int jwtExpirationInMs;
 
-    /**
-     * Get the signing key from the secret.
-     * Uses HS256 algorithm which requires 256-bit (32 byte) key.
-     */
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Constructor
+    public JwtTokenProvider(@Value("${app.jwt.secret}") String jwtSecret,
+                            @Value("${app.jwt.expiration}") int jwtExpirationInMs) {
+        // HS256 requires a 256-bit (32 byte) key
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.jwtExpirationInMs = jwtExpirationInMs;
     }
 
     /**
@@ -47,7 +49,7 @@ public class JwtTokenProvider {
                 .claim("fullName", user.getFullName())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)  // ← FIXED: Explicit algorithm
+                .signWith(signingKey, SignatureAlgorithm.HS256)  // ← FIXED: Explicit algorithm
                 .compact();
     }
 
@@ -62,22 +64,24 @@ public class JwtTokenProvider {
     }
 
     /**
-     * Parse and get claims from token
+     * Parse and get claims from token, verifying its signature and expiration
      */
     public Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
      * Extract user ID from token
      */
     public UUID getUserIdFromToken(String token) {
-        Claims claim = getClaims(token);
-        return UUID.fromString(claim.getSubject());
+        return getUserId(getClaims(token));
+    }
+
+    /**
+     * Extract user ID from already verified claims
+     */
+    public UUID getUserId(Claims claims) {
+        return UUID.fromString(claims.getSubject());
     }
 
     /**
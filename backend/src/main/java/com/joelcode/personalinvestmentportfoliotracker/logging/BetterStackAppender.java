@@ -0,0 +1,219 @@
+package com.joelcode.personalinvestmentportfoliotracker.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Logback appender that ships log events to Better Stack in the background.
+ *
+ * Appending only formats the event and puts it on a bounded lock-free queue, so the logging thread never waits
+ * on the network. When the queue is full the oldest events are dropped and counted. A single daemon flusher sends
+ * the queue as gzip-compressed NDJSON, one POST per batch of up to batchSize events, as soon as a full batch is
+ * waiting or every flushInterval otherwise. Stopping the appender flushes whatever is left, waiting at most
+ * shutdownTimeout.
+ *
+ * Configured from BetterStackLoggingConfig, but usable from a logback.xml through its setters as well.
+ */
+public class BetterStackAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    private static final JsonFactory NDJSON = new JsonFactory().setRootValueSeparator("\n");
+
+    // Define key fields
+    private String url;
+    private String token;
+    private int queueCapacity = 10_000;
+    private int batchSize = 500;
+    private long flushIntervalMillis = 2_000;
+    private long shutdownTimeoutMillis = 5_000;
+    private long requestTimeoutMillis = 10_000;
+    private HttpClient httpClient;
+
+    private DropOldestQueue<LogLine> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private final AtomicLong shipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+
+    // Lifecycle
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (url == null || token == null) {
+            addError("Better Stack appender needs both url and token");
+            return;
+        }
+        if (httpClient == null) {
+            httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(requestTimeoutMillis)).build();
+        }
+        queue = new DropOldestQueue<>(queueCapacity);
+        running = true;
+        flusher = new Thread(this::runFlusher, "betterstack-log-shipper");
+        flusher.setDaemon(true);
+        flusher.start();
+        super.start();
+    }
+
+    // Flush what is still queued, then stop; later events are ignored
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            addWarn("Better Stack appender stopped before " + queue.size() + " queued events were shipped");
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // The flusher's own sends (and the HTTP client underneath them) must not feed back into the queue
+        if (Thread.currentThread() == flusher || event.getLoggerName().startsWith("jdk.internal.httpclient")) {
+            return;
+        }
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        LogLine line = new LogLine(event.getTimeStamp(), event.getLevel().toString(), event.getLoggerName(),
+                event.getThreadName(), event.getFormattedMessage(),
+                throwable != null ? ThrowableProxyUtil.asString(throwable) : null);
+
+        // Wake the flusher as soon as a full batch is waiting
+        if (queue.offer(line) == batchSize) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+
+    // Helper methods
+
+    private void runFlusher() {
+        List<LogLine> batch = new ArrayList<>(batchSize);
+        long flushIntervalNanos = Duration.ofMillis(flushIntervalMillis).toNanos();
+        long nextFlush = System.nanoTime() + flushIntervalNanos;
+
+        while (running) {
+            long wait = nextFlush - System.nanoTime();
+            if (wait > 0 && queue.size() < batchSize) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+            flushQueued(batch);
+            nextFlush = System.nanoTime() + flushIntervalNanos;
+        }
+        flushQueued(batch);
+    }
+
+    private void flushQueued(List<LogLine> batch) {
+        while (queue.drainTo(batch, batchSize) > 0) {
+            send(batch);
+            batch.clear();
+        }
+    }
+
+    private void send(List<LogLine> batch) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofMillis(requestTimeoutMillis))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/x-ndjson")
+                    .header("Content-Encoding", "gzip")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(encode(batch)))
+                    .build();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 300) {
+                failed.addAndGet(batch.size());
+                addWarn("Better Stack rejected " + batch.size() + " log events with status " + response.statusCode());
+                return;
+            }
+            shipped.addAndGet(batch.size());
+        } catch (IOException | RuntimeException e) {
+            failed.addAndGet(batch.size());
+            addWarn("Failed to ship " + batch.size() + " log events to Better Stack: " + e.getMessage());
+        } catch (InterruptedException e) {
+            failed.addAndGet(batch.size());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // One JSON object per line, gzip-compressed
+    static byte[] encode(List<LogLine> batch) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(batch.size() * 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes);
+             JsonGenerator json = NDJSON.createGenerator(gzip)) {
+            for (LogLine line : batch) {
+                json.writeStartObject();
+                json.writeStringField("dt", Instant.ofEpochMilli(line.timestamp()).toString());
+                json.writeStringField("level", line.level());
+                json.writeStringField("message", line.message());
+                json.writeStringField("logger", line.logger());
+                json.writeStringField("thread", line.thread());
+                if (line.exception() != null) {
+                    json.writeStringField("exception", line.exception());
+                }
+                json.writeEndObject();
+            }
+            json.writeRaw('\n');
+        }
+        return bytes.toByteArray();
+    }
+
+    // Event fields captured on the logging thread, so the event itself is not retained
+    record LogLine(long timestamp, String level, String logger, String thread, String message, String exception) {}
+
+
+    // Getters and setters
+
+    public long getShippedCount() {return shipped.get();}
+
+    public long getFailedCount() {return failed.get();}
+
+    public long getDroppedCount() {return queue == null ? 0 : queue.droppedCount();}
+
+    public int getQueueSize() {return queue == null ? 0 : queue.size();}
+
+    public void setUrl(String url) {this.url = url;}
+
+    public void setToken(String token) {this.token = token;}
+
+    public void setQueueCapacity(int queueCapacity) {this.queueCapacity = queueCapacity;}
+
+    public void setBatchSize(int batchSize) {this.batchSize = batchSize;}
+
+    public void setFlushIntervalMillis(long flushIntervalMillis) {this.flushIntervalMillis = flushIntervalMillis;}
+
+    public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {this.shutdownTimeoutMillis = shutdownTimeoutMillis;}
+
+    public void setRequestTimeoutMillis(long requestTimeoutMillis) {this.requestTimeoutMillis = requestTimeoutMillis;}
+
+    public void setHttpClient(HttpClient httpClient) {this.httpClient = httpClient;}
+}
@@ -1,55 +1,35 @@
 package com.joelcode.personalinvestmentportfoliotracker.logging;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.http.*;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
-
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
-import java.util.Map;
 
+// Logs through SLF4J; BetterStackLoggingConfig attaches the batching appender that ships every log line to Better Stack
 @Component
 @ConditionalOnProperty(name = "BETTERSTACK_TOKEN")
 public class BetterStackLogger {
 
-    @Value("${BETTERSTACK_TOKEN}")
-    private String token;
-
-    private final RestTemplate restTemplate = new RestTemplate();
-
-    private static final String BETTERSTACK_URL = "https://s1622070.eu-nbg-2.betterstackdata.com";
+    private static final Logger log = LoggerFactory.getLogger(BetterStackLogger.class);
 
     public void log(String message, String level) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("dt", ZonedDateTime.now().format(DateTimeFormatter.ISO_INSTANT));
-        body.put("message", message);
-        body.put("level", level);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(token);
-
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
-
-        try {
-            restTemplate.postForEntity(BETTERSTACK_URL, request, String.class);
-        } catch (Exception e) {
-            System.err.println("Failed to send log to Better Stack: " + e.getMessage());
+        switch (level) {
+            case "ERROR" -> log.error(message);
+            case "WARN" -> log.warn(message);
+            case "DEBUG" -> log.debug(message);
+            default -> log.info(message);
         }
     }
 
     public void info(String message) {
-        log(message, "INFO");
+        log.info(message);
     }
 
     public void error(String message) {
-        log(message, "ERROR");
+        log.error(message);
     }
 
     public void warn(String message) {
-        log(message, "WARN");
+        log.warn(message);
     }
 }
@@ -0,0 +1,66 @@
+package com.joelcode.personalinvestmentportfoliotracker.logging;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free queue bounded to a fixed capacity. When an offer takes it over capacity the oldest
+ * elements are dropped and counted, so producers never block and the newest entries are kept.
+ */
+class DropOldestQueue<E> {
+
+    private final ConcurrentLinkedQueue<E> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final int capacity;
+
+    DropOldestQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    // Add element, dropping the oldest entries while over capacity. Returns the size after the offer.
+    int offer(E element) {
+        queue.offer(element);
+        int current = size.incrementAndGet();
+        while (current > capacity) {
+            if (queue.poll() == null) {
+                break;
+            }
+            dropped.incrementAndGet();
+            current = size.decrementAndGet();
+        }
+        return current;
+    }
+
+    // Move up to max elements into sink, oldest first. Returns how many were moved.
+    int drainTo(List<E> sink, int max) {
+        int drained = 0;
+        while (drained < max) {
+            E element = queue.poll();
+            if (element == null) {
+                break;
+            }
+            size.decrementAndGet();
+            sink.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    int size() {
+        return Math.max(size.get(), 0);
+    }
+
+    boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    long droppedCount() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,131 @@
+package com.joelcode.personalinvestmentportfoliotracker.monitoring;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding window over the outcomes of the last windowSize calls to one provider endpoint, without locks.
+ *
+ * Each call claims the next slot of a ring buffer and swaps its outcome in, getting back the outcome it
+ * replaced. Running counters (calls, failures and a latency histogram) are updated for the new outcome and
+ * reversed for the evicted one, so reading the success rate or a latency percentile costs the same however
+ * many calls were made. Readers may see a call that is half recorded; that is fine for health reporting.
+ *
+ * Latencies go into log-linear buckets (four per power of two of microseconds), so a percentile is reported
+ * as the upper bound of its bucket, at most 25% above the true value.
+ */
+public class CallOutcomeWindow {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Covers calls up to about half an hour; slower ones share the last bucket
+    static final int BUCKETS = 30 * SUB_BUCKETS;
+
+    // Slot layout: bit 0 set once the slot holds an outcome, bit 1 failure, the rest the latency bucket
+    private static final long PRESENT = 1L;
+    private static final long FAILED = 2L;
+
+    private final AtomicLongArray slots;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicLongArray latencyCounts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong lastCallNanos = new AtomicLong(Long.MIN_VALUE);
+
+    public CallOutcomeWindow(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive");
+        }
+        this.slots = new AtomicLongArray(windowSize);
+    }
+
+
+    public void record(boolean failed, long durationNanos, long nowNanos) {
+        int bucket = bucketOf(durationNanos / 1_000);
+        long outcome = PRESENT | (failed ? FAILED : 0) | ((long) bucket << 2);
+
+        int slot = (int) Math.floorMod(cursor.getAndIncrement(), (long) slots.length());
+        long evicted = slots.getAndSet(slot, outcome);
+
+        latencyCounts.incrementAndGet(bucket);
+        if (failed) {
+            failures.incrementAndGet();
+        }
+        if ((evicted & PRESENT) == 0) {
+            calls.incrementAndGet();
+        } else {
+            latencyCounts.decrementAndGet((int) (evicted >>> 2));
+            if ((evicted & FAILED) != 0) {
+                failures.decrementAndGet();
+            }
+        }
+        lastCallNanos.accumulateAndGet(nowNanos, Math::max);
+    }
+
+    // Calls currently in the window
+    public int getCalls() {
+        return calls.get();
+    }
+
+    public int getFailures() {
+        return Math.max(failures.get(), 0);
+    }
+
+    // Share of calls in the window that succeeded, 1.0 when there were none
+    public double getSuccessRate() {
+        int total = calls.get();
+        return total == 0 ? 1.0 : Math.max(0.0, 1.0 - (double) getFailures() / total);
+    }
+
+    // Latency (ms) at or below which the given share of calls in the window completed, 0 when there were none
+    public double getLatencyPercentileMillis(double percentile) {
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = Math.max(latencyCounts.get(i), 0);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0.0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBoundMicros(i) / 1_000.0;
+            }
+        }
+        return upperBoundMicros(BUCKETS - 1) / 1_000.0;
+    }
+
+    // System.nanoTime() of the latest call, Long.MIN_VALUE if there has been none
+    public long getLastCallNanos() {
+        return lastCallNanos.get();
+    }
+
+
+    // Helper methods
+
+    // Values below SUB_BUCKETS get their own bucket, then each power of two is split into SUB_BUCKETS
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) Math.max(micros, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min((exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket, BUCKETS - 1);
+    }
+
+    static long upperBoundMicros(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((SUB_BUCKETS + subBucket) * width) + width - 1;
+    }
+}
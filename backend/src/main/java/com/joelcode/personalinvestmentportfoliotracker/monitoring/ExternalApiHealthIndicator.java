@@ -1,37 +1,83 @@
 package com.joelcode.personalinvestmentportfoliotracker.monitoring;
 
 import com.joelcode.personalinvestmentportfoliotracker.services.finnhub.FinnhubApiClient;
+import com.joelcode.personalinvestmentportfoliotracker.services.ratelimit.RequestPriority;
 import com.joelcode.personalinvestmentportfoliotracker.services.yahoofinance.YahooFinanceApiClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Custom Health Indicator for External APIs (FinnHub and Yahoo Finance)
  *
- * This component checks the health of external API dependencies and reports
- * their status through Spring Boot Actuator's health endpoint.
+ * Reports the health of external API dependencies from the outcomes of the calls the application already makes,
+ * as recorded by ExternalApiHealthTracker, so a health check never waits on a provider or spends its rate limit.
+ * A provider is UP while the share of successful calls in its recent window is at least
+ * health.external-apis.min-success-rate, with latency percentiles per endpoint in the details.
+ *
+ * Only when a provider has seen no traffic for health.external-apis.idle-probe-after does a health check start a
+ * single background probe call; its outcome is recorded like any other call and shows up on a later check.
  *
  * Usage: Access via /actuator/health endpoint
  */
 @Component("externalApis")
 public class ExternalApiHealthIndicator implements HealthIndicator {
 
-    private final FinnhubApiClient finnhubApiClient;
-    private final YahooFinanceApiClient yahooFinanceApiClient;
+    static final String FINNHUB = "finnhub";
+    static final String YAHOO = "yahoo";
+
+    // Define key fields
+    private final ExternalApiHealthTracker healthTracker;
+    private final Executor probeExecutor;
+    private final double minSuccessRate;
+    private final long idleProbeAfterNanos;
+    private final Probe finnhubProbe;
+    private final Probe yahooProbe;
 
-    public ExternalApiHealthIndicator(FinnhubApiClient finnhubApiClient,
-                                     YahooFinanceApiClient yahooFinanceApiClient) {
-        this.finnhubApiClient = finnhubApiClient;
-        this.yahooFinanceApiClient = yahooFinanceApiClient;
+
+    // Constructor
+    @Autowired
+    public ExternalApiHealthIndicator(ExternalApiHealthTracker healthTracker,
+                                      @Qualifier("resilientFinnhubApiClient") FinnhubApiClient finnhubApiClient,
+                                      @Qualifier("resilientYahooFinanceApiClient") YahooFinanceApiClient yahooFinanceApiClient,
+                                      @Qualifier("externalCallExecutor") Executor probeExecutor,
+                                      @Value("${health.external-apis.min-success-rate:0.5}") double minSuccessRate,
+                                      @Value("${health.external-apis.idle-probe-after:5m}") Duration idleProbeAfter) {
+        this.healthTracker = healthTracker;
+        this.probeExecutor = probeExecutor;
+        this.minSuccessRate = minSuccessRate;
+        this.idleProbeAfterNanos = idleProbeAfter.toNanos();
+
+        // Probes go straight to the resilient clients so a cached response cannot stand in for a live call
+        this.finnhubProbe = new Probe(FINNHUB, () -> finnhubApiClient.getQuote("AAPL"));
+        this.yahooProbe = new Probe(YAHOO, () -> yahooFinanceApiClient.getCandles("AAPL", "1d",
+                System.currentTimeMillis() / 1000 - 86400,
+                System.currentTimeMillis() / 1000));
     }
 
+
     @Override
     public Health health() {
         Health.Builder healthBuilder = new Health.Builder();
 
-        boolean finnhubHealthy = checkFinnhubHealth();
-        boolean yahooHealthy = checkYahooFinanceHealth();
+        finnhubProbe.startIfIdle();
+        yahooProbe.startIfIdle();
+
+        Map<String, Object> finnhub = describe(FINNHUB);
+        Map<String, Object> yahoo = describe(YAHOO);
+        boolean finnhubHealthy = !"DOWN".equals(finnhub.get("status"));
+        boolean yahooHealthy = !"DOWN".equals(yahoo.get("status"));
 
         if (finnhubHealthy && yahooHealthy) {
             healthBuilder.up();
@@ -42,35 +88,52 @@ public class ExternalApiHealthIndicator implements HealthIndicator {
         }
 
         healthBuilder
-            .withDetail("finnhub", finnhubHealthy ? "UP" : "DOWN")
-            .withDetail("yahooFinance", yahooHealthy ? "UP" : "DOWN")
+            .withDetail("finnhub", finnhub)
+            .withDetail("yahooFinance", yahoo)
             .withDetail("message", getStatusMessage(finnhubHealthy, yahooHealthy));
 
         return healthBuilder.build();
     }
 
-    private boolean checkFinnhubHealth() {
-        try {
-            // Try to fetch a quote for a known stock (AAPL) with a short timeout
-            finnhubApiClient.getQuote("AAPL");
-            return true;
-        } catch (Exception e) {
-            return false;
+
+    // Helper methods
+
+    // Status, success rate and per-endpoint latency for provider; UNKNOWN until it has been called
+    private Map<String, Object> describe(String provider) {
+        Map<String, CallOutcomeWindow> windows = healthTracker.getEndpoints(provider);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long calls = 0;
+        long failures = 0;
+        for (Map.Entry<String, CallOutcomeWindow> entry : windows.entrySet()) {
+            CallOutcomeWindow window = entry.getValue();
+            calls += window.getCalls();
+            failures += window.getFailures();
+
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("calls", window.getCalls());
+            endpoint.put("successRate", round(window.getSuccessRate()));
+            endpoint.put("p50Ms", round(window.getLatencyPercentileMillis(0.50)));
+            endpoint.put("p95Ms", round(window.getLatencyPercentileMillis(0.95)));
+            endpoint.put("p99Ms", round(window.getLatencyPercentileMillis(0.99)));
+            endpoints.put(entry.getKey(), endpoint);
         }
-    }
 
-    private boolean checkYahooFinanceHealth() {
-        try {
-            // Test both candles and search/news endpoints
-            yahooFinanceApiClient.getCandles("AAPL", "1d",
-                    System.currentTimeMillis() / 1000 - 86400,
-                    System.currentTimeMillis() / 1000);
-            yahooFinanceApiClient.search("AAPL");
-            return true;
-        } catch (Exception e) {
-            System.err.println("Yahoo Finance API health check failed: " + e.getMessage());
-            return false;
+        Map<String, Object> details = new LinkedHashMap<>();
+        if (calls == 0) {
+            details.put("status", "UNKNOWN");
+            return details;
         }
+        double successRate = 1.0 - (double) failures / calls;
+        details.put("status", successRate >= minSuccessRate ? "UP" : "DOWN");
+        details.put("successRate", round(successRate));
+        details.put("calls", calls);
+        details.put("lastCallSecondsAgo", Duration.ofNanos(System.nanoTime() - healthTracker.getLastCallNanos(provider)).toSeconds());
+        details.put("endpoints", endpoints);
+        return details;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
     }
 
     private String getStatusMessage(boolean finnhubHealthy, boolean yahooHealthy) {
@@ -84,4 +147,50 @@ public class ExternalApiHealthIndicator implements HealthIndicator {
             return "Yahoo Finance API is down";
         }
     }
+
+    // One background call per provider at a time, started only when the provider has been idle
+    private final class Probe {
+
+        private final String provider;
+        private final Runnable call;
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final AtomicLong lastProbeNanos = new AtomicLong(Long.MIN_VALUE);
+
+        private Probe(String provider, Runnable call) {
+            this.provider = provider;
+            this.call = call;
+        }
+
+        void startIfIdle() {
+            long now = System.nanoTime();
+            if (!idleFor(healthTracker.getLastCallNanos(provider), now) || !idleFor(lastProbeNanos.get(), now)
+                    || !running.compareAndSet(false, true)) {
+                return;
+            }
+            lastProbeNanos.set(now);
+            try {
+                probeExecutor.execute(this::run);
+            } catch (RejectedExecutionException e) {
+                running.set(false);
+            }
+        }
+
+        private void run() {
+            try {
+                // Probes run in the background lane so health checks never use the budget reserved for user requests
+                RequestPriority.BACKGROUND.call(() -> {
+                    call.run();
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                // The failure is recorded by the resilient client and reported by the next health check
+            } finally {
+                running.set(false);
+            }
+        }
+
+        private boolean idleFor(long sinceNanos, long now) {
+            return sinceNanos == Long.MIN_VALUE || now - sinceNanos >= idleProbeAfterNanos;
+        }
+    }
 }
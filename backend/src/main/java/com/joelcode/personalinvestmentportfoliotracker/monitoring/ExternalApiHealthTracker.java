@@ -0,0 +1,51 @@
+package com.joelcode.personalinvestmentportfoliotracker.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Passive health model for external providers, fed with the outcome of every real provider call.
+ *
+ * ResilientCallExecutor reports each call it makes, so user traffic and background jobs keep a CallOutcomeWindow
+ * per provider endpoint up to date and health checks only need to read them.
+ */
+@Component
+public class ExternalApiHealthTracker {
+
+    // Define key fields
+    private final int windowSize;
+    private final Map<String, Map<String, CallOutcomeWindow>> providers = new ConcurrentHashMap<>();
+
+
+    // Constructor
+    public ExternalApiHealthTracker(@Value("${health.external-apis.window-size:100}") int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+
+    // Record one call that reached the provider
+    public void record(String provider, String endpoint, boolean failed, long durationNanos) {
+        providers.computeIfAbsent(provider, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(endpoint, name -> new CallOutcomeWindow(windowSize))
+                .record(failed, durationNanos, System.nanoTime());
+    }
+
+    // Windows by endpoint for provider, empty if it has not been called yet
+    public Map<String, CallOutcomeWindow> getEndpoints(String provider) {
+        Map<String, CallOutcomeWindow> endpoints = providers.get(provider);
+        return endpoints == null ? Map.of() : Collections.unmodifiableMap(endpoints);
+    }
+
+    // System.nanoTime() of the provider's latest call, Long.MIN_VALUE if there has been none
+    public long getLastCallNanos(String provider) {
+        long latest = Long.MIN_VALUE;
+        for (CallOutcomeWindow window : getEndpoints(provider).values()) {
+            latest = Math.max(latest, window.getLastCallNanos());
+        }
+        return latest;
+    }
+}
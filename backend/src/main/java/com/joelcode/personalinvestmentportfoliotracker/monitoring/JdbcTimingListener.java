@@ -0,0 +1,35 @@
+package com.joelcode.personalinvestmentportfoliotracker.monitoring;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time Hibernate spends executing JDBC statements and batches to the current request's profile.
+ *
+ * Hibernate creates one instance per session (AvailableSettings.AUTO_SESSION_EVENTS_LISTENER), and a session is only used by one
+ * thread at a time, so plain fields are enough.
+ */
+public class JdbcTimingListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestProfile.recordDbTime(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestProfile.recordDbTime(System.nanoTime() - batchStart);
+    }
+}
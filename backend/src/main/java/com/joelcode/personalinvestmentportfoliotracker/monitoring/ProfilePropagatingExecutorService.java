@@ -0,0 +1,49 @@
+package com.joelcode.personalinvestmentportfoliotracker.monitoring;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExecutorService that runs each task under the RequestProfile of the thread that submitted it, so database and
+ * external API time spent on fan-out threads is counted against the request that asked for it.
+ */
+public class ProfilePropagatingExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    public ProfilePropagatingExecutorService(ExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(RequestProfile.wrap(command));
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,123 @@
+package com.joelcode.personalinvestmentportfoliotracker.monitoring;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Where the time of one request went: SQL statements and time spent executing them, and external API calls and
+ * time spent in them.
+ *
+ * The profile of the current request is bound to its thread by RequestProfilingFilter. Work handed to an executor
+ * wrapped by wrap(...) records into the same profile, so counters are atomic. Calls made outside a request are not
+ * recorded anywhere.
+ */
+public final class RequestProfile {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong dbNanos = new AtomicLong();
+    private final AtomicLong externalCalls = new AtomicLong();
+    private final AtomicLong externalNanos = new AtomicLong();
+
+
+    // Binding
+
+    // Start a profile on this thread
+    public static RequestProfile begin() {
+        RequestProfile profile = new RequestProfile();
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    // Run task on another thread under the profile that is current now
+    public static Runnable wrap(Runnable task) {
+        RequestProfile profile = CURRENT.get();
+        if (profile == null) {
+            return task;
+        }
+        return () -> {
+            RequestProfile previous = CURRENT.get();
+            CURRENT.set(profile);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        RequestProfile profile = CURRENT.get();
+        if (profile == null) {
+            return task;
+        }
+        return () -> {
+            RequestProfile previous = CURRENT.get();
+            CURRENT.set(profile);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+
+    // Recording, all no-ops outside a request
+
+    public static void recordStatement() {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.statements.incrementAndGet();
+        }
+    }
+
+    public static void recordDbTime(long nanos) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.dbNanos.addAndGet(nanos);
+        }
+    }
+
+    public static void recordExternalCall(long nanos) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.externalCalls.incrementAndGet();
+            profile.externalNanos.addAndGet(nanos);
+        }
+    }
+
+
+    // Getters
+
+    public long getElapsedNanos() {return System.nanoTime() - startNanos;}
+
+    public long getStatements() {return statements.get();}
+
+    public long getDbNanos() {return dbNanos.get();}
+
+    public long getExternalCalls() {return externalCalls.get();}
+
+    public long getExternalNanos() {return externalNanos.get();}
+
+
+    // Helper methods
+
+    private static void restore(RequestProfile previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.joelcode.personalinvestmentportfoliotracker.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Profiles every HTTP request: SQL statements run, time spent in the database and in external API calls, and the
+ * remaining compute time.
+ *
+ * A request that runs more than instrumentation.n-plus-one.statement-threshold statements is flagged as a
+ * suspected N+1: it is logged, counted, and its http.server.requests timer is tagged n_plus_one=true. Requests slower
+ * than instrumentation.slow-request.threshold are logged with their breakdown. External time is summed over calls,
+ * so it can exceed the request's own duration when calls ran in parallel; compute time is what remains, if anything.
+ *
+ * Runs just inside the HTTP observation filter, so the whole security chain and handler are covered.
+ *
+ * Metrics: app.request.statements{uri} and app.request.n_plus_one{uri}
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestProfilingFilter extends OncePerRequestFilter {
+
+    public static final String SUSPECTED_N_PLUS_ONE = RequestProfilingFilter.class.getName() + ".suspectedNPlusOne";
+
+    private static final Logger log = LoggerFactory.getLogger(RequestProfilingFilter.class);
+
+    // Define key fields
+    private final MeterRegistry meterRegistry;
+    private final int statementThreshold;
+    private final long slowRequestNanos;
+
+
+    // Constructor
+    public RequestProfilingFilter(MeterRegistry meterRegistry,
+                                  @Value("${instrumentation.n-plus-one.statement-threshold:25}") int statementThreshold,
+                                  @Value("${instrumentation.slow-request.threshold:1s}") Duration slowRequestThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statementThreshold = statementThreshold;
+        this.slowRequestNanos = slowRequestThreshold.toNanos();
+    }
+
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestProfile profile = RequestProfile.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestProfile.end();
+            report(request, response, profile);
+        }
+    }
+
+
+    // Helper methods
+
+    private void report(HttpServletRequest request, HttpServletResponse response, RequestProfile profile) {
+        long elapsed = profile.getElapsedNanos();
+        long statements = profile.getStatements();
+        String uri = uriPattern(request);
+
+        DistributionSummary.builder("app.request.statements")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+
+        boolean suspectedNPlusOne = statements > statementThreshold;
+        if (suspectedNPlusOne) {
+            request.setAttribute(SUSPECTED_N_PLUS_ONE, Boolean.TRUE);
+            Counter.builder("app.request.n_plus_one")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Suspected N+1: {} {} ran {} SQL statements", request.getMethod(), uri, statements);
+        }
+
+        if (elapsed > slowRequestNanos) {
+            long dbNanos = profile.getDbNanos();
+            long externalNanos = profile.getExternalNanos();
+            log.warn("Slow request: {} {} -> {} took {}ms (db {}ms in {} statements, external {}ms in {} calls, compute {}ms)",
+                    request.getMethod(), uri, response.getStatus(), millis(elapsed),
+                    millis(dbNanos), statements, millis(externalNanos), profile.getExternalCalls(),
+                    millis(Math.max(0, elapsed - dbNanos - externalNanos)));
+        }
+    }
+
+    // Route template rather than the raw path, so metrics stay low-cardinality
+    private static String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private static long millis(long nanos) {
+        return Duration.ofNanos(nanos).toMillis();
+    }
+}
@@ -0,0 +1,96 @@
+package com.joelcode.personalinvestmentportfoliotracker.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the beans whose class matches one of the configured names or package prefixes.
+ *
+ * Beans that are already proxied (for example by @Transactional) get the timing advice added to their proxy, as the
+ * outermost advice, so the time includes the transaction. Other beans get a class-based proxy.
+ *
+ * Metrics: app.service.duration{service, method, outcome=success|error}, with a percentile histogram
+ */
+public class ServiceTimingPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    public ServiceTimingPostProcessor(List<String> classPrefixes, ObjectProvider<MeterRegistry> meterRegistry) {
+        ClassFilter classFilter = type -> classPrefixes.stream().anyMatch(prefix -> type.getName().startsWith(prefix));
+        StaticMethodMatcher publicMethods = new StaticMethodMatcher() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+            }
+        };
+
+        this.advisor = new DefaultPointcutAdvisor(new ComposablePointcut(classFilter, publicMethods),
+                new TimingInterceptor(meterRegistry));
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+
+
+    private static final class TimingInterceptor implements MethodInterceptor {
+
+        // The registry is looked up on first use so this post processor does not initialise it early
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final Map<Class<?>, Map<Method, Timers>> timers = new ConcurrentHashMap<>();
+
+        private TimingInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            long start = System.nanoTime();
+            Class<?> service = invocation.getThis() != null
+                    ? AopUtils.getTargetClass(invocation.getThis())
+                    : invocation.getMethod().getDeclaringClass();
+            Timers methodTimers = timers.computeIfAbsent(service, type -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(invocation.getMethod(), method -> timersFor(service, method));
+            try {
+                Object result = invocation.proceed();
+                methodTimers.success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (Throwable e) {
+                methodTimers.error().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+        }
+
+        private Timers timersFor(Class<?> service, Method method) {
+            MeterRegistry registry = meterRegistry.getObject();
+            return new Timers(timer(registry, service.getSimpleName(), method.getName(), "success"),
+                    timer(registry, service.getSimpleName(), method.getName(), "error"));
+        }
+
+        private static Timer timer(MeterRegistry registry, String service, String method, String outcome) {
+            return Timer.builder("app.service.duration")
+                    .tag("service", service)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry);
+        }
+    }
+
+    private record Timers(Timer success, Timer error) {}
+}
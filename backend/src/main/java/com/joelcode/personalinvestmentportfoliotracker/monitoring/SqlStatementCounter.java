@@ -0,0 +1,26 @@
+package com.joelcode.personalinvestmentportfoliotracker.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate StatementInspector that counts every SQL statement Hibernate prepares, in total and for the current
+ * request. It never changes the SQL.
+ *
+ * Metrics: app.db.statements
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private final transient Counter statements;
+
+    public SqlStatementCounter(Counter statements) {
+        this.statements = statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        statements.increment();
+        RequestProfile.recordStatement();
+        return sql;
+    }
+}
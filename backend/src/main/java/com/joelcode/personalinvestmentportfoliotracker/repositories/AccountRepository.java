@@ -35,6 +35,11 @@ public interface AccountRepository extends JpaRepository<Account, UUID> {
 
     List<Account> findByUser_UserIdAndAccountNameContainingIgnoreCase(UUID userId, String accountNameFragment);
 
+    // Keyset pages in account id order for batch jobs, so a page never shifts as rows are added
+    List<Account> findAllByOrderByAccountIdAsc(Pageable pageable);
+
+    List<Account> findByAccountIdGreaterThanOrderByAccountIdAsc(UUID accountId, Pageable pageable);
+
 
     // Filter by value
     List<Account> findByCashBalanceGreaterThan(BigDecimal cashBalance);
@@ -0,0 +1,160 @@
+package com.joelcode.personalinvestmentportfoliotracker.repositories;
+
+import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.CandleSeries;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+// Bulk candle and coverage reads and writes for the Yahoo chart cache
+@Repository
+public class CandleJdbcRepository {
+
+    private static final String FIND_CANDLES_SQL =
+            "SELECT bar_time, open_price, high_price, low_price, close_price, volume FROM candles " +
+            "WHERE symbol = ? AND resolution = ? AND bar_time >= ? AND bar_time < ? ORDER BY bar_time";
+
+    private static final String UPDATE_CANDLE_SQL =
+            "UPDATE candles SET open_price = ?, high_price = ?, low_price = ?, close_price = ?, volume = ? " +
+            "WHERE symbol = ? AND resolution = ? AND bar_time = ?";
+
+    private static final String INSERT_CANDLE_SQL =
+            "INSERT INTO candles (symbol, resolution, bar_time, open_price, high_price, low_price, close_price, volume) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String FIND_COVERAGE_SQL =
+            "SELECT range_from, range_to FROM candle_coverage WHERE symbol = ? AND resolution = ? ORDER BY range_from";
+
+    private static final String DELETE_COVERAGE_SQL =
+            "DELETE FROM candle_coverage WHERE symbol = ? AND resolution = ?";
+
+    private static final String INSERT_COVERAGE_SQL =
+            "INSERT INTO candle_coverage (symbol, resolution, range_from, range_to) VALUES (?, ?, ?, ?)";
+
+    // Half-open [from, to) range of unix seconds
+    public record CoveredRange(long from, long to) {}
+
+    // Define key fields
+    private final JdbcTemplate jdbcTemplate;
+
+
+    // Constructor
+    public CandleJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+
+    // Bars starting in [from, to), oldest first, read straight into a CandleSeries
+    public CandleSeries findCandles(String symbol, String resolution, long from, long to) {
+        CandleSeries.Builder candles = CandleSeries.builder(0);
+        jdbcTemplate.query(FIND_CANDLES_SQL, rs -> {
+            candles.add(rs.getLong(1), nullableDouble(rs, 2), nullableDouble(rs, 3), nullableDouble(rs, 4),
+                    rs.getDouble(5), nullableVolume(rs, 6));
+        }, symbol, resolution, from, to);
+        return candles.build();
+    }
+
+    // Upsert bars as two JDBC batches: existing bars take the new values (the last open bar keeps moving),
+    // then the missing bars are inserted. Every bar needs a close.
+    @Transactional
+    public void upsertCandles(String symbol, String resolution, CandleSeries candles) {
+        if (candles.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_CANDLE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                setNullableDouble(ps, 1, candles.open(i));
+                setNullableDouble(ps, 2, candles.high(i));
+                setNullableDouble(ps, 3, candles.low(i));
+                ps.setDouble(4, candles.close(i));
+                setVolume(ps, 5, candles.volume(i));
+                ps.setString(6, symbol);
+                ps.setString(7, resolution);
+                ps.setLong(8, candles.time(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return candles.size();
+            }
+        });
+        jdbcTemplate.batchUpdate(INSERT_CANDLE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setString(1, symbol);
+                ps.setString(2, resolution);
+                ps.setLong(3, candles.time(i));
+                setNullableDouble(ps, 4, candles.open(i));
+                setNullableDouble(ps, 5, candles.high(i));
+                setNullableDouble(ps, 6, candles.low(i));
+                ps.setDouble(7, candles.close(i));
+                setVolume(ps, 8, candles.volume(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return candles.size();
+            }
+        });
+    }
+
+    // Covered ranges oldest first
+    public List<CoveredRange> findCoverage(String symbol, String resolution) {
+        return jdbcTemplate.query(FIND_COVERAGE_SQL,
+                (rs, rowNum) -> new CoveredRange(rs.getLong(1), rs.getLong(2)), symbol, resolution);
+    }
+
+    // Replace the coverage of a symbol and resolution with already merged ranges
+    @Transactional
+    public void replaceCoverage(String symbol, String resolution, List<CoveredRange> ranges) {
+        jdbcTemplate.update(DELETE_COVERAGE_SQL, symbol, resolution);
+        if (ranges.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_COVERAGE_SQL, ranges, ranges.size(), (ps, range) -> {
+            ps.setString(1, symbol);
+            ps.setString(2, resolution);
+            ps.setLong(3, range.from());
+            ps.setLong(4, range.to());
+        });
+    }
+
+
+    // Helper methods
+
+    // NULL columns map to NaN and CandleSeries.MISSING_VOLUME
+    private static double nullableDouble(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? Double.NaN : value;
+    }
+
+    private static long nullableVolume(ResultSet rs, int column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? CandleSeries.MISSING_VOLUME : value;
+    }
+
+    private static void setNullableDouble(PreparedStatement ps, int index, double value) throws SQLException {
+        if (Double.isNaN(value)) {
+            ps.setNull(index, Types.DOUBLE);
+        } else {
+            ps.setDouble(index, value);
+        }
+    }
+
+    private static void setVolume(PreparedStatement ps, int index, long volume) throws SQLException {
+        if (volume == CandleSeries.MISSING_VOLUME) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, volume);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.joelcode.personalinvestmentportfoliotracker.repositories;
 import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
 import com.joelcode.personalinvestmentportfoliotracker.entities.Holding;
 import com.joelcode.personalinvestmentportfoliotracker.entities.Stock;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,6 +37,8 @@ public interface HoldingRepository extends JpaRepository<Holding, UUID> {
 
     Optional<Holding> getHoldingByAccount_AccountIdAndStock_StockId(UUID accountId, UUID stockId);
 
+    // Stock and account are fetched in the same statement since every caller walks them per holding
+    @EntityGraph(attributePaths = {"account", "stock"})
     List<Holding> findByAccount_AccountId(UUID accountId);
 
     List<Holding> findByAccount_User_UserIdAndStock_CompanyNameContainingIgnoreCase(UUID userId, String stockNameFragment);
@@ -42,8 +46,13 @@ public interface HoldingRepository extends JpaRepository<Holding, UUID> {
     List<Holding> findByStock_CompanyNameContainingIgnoreCase(String name);
 
     // Security fix: Filter holdings by user through account relationship
+    @EntityGraph(attributePaths = {"account", "stock"})
     List<Holding> findByAccount_User_UserId(UUID userId);
 
+    // Holdings for a page of accounts in one statement
+    @EntityGraph(attributePaths = {"account", "stock"})
+    List<Holding> findByAccount_AccountIdIn(Collection<UUID> accountIds);
+
 
     // Find specific id
     Optional<Holding> findByHoldingId(UUID holdingId);
@@ -75,4 +84,8 @@ public interface HoldingRepository extends JpaRepository<Holding, UUID> {
     @Query("SELECT COUNT(h) FROM Holding h WHERE h.account = :account")
     Long countByAccount(@Param("account") Account account);
 
+    // Every stock held by any account, used to price a whole snapshot run in one lookup
+    @Query("SELECT DISTINCT h.stock.stockId FROM Holding h WHERE h.quantity > 0")
+    List<UUID> findDistinctHeldStockIds();
+
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.joelcode.personalinvestmentportfoliotracker.repositories;
 
 import com.joelcode.personalinvestmentportfoliotracker.entities.Order;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -22,7 +23,8 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
 
     Optional<Order> findByOrderId(UUID orderId);
 
-    // Get all pending orders (for scheduler)
+    // Get all pending orders (for scheduler), with account and stock fetched in the same statement
+    @EntityGraph(attributePaths = {"account", "stock"})
     List<Order> findByStatusOrderByCreatedAtAsc(Order.OrderStatus status);
 
     // By stock
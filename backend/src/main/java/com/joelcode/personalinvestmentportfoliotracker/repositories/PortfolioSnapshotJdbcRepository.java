@@ -0,0 +1,68 @@
+package com.joelcode.personalinvestmentportfoliotracker.repositories;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.PortfolioSnapshot;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Bulk snapshot writes that bypass the persistence context
+@Repository
+public class PortfolioSnapshotJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO portfolio_snapshots (snapshot_id, account_id, snapshot_date, total_value, cash_balance, " +
+            "total_cost_basis, total_gain, day_change, day_change_percent, realized_gain, unrealized_gain, " +
+            "total_dividends, roi_percentage, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    // Define key fields
+    private final JdbcTemplate jdbcTemplate;
+
+
+    // Constructor
+    public PortfolioSnapshotJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+
+    // Insert the snapshots as one JDBC batch, skipping any account that already has a snapshot for the date.
+    // Returns the number of rows written; drivers that report SUCCESS_NO_INFO are counted as written.
+    public int insertIgnoringExisting(List<PortfolioSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_SQL, snapshots, snapshots.size(), (ps, snapshot) -> {
+            ps.setObject(1, snapshot.getSnapshotId() != null ? snapshot.getSnapshotId() : UUID.randomUUID());
+            ps.setObject(2, snapshot.getAccount().getAccountId());
+            ps.setDate(3, Date.valueOf(snapshot.getSnapshotDate()));
+            ps.setBigDecimal(4, snapshot.getTotalValue());
+            ps.setBigDecimal(5, snapshot.getCashBalance());
+            ps.setBigDecimal(6, snapshot.getTotalCostBasis());
+            ps.setBigDecimal(7, snapshot.getTotalGain());
+            ps.setBigDecimal(8, snapshot.getDayChange());
+            ps.setBigDecimal(9, snapshot.getDayChangePercent());
+            ps.setBigDecimal(10, snapshot.getRealizedGain());
+            ps.setBigDecimal(11, snapshot.getUnrealizedGain());
+            ps.setBigDecimal(12, snapshot.getTotalDividends());
+            ps.setBigDecimal(13, snapshot.getRoiPercentage());
+            ps.setTimestamp(14, now);
+            ps.setTimestamp(15, now);
+        })[0];
+
+        int written = 0;
+        for (int count : counts) {
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                written++;
+            }
+        }
+        return written;
+    }
+}
@@ -2,6 +2,7 @@ package com.joelcode.personalinvestmentportfoliotracker.repositories;
 
 import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
 import com.joelcode.personalinvestmentportfoliotracker.entities.PortfolioSnapshot;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfoliosnapshot.PreviousSnapshotValue;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -67,6 +69,14 @@ public interface PortfolioSnapshotRepository extends JpaRepository<PortfolioSnap
     @Query("SELECT ps FROM PortfolioSnapshot ps WHERE ps.account = :account ORDER BY ps.snapshotDate DESC LIMIT 1")
     Optional<PortfolioSnapshot> findLatestByAccount(@Param("account") Account account);
 
+    // Find the latest snapshot before a date for each of a set of accounts
+    @Query("SELECT new com.joelcode.personalinvestmentportfoliotracker.services.portfoliosnapshot.PreviousSnapshotValue(" +
+            "ps.account.accountId, ps.totalValue) FROM PortfolioSnapshot ps " +
+            "WHERE ps.account.accountId IN :accountIds AND ps.snapshotDate = " +
+            "(SELECT MAX(p.snapshotDate) FROM PortfolioSnapshot p WHERE p.account = ps.account AND p.snapshotDate < :date)")
+    List<PreviousSnapshotValue> findLatestValuesBefore(@Param("accountIds") Collection<UUID> accountIds,
+                                                       @Param("date") LocalDate date);
+
     // Find earliest snapshot by account
     @Query("SELECT ps FROM PortfolioSnapshot ps WHERE ps.account = :account ORDER BY ps.snapshotDate ASC LIMIT 1")
     Optional<PortfolioSnapshot> findEarliestByAccount(@Param("account") Account account);
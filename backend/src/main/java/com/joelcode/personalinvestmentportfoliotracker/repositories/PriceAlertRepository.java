@@ -1,9 +1,16 @@
 package com.joelcode.personalinvestmentportfoliotracker.repositories;
 
+import com.joelcode.personalinvestmentportfoliotracker.dto.pricealert.PriceAlertDTO;
 import com.joelcode.personalinvestmentportfoliotracker.entities.PriceAlert;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricealert.IndexedAlert;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,4 +24,31 @@ public interface PriceAlertRepository extends JpaRepository<PriceAlert, UUID> {
     List<PriceAlert> findByStock_StockId(UUID stockId);
 
     void deleteByUser_UserIdAndAlertId(UUID userUserId, UUID alertId);
+
+
+    // Read-model projections: alerts mapped straight to DTOs with their stock in one statement
+
+    @Query("SELECT new com.joelcode.personalinvestmentportfoliotracker.dto.pricealert.PriceAlertDTO(" +
+            "a.alertId, a.user.userId, s.stockId, s.stockCode, s.companyName, a.type, a.targetPrice, a.isActive, " +
+            "a.createdAt, a.triggeredAt) FROM PriceAlert a JOIN a.stock s WHERE a.user.userId = :userId")
+    List<PriceAlertDTO> findAlertDTOsByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT new com.joelcode.personalinvestmentportfoliotracker.dto.pricealert.PriceAlertDTO(" +
+            "a.alertId, a.user.userId, s.stockId, s.stockCode, s.companyName, a.type, a.targetPrice, a.isActive, " +
+            "a.createdAt, a.triggeredAt) FROM PriceAlert a JOIN a.stock s " +
+            "WHERE a.user.userId = :userId AND a.isActive = :isActive")
+    List<PriceAlertDTO> findAlertDTOsByUserIdAndIsActive(@Param("userId") UUID userId, @Param("isActive") Boolean isActive);
+
+
+    // Alert engine: every active alert in its index shape, and a batch of fired alerts closed in one statement
+
+    @Query("SELECT new com.joelcode.personalinvestmentportfoliotracker.services.pricealert.IndexedAlert(" +
+            "a.alertId, a.user.userId, s.stockId, s.stockCode, a.type, a.targetPrice) " +
+            "FROM PriceAlert a JOIN a.stock s WHERE a.isActive = true")
+    List<IndexedAlert> findActiveIndexedAlerts();
+
+    @Modifying
+    @Query("UPDATE PriceAlert a SET a.isActive = false, a.triggeredAt = :triggeredAt " +
+            "WHERE a.alertId IN :alertIds AND a.isActive = true")
+    int markTriggered(@Param("alertIds") Collection<UUID> alertIds, @Param("triggeredAt") LocalDateTime triggeredAt);
 }
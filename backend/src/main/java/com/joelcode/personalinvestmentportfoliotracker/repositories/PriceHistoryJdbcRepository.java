@@ -0,0 +1,140 @@
+package com.joelcode.personalinvestmentportfoliotracker.repositories;
+
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSlice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Bulk price writes that bypass the persistence context
+@Repository
+public class PriceHistoryJdbcRepository {
+
+    private static final String UPDATE_PRICE_SQL =
+            "UPDATE price_history SET close_price = ? WHERE stock_id = ? AND close_date = ?";
+
+    private static final String INSERT_PRICE_SQL =
+            "INSERT INTO price_history (price_history_id, stock_id, close_date, close_price) " +
+            "SELECT CAST(? AS UUID), CAST(? AS UUID), CAST(? AS TIMESTAMP), CAST(? AS NUMERIC(19, 2)) " +
+            "WHERE EXISTS (SELECT 1 FROM stock WHERE stock_id = ?) ON CONFLICT DO NOTHING";
+
+    private static final String FIND_IDS_SQL =
+            "SELECT close_date, price_history_id FROM price_history WHERE stock_id = ? AND close_date IN (%s)";
+
+    private static final String FIND_IDS_IN_RANGE_SQL =
+            "SELECT close_date, price_history_id FROM price_history " +
+            "WHERE stock_id = ? AND close_date BETWEEN ? AND ? ORDER BY close_date";
+
+    // Most close dates findIds looks up by value, larger slices are matched against one range scan
+    private static final int MAX_ID_LOOKUPS = 500;
+
+    private static final String UPDATE_STOCK_VALUE_SQL =
+            "UPDATE stock SET stock_value = ?, updated_at = ? WHERE stock_id = ?";
+
+    public record PricePoint(UUID stockId, LocalDateTime closeDate, BigDecimal closePrice) {}
+
+    // Define key fields
+    private final JdbcTemplate jdbcTemplate;
+
+
+    // Constructor
+    public PriceHistoryJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+
+    // Upsert one row per (stock, close date) against uq_price_history_stock_date as two JDBC batches: existing rows
+    // take the new close price, then the missing rows are inserted. Rows for stocks that no longer exist are skipped.
+    @Transactional
+    public void upsertPrices(List<PricePoint> points) {
+        if (points.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_PRICE_SQL, points, points.size(), (ps, point) -> {
+            ps.setBigDecimal(1, point.closePrice());
+            ps.setObject(2, point.stockId());
+            ps.setTimestamp(3, Timestamp.valueOf(point.closeDate()));
+        });
+        jdbcTemplate.batchUpdate(INSERT_PRICE_SQL, points, points.size(), (ps, point) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, point.stockId());
+            ps.setTimestamp(3, Timestamp.valueOf(point.closeDate()));
+            ps.setBigDecimal(4, point.closePrice());
+            ps.setObject(5, point.stockId());
+        });
+    }
+
+    // Row ids of a stock's price_history rows at the given close times (epoch millis in ascending order, as in
+    // PriceSlice), aligned with them; null where no row has that close date. One query either way: a small slice,
+    // typically downsampled, is looked up by value through uq_price_history_stock_date, anything larger by an ordered
+    // scan of its time range.
+    public UUID[] findIds(UUID stockId, long[] times) {
+        UUID[] aligned = new UUID[times.length];
+        if (times.length == 0) {
+            return aligned;
+        }
+        if (times.length > MAX_ID_LOOKUPS) {
+            findIdsInRange(stockId, times, aligned);
+            return aligned;
+        }
+
+        Object[] args = new Object[times.length + 1];
+        args[0] = stockId;
+        for (int i = 0; i < times.length; i++) {
+            args[i + 1] = Timestamp.valueOf(PriceSlice.toCloseDate(times[i]));
+        }
+        Map<Long, UUID> ids = new HashMap<>(times.length * 2);
+        String sql = String.format(FIND_IDS_SQL, String.join(", ", Collections.nCopies(times.length, "?")));
+        jdbcTemplate.query(sql, rs -> {
+            ids.put(PriceSlice.toTime(rs.getTimestamp(1).toLocalDateTime()), rs.getObject(2, UUID.class));
+        }, args);
+
+        for (int i = 0; i < times.length; i++) {
+            aligned[i] = ids.get(times[i]);
+        }
+        return aligned;
+    }
+
+    // Set the latest value of each stock as one JDBC batch
+    public void updateStockValues(Map<UUID, BigDecimal> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Map.Entry<UUID, BigDecimal>> entries = new ArrayList<>(values.entrySet());
+        jdbcTemplate.batchUpdate(UPDATE_STOCK_VALUE_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setBigDecimal(1, entry.getValue());
+            ps.setTimestamp(2, now);
+            ps.setObject(3, entry.getKey());
+        });
+    }
+
+
+    // Helper methods
+
+    // Walk the rows between the first and last time in close_date order alongside the sorted times
+    private void findIdsInRange(UUID stockId, long[] times, UUID[] aligned) {
+        int[] next = {0};
+        jdbcTemplate.query(FIND_IDS_IN_RANGE_SQL, rs -> {
+            long time = PriceSlice.toTime(rs.getTimestamp(1).toLocalDateTime());
+            while (next[0] < times.length && times[next[0]] < time) {
+                next[0]++;
+            }
+            if (next[0] < times.length && times[next[0]] == time) {
+                aligned[next[0]++] = rs.getObject(2, UUID.class);
+            }
+        }, stockId, Timestamp.valueOf(PriceSlice.toCloseDate(times[0])),
+                Timestamp.valueOf(PriceSlice.toCloseDate(times[times.length - 1])));
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -47,6 +48,11 @@ public interface PriceHistoryRepository extends JpaRepository<PriceHistory, UUID
 
     Optional<PriceHistory> findTopByStockOrderByCloseDateDesc(Stock stock);
 
+    // Latest close for each of the given stocks in one query (served by uq_price_history_stock_date)
+    @Query("SELECT ph FROM PriceHistory ph WHERE ph.stock.stockId IN :stockIds " +
+            "AND ph.closeDate = (SELECT MAX(p2.closeDate) FROM PriceHistory p2 WHERE p2.stock = ph.stock)")
+    List<PriceHistory> findLatestByStockIds(@Param("stockIds") Collection<UUID> stockIds);
+
 
     // By closing price
     List<PriceHistory> findByClosePrice(BigDecimal closePrice);
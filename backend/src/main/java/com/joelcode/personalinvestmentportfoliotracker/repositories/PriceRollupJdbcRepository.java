@@ -0,0 +1,179 @@
+package com.joelcode.personalinvestmentportfoliotracker.repositories;
+
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSeries;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSlice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Set-based rollups of price_history into price_history_daily and price_history_weekly, raw retention deletes and
+// tier reads. The bars are computed in the database, no raw rows are read into the application.
+@Repository
+public class PriceRollupJdbcRepository {
+
+    // A stock's bar is only recomputed while its raw rows for the day are complete: at least as many as the bar was
+    // rolled from. Bars of stocks whose raw rows were deleted by retention are left as they are.
+    private static final String DELETE_DAY_SQL =
+            "DELETE FROM price_history_daily WHERE bucket_date = ? AND sample_count <= " +
+            "(SELECT COUNT(*) FROM price_history p WHERE p.stock_id = price_history_daily.stock_id " +
+            "AND p.close_date >= ? AND p.close_date < ?)";
+
+    // Open and close are the prices at the first and last close_date of the day, found through uq_price_history_stock_date.
+    // Stocks that still have a bar for the day after DELETE_DAY_SQL keep it.
+    private static final String INSERT_DAY_SQL =
+            "INSERT INTO price_history_daily " +
+            "(stock_id, bucket_date, open_price, high_price, low_price, close_price, close_date, sample_count) " +
+            "SELECT g.stock_id, CAST(? AS DATE), " +
+            "(SELECT o.close_price FROM price_history o WHERE o.stock_id = g.stock_id AND o.close_date = g.first_date), " +
+            "g.high_price, g.low_price, " +
+            "(SELECT c.close_price FROM price_history c WHERE c.stock_id = g.stock_id AND c.close_date = g.last_date), " +
+            "g.last_date, g.sample_count " +
+            "FROM (SELECT stock_id, MIN(close_date) AS first_date, MAX(close_date) AS last_date, " +
+            "MAX(close_price) AS high_price, MIN(close_price) AS low_price, CAST(COUNT(*) AS INTEGER) AS sample_count " +
+            "FROM price_history WHERE close_date >= ? AND close_date < ? GROUP BY stock_id) g " +
+            "WHERE NOT EXISTS (SELECT 1 FROM price_history_daily d WHERE d.stock_id = g.stock_id AND d.bucket_date = ?)";
+
+    private static final String DELETE_WEEK_SQL =
+            "DELETE FROM price_history_weekly WHERE week_start = ?";
+
+    private static final String INSERT_WEEK_SQL =
+            "INSERT INTO price_history_weekly " +
+            "(stock_id, week_start, open_price, high_price, low_price, close_price, close_date, sample_count) " +
+            "SELECT g.stock_id, CAST(? AS DATE), " +
+            "(SELECT o.open_price FROM price_history_daily o WHERE o.stock_id = g.stock_id AND o.bucket_date = g.first_day), " +
+            "g.high_price, g.low_price, " +
+            "(SELECT c.close_price FROM price_history_daily c WHERE c.stock_id = g.stock_id AND c.bucket_date = g.last_day), " +
+            "g.close_date, g.sample_count " +
+            "FROM (SELECT stock_id, MIN(bucket_date) AS first_day, MAX(bucket_date) AS last_day, " +
+            "MAX(high_price) AS high_price, MIN(low_price) AS low_price, MAX(close_date) AS close_date, " +
+            "CAST(SUM(sample_count) AS INTEGER) AS sample_count " +
+            "FROM price_history_daily WHERE bucket_date >= ? AND bucket_date < ? GROUP BY stock_id) g";
+
+    private static final String FIND_LAST_DAY_SQL =
+            "SELECT MAX(bucket_date) FROM price_history_daily";
+
+    private static final String FIND_FIRST_RAW_SQL =
+            "SELECT MIN(close_date) FROM price_history";
+
+    private static final String FIND_FIRST_DAY_FOR_STOCK_SQL =
+            "SELECT MIN(bucket_date) FROM price_history_daily WHERE stock_id = ?";
+
+    private static final String FIND_DAILY_SQL =
+            "SELECT close_date, close_price FROM price_history_daily " +
+            "WHERE stock_id = ? AND bucket_date >= ? AND bucket_date <= ? ORDER BY bucket_date";
+
+    private static final String FIND_WEEKLY_SQL =
+            "SELECT close_date, close_price FROM price_history_weekly " +
+            "WHERE stock_id = ? AND week_start >= ? AND week_start <= ? ORDER BY week_start";
+
+    private static final String FIND_LATEST_RAW_SQL =
+            "SELECT close_date, close_price FROM price_history WHERE stock_id = ? ORDER BY close_date DESC LIMIT 1";
+
+    private static final String FIND_RAW_DAYS_SQL =
+            "SELECT DISTINCT CAST(close_date AS DATE) AS raw_day FROM price_history WHERE close_date < ? ORDER BY raw_day";
+
+    // The latest row of each stock is never deleted, it is the stock's current price
+    private static final String DELETE_RAW_SQL =
+            "DELETE FROM price_history WHERE close_date >= ? AND close_date < ? AND EXISTS " +
+            "(SELECT 1 FROM price_history n WHERE n.stock_id = price_history.stock_id " +
+            "AND n.close_date > price_history.close_date)";
+
+    // Define key fields
+    private final JdbcTemplate jdbcTemplate;
+
+
+    // Constructor
+    public PriceRollupJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+
+    // Rollup writes
+
+    // Recompute the daily bars of one UTC day from price_history, returns the number of bars written. Safe to run
+    // on any day: bars whose raw rows are partly deleted are kept.
+    @Transactional
+    public int rollupDay(LocalDate day) {
+        Timestamp start = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        jdbcTemplate.update(DELETE_DAY_SQL, Date.valueOf(day), start, end);
+        return jdbcTemplate.update(INSERT_DAY_SQL, Date.valueOf(day), start, end, Date.valueOf(day));
+    }
+
+    // Recompute the weekly bars of the week starting on weekStart from price_history_daily
+    @Transactional
+    public int rollupWeek(LocalDate weekStart) {
+        jdbcTemplate.update(DELETE_WEEK_SQL, Date.valueOf(weekStart));
+        return jdbcTemplate.update(INSERT_WEEK_SQL, Date.valueOf(weekStart),
+                Date.valueOf(weekStart), Date.valueOf(weekStart.plusWeeks(1)));
+    }
+
+    // UTC days with raw rows before the given day, oldest first
+    public List<LocalDate> findRawDaysBefore(LocalDate day) {
+        return jdbcTemplate.query(FIND_RAW_DAYS_SQL, (rs, rowNum) -> rs.getDate(1).toLocalDate(),
+                Timestamp.valueOf(day.atStartOfDay()));
+    }
+
+    // Delete the raw rows of one UTC day except each stock's latest row. Each day is its own statement so a large
+    // backlog is deleted in chunks.
+    public int deleteRawDay(LocalDate day) {
+        return jdbcTemplate.update(DELETE_RAW_SQL,
+                Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+    }
+
+
+    // Watermarks, null when there are no rows
+
+    public LocalDate findLastRolledDay() {
+        Date day = jdbcTemplate.queryForObject(FIND_LAST_DAY_SQL, Date.class);
+        return day != null ? day.toLocalDate() : null;
+    }
+
+    public LocalDateTime findFirstRawDate() {
+        Timestamp closeDate = jdbcTemplate.queryForObject(FIND_FIRST_RAW_SQL, Timestamp.class);
+        return closeDate != null ? closeDate.toLocalDateTime() : null;
+    }
+
+    public LocalDate findFirstRolledDay(UUID stockId) {
+        Date day = jdbcTemplate.queryForObject(FIND_FIRST_DAY_FOR_STOCK_SQL, Date.class, stockId);
+        return day != null ? day.toLocalDate() : null;
+    }
+
+
+    // Tier reads, bars are streamed into a PriceSeries of their closes at their last raw close_date
+
+    public PriceSeries findDailyCloses(UUID stockId, LocalDate fromDay, LocalDate toDay) {
+        return findCloses(FIND_DAILY_SQL, stockId, fromDay, toDay);
+    }
+
+    public PriceSeries findWeeklyCloses(UUID stockId, LocalDate fromWeek, LocalDate toWeek) {
+        return findCloses(FIND_WEEKLY_SQL, stockId, fromWeek, toWeek);
+    }
+
+    // Append the latest raw close of a stock, so a tier series ends at the live price between rollup runs
+    public void appendLatestRaw(UUID stockId, PriceSeries series) {
+        jdbcTemplate.query(FIND_LATEST_RAW_SQL, rs -> {
+            series.append(PriceSlice.toTime(rs.getTimestamp(1).toLocalDateTime()),
+                    PriceSlice.toPrice(rs.getBigDecimal(2)));
+        }, stockId);
+    }
+
+
+    // Helper methods
+
+    private PriceSeries findCloses(String sql, UUID stockId, LocalDate from, LocalDate to) {
+        PriceSeries series = new PriceSeries();
+        jdbcTemplate.query(sql, rs -> {
+            series.append(PriceSlice.toTime(rs.getTimestamp(1).toLocalDateTime()),
+                    PriceSlice.toPrice(rs.getBigDecimal(2)));
+        }, stockId, Date.valueOf(from), Date.valueOf(to));
+        return series;
+    }
+}
@@ -0,0 +1,12 @@
+package com.joelcode.personalinvestmentportfoliotracker.repositories;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.SnapshotJobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+// Checkpoints are keyed by snapshot date
+@Repository
+public interface SnapshotJobCheckpointRepository extends JpaRepository<SnapshotJobCheckpoint, LocalDate> {
+}
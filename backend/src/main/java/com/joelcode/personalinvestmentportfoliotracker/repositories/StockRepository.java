@@ -42,6 +42,16 @@ public interface StockRepository  extends JpaRepository<Stock, UUID> {
     List<Stock> findByAccount_AccountId(UUID accountId);
 
 
+    // Symbol universe the market data ingestion keeps priced: anything held, watched, ordered or alerted on
+    @Query("SELECT s FROM Stock s WHERE s.stockCode IS NOT NULL AND (" +
+            "s.stockId IN (SELECT h.stock.stockId FROM Holding h WHERE h.quantity > 0) " +
+            "OR s.stockId IN (SELECT w.stock.stockId FROM Watchlist w) " +
+            "OR s.stockId IN (SELECT o.stock.stockId FROM Order o " +
+            "WHERE o.status = com.joelcode.personalinvestmentportfoliotracker.entities.Order.OrderStatus.PENDING) " +
+            "OR s.stockId IN (SELECT a.stock.stockId FROM PriceAlert a WHERE a.isActive = true))")
+    List<Stock> findTrackedStocks();
+
+
     // Filter by stock value
     List<Stock> findByStockValueGreaterThan(Double stockValue);
 
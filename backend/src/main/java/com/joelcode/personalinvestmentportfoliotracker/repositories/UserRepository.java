@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -29,4 +30,8 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     List<User> findByCreatedAtAfter(LocalDateTime createdAtAfter);
 
     List<User> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+
+    // Notification preferences
+    List<User> findByUserIdInAndPriceAlertsTrue(Collection<UUID> userIds);
 }
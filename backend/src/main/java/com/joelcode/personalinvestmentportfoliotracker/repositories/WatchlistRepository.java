@@ -2,6 +2,7 @@ package com.joelcode.personalinvestmentportfoliotracker.repositories;
 
 import com.joelcode.personalinvestmentportfoliotracker.entities.User;
 import com.joelcode.personalinvestmentportfoliotracker.entities.Watchlist;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -14,6 +15,7 @@ public interface WatchlistRepository extends JpaRepository<Watchlist, UUID> {
 
     List<Watchlist> findByUser(User user);
 
+    @EntityGraph(attributePaths = {"stock"})
     List<Watchlist> findByUser_UserId(UUID userId);
 
     Optional<Watchlist> findByUser_UserIdAndStock_StockId(UUID userId, UUID stockId);
@@ -14,10 +14,13 @@ import com.joelcode.personalinvestmentportfoliotracker.repositories.AccountRepos
 import com.joelcode.personalinvestmentportfoliotracker.services.mapping.AccountMapper;
 import com.joelcode.personalinvestmentportfoliotracker.services.mapping.HoldingMapper;
 import com.joelcode.personalinvestmentportfoliotracker.services.mapping.TransactionMapper;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.AccountClosedEvent;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.CashBalanceChangedEvent;
 import com.joelcode.personalinvestmentportfoliotracker.services.portfoliosnapshot.PortfolioSnapshotCalculationService;
 import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceHistoryService;
 import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceHistoryServiceImpl;
 import com.joelcode.personalinvestmentportfoliotracker.services.stock.StockService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
@@ -29,6 +32,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -46,6 +50,7 @@ public class AccountServiceImpl implements AccountService {
     private final SimpMessagingTemplate messagingTemplate;
     private final StockService stockService;
     private final PortfolioSnapshotCalculationService snapshotCalculationService;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     // Constructor
@@ -54,7 +59,8 @@ public class AccountServiceImpl implements AccountService {
                               PriceHistoryService priceHistoryService,
                               SimpMessagingTemplate messagingTemplate,
                               StockService stockService,
-                              PortfolioSnapshotCalculationService snapshotCalculationService) {
+                              PortfolioSnapshotCalculationService snapshotCalculationService,
+                              ApplicationEventPublisher eventPublisher) {
         this.accountRepository = accountRepository;
         this.accountValidationService = accountValidationService;
         this.transactionMapper = transactionMapper;
@@ -63,6 +69,7 @@ public class AccountServiceImpl implements AccountService {
         this.messagingTemplate = messagingTemplate;
         this.stockService = stockService;
         this.snapshotCalculationService = snapshotCalculationService;
+        this.eventPublisher = eventPublisher;
     }
 
 
@@ -158,6 +165,7 @@ public class AccountServiceImpl implements AccountService {
         AccountMapper.updateEntity(account, request);
 
         account = accountRepository.save(account);
+        eventPublisher.publishEvent(new CashBalanceChangedEvent(account.getAccountId(), account.getAccountBalance()));
 
         WebSocketController.PortfolioUpdateMessage updateMessage = new WebSocketController.PortfolioUpdateMessage(
                 account.getAccountId(),
@@ -180,6 +188,7 @@ public class AccountServiceImpl implements AccountService {
         Account account = accountValidationService.validateAccountExistsById(accountId);
 
         accountRepository.delete(account);
+        eventPublisher.publishEvent(new AccountClosedEvent(accountId));
     }
 
 
@@ -192,6 +201,7 @@ public class AccountServiceImpl implements AccountService {
         BigDecimal newBalance = currentBalance.add(amount);
         account.setAccountBalance(newBalance);
         accountRepository.save(account);
+        eventPublisher.publishEvent(new CashBalanceChangedEvent(account.getAccountId(), newBalance));
 
         WebSocketController.PortfolioUpdateMessage updateMessage = new WebSocketController.PortfolioUpdateMessage(
                 account.getAccountId(),
@@ -230,6 +240,11 @@ public class AccountServiceImpl implements AccountService {
         // Validate the account exists
         Account account = accountValidationService.validateAccountExistsById(accountId);
 
+        // Resolve all prices for the account in one query
+        Map<UUID, BigDecimal> currentPrices = priceHistoryService.getCurrentPrices(account.getHoldings().stream()
+                .map(h -> h.getStock().getStockId())
+                .collect(Collectors.toSet()));
+
         // Stream through holdings and map to DTOs with current price
         List<HoldingDTO> holdingDTOs = account.getHoldings().stream()
                 .map(h -> {
@@ -237,8 +252,7 @@ public class AccountServiceImpl implements AccountService {
                     if (h.getStock().getIndustry() == null) {
                         stockService.populateMissingIndustryData(h.getStock());
                     }
-                    BigDecimal currentPrice = priceHistoryService.getCurrentPrice(h.getStock().getStockId());
-                    return HoldingMapper.toDTO(h, currentPrice);
+                    return HoldingMapper.toDTO(h, currentPrices.get(h.getStock().getStockId()));
                 })
                 .collect(Collectors.toList());
 
@@ -0,0 +1,178 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Small in-process cache with a fixed time-to-live, a bounded size (least recently used entries are
+ * evicted first) and single-flight loading.
+ *
+ * When several threads miss on the same key at once only the first one runs the loader; the others
+ * wait for that call and share its result (or its exception). Null results and failures are never
+ * cached, so the next caller retries.
+ *
+ * Metrics: app.cache.requests{cache, result=hit|miss|coalesced} and app.cache.size{cache}
+ */
+public class ExpiringCache<K, V> {
+
+    private final String name;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LongSupplier ticker;
+
+    // Access-ordered map gives LRU eviction, guarded by its own monitor
+    private final LinkedHashMap<K, CachedValue<V>> entries;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    public ExpiringCache(String name, Duration ttl, int maxSize, MeterRegistry meterRegistry) {
+        this(name, ttl, maxSize, meterRegistry, System::nanoTime);
+    }
+
+    public ExpiringCache(String name, Duration ttl, int maxSize, MeterRegistry meterRegistry, LongSupplier ticker) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache max size must be positive");
+        }
+        this.name = name;
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest) {
+                return size() > ExpiringCache.this.maxSize;
+            }
+        };
+
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        Gauge.builder("app.cache.size", this, ExpiringCache::size)
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+
+    // Return the cached value for key, loading it through loader at most once across concurrent callers
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V cached = getIfFresh(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        try {
+            // Another thread may have finished loading between our miss and claiming the slot
+            cached = getIfFresh(key);
+            if (cached != null) {
+                hits.increment();
+                mine.complete(cached);
+                return cached;
+            }
+
+            misses.increment();
+            V loaded = loader.apply(key);
+            if (loaded != null) {
+                put(key, loaded);
+            }
+            mine.complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // Return the value only if it is present and has not expired
+    public V getIfFresh(K key) {
+        synchronized (entries) {
+            CachedValue<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (ticker.getAsLong() - entry.storedAt > ttlNanos) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    public void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, new CachedValue<>(value, ticker.getAsLong()));
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+
+    // Helpers
+
+    private Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("app.cache.requests")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // Wait for another caller's load and rethrow its failure unwrapped
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record CachedValue<V>(V value, long storedAt) {}
+}
@@ -3,22 +3,75 @@ package com.joelcode.personalinvestmentportfoliotracker.services.customuserdetai
 import com.joelcode.personalinvestmentportfoliotracker.entities.User;
 import com.joelcode.personalinvestmentportfoliotracker.model.CustomUserDetails;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.UserRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.cache.ExpiringCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Loads users for Spring Security.
+ *
+ * Login goes through loadUserByUsername and always reads the database, so the password hash is current.
+ * Authenticated requests go through loadUserById, which is served from a bounded TTL cache keyed by userId.
+ * Anything that changes a user's password, role or profile, and logout, must call evict(userId) so the next
+ * request sees the change. Inside a transaction the entry is dropped again once it completes, so a request that
+ * reloads the user before the commit cannot keep the old row cached.
+ *
+ * Metrics: app.cache.requests{cache=auth.user-details} and app.cache.size{cache=auth.user-details}
+ */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
+    // Define key fields
     private final UserRepository userRepository;
+    private final ExpiringCache<UUID, CustomUserDetails> userDetailsById;
+
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    // Constructor
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${auth.user-cache.ttl:5m}") Duration ttl,
+                                    @Value("${auth.user-cache.max-size:10000}") int maxSize) {
         this.userRepository = userRepository;
+        this.userDetailsById = new ExpiringCache<>("auth.user-details", ttl, maxSize, meterRegistry);
     }
 
+
+    // Interface functions
+
     @Override
     public CustomUserDetails loadUserByUsername(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found with username: " + username));
         return new CustomUserDetails(user);
     }
-}
\ No newline at end of file
+
+    // Resolve the user behind a verified token, or null when the user no longer exists
+    public CustomUserDetails loadUserById(UUID userId) {
+        return userDetailsById.get(userId, id -> userRepository.findById(id)
+                .map(CustomUserDetails::new)
+                .orElse(null));
+    }
+
+    // Drop the cached user so the next request reloads it, now and after the surrounding transaction completes
+    public void evict(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        userDetailsById.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    userDetailsById.invalidate(userId);
+                }
+            });
+        }
+    }
+}
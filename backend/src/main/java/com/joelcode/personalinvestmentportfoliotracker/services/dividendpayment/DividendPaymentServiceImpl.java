@@ -7,6 +7,9 @@ import com.joelcode.personalinvestmentportfoliotracker.entities.*;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.*;
 import com.joelcode.personalinvestmentportfoliotracker.services.holding.HoldingCalculationService;
 import com.joelcode.personalinvestmentportfoliotracker.services.mapping.DividendPaymentMapper;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.CashBalanceChangedEvent;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.DividendRecordedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -34,6 +37,7 @@ public class DividendPaymentServiceImpl implements DividendPaymentService {
     private final DividendPaymentValidationService validationService;
     private final SimpMessagingTemplate messagingTemplate;
     private final HoldingCalculationService holdingCalculationService;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     // Constructor
@@ -44,7 +48,8 @@ public class DividendPaymentServiceImpl implements DividendPaymentService {
                                       HoldingRepository holdingRepository,
                                       DividendPaymentValidationService validationService,
                                       SimpMessagingTemplate messagingTemplate,
-                                      HoldingCalculationService holdingCalculationService) {
+                                      HoldingCalculationService holdingCalculationService,
+                                      ApplicationEventPublisher eventPublisher) {
         this.paymentRepository = paymentRepository;
         this.dividendRepository = dividendRepository;
         this.accountRepository = accountRepository;
@@ -53,6 +58,7 @@ public class DividendPaymentServiceImpl implements DividendPaymentService {
         this.validationService = validationService;
         this.messagingTemplate = messagingTemplate;
         this.holdingCalculationService = holdingCalculationService;
+        this.eventPublisher = eventPublisher;
     }
 
 
@@ -99,6 +105,8 @@ public class DividendPaymentServiceImpl implements DividendPaymentService {
         account.setAccountBalance(account.getAccountBalance().add(
                 request.getShareQuantity().multiply(dividend.getDividendAmountPerShare())
         ));
+        eventPublisher.publishEvent(new DividendRecordedEvent(account.getAccountId(), payment.getDividendTotalAmount()));
+        eventPublisher.publishEvent(new CashBalanceChangedEvent(account.getAccountId(), account.getAccountBalance()));
 
         // WebSocket notification: user alert
         messagingTemplate.convertAndSend(
@@ -257,6 +265,7 @@ public class DividendPaymentServiceImpl implements DividendPaymentService {
             );
 
             paymentRepository.save(payment);
+            eventPublisher.publishEvent(new DividendRecordedEvent(holding.getAccount().getAccountId(), payment.getDividendTotalAmount()));
         }
     }
 
@@ -266,6 +275,10 @@ public class DividendPaymentServiceImpl implements DividendPaymentService {
     public void deleteDividendPayment(UUID paymentId) {
         DividendPayment payment = validationService.validatePaymentExists(paymentId);
         paymentRepository.delete(payment);
+        if (payment.getDividendTotalAmount() != null) {
+            eventPublisher.publishEvent(new DividendRecordedEvent(payment.getAccount().getAccountId(),
+                    payment.getDividendTotalAmount().negate()));
+        }
     }
 
     // Get all payments
@@ -7,7 +7,7 @@ import com.joelcode.personalinvestmentportfoliotracker.entities.Holding;
 import com.joelcode.personalinvestmentportfoliotracker.entities.Stock;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.AccountRepository;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.HoldingRepository;
-import com.joelcode.personalinvestmentportfoliotracker.repositories.StockRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.fanout.ExternalCallFanOut;
 import com.joelcode.personalinvestmentportfoliotracker.services.finnhub.FinnhubApiClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -34,7 +34,7 @@ public class EarningsServiceImpl implements EarningsService {
     private AccountRepository accountRepository;
 
     @Autowired
-    private StockRepository stockRepository;
+    private ExternalCallFanOut externalCallFanOut;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
@@ -60,12 +60,12 @@ public class EarningsServiceImpl implements EarningsService {
             return Collections.emptyList();
         }
 
-        // 3. Extract unique stock symbols
-        Set<String> symbols = holdings.stream()
-                .map(h -> h.getStock().getStockCode())
-                .collect(Collectors.toSet());
+        // 3. Unique stocks by symbol, already loaded with the holdings
+        Map<String, Stock> stocksBySymbol = holdings.stream()
+                .map(Holding::getStock)
+                .collect(Collectors.toMap(Stock::getStockCode, stock -> stock, (first, second) -> first));
 
-        System.out.println("🔍 [EarningsService] Stock symbols: " + String.join(", ", symbols));
+        System.out.println("🔍 [EarningsService] Stock symbols: " + String.join(", ", stocksBySymbol.keySet()));
 
         // 4. Define date range (next 90 days)
         LocalDate today = LocalDate.now();
@@ -75,54 +75,41 @@ public class EarningsServiceImpl implements EarningsService {
 
         System.out.println("📅 [EarningsService] Date range: " + fromDate + " to " + toDate);
 
-        // 5. Fetch earnings from Finnhub for each symbol
+        // 5. Fetch the earnings calendar for every symbol concurrently; symbols that fail are skipped
+        Map<String, FinnhubEarningsCalendarDTO> calendars = externalCallFanOut.fetchAll(stocksBySymbol.keySet(),
+                symbol -> finnhubApiClient.getEarningsCalendar(fromDate, toDate, symbol));
+
         List<EarningsDTO> allEarnings = new ArrayList<>();
 
-        for (String symbol : symbols) {
-            try {
-                System.out.println("📡 [EarningsService] Fetching earnings for: " + symbol);
-
-                FinnhubEarningsCalendarDTO calendar = finnhubApiClient.getEarningsCalendar(
-                        fromDate,
-                        toDate,
-                        symbol
-                );
-
-                if (calendar != null && calendar.getEarningsCalendar() != null) {
-                    System.out.println("✅ [EarningsService] Got " + calendar.getEarningsCalendar().size() + " earnings for " + symbol);
-
-                    for (FinnhubEarningsEventDTO event : calendar.getEarningsCalendar()) {
-                        // Find stock entity to get stockId
-                        Optional<Stock> stockOpt = stockRepository.findByStockCode(symbol);
-                        if (stockOpt.isPresent()) {
-                            Stock stock = stockOpt.get();
-
-                            // Map to EarningsDTO
-                            EarningsDTO dto = new EarningsDTO(
-                                    UUID.randomUUID(),  // earningId (not persisted)
-                                    stock.getStockId(),
-                                    stock.getStockCode(),
-                                    stock.getCompanyName(),
-                                    LocalDate.parse(event.getDate(), DATE_FORMATTER),
-                                    event.getEpsEstimate(),
-                                    event.getEpsActual(),
-                                    mapReportTime(event.getHour())
-                            );
-
-                            allEarnings.add(dto);
-                            System.out.println("   ✓ Added earnings for " + symbol + " on " + event.getDate());
-                        } else {
-                            System.err.println("⚠️  [EarningsService] Stock not found: " + symbol);
-                        }
-                    }
-                } else {
-                    System.out.println("ℹ️  [EarningsService] No earnings data for " + symbol);
+        calendars.forEach((symbol, calendar) -> {
+            if (calendar.getEarningsCalendar() == null) {
+                System.out.println("ℹ️  [EarningsService] No earnings data for " + symbol);
+                return;
+            }
+
+            System.out.println("✅ [EarningsService] Got " + calendar.getEarningsCalendar().size() + " earnings for " + symbol);
+
+            Stock stock = stocksBySymbol.get(symbol);
+            for (FinnhubEarningsEventDTO event : calendar.getEarningsCalendar()) {
+                try {
+                    // Map to EarningsDTO
+                    EarningsDTO dto = new EarningsDTO(
+                            UUID.randomUUID(),  // earningId (not persisted)
+                            stock.getStockId(),
+                            stock.getStockCode(),
+                            stock.getCompanyName(),
+                            LocalDate.parse(event.getDate(), DATE_FORMATTER),
+                            event.getEpsEstimate(),
+                            event.getEpsActual(),
+                            mapReportTime(event.getHour())
+                    );
+
+                    allEarnings.add(dto);
+                } catch (Exception e) {
+                    System.err.println("❌ [EarningsService] Skipping earnings event for " + symbol + ": " + e.getMessage());
                 }
-            } catch (Exception e) {
-                System.err.println("❌ [EarningsService] Failed to fetch earnings for " + symbol + ": " + e.getMessage());
-                // Continue with other symbols
             }
-        }
+        });
 
         // 6. Sort by date and return
         allEarnings.sort(Comparator.comparing(EarningsDTO::getEarningsDate));
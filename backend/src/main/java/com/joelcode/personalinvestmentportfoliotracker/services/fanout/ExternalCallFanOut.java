@@ -0,0 +1,157 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.fanout;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Issues independent blocking external calls concurrently, one per key, on the external call executor.
+ *
+ * A shared semaphore caps how many calls are in flight across all callers, which matters once the executor
+ * runs on virtual threads and no longer bounds them itself. Each call has a timeout counted from when it is
+ * submitted; a call that times out or throws is left out of the results and the caller falls back as it would
+ * for a missing value. Timed out calls are not interrupted, they finish in the background against the HTTP
+ * client's own timeouts.
+ *
+ * Calls must not start another fan-out and wait on it, since the outer call would hold its permit while waiting.
+ *
+ * Metrics: app.fanout.calls{result=success|failed|timeout}
+ */
+@Component
+public class ExternalCallFanOut {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExternalCallFanOut.class);
+
+    // Define key fields
+    private final ExecutorService externalCallExecutor;
+    private final Semaphore permits;
+    private final Duration defaultTimeout;
+
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter timedOut;
+
+
+    // Constructor
+    public ExternalCallFanOut(@Qualifier("externalCallExecutor") ExecutorService externalCallExecutor,
+                              @Value("${external-calls.max-concurrency:16}") int maxConcurrency,
+                              @Value("${external-calls.timeout:5s}") Duration defaultTimeout,
+                              MeterRegistry meterRegistry) {
+        this.externalCallExecutor = externalCallExecutor;
+        this.permits = new Semaphore(Math.max(1, maxConcurrency));
+        this.defaultTimeout = defaultTimeout;
+
+        this.succeeded = counter(meterRegistry, "success");
+        this.failed = counter(meterRegistry, "failed");
+        this.timedOut = counter(meterRegistry, "timeout");
+    }
+
+
+    // Fan-out functions
+
+    // Run the call for every distinct key and wait for all of them; keys without a result are left out
+    public <K, V> Map<K, V> fetchAll(Collection<K> keys, Function<? super K, ? extends V> call) {
+        return joinAll(submitAll(keys, call));
+    }
+
+    public <K, V> Map<K, V> fetchAll(Collection<K> keys, Function<? super K, ? extends V> call, Duration timeout) {
+        return joinAll(submitAll(keys, call, timeout));
+    }
+
+    // Start the calls without waiting, so several fan-outs can be in flight before any of them is joined
+    public <K, V> Map<K, CompletableFuture<V>> submitAll(Collection<K> keys, Function<? super K, ? extends V> call) {
+        return submitAll(keys, call, defaultTimeout);
+    }
+
+    public <K, V> Map<K, CompletableFuture<V>> submitAll(Collection<K> keys, Function<? super K, ? extends V> call,
+                                                         Duration timeout) {
+        Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            pending.put(key, submit(key, call, timeout));
+        }
+        return pending;
+    }
+
+    // Wait for submitted calls, keeping key order and dropping the keys that failed, timed out or returned null
+    public <K, V> Map<K, V> joinAll(Map<K, CompletableFuture<V>> pending) {
+        Map<K, V> results = new LinkedHashMap<>();
+        pending.forEach((key, future) -> {
+            V value = future.join();
+            if (value != null) {
+                results.put(key, value);
+            }
+        });
+        return results;
+    }
+
+
+    // Helper methods
+
+    private <K, V> CompletableFuture<V> submit(K key, Function<? super K, ? extends V> call, Duration timeout) {
+        CompletableFuture<V> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> callWithPermit(key, call), externalCallExecutor);
+        } catch (RuntimeException e) {
+            // Executor shut down or saturated
+            failed.increment();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return future
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((value, error) -> {
+                    if (error == null) {
+                        succeeded.increment();
+                        return value;
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    if (cause instanceof TimeoutException) {
+                        timedOut.increment();
+                        logger.debug("External call for {} timed out after {}", key, timeout);
+                    } else {
+                        failed.increment();
+                        logger.debug("External call for {} failed: {}", key, cause.getMessage());
+                    }
+                    return null;
+                });
+    }
+
+    private <K, V> V callWithPermit(K key, Function<? super K, ? extends V> call) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+        try {
+            return call.apply(key);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("app.fanout.calls")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,95 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.finnhub;
+
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubCandleDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubCompanyProfileDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubEarningsCalendarDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubMetricsDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubQuoteDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubSearchResponseDTO;
+import com.joelcode.personalinvestmentportfoliotracker.services.cache.ExpiringCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Caching decorator in front of ResilientFinnhubApiClient (and through it FinnhubApiClientImpl).
+ *
+ * Quotes, company profiles and metrics are cached per symbol with their own TTLs, and concurrent
+ * requests for the same symbol share a single in-flight HTTP call. Candles, search and the earnings
+ * calendar are passed straight through.
+ */
+@Service
+@Primary
+public class CachingFinnhubApiClient implements FinnhubApiClient {
+
+    // Define key fields
+    private final FinnhubApiClient delegate;
+    private final ExpiringCache<String, FinnhubQuoteDTO> quoteCache;
+    private final ExpiringCache<String, FinnhubCompanyProfileDTO> profileCache;
+    private final ExpiringCache<String, FinnhubMetricsDTO> metricsCache;
+
+
+    // Constructor
+    public CachingFinnhubApiClient(@Qualifier("resilientFinnhubApiClient") FinnhubApiClient delegate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${finnhub.cache.quote-ttl:15s}") Duration quoteTtl,
+                                   @Value("${finnhub.cache.profile-ttl:24h}") Duration profileTtl,
+                                   @Value("${finnhub.cache.metrics-ttl:1h}") Duration metricsTtl,
+                                   @Value("${finnhub.cache.max-size:2000}") int maxSize) {
+        this.delegate = delegate;
+        this.quoteCache = new ExpiringCache<>("finnhub.quote", quoteTtl, maxSize, meterRegistry);
+        this.profileCache = new ExpiringCache<>("finnhub.profile", profileTtl, maxSize, meterRegistry);
+        this.metricsCache = new ExpiringCache<>("finnhub.metrics", metricsTtl, maxSize, meterRegistry);
+    }
+
+
+    // Interface functions
+
+    @Override
+    public FinnhubQuoteDTO getQuote(String symbol) {
+        return quoteCache.get(key(symbol), delegate::getQuote);
+    }
+
+    @Override
+    public FinnhubCompanyProfileDTO getCompanyProfile(String symbol) {
+        return profileCache.get(key(symbol), delegate::getCompanyProfile);
+    }
+
+    @Override
+    public FinnhubMetricsDTO getMetrics(String symbol) {
+        return metricsCache.get(key(symbol), delegate::getMetrics);
+    }
+
+    @Override
+    public FinnhubCandleDTO getCandles(String symbol, String resolution, long from, long to) {
+        return delegate.getCandles(symbol, resolution, from, to);
+    }
+
+    // Served from the cached quote so price lookups share the quote TTL
+    @Override
+    public BigDecimal getCurrentPrice(String symbol) {
+        FinnhubQuoteDTO quote = getQuote(symbol);
+        return quote != null ? quote.getCurrentPrice() : null;
+    }
+
+    @Override
+    public FinnhubSearchResponseDTO searchCompanies(String query) {
+        return delegate.searchCompanies(query);
+    }
+
+    @Override
+    public FinnhubEarningsCalendarDTO getEarningsCalendar(String from, String to, String symbol) {
+        return delegate.getEarningsCalendar(from, to, symbol);
+    }
+
+
+    // Helper to normalise cache keys so "aapl" and "AAPL" share an entry
+    private String key(String symbol) {
+        return symbol.trim().toUpperCase();
+    }
+}
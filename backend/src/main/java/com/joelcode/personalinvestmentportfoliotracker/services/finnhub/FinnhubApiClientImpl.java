@@ -6,14 +6,16 @@ import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubEarnin
 import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubMetricsDTO;
 import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubQuoteDTO;
 import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubSearchResponseDTO;
+import com.joelcode.personalinvestmentportfoliotracker.services.http.OutboundHttpClient;
+import com.joelcode.personalinvestmentportfoliotracker.services.ratelimit.ApiRateLimiter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.math.BigDecimal;
 import java.net.URI;
+import java.util.Map;
 
 @Service
 public class FinnhubApiClientImpl implements FinnhubApiClient {
@@ -24,20 +26,23 @@ public class FinnhubApiClientImpl implements FinnhubApiClient {
     @Value("${finnhub.api.base-url}")
     private String baseUrl;
 
-    private final RestTemplate restTemplate;
+    private final OutboundHttpClient outboundHttpClient;
+    private final ApiRateLimiter apiRateLimiter;
 
-    public FinnhubApiClientImpl(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public FinnhubApiClientImpl(OutboundHttpClient outboundHttpClient, ApiRateLimiter apiRateLimiter) {
+        this.outboundHttpClient = outboundHttpClient;
+        this.apiRateLimiter = apiRateLimiter;
     }
 
     @Override
     public FinnhubQuoteDTO getQuote(String symbol) {
+        apiRateLimiter.acquire(ApiRateLimiter.Api.FINNHUB);
         try {
             String url = String.format("%s/quote?symbol=%s&token=%s", baseUrl, symbol.toUpperCase(), apiKey);
             System.err.println("📡 [FinnhubApiClient] Fetching quote for: " + symbol);
             System.err.println("   URL: " + url.replace(apiKey, "***"));
 
-            FinnhubQuoteDTO result = restTemplate.getForObject(url, FinnhubQuoteDTO.class);
+            FinnhubQuoteDTO result = outboundHttpClient.get(url, FinnhubQuoteDTO.class);
 
             System.err.println("✅ [FinnhubApiClient] Quote fetched successfully for: " + symbol);
             return result;
@@ -58,12 +63,13 @@ public class FinnhubApiClientImpl implements FinnhubApiClient {
 
     @Override
     public FinnhubCompanyProfileDTO getCompanyProfile(String symbol) {
+        apiRateLimiter.acquire(ApiRateLimiter.Api.FINNHUB);
         try {
             String url = String.format("%s/stock/profile2?symbol=%s&token=%s", baseUrl, symbol.toUpperCase(), apiKey);
             System.err.println("📡 [FinnhubApiClient] Fetching company profile for: " + symbol);
             System.err.println("   URL: " + url.replace(apiKey, "***"));
 
-            FinnhubCompanyProfileDTO result = restTemplate.getForObject(url, FinnhubCompanyProfileDTO.class);
+            FinnhubCompanyProfileDTO result = outboundHttpClient.get(url, FinnhubCompanyProfileDTO.class);
 
             System.err.println("✅ [FinnhubApiClient] Company profile fetched successfully for: " + symbol);
             return result;
@@ -84,12 +90,13 @@ public class FinnhubApiClientImpl implements FinnhubApiClient {
 
     @Override
     public FinnhubMetricsDTO getMetrics(String symbol) {
+        apiRateLimiter.acquire(ApiRateLimiter.Api.FINNHUB);
         try {
             String url = String.format("%s/stock/metric?symbol=%s&metric=all&token=%s", baseUrl, symbol.toUpperCase(), apiKey);
             System.err.println("📡 [FinnhubApiClient] Fetching metrics for: " + symbol);
             System.err.println("   URL: " + url.replace(apiKey, "***"));
 
-            FinnhubMetricsDTO result = restTemplate.getForObject(url, FinnhubMetricsDTO.class);
+            FinnhubMetricsDTO result = outboundHttpClient.get(url, FinnhubMetricsDTO.class);
 
             System.err.println("✅ [FinnhubApiClient] Metrics fetched successfully for: " + symbol);
             return result;
@@ -110,13 +117,14 @@ public class FinnhubApiClientImpl implements FinnhubApiClient {
 
     @Override
     public FinnhubCandleDTO getCandles(String symbol, String resolution, long from, long to) {
+        apiRateLimiter.acquire(ApiRateLimiter.Api.FINNHUB);
         try {
             String url = String.format("%s/stock/candle?symbol=%s&resolution=%s&from=%d&to=%d&token=%s",
                     baseUrl, symbol.toUpperCase(), resolution, from, to, apiKey);
             System.err.println("📡 [FinnhubApiClient] Fetching candles for: " + symbol);
             System.err.println("   URL: " + url.replace(apiKey, "***"));
 
-            FinnhubCandleDTO result = restTemplate.getForObject(url, FinnhubCandleDTO.class);
+            FinnhubCandleDTO result = outboundHttpClient.get(url, FinnhubCandleDTO.class);
 
             System.err.println("✅ [FinnhubApiClient] Candles fetched successfully for: " + symbol);
             return result;
@@ -143,6 +151,7 @@ public class FinnhubApiClientImpl implements FinnhubApiClient {
 
     @Override
     public FinnhubSearchResponseDTO searchCompanies(String query) {
+        apiRateLimiter.acquire(ApiRateLimiter.Api.FINNHUB);
         try {
             System.out.println("  📡 FinnhubApiClientImpl.searchCompanies()");
             System.out.println("    Query: " + query);
@@ -158,7 +167,7 @@ public class FinnhubApiClientImpl implements FinnhubApiClient {
             System.out.println("    🔗 Built URI: " + uri.toString());
             System.out.println("    🚀 Calling Finnhub API...");
 
-            FinnhubSearchResponseDTO response = restTemplate.getForObject(uri, FinnhubSearchResponseDTO.class);
+            FinnhubSearchResponseDTO response = outboundHttpClient.get(uri, Map.of(), FinnhubSearchResponseDTO.class);
 
             System.out.println("    ✅ Response received from Finnhub");
             System.out.println("    📊 Response object: " + (response != null ? "Not null" : "NULL"));
@@ -178,6 +187,7 @@ public class FinnhubApiClientImpl implements FinnhubApiClient {
 
     @Override
     public FinnhubEarningsCalendarDTO getEarningsCalendar(String from, String to, String symbol) {
+        apiRateLimiter.acquire(ApiRateLimiter.Api.FINNHUB);
         try {
             System.out.println("  📡 FinnhubApiClientImpl.getEarningsCalendar()");
             System.out.println("    From: " + from + ", To: " + to + ", Symbol: " + symbol);
@@ -201,7 +211,7 @@ public class FinnhubApiClientImpl implements FinnhubApiClient {
             System.out.println("    🔗 Built URI: " + uri.toString());
             System.out.println("    🚀 Calling Finnhub API...");
 
-            FinnhubEarningsCalendarDTO response = restTemplate.getForObject(uri, FinnhubEarningsCalendarDTO.class);
+            FinnhubEarningsCalendarDTO response = outboundHttpClient.get(uri, Map.of(), FinnhubEarningsCalendarDTO.class);
 
             System.out.println("    ✅ Response received");
             return response;
@@ -0,0 +1,82 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.finnhub;
+
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubCandleDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubCompanyProfileDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubEarningsCalendarDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubMetricsDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubQuoteDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubSearchResponseDTO;
+import com.joelcode.personalinvestmentportfoliotracker.services.resilience.ResilientCallExecutor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+/**
+ * Circuit breaker and stale-while-revalidate decorator around FinnhubApiClientImpl, one breaker per endpoint.
+ *
+ * Sits under CachingFinnhubApiClient, so only cache misses reach it.
+ */
+@Service
+public class ResilientFinnhubApiClient implements FinnhubApiClient {
+
+    private static final String PROVIDER = "finnhub";
+
+    // Define key fields
+    private final FinnhubApiClient delegate;
+    private final ResilientCallExecutor resilientCallExecutor;
+
+
+    // Constructor
+    public ResilientFinnhubApiClient(FinnhubApiClientImpl delegate, ResilientCallExecutor resilientCallExecutor) {
+        this.delegate = delegate;
+        this.resilientCallExecutor = resilientCallExecutor;
+    }
+
+
+    // Interface functions
+
+    @Override
+    public FinnhubQuoteDTO getQuote(String symbol) {
+        return resilientCallExecutor.call(PROVIDER, "quote", key(symbol), () -> delegate.getQuote(symbol));
+    }
+
+    @Override
+    public FinnhubCompanyProfileDTO getCompanyProfile(String symbol) {
+        return resilientCallExecutor.call(PROVIDER, "profile", key(symbol), () -> delegate.getCompanyProfile(symbol));
+    }
+
+    @Override
+    public FinnhubMetricsDTO getMetrics(String symbol) {
+        return resilientCallExecutor.call(PROVIDER, "metrics", key(symbol), () -> delegate.getMetrics(symbol));
+    }
+
+    // A stale series may cover a slightly older range than the one asked for
+    @Override
+    public FinnhubCandleDTO getCandles(String symbol, String resolution, long from, long to) {
+        return resilientCallExecutor.call(PROVIDER, "candles", key(symbol) + ":" + resolution,
+                () -> delegate.getCandles(symbol, resolution, from, to));
+    }
+
+    @Override
+    public BigDecimal getCurrentPrice(String symbol) {
+        FinnhubQuoteDTO quote = getQuote(symbol);
+        return quote != null ? quote.getCurrentPrice() : null;
+    }
+
+    @Override
+    public FinnhubSearchResponseDTO searchCompanies(String query) {
+        return resilientCallExecutor.call(PROVIDER, "search", key(query), () -> delegate.searchCompanies(query));
+    }
+
+    @Override
+    public FinnhubEarningsCalendarDTO getEarningsCalendar(String from, String to, String symbol) {
+        return resilientCallExecutor.call(PROVIDER, "earnings", from + ":" + to + ":" + (symbol != null ? key(symbol) : ""),
+                () -> delegate.getEarningsCalendar(from, to, symbol));
+    }
+
+
+    // Helper to normalise keys so "aapl" and "AAPL" share a last known value
+    private String key(String symbol) {
+        return symbol.trim().toUpperCase();
+    }
+}
@@ -9,7 +9,10 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @Profile("!test")
@@ -43,6 +46,7 @@ public class HoldingCalculationServiceImpl implements HoldingCalculationService
         }
 
         BigDecimal totalValue = BigDecimal.ZERO;
+        Map<UUID, BigDecimal> currentPrices = getCurrentPrices(holdings);
 
         for (Holding holding : holdings) {
             // EDGE CASE: Null stock check
@@ -51,7 +55,7 @@ public class HoldingCalculationServiceImpl implements HoldingCalculationService
             }
 
             try {
-                BigDecimal currentPrice = stockService.getCurrentPrice(holding.getStock().getStockId());
+                BigDecimal currentPrice = currentPrices.get(holding.getStock().getStockId());
 
                 // EDGE CASE: Null or negative price
                 if (currentPrice == null || currentPrice.compareTo(BigDecimal.ZERO) < 0) {
@@ -117,6 +121,7 @@ public class HoldingCalculationServiceImpl implements HoldingCalculationService
         }
 
         BigDecimal totalUnrealizedGain = BigDecimal.ZERO;
+        Map<UUID, BigDecimal> currentPrices = getCurrentPrices(holdings);
 
         for (Holding holding : holdings) {
             // EDGE CASE: Null checks
@@ -125,7 +130,7 @@ public class HoldingCalculationServiceImpl implements HoldingCalculationService
             }
 
             try {
-                BigDecimal currentPrice = stockService.getCurrentPrice(holding.getStock().getStockId());
+                BigDecimal currentPrice = currentPrices.get(holding.getStock().getStockId());
 
                 if (currentPrice == null) {
                     currentPrice = BigDecimal.ZERO;
@@ -175,4 +180,13 @@ public class HoldingCalculationServiceImpl implements HoldingCalculationService
 
         return totalRealizedGain.setScale(2, RoundingMode.HALF_UP);
     }
+
+    // Helper to resolve the prices of all holdings in one batch
+    private Map<UUID, BigDecimal> getCurrentPrices(List<Holding> holdings) {
+        return stockService.getCurrentPrices(holdings.stream()
+                .filter(h -> h != null && h.getStock() != null)
+                .map(h -> h.getStock().getStockId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+    }
 }
\ No newline at end of file
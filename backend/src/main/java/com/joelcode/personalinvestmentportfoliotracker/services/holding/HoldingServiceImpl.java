@@ -13,8 +13,10 @@ import com.joelcode.personalinvestmentportfoliotracker.model.CustomUserDetails;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.HoldingRepository;
 import com.joelcode.personalinvestmentportfoliotracker.services.account.AccountValidationService;
 import com.joelcode.personalinvestmentportfoliotracker.services.mapping.HoldingMapper;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PositionChangedEvent;
 import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceHistoryServiceImpl;
 import com.joelcode.personalinvestmentportfoliotracker.services.stock.StockService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,6 +27,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -43,6 +46,7 @@ public class HoldingServiceImpl implements HoldingService {
     private final WebSocketController webSocketController;
     private final SimpMessagingTemplate messagingTemplate;
     private final StockService stockService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Constructor
     public HoldingServiceImpl(HoldingRepository holdingRepository,
@@ -51,7 +55,8 @@ public class HoldingServiceImpl implements HoldingService {
                               PriceHistoryServiceImpl priceHistoryService,
                               WebSocketController webSocketController,
                               SimpMessagingTemplate messagingTemplate,
-                              StockService stockService) {
+                              StockService stockService,
+                              ApplicationEventPublisher eventPublisher) {
         this.holdingRepository = holdingRepository;
         this.holdingValidationService = holdingValidationService;
         this.accountValidationService = accountValidationService;
@@ -59,6 +64,7 @@ public class HoldingServiceImpl implements HoldingService {
         this.webSocketController = webSocketController;
         this.messagingTemplate = messagingTemplate;
         this.stockService = stockService;
+        this.eventPublisher = eventPublisher;
     }
 
     // Interface function
@@ -84,6 +90,7 @@ public class HoldingServiceImpl implements HoldingService {
 
         // Save to DB
         holding = holdingRepository.save(holding);
+        eventPublisher.publishEvent(PositionChangedEvent.of(holding));
 
         WebSocketController.HoldingUpdateMessage updateMessage = new WebSocketController.HoldingUpdateMessage(
                 holding.getAccount().getAccountId(),
@@ -169,6 +176,7 @@ public class HoldingServiceImpl implements HoldingService {
 
         // Save to DB
         holding = holdingRepository.save(holding);
+        eventPublisher.publishEvent(PositionChangedEvent.of(holding));
 
         WebSocketController.HoldingUpdateMessage updateMessage = new WebSocketController.HoldingUpdateMessage(
                 holding.getAccount().getAccountId(),
@@ -207,8 +215,10 @@ public class HoldingServiceImpl implements HoldingService {
         // ✅ NEW: Auto-delete if quantity reaches zero
         if (holding.getQuantity().compareTo(BigDecimal.ZERO) <= 0) {
             holdingRepository.delete(holding);
+            eventPublisher.publishEvent(PositionChangedEvent.closed(holding));
         } else {
             holdingRepository.save(holding);
+            eventPublisher.publishEvent(PositionChangedEvent.of(holding));
         }
 
         WebSocketController.HoldingUpdateMessage updateMessage = new WebSocketController.HoldingUpdateMessage(
@@ -268,6 +278,7 @@ public class HoldingServiceImpl implements HoldingService {
             }
 
             holdingRepository.save(holding);
+            eventPublisher.publishEvent(PositionChangedEvent.of(holding));
 
             WebSocketController.HoldingUpdateMessage updateMessage = new WebSocketController.HoldingUpdateMessage(
                     holding.getAccount().getAccountId(),
@@ -297,6 +308,7 @@ public class HoldingServiceImpl implements HoldingService {
                 newHolding.setRealizedGain(BigDecimal.ZERO);
 
                 holdingRepository.save(newHolding);
+                eventPublisher.publishEvent(PositionChangedEvent.of(newHolding));
             } else {
                 throw new IllegalArgumentException("Cannot sell stock you don't hold");
             }
@@ -309,6 +321,7 @@ public class HoldingServiceImpl implements HoldingService {
     public void deleteHolding(UUID id) {
         Holding holding = holdingValidationService.validateHoldingExists(id);
         holdingRepository.delete(holding);
+        eventPublisher.publishEvent(PositionChangedEvent.closed(holding));
     }
 
     // Get holdings for account
@@ -316,13 +329,17 @@ public class HoldingServiceImpl implements HoldingService {
     public List<HoldingDTO> getHoldingsForAccount(UUID accountId) {
         Account account = accountValidationService.validateAccountExistsById(accountId);
 
+        // Resolve all prices for the account in one query
+        Map<UUID, BigDecimal> currentPrices = priceHistoryService.getCurrentPrices(account.getHoldings().stream()
+                .map(h -> h.getStock().getStockId())
+                .collect(Collectors.toSet()));
+
         List<HoldingDTO> holdingDTOs = account.getHoldings().stream()
                 .map(h -> {
                     if (h.getStock().getIndustry() == null) {
                         stockService.populateMissingIndustryData(h.getStock());
                     }
-                    BigDecimal currentPrice = priceHistoryService.getCurrentPrice(h.getStock().getStockId());
-                    return HoldingMapper.toDTO(h, currentPrice);
+                    return HoldingMapper.toDTO(h, currentPrices.get(h.getStock().getStockId()));
                 })
                 .filter(Objects::nonNull)  // ✅ Filter out null DTOs
                 .collect(Collectors.toList());
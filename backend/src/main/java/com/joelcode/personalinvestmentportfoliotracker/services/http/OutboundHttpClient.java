@@ -0,0 +1,280 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.UnknownHttpStatusCodeException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Shared outbound HTTP layer for the market data providers and log shipping, on top of the pooled JDK HttpClient.
+ *
+ * Responses are requested gzip compressed and decoded here, JSON bodies are read with the application ObjectMapper.
+ * Each host gets a fixed number of in-flight requests; further requests queue without holding a thread until a
+ * slot frees up or the read timeout passes. Errors surface as the same RestClientException types RestTemplate
+ * throws, so callers keep their existing handling.
+ */
+@Component
+public class OutboundHttpClient {
+
+    // Define key fields
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration readTimeout;
+    private final int maxRequestsPerHost;
+
+    private final UriBuilderFactory uriBuilderFactory = new DefaultUriBuilderFactory();
+    private final Map<String, HostSlots> hostSlots = new ConcurrentHashMap<>();
+
+
+    // Constructor
+    public OutboundHttpClient(HttpClient pooledHttpClient,
+                              ObjectMapper objectMapper,
+                              @Value("${outbound-http.read-timeout:10s}") Duration readTimeout,
+                              @Value("${outbound-http.max-requests-per-host:10}") int maxRequestsPerHost) {
+        this.httpClient = pooledHttpClient;
+        this.objectMapper = objectMapper;
+        this.readTimeout = readTimeout;
+        this.maxRequestsPerHost = Math.max(1, maxRequestsPerHost);
+    }
+
+
+    // Sync functions
+
+    // URL strings are expanded and encoded the same way RestTemplate does
+    public <T> T get(String url, Class<T> responseType) {
+        return get(expand(url), Map.of(), responseType);
+    }
+
+    public <T> T get(String url, Map<String, String> headers, Class<T> responseType) {
+        return get(expand(url), headers, responseType);
+    }
+
+    public <T> T get(URI uri, Map<String, String> headers, Class<T> responseType) {
+        return await(getAsync(uri, headers, responseType));
+    }
+
+    public String postJson(String url, Map<String, String> headers, Object body) {
+        return await(postJsonAsync(url, headers, body));
+    }
+
+
+    // Async functions
+
+    public <T> CompletableFuture<T> getAsync(URI uri, Map<String, String> headers, Class<T> responseType) {
+        HttpRequest request = requestBuilder(uri, headers).GET().build();
+        return send(request, responseType);
+    }
+
+    // Posts the body as JSON and completes with the response body as a string
+    public CompletableFuture<String> postJsonAsync(String url, Map<String, String> headers, Object body) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(new RestClientException("Could not write JSON request body", e));
+        }
+        HttpRequest request = requestBuilder(expand(url), headers)
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json))
+                .build();
+        return send(request, String.class);
+    }
+
+
+    // Helper methods
+
+    private URI expand(String url) {
+        return uriBuilderFactory.expand(url);
+    }
+
+    private HttpRequest.Builder requestBuilder(URI uri, Map<String, String> headers) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        if ("http".equalsIgnoreCase(uri.getScheme())) {
+            // HTTP/2 is negotiated during the TLS handshake; cleartext hosts would otherwise get an h2c upgrade
+            // attempt on every request, which plain HTTP/1.1 servers ignore and which stops the connection being reused
+            builder.version(HttpClient.Version.HTTP_1_1);
+        }
+        headers.forEach(builder::setHeader);
+        return builder;
+    }
+
+    private <T> CompletableFuture<T> send(HttpRequest request, Class<T> responseType) {
+        HostSlots slots = hostSlots.computeIfAbsent(hostKey(request.uri()), key -> new HostSlots(maxRequestsPerHost));
+        return slots.acquire()
+                .orTimeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .thenCompose(acquired -> sendHoldingSlot(request, slots))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw new CompletionException(translate(request, error));
+                    }
+                    return read(request, response, responseType);
+                });
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> sendHoldingSlot(HttpRequest request, HostSlots slots) {
+        try {
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, error) -> slots.release());
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    private <T> T read(HttpRequest request, HttpResponse<byte[]> response, Class<T> responseType) {
+        byte[] body;
+        try {
+            body = decode(response);
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error reading response of " + request.method() + " " + request.uri()
+                    + ": " + e.getMessage(), e);
+        }
+
+        int status = response.statusCode();
+        if (status >= 400) {
+            throw statusException(status, response, body);
+        }
+        if (body.length == 0) {
+            return null;
+        }
+        if (responseType == String.class) {
+            return responseType.cast(new String(body, StandardCharsets.UTF_8));
+        }
+        if (responseType == byte[].class) {
+            return responseType.cast(body);
+        }
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (IOException e) {
+            throw new RestClientException("Error while extracting response for type [" + responseType.getName()
+                    + "] from " + request.uri().getHost(), e);
+        }
+    }
+
+    private static byte[] decode(HttpResponse<byte[]> response) throws IOException {
+        byte[] body = response.body() != null ? response.body() : new byte[0];
+        boolean gzipped = response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)
+                .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+                .orElse(false);
+        if (!gzipped || body.length == 0) {
+            return body;
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static RestClientException statusException(int status, HttpResponse<byte[]> response, byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        HttpStatusCode statusCode = HttpStatusCode.valueOf(status);
+        if (statusCode.is4xxClientError()) {
+            return HttpClientErrorException.create(statusCode, "", headers, body, StandardCharsets.UTF_8);
+        }
+        if (statusCode.is5xxServerError()) {
+            return HttpServerErrorException.create(statusCode, "", headers, body, StandardCharsets.UTF_8);
+        }
+        return new UnknownHttpStatusCodeException(status, "", headers, body, StandardCharsets.UTF_8);
+    }
+
+    // Mirrors RestTemplate: HTTP errors pass through, I/O failures and timeouts become ResourceAccessException
+    private static RuntimeException translate(HttpRequest request, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RestClientException restClientException) {
+            return restClientException;
+        }
+        if (cause instanceof IOException || cause instanceof TimeoutException) {
+            return new ResourceAccessException("I/O error on " + request.method() + " request for \"" + request.uri()
+                    + "\": " + cause.getMessage(), cause instanceof IOException io ? io : new IOException(cause));
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new RestClientException("Request to " + request.uri().getHost() + " failed", cause);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private static String hostKey(URI uri) {
+        return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+    }
+
+
+    // Fixed number of in-flight requests for one host. Waiters are futures rather than blocked threads;
+    // a released slot is handed straight to the next waiter that has not timed out.
+    static final class HostSlots {
+
+        private final int maxInFlight;
+        private final ArrayDeque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+        private int inFlight;
+
+        HostSlots(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        synchronized CompletableFuture<Void> acquire() {
+            if (inFlight < maxInFlight) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiting.add(waiter);
+            return waiter;
+        }
+
+        void release() {
+            while (true) {
+                CompletableFuture<Void> next;
+                synchronized (this) {
+                    next = waiting.poll();
+                    if (next == null) {
+                        inFlight--;
+                        return;
+                    }
+                }
+                // Fails for waiters that already timed out, the slot then goes to the one after
+                if (next.complete(null)) {
+                    return;
+                }
+            }
+        }
+    }
+}
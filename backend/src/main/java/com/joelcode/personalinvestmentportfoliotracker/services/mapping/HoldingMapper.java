@@ -6,10 +6,13 @@ import com.joelcode.personalinvestmentportfoliotracker.dto.holding.HoldingUpdate
 import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
 import com.joelcode.personalinvestmentportfoliotracker.entities.Holding;
 import com.joelcode.personalinvestmentportfoliotracker.entities.Stock;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PositionValuation;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Component
 public class HoldingMapper {
@@ -74,4 +77,34 @@ public class HoldingMapper {
                 holding.getStock().getIndustry()
         );
     }
-}
\ No newline at end of file
+
+    // Convert a valuation engine position to holding response DTO
+    public static HoldingDTO toDTO(UUID accountId, PositionValuation position) {
+        BigDecimal currentPrice = position.getCurrentPrice();
+        BigDecimal currentValue = position.getMarketValue().setScale(2, RoundingMode.HALF_UP);
+        BigDecimal unrealizedGain = currentValue.subtract(position.getTotalCostBasis()).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal unrealizedGainPercent = position.getTotalCostBasis().compareTo(BigDecimal.ZERO) == 0
+                ? BigDecimal.ZERO
+                : unrealizedGain.divide(position.getTotalCostBasis(), 4, RoundingMode.HALF_UP)
+                        .multiply(BigDecimal.valueOf(100))
+                        .setScale(2, RoundingMode.HALF_UP);
+
+        return new HoldingDTO(
+                position.getHoldingId(),
+                accountId,
+                position.getStockId(),
+                position.getStockCode(),
+                position.getQuantity(),
+                position.getAverageCostBasis(),
+                position.getTotalCostBasis(),
+                position.getRealizedGain(),
+                position.getFirstPurchaseDate(),
+                currentPrice,
+                currentValue,
+                unrealizedGain,
+                unrealizedGainPercent,
+                position.getStockCode(),
+                position.getIndustry()
+        );
+    }
+}
@@ -0,0 +1,117 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.mapping;
+
+import com.joelcode.personalinvestmentportfoliotracker.dto.holding.HoldingDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.portfolio.AllocationBreakdownDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.portfolio.PortfolioOverviewDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.portfolio.PortfolioPerformanceDTO;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.AccountValuation;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PositionValuation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class PortfolioMapper {
+
+    // Convert an account valuation to portfolio overview response DTO
+    public static PortfolioOverviewDTO toOverviewDTO(AccountValuation valuation) {
+        List<HoldingDTO> holdings = valuation.getPositions().stream()
+                .map(position -> HoldingMapper.toDTO(valuation.getAccountId(), position))
+                .collect(Collectors.toList());
+
+        return new PortfolioOverviewDTO(
+                valuation.getUserId(),
+                valuation.getAccountId(),
+                valuation.getTotalPortfolioValue(),
+                valuation.getHoldingsValue(),
+                valuation.getTotalCostBasis(),
+                valuation.getTotalUnrealizedGain(),
+                valuation.getTotalRealizedGain(),
+                valuation.getTotalDividends(),
+                valuation.getCashBalance(),
+                holdings
+        );
+    }
+
+    // Convert an account valuation to portfolio performance response DTO
+    public static PortfolioPerformanceDTO toPerformanceDTO(AccountValuation valuation) {
+        BigDecimal cashBalance = valuation.getCashBalance();
+
+        // EDGE CASE: Empty holdings
+        if (valuation.getPositions().isEmpty()) {
+            return new PortfolioPerformanceDTO(
+                    valuation.getUserId(),
+                    valuation.getAccountId(),
+                    cashBalance,           // totalPortfolioValue = just cash
+                    BigDecimal.ZERO,       // totalCostBasis
+                    BigDecimal.ZERO,       // totalRealizedGain
+                    BigDecimal.ZERO,       // totalUnrealizedGain
+                    BigDecimal.ZERO,       // totalDividends
+                    cashBalance,           // cashBalance
+                    BigDecimal.ZERO,       // roiPercentage
+                    BigDecimal.ZERO,       // dailyGain
+                    BigDecimal.ZERO        // monthlyGain
+            );
+        }
+
+        BigDecimal totalCostBasis = valuation.getTotalCostBasis();
+        BigDecimal totalUnrealizedGain = valuation.getTotalUnrealizedGain();
+        BigDecimal totalRealizedGain = valuation.getTotalRealizedGain();
+        BigDecimal totalDividends = valuation.getTotalDividends();
+
+        // Daily and monthly gain placeholders (implement if needed)
+        return new PortfolioPerformanceDTO(
+                valuation.getUserId(),
+                valuation.getAccountId(),
+                valuation.getTotalPortfolioValue(),
+                totalCostBasis,
+                totalRealizedGain,
+                totalUnrealizedGain,
+                totalDividends,
+                cashBalance,
+                roiPercentage(totalUnrealizedGain.add(totalRealizedGain).add(totalDividends), totalCostBasis),
+                BigDecimal.ZERO,
+                BigDecimal.ZERO
+        );
+    }
+
+    // Convert an account valuation to allocation breakdown response DTOs, one per position
+    public static List<AllocationBreakdownDTO> toAllocationDTOs(AccountValuation valuation) {
+        BigDecimal totalValue = valuation.getHoldingsValue();
+
+        return valuation.getPositions().stream()
+                .map(position -> toAllocationDTO(position, totalValue))
+                .collect(Collectors.toList());
+    }
+
+    // ROI: (Total Return / Cost Basis) × 100, zero when nothing has been invested
+    public static BigDecimal roiPercentage(BigDecimal totalReturn, BigDecimal totalCostBasis) {
+        if (totalCostBasis.compareTo(BigDecimal.ZERO) == 0) {
+            return BigDecimal.ZERO;
+        }
+        return totalReturn
+                .multiply(BigDecimal.valueOf(100))
+                .divide(totalCostBasis, 2, RoundingMode.HALF_UP);
+    }
+
+    private static AllocationBreakdownDTO toAllocationDTO(PositionValuation position, BigDecimal totalValue) {
+        AllocationBreakdownDTO dto = new AllocationBreakdownDTO();
+        dto.setStockCode(position.getStockCode());
+
+        // EDGE CASE: Zero total value
+        if (totalValue.compareTo(BigDecimal.ZERO) == 0) {
+            dto.setPercentage(BigDecimal.ZERO);
+            dto.setCurrentValue(BigDecimal.ZERO);
+            return dto;
+        }
+
+        BigDecimal value = position.getMarketValue();
+        dto.setPercentage(value
+                .multiply(BigDecimal.valueOf(100))
+                .divide(totalValue, 4, RoundingMode.HALF_UP)
+                .setScale(2, RoundingMode.HALF_UP));
+        dto.setCurrentValue(value);
+        return dto;
+    }
+}
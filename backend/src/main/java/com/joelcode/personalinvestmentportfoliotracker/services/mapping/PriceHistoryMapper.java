@@ -2,10 +2,16 @@ package com.joelcode.personalinvestmentportfoliotracker.services.mapping;
 
 import com.joelcode.personalinvestmentportfoliotracker.dto.pricehistory.PriceHistoryCreateRequest;
 import com.joelcode.personalinvestmentportfoliotracker.dto.pricehistory.PriceHistoryDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.pricehistory.PriceSeriesDTO;
 import com.joelcode.personalinvestmentportfoliotracker.entities.PriceHistory;
 import com.joelcode.personalinvestmentportfoliotracker.entities.Stock;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSlice;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
 @Component
 public class PriceHistoryMapper {
 
@@ -33,4 +39,24 @@ public class PriceHistoryMapper {
                 priceHistory.getClosePrice(),
                 priceHistory.getStock().getStockId());
     }
+
+
+    // Convert an in-memory price series slice to response DTOs, with the row ids looked up for its points
+    public static List<PriceHistoryDTO> toDTOs(UUID stockId, PriceSlice slice, UUID[] priceHistoryIds) {
+        List<PriceHistoryDTO> dtos = new ArrayList<>(slice.size());
+        for (int i = 0; i < slice.size(); i++) {
+            dtos.add(new PriceHistoryDTO(priceHistoryIds[i], slice.closeDate(i), slice.closePrice(i), stockId));
+        }
+        return dtos;
+    }
+
+
+    // Convert an in-memory price series slice to the compact chart DTO
+    public static PriceSeriesDTO toSeriesDTO(UUID stockId, PriceSlice slice) {
+        double[] prices = new double[slice.size()];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = slice.closePriceAsDouble(i);
+        }
+        return new PriceSeriesDTO(stockId, slice.times(), prices);
+    }
 }
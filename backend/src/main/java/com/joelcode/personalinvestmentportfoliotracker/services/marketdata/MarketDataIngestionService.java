@@ -0,0 +1,6 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.marketdata;
+
+public interface MarketDataIngestionService {
+
+    int ingestPrices();
+}
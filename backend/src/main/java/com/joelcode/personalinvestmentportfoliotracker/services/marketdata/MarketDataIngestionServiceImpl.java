@@ -0,0 +1,143 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.marketdata;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.PriceHistory;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Stock;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceHistoryRepository;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.StockRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.fallback.ApiRateLimitService;
+import com.joelcode.personalinvestmentportfoliotracker.services.finnhub.FinnhubApiClient;
+import com.joelcode.personalinvestmentportfoliotracker.services.ratelimit.RequestPriority;
+import com.joelcode.personalinvestmentportfoliotracker.services.stock.StockService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("!test")
+public class MarketDataIngestionServiceImpl implements MarketDataIngestionService {
+
+    // Define key fields
+    private final StockRepository stockRepository;
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final StockService stockService;
+    private final FinnhubApiClient finnhubApiClient;
+    private final ApiRateLimitService apiRateLimitService;
+    private final ExecutorService marketDataExecutor;
+    private final Duration refreshAfter;
+    private final Duration fetchTimeout;
+    private final int batchSize;
+
+
+    // Constructor
+    public MarketDataIngestionServiceImpl(StockRepository stockRepository,
+                                          PriceHistoryRepository priceHistoryRepository,
+                                          StockService stockService,
+                                          FinnhubApiClient finnhubApiClient,
+                                          ApiRateLimitService apiRateLimitService,
+                                          @Qualifier("marketDataExecutor") ExecutorService marketDataExecutor,
+                                          @Value("${finnhub.fanout.stale-after:15s}") Duration refreshAfter,
+                                          @Value("${finnhub.fanout.timeout:5s}") Duration fetchTimeout,
+                                          @Value("${market-data.ingest.batch-size:60}") int batchSize) {
+        this.stockRepository = stockRepository;
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.stockService = stockService;
+        this.finnhubApiClient = finnhubApiClient;
+        this.apiRateLimitService = apiRateLimitService;
+        this.marketDataExecutor = marketDataExecutor;
+        this.refreshAfter = refreshAfter;
+        this.fetchTimeout = fetchTimeout;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+
+    // Interface functions
+
+    // Poll the tracked symbol universe in batches sized by the remaining FinnHub budget. Stalest symbols go
+    // first so anything left over when the budget runs out is picked up at the start of the next run.
+    // Returns the number of prices recorded.
+    @Override
+    public int ingestPrices() {
+        List<Stock> dueStocks = findDueStocks();
+
+        int recorded = 0;
+        int next = 0;
+        while (next < dueStocks.size()) {
+            int budget = Math.min(batchSize, apiRateLimitService.getRemainingFinnhubCalls());
+            if (budget <= 0) {
+                break;
+            }
+
+            List<Stock> batch = dueStocks.subList(next, Math.min(dueStocks.size(), next + budget));
+            next += batch.size();
+
+            recorded += stockService.recordPrices(fetchQuotes(batch));
+        }
+        return recorded;
+    }
+
+
+    // Helper methods
+
+    // Tracked stocks whose latest price is older than the refresh window, never-priced stocks first
+    private List<Stock> findDueStocks() {
+        List<Stock> universe = stockRepository.findTrackedStocks();
+        if (universe.isEmpty()) {
+            return universe;
+        }
+
+        Map<UUID, LocalDateTime> lastPriced = new HashMap<>();
+        List<UUID> stockIds = universe.stream().map(Stock::getStockId).collect(Collectors.toList());
+        for (PriceHistory priceHistory : priceHistoryRepository.findLatestByStockIds(stockIds)) {
+            lastPriced.merge(priceHistory.getStock().getStockId(), priceHistory.getCloseDate(),
+                    (a, b) -> a.isAfter(b) ? a : b);
+        }
+
+        LocalDateTime refreshBefore = LocalDateTime.now().minus(refreshAfter);
+        return universe.stream()
+                .filter(stock -> {
+                    LocalDateTime priced = lastPriced.get(stock.getStockId());
+                    return priced == null || priced.isBefore(refreshBefore);
+                })
+                .sorted(Comparator.comparing(stock -> lastPriced.get(stock.getStockId()),
+                        Comparator.nullsFirst(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+    }
+
+    // Fetch quotes in parallel on the market data pool. The calls run in the background rate limit lane, so they
+    // wait for free FinnHub tokens and never use the share reserved for user requests.
+    private Map<UUID, BigDecimal> fetchQuotes(List<Stock> stocks) {
+        Map<UUID, CompletableFuture<BigDecimal>> pending = new HashMap<>();
+        for (Stock stock : stocks) {
+            String symbol = stock.getStockCode();
+            CompletableFuture<BigDecimal> future = CompletableFuture
+                    .supplyAsync(() -> RequestPriority.BACKGROUND.call(() -> finnhubApiClient.getCurrentPrice(symbol)),
+                            marketDataExecutor)
+                    .completeOnTimeout(null, fetchTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .exceptionally(e -> null);
+            pending.put(stock.getStockId(), future);
+        }
+
+        Map<UUID, BigDecimal> prices = new HashMap<>();
+        pending.forEach((stockId, future) -> {
+            BigDecimal price = future.join();
+            if (price != null && price.compareTo(BigDecimal.ZERO) > 0) {
+                prices.put(stockId, price);
+            }
+        });
+        return prices;
+    }
+}
@@ -2,6 +2,7 @@ package com.joelcode.personalinvestmentportfoliotracker.services.news;
 
 import com.joelcode.personalinvestmentportfoliotracker.dto.news.NewsArticleDTO;
 import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.YahooNewsItem;
+import com.joelcode.personalinvestmentportfoliotracker.services.fanout.ExternalCallFanOut;
 import com.joelcode.personalinvestmentportfoliotracker.services.finnhub.FinnhubApiClient;
 import com.joelcode.personalinvestmentportfoliotracker.services.yahoofinance.YahooFinanceApiClient;
 import org.springframework.stereotype.Service;
@@ -19,11 +20,14 @@ public class YahooFinanceNewsService implements NewsApiClient {
 
     private final YahooFinanceApiClient yahooFinanceApiClient;
     private final FinnhubApiClient finnhubApiClient;
+    private final ExternalCallFanOut externalCallFanOut;
 
     public YahooFinanceNewsService(YahooFinanceApiClient yahooFinanceApiClient,
-                                   FinnhubApiClient finnhubApiClient) {
+                                   FinnhubApiClient finnhubApiClient,
+                                   ExternalCallFanOut externalCallFanOut) {
         this.yahooFinanceApiClient = yahooFinanceApiClient;
         this.finnhubApiClient = finnhubApiClient;
+        this.externalCallFanOut = externalCallFanOut;
     }
 
     @Override
@@ -64,15 +68,10 @@ public class YahooFinanceNewsService implements NewsApiClient {
                 );
             }
 
-            // Aggregate news from sector symbols
-            for (String symbol : sectorSymbols) {
-                try {
-                    List<NewsArticleDTO> symbolNews = getNewsBySymbol(symbol, 5);
-                    allNews.addAll(symbolNews);
-                } catch (Exception e) {
-                    // Continue with next symbol if one fails
-                }
-            }
+            // Aggregate news from sector symbols, fetched concurrently; symbols that fail are skipped
+            externalCallFanOut.fetchAll(sectorSymbols, symbol -> getNewsBySymbol(symbol, 5))
+                    .values()
+                    .forEach(allNews::addAll);
 
             // Remove duplicates and limit results
             return allNews.stream()
@@ -118,12 +117,11 @@ public class YahooFinanceNewsService implements NewsApiClient {
             return result;
         }
 
+        // Every article for a symbol shares its sector, so look it up once
+        String sector = symbol != null && !newsItems.isEmpty() ? lookupSectorForSymbol(symbol) : "General";
+
         for (YahooNewsItem item : newsItems) {
             try {
-                String sector = "General";
-                if (symbol != null) {
-                    sector = lookupSectorForSymbol(symbol);
-                }
 
                 String imageUrl = extractThumbnailUrl(item.getThumbnail());
                 String publishedAt = convertTimestamp(item.getProviderPublishTime());
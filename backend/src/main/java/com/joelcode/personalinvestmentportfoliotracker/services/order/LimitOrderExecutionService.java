@@ -0,0 +1,14 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.order;
+
+import com.joelcode.personalinvestmentportfoliotracker.dto.transaction.TransactionDTO;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface LimitOrderExecutionService {
+
+    /**
+     * Execute a pending limit order at the given price, returns null if the order is no longer pending
+     */
+    TransactionDTO executeOrder(UUID orderId, BigDecimal executionPrice);
+}
@@ -0,0 +1,70 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.order;
+
+import com.joelcode.personalinvestmentportfoliotracker.dto.transaction.TransactionCreateRequest;
+import com.joelcode.personalinvestmentportfoliotracker.dto.transaction.TransactionDTO;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Order;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Transaction;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.OrderRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.transaction.TransactionProcessorService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Service
+@Profile("!test")
+public class LimitOrderExecutionServiceImpl implements LimitOrderExecutionService {
+
+    // Define key fields
+    private final OrderRepository orderRepository;
+    private final TransactionProcessorService transactionProcessorService;
+    private final OrderService orderService;
+
+
+    // Constructor
+    public LimitOrderExecutionServiceImpl(OrderRepository orderRepository,
+                                          TransactionProcessorService transactionProcessorService,
+                                          OrderService orderService) {
+        this.orderRepository = orderRepository;
+        this.transactionProcessorService = transactionProcessorService;
+        this.orderService = orderService;
+    }
+
+
+    // Interface functions
+
+    // The transaction and the order status change commit together, so a failed trade leaves the order pending
+    // for the caller to mark as failed
+    @Override
+    @Transactional
+    public TransactionDTO executeOrder(UUID orderId, BigDecimal executionPrice) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("Order not found"));
+
+        // Cancelled or already handled while it was queued
+        if (order.getStatus() != Order.OrderStatus.PENDING) {
+            return null;
+        }
+
+        // Create transaction request
+        TransactionCreateRequest request = new TransactionCreateRequest();
+        request.setStockId(order.getStock().getStockId());
+        request.setAccountId(order.getAccount().getAccountId());
+        request.setShareQuantity(order.getQuantity());
+        request.setPricePerShare(executionPrice);
+
+        // Convert order type to transaction type
+        if (order.getOrderType() == Order.OrderType.BUY_LIMIT) {
+            request.setTransactionType(Transaction.TransactionType.BUY);
+        } else {
+            request.setTransactionType(Transaction.TransactionType.SELL);
+        }
+
+        // Execute transaction and mark order as executed
+        TransactionDTO transaction = transactionProcessorService.processTransaction(request);
+        orderService.markOrderAsExecuted(orderId, transaction.getTransactionId());
+        return transaction;
+    }
+}
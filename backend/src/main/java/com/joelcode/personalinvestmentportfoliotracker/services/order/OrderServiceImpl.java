@@ -9,7 +9,11 @@ import com.joelcode.personalinvestmentportfoliotracker.repositories.AccountRepos
 import com.joelcode.personalinvestmentportfoliotracker.repositories.OrderRepository;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.StockRepository;
 import com.joelcode.personalinvestmentportfoliotracker.services.mapping.OrderMapper;
+import com.joelcode.personalinvestmentportfoliotracker.services.order.matching.OrderClosedEvent;
+import com.joelcode.personalinvestmentportfoliotracker.services.order.matching.OrderPlacedEvent;
+import com.joelcode.personalinvestmentportfoliotracker.services.order.matching.RestingOrder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,16 +31,19 @@ public class OrderServiceImpl implements OrderService {
     private final OrderRepository orderRepository;
     private final AccountRepository accountRepository;
     private final StockRepository stockRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public OrderServiceImpl(
             OrderRepository orderRepository,
             AccountRepository accountRepository,
-            StockRepository stockRepository
+            StockRepository stockRepository,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.orderRepository = orderRepository;
         this.accountRepository = accountRepository;
         this.stockRepository = stockRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -63,6 +70,7 @@ public class OrderServiceImpl implements OrderService {
 
         // Save order
         Order savedOrder = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderPlacedEvent(RestingOrder.from(savedOrder)));
 
         System.out.println("✅ Order created: " + savedOrder.getOrderId() + " - " + request.getOrderType() + " " + request.getQuantity() + " @ " + request.getLimitPrice());
 
@@ -109,6 +117,7 @@ public class OrderServiceImpl implements OrderService {
         order.setCancelledAt(LocalDateTime.now());
 
         Order updatedOrder = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderClosedEvent(updatedOrder.getStock().getStockId(), orderId));
 
         System.out.println("✅ Order cancelled: " + orderId);
 
@@ -130,6 +139,7 @@ public class OrderServiceImpl implements OrderService {
         order.setExecutedAt(LocalDateTime.now());
 
         orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderClosedEvent(order.getStock().getStockId(), orderId));
 
         System.out.println("✅ Order executed: " + orderId + " - Transaction: " + transactionId);
     }
@@ -144,6 +154,7 @@ public class OrderServiceImpl implements OrderService {
         order.setFailureReason(reason);
 
         orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderClosedEvent(order.getStock().getStockId(), orderId));
 
         System.out.println("❌ Order failed: " + orderId + " - Reason: " + reason);
     }
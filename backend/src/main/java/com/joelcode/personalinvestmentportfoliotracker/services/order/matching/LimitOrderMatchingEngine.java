@@ -0,0 +1,15 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.order.matching;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface LimitOrderMatchingEngine {
+
+    int rebuild();
+
+    int reconcile();
+
+    int match(UUID stockId, BigDecimal price);
+
+    int getRestingOrderCount();
+}
@@ -0,0 +1,262 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.order.matching;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.Order;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.OrderRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.order.LimitOrderExecutionService;
+import com.joelcode.personalinvestmentportfoliotracker.services.order.OrderService;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PriceTickEvent;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceHistoryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * In-memory limit order matching keyed by stock.
+ *
+ * Pending orders are loaded from the database when the application is ready and then kept up to date
+ * from OrderPlacedEvent and OrderClosedEvent. Each PriceTickEvent matches only the book of the ticked
+ * stock; crossing orders are removed from the book and executed one at a time on the order matching
+ * executor, each in its own transaction through LimitOrderExecutionService. reconcile reloads the
+ * books from the database and matches them against the stored prices as a safety net. Order events
+ * that arrive while a rebuild reads the database are replayed into the new books before they replace
+ * the old ones, so they are not lost with the old books.
+ *
+ * Metrics: app.orders.matching.resting, app.orders.matching.executed, app.orders.matching.failed
+ * and app.orders.matching.execution
+ */
+@Service
+@Profile("!test")
+public class LimitOrderMatchingEngineImpl implements LimitOrderMatchingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimitOrderMatchingEngineImpl.class);
+
+    // Define key fields
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final LimitOrderExecutionService limitOrderExecutionService;
+    private final PriceHistoryService priceHistoryService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ExecutorService orderMatchingExecutor;
+
+    private volatile Map<UUID, OrderBook> books = new ConcurrentHashMap<>();
+    private final Map<UUID, BigDecimal> latestPrices = new ConcurrentHashMap<>();
+
+    // Orders taken out of a book and waiting on the executor, kept out of rebuilds so they never run twice
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    // Order events seen while a rebuild is reading the database, guarded by booksLock; null outside rebuilds
+    private final Object booksLock = new Object();
+    private final Object rebuildLock = new Object();
+    private List<Consumer<Map<UUID, OrderBook>>> changesDuringRebuild;
+
+    private final Counter executed;
+    private final Counter failed;
+    private final Timer executionTimer;
+
+
+    // Constructor
+    public LimitOrderMatchingEngineImpl(OrderRepository orderRepository,
+                                        OrderService orderService,
+                                        LimitOrderExecutionService limitOrderExecutionService,
+                                        PriceHistoryService priceHistoryService,
+                                        SimpMessagingTemplate messagingTemplate,
+                                        @Qualifier("orderMatchingExecutor") ExecutorService orderMatchingExecutor,
+                                        MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.limitOrderExecutionService = limitOrderExecutionService;
+        this.priceHistoryService = priceHistoryService;
+        this.messagingTemplate = messagingTemplate;
+        this.orderMatchingExecutor = orderMatchingExecutor;
+
+        this.executed = Counter.builder("app.orders.matching.executed").register(meterRegistry);
+        this.failed = Counter.builder("app.orders.matching.failed").register(meterRegistry);
+        this.executionTimer = Timer.builder("app.orders.matching.execution").register(meterRegistry);
+        Gauge.builder("app.orders.matching.resting", this, LimitOrderMatchingEngine::getRestingOrderCount)
+                .register(meterRegistry);
+    }
+
+
+    // Interface functions
+
+    // Replace every book with the pending orders currently in the database
+    @Override
+    public int rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (booksLock) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+
+            Map<UUID, OrderBook> rebuilt = new ConcurrentHashMap<>();
+            try {
+                for (Order order : orderRepository.findByStatusOrderByCreatedAtAsc(Order.OrderStatus.PENDING)) {
+                    if (inFlight.contains(order.getOrderId())) {
+                        continue;
+                    }
+                    RestingOrder restingOrder = RestingOrder.from(order);
+                    rebuilt.computeIfAbsent(restingOrder.stockId(), stockId -> new OrderBook()).add(restingOrder);
+                }
+            } catch (RuntimeException e) {
+                synchronized (booksLock) {
+                    changesDuringRebuild = null;
+                }
+                throw e;
+            }
+
+            // Replay what happened since the query started, and drop orders matched from the old books meanwhile
+            synchronized (booksLock) {
+                changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+                changesDuringRebuild = null;
+                for (UUID orderId : inFlight) {
+                    rebuilt.values().forEach(book -> book.remove(orderId));
+                }
+                books = rebuilt;
+            }
+            return rebuilt.values().stream().mapToInt(OrderBook::size).sum();
+        }
+    }
+
+    // Rebuild from the database, then match every book against the latest stored price
+    @Override
+    public int reconcile() {
+        rebuild();
+
+        int matched = 0;
+        Map<UUID, BigDecimal> prices = priceHistoryService.getCurrentPrices(books.keySet());
+        for (Map.Entry<UUID, BigDecimal> price : prices.entrySet()) {
+            matched += match(price.getKey(), price.getValue());
+        }
+        return matched;
+    }
+
+    // Take every order the price crosses out of the stock's book and queue it for execution
+    @Override
+    public int match(UUID stockId, BigDecimal price) {
+        OrderBook book = books.get(stockId);
+        if (book == null || price == null || price.signum() <= 0) {
+            return 0;
+        }
+
+        List<RestingOrder> crossing = book.takeCrossing(price);
+        for (RestingOrder order : crossing) {
+            inFlight.add(order.orderId());
+            orderMatchingExecutor.execute(() -> execute(order, price));
+        }
+        return crossing.size();
+    }
+
+    @Override
+    public int getRestingOrderCount() {
+        return books.values().stream().mapToInt(OrderBook::size).sum();
+    }
+
+
+    // Event listeners
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        logger.info("Loaded {} pending limit orders into the matching engine", rebuild());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        RestingOrder order = event.order();
+        changeBooks(target -> {
+            if (!inFlight.contains(order.orderId())) {
+                target.computeIfAbsent(order.stockId(), stockId -> new OrderBook()).add(order);
+            }
+        });
+
+        // Match straight away if the last tick seen for the stock already crosses the limit
+        BigDecimal latestPrice = latestPrices.get(order.stockId());
+        if (latestPrice != null && order.crosses(latestPrice)) {
+            match(order.stockId(), latestPrice);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderClosed(OrderClosedEvent event) {
+        changeBooks(target -> {
+            OrderBook book = target.get(event.stockId());
+            if (book != null) {
+                book.remove(event.orderId());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPriceTick(PriceTickEvent event) {
+        latestPrices.put(event.stockId(), event.price());
+        match(event.stockId(), event.price());
+    }
+
+
+    // Helper methods
+
+    // Apply an order event to the live books, and remember it for the books a running rebuild is filling
+    private void changeBooks(Consumer<Map<UUID, OrderBook>> change) {
+        synchronized (booksLock) {
+            change.accept(books);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        }
+    }
+
+    private void execute(RestingOrder order, BigDecimal price) {
+        try {
+            executionTimer.record(() -> {
+                try {
+                    if (limitOrderExecutionService.executeOrder(order.orderId(), price) == null) {
+                        return;
+                    }
+                    executed.increment();
+                    notifyExecuted(order, price);
+                } catch (Exception e) {
+                    failed.increment();
+                    logger.warn("Limit order {} failed to execute: {}", order.orderId(), e.getMessage());
+                    orderService.markOrderAsFailed(order.orderId(), e.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Could not record failure for limit order {}: {}", order.orderId(), e.getMessage());
+        } finally {
+            inFlight.remove(order.orderId());
+        }
+    }
+
+    // Send WebSocket notification to user
+    private void notifyExecuted(RestingOrder order, BigDecimal price) {
+        OrderExecutionMessage message = new OrderExecutionMessage(
+                order.orderId(),
+                order.accountId(),
+                order.stockCode(),
+                order.orderType(),
+                order.quantity(),
+                price,
+                LocalDateTime.now()
+        );
+        messagingTemplate.convertAndSend("/topic/orders/" + order.accountId(), message);
+    }
+}
@@ -0,0 +1,81 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.order.matching;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.Order;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Pending limit orders for one stock, indexed by limit price.
+ *
+ * A price crosses every buy at or above it and every sell at or below it, so both are a single
+ * range view over the sorted map: finding k crossing orders among n costs O(log n + k). Orders at
+ * the same limit price keep their arrival order.
+ */
+final class OrderBook {
+
+    private final NavigableMap<BigDecimal, Map<UUID, RestingOrder>> buys = new TreeMap<>();
+    private final NavigableMap<BigDecimal, Map<UUID, RestingOrder>> sells = new TreeMap<>();
+    private final Map<UUID, RestingOrder> ordersById = new HashMap<>();
+
+    synchronized void add(RestingOrder order) {
+        if (ordersById.putIfAbsent(order.orderId(), order) != null) {
+            return;
+        }
+        side(order.orderType())
+                .computeIfAbsent(order.limitPrice(), price -> new LinkedHashMap<>())
+                .put(order.orderId(), order);
+    }
+
+    synchronized boolean remove(UUID orderId) {
+        RestingOrder order = ordersById.remove(orderId);
+        if (order == null) {
+            return false;
+        }
+
+        NavigableMap<BigDecimal, Map<UUID, RestingOrder>> side = side(order.orderType());
+        Map<UUID, RestingOrder> level = side.get(order.limitPrice());
+        if (level != null) {
+            level.remove(orderId);
+            if (level.isEmpty()) {
+                side.remove(order.limitPrice());
+            }
+        }
+        return true;
+    }
+
+    // Remove and return every order the price crosses, best limit first
+    synchronized List<RestingOrder> takeCrossing(BigDecimal price) {
+        List<RestingOrder> crossing = new ArrayList<>();
+        drain(buys.tailMap(price, true).descendingMap(), crossing);
+        drain(sells.headMap(price, true), crossing);
+        return crossing;
+    }
+
+    synchronized int size() {
+        return ordersById.size();
+    }
+
+    private void drain(NavigableMap<BigDecimal, Map<UUID, RestingOrder>> levels, List<RestingOrder> crossing) {
+        Iterator<Map<UUID, RestingOrder>> iterator = levels.values().iterator();
+        while (iterator.hasNext()) {
+            for (RestingOrder order : iterator.next().values()) {
+                ordersById.remove(order.orderId());
+                crossing.add(order);
+            }
+            iterator.remove();
+        }
+    }
+
+    private NavigableMap<BigDecimal, Map<UUID, RestingOrder>> side(Order.OrderType orderType) {
+        return orderType == Order.OrderType.BUY_LIMIT ? buys : sells;
+    }
+}
@@ -0,0 +1,6 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.order.matching;
+
+import java.util.UUID;
+
+// Published when a limit order leaves PENDING (cancelled, executed or failed)
+public record OrderClosedEvent(UUID stockId, UUID orderId) {}
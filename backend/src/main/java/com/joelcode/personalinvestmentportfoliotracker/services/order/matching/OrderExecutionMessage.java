@@ -0,0 +1,37 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.order.matching;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * WebSocket message sent when an order is executed
+ */
+public class OrderExecutionMessage {
+    public String orderId;
+    public String accountId;
+    public String stockSymbol;
+    public String orderType;
+    public BigDecimal quantity;
+    public BigDecimal executionPrice;
+    public LocalDateTime executedAt;
+
+    public OrderExecutionMessage(
+            Object orderId,
+            Object accountId,
+            String stockSymbol,
+            Order.OrderType orderType,
+            BigDecimal quantity,
+            BigDecimal executionPrice,
+            LocalDateTime executedAt
+    ) {
+        this.orderId = orderId != null ? orderId.toString() : null;
+        this.accountId = accountId != null ? accountId.toString() : null;
+        this.stockSymbol = stockSymbol;
+        this.orderType = orderType != null ? orderType.toString() : null;
+        this.quantity = quantity;
+        this.executionPrice = executionPrice;
+        this.executedAt = executedAt;
+    }
+}
@@ -0,0 +1,4 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.order.matching;
+
+// Published when a new limit order is saved as PENDING
+public record OrderPlacedEvent(RestingOrder order) {}
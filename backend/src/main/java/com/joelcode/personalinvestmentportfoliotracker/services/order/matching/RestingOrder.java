@@ -0,0 +1,22 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.order.matching;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.Order;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Pending limit order as held in an order book, detached from the persistence context
+public record RestingOrder(UUID orderId, UUID accountId, UUID stockId, String stockCode,
+                           Order.OrderType orderType, BigDecimal quantity, BigDecimal limitPrice) {
+
+    public static RestingOrder from(Order order) {
+        return new RestingOrder(order.getOrderId(), order.getAccount().getAccountId(), order.getStock().getStockId(),
+                order.getStock().getStockCode(), order.getOrderType(), order.getQuantity(), order.getLimitPrice());
+    }
+
+    // BUY_LIMIT executes when price <= limit price, SELL_LIMIT when price >= limit price
+    public boolean crosses(BigDecimal price) {
+        int comparison = price.compareTo(limitPrice);
+        return orderType == Order.OrderType.BUY_LIMIT ? comparison <= 0 : comparison >= 0;
+    }
+}
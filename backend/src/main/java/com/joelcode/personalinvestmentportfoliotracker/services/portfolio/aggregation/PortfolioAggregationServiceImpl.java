@@ -17,7 +17,8 @@ import com.joelcode.personalinvestmentportfoliotracker.services.holding.HoldingC
 import com.joelcode.personalinvestmentportfoliotracker.services.holding.HoldingService;
 import com.joelcode.personalinvestmentportfoliotracker.dto.portfolio.PortfolioOverviewDTO;
 import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.allocation.AllocationBreakdownService;
-import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceHistoryService;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.AccountValuation;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PortfolioValuationService;
 import com.joelcode.personalinvestmentportfoliotracker.services.user.UserValidationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
@@ -44,7 +45,7 @@ public class PortfolioAggregationServiceImpl implements PortfolioAggregationServ
     private final DividendPaymentService dividendPaymentService;
     private final AllocationBreakdownService allocationBreakdownService;
     private final UserValidationService userValidationService;
-    private final PriceHistoryService priceHistoryService;
+    private final PortfolioValuationService portfolioValuationService;
     private final AccountValidationService accountValidationService;
 
 
@@ -56,7 +57,7 @@ public class PortfolioAggregationServiceImpl implements PortfolioAggregationServ
                                            AllocationBreakdownService allocationBreakdownService,
                                            DividendPaymentService dividendPaymentService,
                                            UserValidationService userValidationService,
-                                           PriceHistoryService priceHistoryService,
+                                           PortfolioValuationService portfolioValuationService,
                                            AccountValidationService accountValidationService) {
         this.accountService = accountService;
         this.holdingService = holdingService;
@@ -66,7 +67,7 @@ public class PortfolioAggregationServiceImpl implements PortfolioAggregationServ
         this.allocationBreakdownService = allocationBreakdownService;
         this.dividendPaymentService = dividendPaymentService;
         this.userValidationService = userValidationService;
-        this.priceHistoryService = priceHistoryService;
+        this.portfolioValuationService = portfolioValuationService;
         this.accountValidationService = accountValidationService;
     }
 
@@ -154,35 +155,18 @@ public class PortfolioAggregationServiceImpl implements PortfolioAggregationServ
 
     // Aggregate account
     public PortfolioAggregationDTO aggregateForAccount(UUID accountId) {
-        Account account = accountValidationService.validateAccountExistsById(accountId);
+        // Holdings value, cash and dividends come from the valuation engine's running totals
+        AccountValuation valuation = portfolioValuationService.getAccountValuation(accountId);
 
-        // Calculate holdings value using current prices
-        BigDecimal holdingsValue = account.getHoldings().stream()
-                .map(h -> safe(priceHistoryService.getCurrentPrice(h.getStock().getStockId()))
-                        .multiply(safe(h.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Get cash balance
-        BigDecimal cashBalance = safe(account.getAccountBalance());
-
-        // Total portfolio value = holdings + cash
-        BigDecimal totalValue = holdingsValue.add(cashBalance);
-
-        // Calculate total dividends using totalAmount
-        BigDecimal totalDividends = dividendPaymentService.getDividendPaymentsForAccount(accountId).stream()
-                .map(dto -> safe(dto.getTotalAmount()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        int numberOfHoldings = account.getHoldings().size();
         List<AllocationBreakdownDTO> allocations = allocationBreakdownService.getAllocationForAccount(accountId);
 
         // Return constructed DTO
         return new PortfolioAggregationDTO(
-                account.getAccountId(),
-                account.getUser().getUserId(),
-                totalValue,
-                totalDividends,
-                numberOfHoldings,
+                accountId,
+                valuation.getUserId(),
+                valuation.getTotalPortfolioValue(),
+                valuation.getTotalDividends(),
+                valuation.getNumberOfHoldings(),
                 allocations
         );
     }
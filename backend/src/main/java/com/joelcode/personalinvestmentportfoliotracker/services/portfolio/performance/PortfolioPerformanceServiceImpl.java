@@ -2,7 +2,6 @@ package com.joelcode.personalinvestmentportfoliotracker.services.portfolio.perfo
 
 import com.joelcode.personalinvestmentportfoliotracker.controllers.WebSocketController;
 import com.joelcode.personalinvestmentportfoliotracker.dto.dividendpayment.DividendPaymentDTO;
-import com.joelcode.personalinvestmentportfoliotracker.dto.holding.HoldingDTO;
 import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
 import com.joelcode.personalinvestmentportfoliotracker.entities.Holding;
 import com.joelcode.personalinvestmentportfoliotracker.entities.PortfolioSnapshot;
@@ -13,8 +12,9 @@ import com.joelcode.personalinvestmentportfoliotracker.repositories.PortfolioSna
 import com.joelcode.personalinvestmentportfoliotracker.services.account.AccountService;
 import com.joelcode.personalinvestmentportfoliotracker.services.account.AccountValidationService;
 import com.joelcode.personalinvestmentportfoliotracker.services.dividendpayment.DividendPaymentService;
-import com.joelcode.personalinvestmentportfoliotracker.services.holding.HoldingService;
 import com.joelcode.personalinvestmentportfoliotracker.dto.portfolio.PortfolioPerformanceDTO;
+import com.joelcode.personalinvestmentportfoliotracker.services.mapping.PortfolioMapper;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PortfolioValuationService;
 import com.joelcode.personalinvestmentportfoliotracker.services.user.UserValidationService;
 import org.springframework.context.annotation.Profile;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -34,7 +34,7 @@ public class PortfolioPerformanceServiceImpl implements PortfolioPerformanceServ
 
     // Define key fields
     private final AccountService accountService;
-    private final HoldingService holdingService;
+    private final PortfolioValuationService portfolioValuationService;
     private final PortfolioSnapshotRepository snapshotRepository;
     private final AccountRepository accountRepository;
     private final HoldingRepository holdingRepository;
@@ -46,7 +46,8 @@ public class PortfolioPerformanceServiceImpl implements PortfolioPerformanceServ
 
 
     // Constructor
-    public PortfolioPerformanceServiceImpl (AccountService accountService, HoldingService holdingService,
+    public PortfolioPerformanceServiceImpl (AccountService accountService,
+                                            PortfolioValuationService portfolioValuationService,
                                             PortfolioSnapshotRepository snapshotRepository,
                                             AccountRepository accountRepository, HoldingRepository holdingRepository,
                                             AccountValidationService accountValidationService,
@@ -55,7 +56,7 @@ public class PortfolioPerformanceServiceImpl implements PortfolioPerformanceServ
                                             SimpMessagingTemplate messagingTemplate,
                                             WebSocketController webSocketController) {
         this.accountService = accountService;
-        this.holdingService = holdingService;
+        this.portfolioValuationService = portfolioValuationService;
         this.snapshotRepository = snapshotRepository;
         this.accountRepository = accountRepository;
         this.holdingRepository = holdingRepository;
@@ -176,95 +177,8 @@ public class PortfolioPerformanceServiceImpl implements PortfolioPerformanceServ
     // Get performance for an account
     @Override
     public PortfolioPerformanceDTO getPerformanceForAccount(UUID accountId) {
-        // Validate account exists
-        Account account = accountValidationService.validateAccountExistsById(accountId);
-
-        // Get holdings as DTOs
-        List<HoldingDTO> holdings = holdingService.getHoldingsForAccount(accountId);
-
-        // Get cash balance
-        BigDecimal cashBalance = safe(account.getAccountBalance());
-
-        // EDGE CASE: Empty holdings
-        if (holdings == null || holdings.isEmpty()) {
-            return new PortfolioPerformanceDTO(
-                    account.getUserid(),
-                    account.getAccountId(),
-                    cashBalance,           // totalPortfolioValue = just cash
-                    BigDecimal.ZERO,       // totalCostBasis
-                    BigDecimal.ZERO,       // totalRealizedGain
-                    BigDecimal.ZERO,       // totalUnrealizedGain
-                    BigDecimal.ZERO,       // totalDividends
-                    cashBalance,           // cashBalance
-                    BigDecimal.ZERO,       // roiPercentage
-                    BigDecimal.ZERO,       // dailyGain
-                    BigDecimal.ZERO        // monthlyGain
-            );
-        }
-
-        // Calculate holdings value (current market value of all positions)
-        BigDecimal holdingsValue = holdings.stream()
-                .map(h -> safe(h.getCurrentPrice()).multiply(safe(h.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Calculate total cost basis (total amount invested)
-        BigDecimal totalCostBasis = holdings.stream()
-                .map(h -> safe(h.getAverageCostBasis()).multiply(safe(h.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Calculate unrealized gain (current value - cost basis)
-        BigDecimal totalUnrealizedGain = holdingsValue.subtract(totalCostBasis);
-
-        // Calculate realized gain (from closed positions)
-        BigDecimal totalRealizedGain = holdings.stream()
-                .map(h -> safe(h.getRealizedGain()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Get total dividends using totalAmount
-        BigDecimal totalDividends = BigDecimal.ZERO;
-        try {
-            totalDividends = dividendPaymentService.getDividendPaymentsForAccount(accountId).stream()
-                    .map(dto -> safe(dto.getTotalAmount()))
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-        } catch (Exception e) {
-            // If dividend calculation fails, continue with zero
-            totalDividends = BigDecimal.ZERO;
-        }
-
-        // Calculate total portfolio value (holdings + cash)
-        BigDecimal totalPortfolioValue = holdingsValue.add(cashBalance);
-
-        // Calculate ROI: (Total Return / Cost Basis) × 100
-        // Total Return = Unrealized Gain + Realized Gain + Dividends
-        BigDecimal totalReturn = totalUnrealizedGain.add(totalRealizedGain).add(totalDividends);
-        BigDecimal roiPercentage;
-
-        // EDGE CASE: Division by zero
-        if (totalCostBasis.compareTo(BigDecimal.ZERO) == 0) {
-            roiPercentage = BigDecimal.ZERO;
-        } else {
-            roiPercentage = totalReturn
-                    .multiply(BigDecimal.valueOf(100))
-                    .divide(totalCostBasis, 2, RoundingMode.HALF_UP);
-        }
-
-        // Daily and monthly gain placeholders (implement if needed)
-        BigDecimal dailyGain = BigDecimal.ZERO;
-        BigDecimal monthlyGain = BigDecimal.ZERO;
-
-        return new PortfolioPerformanceDTO(
-                account.getUserid(),
-                account.getAccountId(),
-                totalPortfolioValue,
-                totalCostBasis,
-                totalRealizedGain,
-                totalUnrealizedGain,
-                totalDividends,
-                cashBalance,
-                roiPercentage,
-                dailyGain,
-                monthlyGain
-        );
+        // Running totals are kept by the valuation engine, so nothing is recomputed per holding here
+        return PortfolioMapper.toPerformanceDTO(portfolioValuationService.getAccountValuation(accountId));
     }
 
     // Get performance on the user level
@@ -2,13 +2,10 @@ package com.joelcode.personalinvestmentportfoliotracker.services.portfolio.summa
 
 import com.joelcode.personalinvestmentportfoliotracker.dto.portfolio.HoldingSummaryDTO;
 import com.joelcode.personalinvestmentportfoliotracker.dto.portfolio.AccountSummaryDTO;
-import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
-import com.joelcode.personalinvestmentportfoliotracker.entities.Holding;
 import com.joelcode.personalinvestmentportfoliotracker.entities.User;
-import com.joelcode.personalinvestmentportfoliotracker.repositories.AccountRepository;
-import com.joelcode.personalinvestmentportfoliotracker.repositories.HoldingRepository;
-import com.joelcode.personalinvestmentportfoliotracker.services.dividendpayment.DividendPaymentService;
-import com.joelcode.personalinvestmentportfoliotracker.services.stock.StockService;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.AccountValuation;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PortfolioValuationService;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PositionValuation;
 import com.joelcode.personalinvestmentportfoliotracker.services.user.UserValidationService;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
@@ -27,21 +24,14 @@ import java.util.stream.Collectors;
 public class AccountSummaryServiceImpl implements AccountSummaryService{
 
     // Define key fields
-    private final AccountRepository accountRepository;
-    private final HoldingRepository holdingRepository;
-    private final StockService stockService;
-    private final DividendPaymentService dividendPaymentService;
+    private final PortfolioValuationService portfolioValuationService;
     private final UserValidationService userValidationService;
 
 
     // Constructor
-    public AccountSummaryServiceImpl (AccountRepository accountRepository, HoldingRepository holdingRepository,
-                                      StockService stockService, DividendPaymentService dividendPaymentService,
+    public AccountSummaryServiceImpl (PortfolioValuationService portfolioValuationService,
                                       UserValidationService userValidationService) {
-        this.accountRepository = accountRepository;
-        this.holdingRepository = holdingRepository;
-        this.stockService = stockService;
-        this.dividendPaymentService = dividendPaymentService;
+        this.portfolioValuationService = portfolioValuationService;
         this.userValidationService = userValidationService;
     }
 
@@ -50,59 +40,34 @@ public class AccountSummaryServiceImpl implements AccountSummaryService{
 
     // Get account summary by Id
     public AccountSummaryDTO getAccountSummary(UUID accountId) {
-        Account account = accountRepository.findByAccountId(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Account not found"));
-
-        List<Holding> holdings = holdingRepository.findByAccount_AccountId(accountId);
-
-        // Calculate holdings value (current market value of all positions)
-        BigDecimal holdingsValue = BigDecimal.ZERO;
-
-        // Calculate total cost basis (total amount invested)
-        BigDecimal totalCostBasis = BigDecimal.ZERO;
+        // Totals are maintained incrementally by the valuation engine
+        AccountValuation valuation = portfolioValuationService.getAccountValuation(accountId);
 
         List<HoldingSummaryDTO> holdingSummaries = new ArrayList<>();
 
-        for (Holding h : holdings) {
-            BigDecimal currentPrice = stockService.getCurrentPrice(h.getStock().getStockId());
-            BigDecimal quantity = safe(h.getQuantity());
-            BigDecimal averageCostBasis = safe(h.getAverageCostBasis());
-
-            // Market value for this holding
-            BigDecimal marketValue = currentPrice.multiply(quantity);
-
-            // Cost basis for this holding
-            BigDecimal costBasis = averageCostBasis.multiply(quantity);
-
-            // Unrealized gain for this holding
-            BigDecimal unrealizedGain = marketValue.subtract(costBasis);
-
-            // Add to totals
-            holdingsValue = holdingsValue.add(marketValue);
-            totalCostBasis = totalCostBasis.add(costBasis);
+        for (PositionValuation position : valuation.getPositions()) {
+            BigDecimal marketValue = position.getMarketValue();
 
             HoldingSummaryDTO dto = new HoldingSummaryDTO();
-            dto.setStockId(h.getStock().getStockId());
-            dto.setStockCode(h.getStock().getStockCode());
-            dto.setQuantity(quantity);
-            dto.setAverageCost(averageCostBasis);
-            dto.setMarketPrice(currentPrice);
+            dto.setStockId(position.getStockId());
+            dto.setStockCode(position.getStockCode());
+            dto.setQuantity(position.getQuantity());
+            dto.setAverageCost(position.getAverageCostBasis());
+            dto.setMarketPrice(position.getCurrentPrice());
             dto.setMarketValue(marketValue);
-            dto.setUnrealizedGain(unrealizedGain);
+            dto.setUnrealizedGain(marketValue.subtract(position.getCostBasis()));
 
             holdingSummaries.add(dto);
         }
 
+        BigDecimal holdingsValue = valuation.getHoldingsValue();
+        BigDecimal totalCostBasis = valuation.getTotalCostBasis();
+
         // Calculate total unrealized gain (holdings value - cost basis)
         BigDecimal totalUnrealizedGain = holdingsValue.subtract(totalCostBasis);
 
-        // Get total dividends using totalAmount
-        BigDecimal totalDividends = dividendPaymentService.getDividendPaymentsForAccount(accountId).stream()
-                .map(dto -> safe(dto.getTotalAmount()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Get cash balance
-        BigDecimal cashBalance = safe(account.getAccountBalance());
+        BigDecimal totalDividends = valuation.getTotalDividends();
+        BigDecimal cashBalance = valuation.getCashBalance();
 
         // Calculate total portfolio value (holdings + cash)
         BigDecimal totalPortfolioValue = holdingsValue.add(cashBalance);
@@ -140,9 +105,4 @@ public class AccountSummaryServiceImpl implements AccountSummaryService{
                 .map(account -> getAccountSummary(account.getAccountId()))
                 .collect(Collectors.toList());
     }
-
-    // Helper to safely return BigDecimal or ZERO if null
-    private BigDecimal safe(BigDecimal value) {
-        return value != null ? value : BigDecimal.ZERO;
-    }
 }
\ No newline at end of file
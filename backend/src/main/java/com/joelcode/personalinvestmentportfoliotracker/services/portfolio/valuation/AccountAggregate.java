@@ -0,0 +1,129 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Mutable running totals for one account.
+ *
+ * Every change adjusts the totals by the difference it makes, so no update needs to walk the other
+ * positions. Reads reuse the last snapshot until something changes.
+ */
+class AccountAggregate {
+
+    // Define key fields
+    private final UUID accountId;
+    private final UUID userId;
+    private final Map<UUID, PositionValuation> positions = new HashMap<>();
+    private BigDecimal cashBalance;
+    private BigDecimal totalDividends;
+    private BigDecimal holdingsValue;
+    private BigDecimal totalCostBasis;
+    private BigDecimal totalRealizedGain;
+    private long version;
+    private AccountValuation snapshot;
+
+
+    // Constructor
+    AccountAggregate(AccountValuation initial) {
+        this.accountId = initial.getAccountId();
+        this.userId = initial.getUserId();
+        this.cashBalance = initial.getCashBalance();
+        this.totalDividends = initial.getTotalDividends();
+        this.holdingsValue = initial.getHoldingsValue();
+        this.totalCostBasis = initial.getTotalCostBasis();
+        this.totalRealizedGain = initial.getTotalRealizedGain();
+        for (PositionValuation position : initial.getPositions()) {
+            positions.put(position.getStockId(), position);
+        }
+        this.snapshot = initial;
+    }
+
+
+    // Replace the position for a stock; the price already held for it wins over the event's price
+    synchronized void applyPosition(PositionValuation incoming, BigDecimal knownPrice) {
+        PositionValuation previous = positions.remove(incoming.getStockId());
+        if (previous != null) {
+            subtract(previous);
+        }
+
+        if (incoming.isOpen()) {
+            BigDecimal price = knownPrice != null ? knownPrice
+                    : previous != null ? previous.getCurrentPrice()
+                    : incoming.getCurrentPrice();
+            PositionValuation position = incoming.withPrice(price);
+            positions.put(position.getStockId(), position);
+            add(position);
+        }
+        changed();
+    }
+
+    synchronized void applyPrice(UUID stockId, BigDecimal price) {
+        PositionValuation previous = positions.get(stockId);
+        if (previous == null || previous.getCurrentPrice().compareTo(price) == 0) {
+            return;
+        }
+        PositionValuation repriced = previous.withPrice(price);
+        positions.put(stockId, repriced);
+        holdingsValue = holdingsValue.add(repriced.getMarketValue().subtract(previous.getMarketValue()));
+        changed();
+    }
+
+    synchronized void setCashBalance(BigDecimal cashBalance) {
+        this.cashBalance = cashBalance != null ? cashBalance : BigDecimal.ZERO;
+        changed();
+    }
+
+    synchronized void addDividend(BigDecimal amount) {
+        if (amount == null) {
+            return;
+        }
+        totalDividends = totalDividends.add(amount);
+        changed();
+    }
+
+    synchronized AccountValuation snapshot() {
+        if (snapshot == null) {
+            snapshot = new AccountValuation(accountId, userId, cashBalance, holdingsValue, totalCostBasis,
+                    totalRealizedGain, totalDividends, new ArrayList<>(positions.values()));
+        }
+        return snapshot;
+    }
+
+    synchronized boolean holds(UUID stockId) {
+        return positions.containsKey(stockId);
+    }
+
+    synchronized Set<UUID> stockIds() {
+        return new HashSet<>(positions.keySet());
+    }
+
+    synchronized long version() {
+        return version;
+    }
+
+
+    // Helpers
+
+    private void add(PositionValuation position) {
+        holdingsValue = holdingsValue.add(position.getMarketValue());
+        totalCostBasis = totalCostBasis.add(position.getCostBasis());
+        totalRealizedGain = totalRealizedGain.add(position.getRealizedGain());
+    }
+
+    private void subtract(PositionValuation position) {
+        holdingsValue = holdingsValue.subtract(position.getMarketValue());
+        totalCostBasis = totalCostBasis.subtract(position.getCostBasis());
+        totalRealizedGain = totalRealizedGain.subtract(position.getRealizedGain());
+    }
+
+    private void changed() {
+        version++;
+        snapshot = null;
+    }
+}
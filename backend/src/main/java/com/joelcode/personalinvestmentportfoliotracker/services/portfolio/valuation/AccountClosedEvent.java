@@ -0,0 +1,6 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation;
+
+import java.util.UUID;
+
+// Published when an account is deleted so its cached valuation can be dropped
+public record AccountClosedEvent(UUID accountId) {}
@@ -0,0 +1,85 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public class AccountValuation {
+
+    // Point-in-time totals for one account, served by the valuation engine without touching the database
+    private final UUID accountId;
+    private final UUID userId;
+    private final BigDecimal cashBalance;
+    private final BigDecimal holdingsValue;
+    private final BigDecimal totalCostBasis;
+    private final BigDecimal totalRealizedGain;
+    private final BigDecimal totalDividends;
+    private final List<PositionValuation> positions;
+
+    // Constructor
+    public AccountValuation(UUID accountId, UUID userId, BigDecimal cashBalance, BigDecimal holdingsValue,
+                            BigDecimal totalCostBasis, BigDecimal totalRealizedGain, BigDecimal totalDividends,
+                            List<PositionValuation> positions) {
+        this.accountId = accountId;
+        this.userId = userId;
+        this.cashBalance = cashBalance;
+        this.holdingsValue = holdingsValue;
+        this.totalCostBasis = totalCostBasis;
+        this.totalRealizedGain = totalRealizedGain;
+        this.totalDividends = totalDividends;
+        this.positions = List.copyOf(positions);
+    }
+
+    // Build a valuation by summing the given positions from scratch
+    public static AccountValuation of(UUID accountId, UUID userId, BigDecimal cashBalance,
+                                      BigDecimal totalDividends, List<PositionValuation> positions) {
+        BigDecimal holdingsValue = BigDecimal.ZERO;
+        BigDecimal totalCostBasis = BigDecimal.ZERO;
+        BigDecimal totalRealizedGain = BigDecimal.ZERO;
+
+        List<PositionValuation> open = positions.stream().filter(PositionValuation::isOpen).toList();
+        for (PositionValuation position : open) {
+            holdingsValue = holdingsValue.add(position.getMarketValue());
+            totalCostBasis = totalCostBasis.add(position.getCostBasis());
+            totalRealizedGain = totalRealizedGain.add(position.getRealizedGain());
+        }
+
+        return new AccountValuation(accountId, userId, safe(cashBalance), holdingsValue, totalCostBasis,
+                totalRealizedGain, safe(totalDividends), open);
+    }
+
+    // Derived totals
+    public BigDecimal getTotalUnrealizedGain() {
+        return holdingsValue.subtract(totalCostBasis);
+    }
+
+    public BigDecimal getTotalPortfolioValue() {
+        return holdingsValue.add(cashBalance);
+    }
+
+    public int getNumberOfHoldings() {
+        return positions.size();
+    }
+
+    // Getters
+    public UUID getAccountId() {return accountId;}
+
+    public UUID getUserId() {return userId;}
+
+    public BigDecimal getCashBalance() {return cashBalance;}
+
+    public BigDecimal getHoldingsValue() {return holdingsValue;}
+
+    public BigDecimal getTotalCostBasis() {return totalCostBasis;}
+
+    public BigDecimal getTotalRealizedGain() {return totalRealizedGain;}
+
+    public BigDecimal getTotalDividends() {return totalDividends;}
+
+    public List<PositionValuation> getPositions() {return positions;}
+
+    // Helper to safely return BigDecimal or ZERO if null
+    private static BigDecimal safe(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,7 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Published whenever an account's cash balance is written
+public record CashBalanceChangedEvent(UUID accountId, BigDecimal cashBalance) {}
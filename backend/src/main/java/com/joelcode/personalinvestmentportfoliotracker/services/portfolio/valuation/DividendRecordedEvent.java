@@ -0,0 +1,7 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Published when a dividend payment is recorded (positive amount) or removed (negative amount)
+public record DividendRecordedEvent(UUID accountId, BigDecimal amount) {}
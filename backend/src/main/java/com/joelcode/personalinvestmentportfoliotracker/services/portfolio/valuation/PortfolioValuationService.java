@@ -0,0 +1,12 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation;
+
+import java.util.UUID;
+
+public interface PortfolioValuationService {
+
+    AccountValuation getAccountValuation(UUID accountId);
+
+    int reconcileAll();
+
+    void evict(UUID accountId);
+}
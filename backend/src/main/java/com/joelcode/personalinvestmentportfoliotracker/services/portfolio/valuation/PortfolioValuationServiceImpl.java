@@ -0,0 +1,307 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Holding;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.HoldingRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.account.AccountValidationService;
+import com.joelcode.personalinvestmentportfoliotracker.services.dividendpayment.DividendPaymentService;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceHistoryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory valuation engine keeping running totals per account.
+ *
+ * An account is loaded from the database the first time it is asked for. After that it is kept up
+ * to date from PositionChangedEvent, CashBalanceChangedEvent, DividendRecordedEvent and
+ * PriceTickEvent, each delivered after the publishing transaction commits, and dropped again on
+ * AccountClosedEvent. reconcileAll rebuilds
+ * every loaded account from the database and replaces any that have drifted.
+ *
+ * Metrics: app.valuation.accounts, app.valuation.loads and app.valuation.drift
+ */
+@Service
+@Profile("!test")
+public class PortfolioValuationServiceImpl implements PortfolioValuationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioValuationServiceImpl.class);
+
+    // Define key fields
+    private final AccountValidationService accountValidationService;
+    private final HoldingRepository holdingRepository;
+    private final PriceHistoryService priceHistoryService;
+    private final DividendPaymentService dividendPaymentService;
+
+    private final Map<UUID, AccountAggregate> aggregates = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> accountsByStock = new ConcurrentHashMap<>();
+    private final Map<UUID, BigDecimal> latestPrices = new ConcurrentHashMap<>();
+
+    // Changes seen for accounts that were not loaded, so a load racing with a commit is not cached stale
+    private final Map<UUID, Long> unloadedChanges = new ConcurrentHashMap<>();
+
+    private final Counter loads;
+    private final Counter drift;
+
+
+    // Constructor
+    public PortfolioValuationServiceImpl(AccountValidationService accountValidationService,
+                                         HoldingRepository holdingRepository,
+                                         PriceHistoryService priceHistoryService,
+                                         DividendPaymentService dividendPaymentService,
+                                         MeterRegistry meterRegistry) {
+        this.accountValidationService = accountValidationService;
+        this.holdingRepository = holdingRepository;
+        this.priceHistoryService = priceHistoryService;
+        this.dividendPaymentService = dividendPaymentService;
+
+        this.loads = Counter.builder("app.valuation.loads").register(meterRegistry);
+        this.drift = Counter.builder("app.valuation.drift").register(meterRegistry);
+        Gauge.builder("app.valuation.accounts", aggregates, Map::size).register(meterRegistry);
+    }
+
+
+    // Interface functions
+
+    // Get the current valuation for an account, loading it on first use
+    @Override
+    @Transactional(readOnly = true)
+    public AccountValuation getAccountValuation(UUID accountId) {
+        AccountAggregate aggregate = aggregates.get(accountId);
+        if (aggregate == null) {
+            aggregate = load(accountId);
+        }
+        return aggregate.snapshot();
+    }
+
+    // Rebuild every loaded account from the database and replace the ones that drifted
+    @Override
+    @Transactional(readOnly = true)
+    public int reconcileAll() {
+        int drifted = 0;
+
+        for (UUID accountId : new ArrayList<>(aggregates.keySet())) {
+            AccountAggregate cached = aggregates.get(accountId);
+            if (cached == null) {
+                continue;
+            }
+
+            long versionBefore = cached.version();
+            AccountValuation rebuilt;
+            try {
+                rebuilt = rebuild(accountId);
+            } catch (RuntimeException e) {
+                // Account no longer exists
+                evict(accountId);
+                continue;
+            }
+
+            if (!hasDrifted(cached.snapshot(), rebuilt)) {
+                continue;
+            }
+
+            drifted++;
+            drift.increment();
+            logger.warn("Valuation drift detected for account {}, rebuilding from database", accountId);
+
+            // Only swap when no event touched the account while it was being rebuilt; otherwise retry next run
+            if (cached.version() == versionBefore) {
+                AccountAggregate fresh = newAggregate(rebuilt);
+                if (aggregates.replace(accountId, cached, fresh)) {
+                    unindex(accountId, cached.stockIds());
+                    index(accountId, fresh.stockIds());
+                }
+            }
+        }
+
+        return drifted;
+    }
+
+    @Override
+    public void evict(UUID accountId) {
+        AccountAggregate removed = aggregates.remove(accountId);
+        if (removed != null) {
+            unindex(accountId, removed.stockIds());
+        }
+    }
+
+
+    // Event handlers
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPositionChanged(PositionChangedEvent event) {
+        AccountAggregate aggregate = aggregates.get(event.accountId());
+        if (aggregate == null) {
+            unloadedChanges.merge(event.accountId(), 1L, Long::sum);
+            return;
+        }
+
+        UUID stockId = event.position().getStockId();
+        aggregate.applyPosition(event.position(), latestPrices.get(stockId));
+        if (aggregate.holds(stockId)) {
+            index(event.accountId(), Set.of(stockId));
+        } else {
+            unindex(event.accountId(), Set.of(stockId));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCashBalanceChanged(CashBalanceChangedEvent event) {
+        AccountAggregate aggregate = aggregates.get(event.accountId());
+        if (aggregate == null) {
+            unloadedChanges.merge(event.accountId(), 1L, Long::sum);
+            return;
+        }
+        aggregate.setCashBalance(event.cashBalance());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDividendRecorded(DividendRecordedEvent event) {
+        AccountAggregate aggregate = aggregates.get(event.accountId());
+        if (aggregate == null) {
+            unloadedChanges.merge(event.accountId(), 1L, Long::sum);
+            return;
+        }
+        aggregate.addDividend(event.amount());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPriceTick(PriceTickEvent event) {
+        if (event.price() == null || event.price().compareTo(BigDecimal.ZERO) <= 0) {
+            return;
+        }
+        latestPrices.put(event.stockId(), event.price());
+
+        for (UUID accountId : accountsByStock.getOrDefault(event.stockId(), Set.of())) {
+            AccountAggregate aggregate = aggregates.get(accountId);
+            if (aggregate != null) {
+                aggregate.applyPrice(event.stockId(), event.price());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountClosed(AccountClosedEvent event) {
+        unloadedChanges.remove(event.accountId());
+        evict(event.accountId());
+    }
+
+
+    // Helpers
+
+    private AccountAggregate load(UUID accountId) {
+        Long changesBefore = unloadedChanges.get(accountId);
+        AccountAggregate loaded = newAggregate(rebuild(accountId));
+        loads.increment();
+
+        // Skip caching if an event for this account committed while we were reading
+        if (!Objects.equals(changesBefore, unloadedChanges.get(accountId))) {
+            return loaded;
+        }
+
+        AccountAggregate existing = aggregates.putIfAbsent(accountId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+
+        // An event that committed after the check but before the put found no aggregate and was only counted, so
+        // the cached one is missing it; drop it and let the next read rebuild
+        if (!Objects.equals(changesBefore, unloadedChanges.get(accountId))) {
+            aggregates.remove(accountId, loaded);
+            return loaded;
+        }
+        index(accountId, loaded.stockIds());
+        return loaded;
+    }
+
+    // Compute an account's valuation from scratch from the database
+    private AccountValuation rebuild(UUID accountId) {
+        Account account = accountValidationService.validateAccountExistsById(accountId);
+        List<Holding> holdings = holdingRepository.findByAccount_AccountId(accountId);
+
+        Map<UUID, BigDecimal> prices = priceHistoryService.getCurrentPrices(holdings.stream()
+                .map(h -> h.getStock().getStockId())
+                .collect(Collectors.toSet()));
+
+        List<PositionValuation> positions = new ArrayList<>();
+        for (Holding holding : holdings) {
+            BigDecimal price = prices.getOrDefault(holding.getStock().getStockId(), holding.getStock().getStockValue());
+            positions.add(PositionValuation.from(holding, price));
+        }
+
+        BigDecimal totalDividends = dividendPaymentService.getDividendPaymentsForAccount(accountId).stream()
+                .map(dto -> dto.getTotalAmount() != null ? dto.getTotalAmount() : BigDecimal.ZERO)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return AccountValuation.of(accountId, account.getUserid(), account.getAccountBalance(), totalDividends, positions);
+    }
+
+    // Wrap a rebuilt valuation, preferring prices that arrived as ticks over the stored ones
+    private AccountAggregate newAggregate(AccountValuation valuation) {
+        AccountAggregate aggregate = new AccountAggregate(valuation);
+        for (PositionValuation position : valuation.getPositions()) {
+            BigDecimal tick = latestPrices.get(position.getStockId());
+            if (tick != null) {
+                aggregate.applyPrice(position.getStockId(), tick);
+            }
+        }
+        return aggregate;
+    }
+
+    // Drift is judged on the booked figures only; market prices legitimately move between reads
+    private boolean hasDrifted(AccountValuation cached, AccountValuation rebuilt) {
+        if (cached.getCashBalance().compareTo(rebuilt.getCashBalance()) != 0
+                || cached.getTotalDividends().compareTo(rebuilt.getTotalDividends()) != 0
+                || cached.getTotalCostBasis().compareTo(rebuilt.getTotalCostBasis()) != 0
+                || cached.getTotalRealizedGain().compareTo(rebuilt.getTotalRealizedGain()) != 0
+                || cached.getNumberOfHoldings() != rebuilt.getNumberOfHoldings()) {
+            return true;
+        }
+
+        Map<UUID, BigDecimal> cachedQuantities = new HashMap<>();
+        cached.getPositions().forEach(p -> cachedQuantities.put(p.getStockId(), p.getQuantity()));
+        for (PositionValuation position : rebuilt.getPositions()) {
+            BigDecimal quantity = cachedQuantities.get(position.getStockId());
+            if (quantity == null || quantity.compareTo(position.getQuantity()) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void index(UUID accountId, Set<UUID> stockIds) {
+        for (UUID stockId : stockIds) {
+            accountsByStock.compute(stockId, (k, accounts) -> {
+                Set<UUID> updated = accounts != null ? accounts : ConcurrentHashMap.newKeySet();
+                updated.add(accountId);
+                return updated;
+            });
+        }
+    }
+
+    private void unindex(UUID accountId, Set<UUID> stockIds) {
+        for (UUID stockId : stockIds) {
+            accountsByStock.computeIfPresent(stockId, (k, accounts) -> {
+                accounts.remove(accountId);
+                return accounts.isEmpty() ? null : accounts;
+            });
+        }
+    }
+}
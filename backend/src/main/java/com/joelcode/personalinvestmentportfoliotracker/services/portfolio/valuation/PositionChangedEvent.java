@@ -0,0 +1,24 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.Holding;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Published whenever a holding is saved or deleted, carrying the holding's full new state
+public record PositionChangedEvent(UUID accountId, PositionValuation position) {
+
+    public static PositionChangedEvent of(Holding holding) {
+        return new PositionChangedEvent(holding.getAccount().getAccountId(),
+                PositionValuation.from(holding, holding.getStock().getStockValue()));
+    }
+
+    // Holding was deleted, so the position is reported with zero quantity
+    public static PositionChangedEvent closed(Holding holding) {
+        PositionValuation position = PositionValuation.from(holding, holding.getStock().getStockValue());
+        return new PositionChangedEvent(holding.getAccount().getAccountId(), new PositionValuation(
+                position.getHoldingId(), position.getStockId(), position.getStockCode(), position.getCompanyName(),
+                position.getIndustry(), BigDecimal.ZERO, position.getAverageCostBasis(), BigDecimal.ZERO,
+                position.getRealizedGain(), position.getFirstPurchaseDate(), position.getCurrentPrice()));
+    }
+}
@@ -0,0 +1,107 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.Holding;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Stock;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class PositionValuation {
+
+    // Immutable view of one holding as held by the valuation engine
+    private final UUID holdingId;
+    private final UUID stockId;
+    private final String stockCode;
+    private final String companyName;
+    private final String industry;
+    private final BigDecimal quantity;
+    private final BigDecimal averageCostBasis;
+    private final BigDecimal totalCostBasis;
+    private final BigDecimal realizedGain;
+    private final LocalDateTime firstPurchaseDate;
+    private final BigDecimal currentPrice;
+
+    // Constructor
+    public PositionValuation(UUID holdingId, UUID stockId, String stockCode, String companyName, String industry,
+                             BigDecimal quantity, BigDecimal averageCostBasis, BigDecimal totalCostBasis,
+                             BigDecimal realizedGain, LocalDateTime firstPurchaseDate, BigDecimal currentPrice) {
+        this.holdingId = holdingId;
+        this.stockId = stockId;
+        this.stockCode = stockCode;
+        this.companyName = companyName;
+        this.industry = industry;
+        this.quantity = safe(quantity);
+        this.averageCostBasis = safe(averageCostBasis);
+        this.totalCostBasis = safe(totalCostBasis);
+        this.realizedGain = safe(realizedGain);
+        this.firstPurchaseDate = firstPurchaseDate;
+        this.currentPrice = safe(currentPrice);
+    }
+
+    // Build from a holding entity with the given market price
+    public static PositionValuation from(Holding holding, BigDecimal currentPrice) {
+        Stock stock = holding.getStock();
+        return new PositionValuation(
+                holding.getHoldingId(),
+                stock.getStockId(),
+                stock.getStockCode(),
+                stock.getCompanyName(),
+                stock.getIndustry(),
+                holding.getQuantity(),
+                holding.getAverageCostBasis(),
+                holding.getTotalCostBasis(),
+                holding.getRealizedGain(),
+                holding.getFirstPurchaseDate(),
+                currentPrice
+        );
+    }
+
+    // Copy of this position at a new market price
+    public PositionValuation withPrice(BigDecimal price) {
+        return new PositionValuation(holdingId, stockId, stockCode, companyName, industry, quantity,
+                averageCostBasis, totalCostBasis, realizedGain, firstPurchaseDate, price);
+    }
+
+    public boolean isOpen() {
+        return quantity.compareTo(BigDecimal.ZERO) > 0;
+    }
+
+    // Market value of the position (price x quantity)
+    public BigDecimal getMarketValue() {
+        return currentPrice.multiply(quantity);
+    }
+
+    // Cost basis of the position (average cost x quantity)
+    public BigDecimal getCostBasis() {
+        return averageCostBasis.multiply(quantity);
+    }
+
+    // Getters
+    public UUID getHoldingId() {return holdingId;}
+
+    public UUID getStockId() {return stockId;}
+
+    public String getStockCode() {return stockCode;}
+
+    public String getCompanyName() {return companyName;}
+
+    public String getIndustry() {return industry;}
+
+    public BigDecimal getQuantity() {return quantity;}
+
+    public BigDecimal getAverageCostBasis() {return averageCostBasis;}
+
+    public BigDecimal getTotalCostBasis() {return totalCostBasis;}
+
+    public BigDecimal getRealizedGain() {return realizedGain;}
+
+    public LocalDateTime getFirstPurchaseDate() {return firstPurchaseDate;}
+
+    public BigDecimal getCurrentPrice() {return currentPrice;}
+
+    // Helper to safely return BigDecimal or ZERO if null
+    private static BigDecimal safe(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,7 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Published whenever a fresh market price is applied to a stock
+public record PriceTickEvent(UUID stockId, BigDecimal price) {}
@@ -0,0 +1,13 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.portfoliosnapshot;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface PortfolioSnapshotBatchService {
+
+    // Snapshot every account for the date, continuing from the checkpoint if an earlier run stopped part way
+    SnapshotBatchResult runSnapshots(LocalDate snapshotDate);
+
+    // Continue the run for the date only if one was started and never completed
+    Optional<SnapshotBatchResult> resumeIfIncomplete(LocalDate snapshotDate);
+}
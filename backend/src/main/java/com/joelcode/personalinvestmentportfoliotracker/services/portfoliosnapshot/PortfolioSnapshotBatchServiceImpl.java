@@ -0,0 +1,303 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.portfoliosnapshot;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Holding;
+import com.joelcode.personalinvestmentportfoliotracker.entities.PortfolioSnapshot;
+import com.joelcode.personalinvestmentportfoliotracker.entities.SnapshotJobCheckpoint;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.AccountRepository;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.HoldingRepository;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PortfolioSnapshotJdbcRepository;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PortfolioSnapshotRepository;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.SnapshotJobCheckpointRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.stock.StockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Batch daily snapshot job.
+ *
+ * Accounts are read in keyset pages ordered by account id. Every held stock is priced once up front, then each
+ * page loads its holdings and previous snapshot values in one query each, calculates its snapshots in parallel
+ * chunks on the snapshot executor and writes them in one JDBC batch with ON CONFLICT DO NOTHING. The checkpoint
+ * for the date is saved after every page; a page written just before a crash is simply skipped by the conflict
+ * clause when the run resumes from the checkpoint.
+ *
+ * Metrics: app.snapshots.batch.accounts, app.snapshots.batch.written, app.snapshots.batch.failed,
+ * app.snapshots.batch.page and app.snapshots.batch.throughput (accounts per second of the last run)
+ */
+@Service
+@Profile("!test")
+public class PortfolioSnapshotBatchServiceImpl implements PortfolioSnapshotBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioSnapshotBatchServiceImpl.class);
+
+    // Define key fields
+    private final AccountRepository accountRepository;
+    private final HoldingRepository holdingRepository;
+    private final PortfolioSnapshotRepository snapshotRepository;
+    private final PortfolioSnapshotJdbcRepository snapshotJdbcRepository;
+    private final SnapshotJobCheckpointRepository checkpointRepository;
+    private final StockService stockService;
+    private final ExecutorService snapshotExecutor;
+    private final int pageSize;
+    private final int maxConcurrency;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile double lastThroughput;
+
+    private final Counter accountsProcessed;
+    private final Counter snapshotsWritten;
+    private final Counter failures;
+    private final Timer pageTimer;
+
+
+    // Constructor
+    public PortfolioSnapshotBatchServiceImpl(AccountRepository accountRepository,
+                                             HoldingRepository holdingRepository,
+                                             PortfolioSnapshotRepository snapshotRepository,
+                                             PortfolioSnapshotJdbcRepository snapshotJdbcRepository,
+                                             SnapshotJobCheckpointRepository checkpointRepository,
+                                             StockService stockService,
+                                             @Qualifier("snapshotExecutor") ExecutorService snapshotExecutor,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${snapshot.batch.page-size:500}") int pageSize,
+                                             @Value("${snapshot.batch.max-concurrency:4}") int maxConcurrency) {
+        this.accountRepository = accountRepository;
+        this.holdingRepository = holdingRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.snapshotJdbcRepository = snapshotJdbcRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.stockService = stockService;
+        this.snapshotExecutor = snapshotExecutor;
+        this.pageSize = Math.max(1, pageSize);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+
+        this.accountsProcessed = Counter.builder("app.snapshots.batch.accounts").register(meterRegistry);
+        this.snapshotsWritten = Counter.builder("app.snapshots.batch.written").register(meterRegistry);
+        this.failures = Counter.builder("app.snapshots.batch.failed").register(meterRegistry);
+        this.pageTimer = Timer.builder("app.snapshots.batch.page").register(meterRegistry);
+        Gauge.builder("app.snapshots.batch.throughput", this, service -> service.lastThroughput)
+                .register(meterRegistry);
+    }
+
+
+    // Interface functions
+
+    @Override
+    public SnapshotBatchResult runSnapshots(LocalDate snapshotDate) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A snapshot run is already in progress.");
+        }
+        try {
+            return run(snapshotDate);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public Optional<SnapshotBatchResult> resumeIfIncomplete(LocalDate snapshotDate) {
+        Optional<SnapshotJobCheckpoint> checkpoint = checkpointRepository.findById(snapshotDate);
+        if (checkpoint.isEmpty() || checkpoint.get().isCompleted()) {
+            return Optional.empty();
+        }
+        return Optional.of(runSnapshots(snapshotDate));
+    }
+
+
+    // Helper methods
+
+    private SnapshotBatchResult run(LocalDate snapshotDate) {
+        long start = System.nanoTime();
+
+        // A completed checkpoint starts a fresh pass so accounts opened since then get their snapshot
+        SnapshotJobCheckpoint checkpoint = checkpointRepository.findById(snapshotDate)
+                .orElseGet(() -> new SnapshotJobCheckpoint(snapshotDate));
+        boolean resumed = !checkpoint.isCompleted() && checkpoint.getLastAccountId() != null;
+        if (checkpoint.isCompleted()) {
+            checkpoint = restart(checkpoint);
+        }
+        checkpoint = checkpointRepository.save(checkpoint);
+
+        Map<UUID, BigDecimal> prices = stockService.getCurrentPrices(holdingRepository.findDistinctHeldStockIds());
+
+        UUID cursor = checkpoint.getLastAccountId();
+        int accounts = 0;
+        int written = 0;
+        AtomicInteger failed = new AtomicInteger();
+
+        while (true) {
+            List<Account> page = nextPage(cursor);
+            if (page.isEmpty()) {
+                break;
+            }
+
+            Timer.Sample sample = Timer.start();
+            int pageWritten = writePage(page, snapshotDate, prices, failed);
+            sample.stop(pageTimer);
+
+            cursor = page.get(page.size() - 1).getAccountId();
+            checkpoint.advance(cursor, page.size(), pageWritten);
+            checkpoint = checkpointRepository.save(checkpoint);
+
+            accounts += page.size();
+            written += pageWritten;
+            accountsProcessed.increment(page.size());
+            snapshotsWritten.increment(pageWritten);
+
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+
+        checkpoint.complete();
+        checkpointRepository.save(checkpoint);
+
+        SnapshotBatchResult result = new SnapshotBatchResult(snapshotDate, resumed, accounts, written, failed.get(),
+                Duration.ofNanos(System.nanoTime() - start));
+        lastThroughput = result.accountsPerSecond();
+        return result;
+    }
+
+    private SnapshotJobCheckpoint restart(SnapshotJobCheckpoint completed) {
+        SnapshotJobCheckpoint checkpoint = new SnapshotJobCheckpoint(completed.getSnapshotDate());
+        checkpoint.setStartedAt(completed.getStartedAt());
+        checkpoint.setAccountsProcessed(completed.getAccountsProcessed());
+        checkpoint.setSnapshotsWritten(completed.getSnapshotsWritten());
+        return checkpoint;
+    }
+
+    private List<Account> nextPage(UUID cursor) {
+        PageRequest page = PageRequest.of(0, pageSize);
+        return cursor == null
+                ? accountRepository.findAllByOrderByAccountIdAsc(page)
+                : accountRepository.findByAccountIdGreaterThanOrderByAccountIdAsc(cursor, page);
+    }
+
+    // Calculate a page of snapshots in parallel chunks and write them in one batch
+    private int writePage(List<Account> page, LocalDate snapshotDate, Map<UUID, BigDecimal> prices,
+                          AtomicInteger failed) {
+        List<UUID> accountIds = page.stream().map(Account::getAccountId).toList();
+
+        Map<UUID, List<Holding>> holdingsByAccount = holdingRepository.findByAccount_AccountIdIn(accountIds).stream()
+                .collect(Collectors.groupingBy(holding -> holding.getAccount().getAccountId()));
+        Map<UUID, BigDecimal> previousValues = snapshotRepository.findLatestValuesBefore(accountIds, snapshotDate)
+                .stream()
+                .collect(Collectors.toMap(PreviousSnapshotValue::accountId, PreviousSnapshotValue::totalValue,
+                        (first, second) -> first));
+
+        int chunkSize = (page.size() + maxConcurrency - 1) / maxConcurrency;
+        List<CompletableFuture<List<PortfolioSnapshot>>> chunks = new ArrayList<>();
+        for (int from = 0; from < page.size(); from += chunkSize) {
+            List<Account> chunk = page.subList(from, Math.min(from + chunkSize, page.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> chunk.stream()
+                    .map(account -> calculateSafely(account, snapshotDate,
+                            holdingsByAccount.getOrDefault(account.getAccountId(), List.of()),
+                            prices, previousValues.get(account.getAccountId()), failed))
+                    .filter(Objects::nonNull)
+                    .toList(), snapshotExecutor));
+        }
+
+        List<PortfolioSnapshot> snapshots = chunks.stream()
+                .flatMap(chunk -> chunk.join().stream())
+                .toList();
+        return snapshotJdbcRepository.insertIgnoringExisting(snapshots);
+    }
+
+    // One bad account is logged and counted rather than failing the page
+    private PortfolioSnapshot calculateSafely(Account account, LocalDate snapshotDate, List<Holding> holdings,
+                                              Map<UUID, BigDecimal> prices, BigDecimal previousValue,
+                                              AtomicInteger failed) {
+        try {
+            return calculate(account, snapshotDate, holdings, prices, previousValue);
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            failures.increment();
+            logger.warn("Could not calculate snapshot for account {}: {}", account.getAccountId(), e.getMessage());
+            return null;
+        }
+    }
+
+    // Same figures as PortfolioSnapshotCalculationService.generateSnapshotForToday, from preloaded data
+    static PortfolioSnapshot calculate(Account account, LocalDate snapshotDate, List<Holding> holdings,
+                                       Map<UUID, BigDecimal> prices, BigDecimal previousValue) {
+        BigDecimal totalValue = BigDecimal.ZERO;
+        BigDecimal totalCostBasis = BigDecimal.ZERO;
+        BigDecimal unrealizedGain = BigDecimal.ZERO;
+        BigDecimal realizedGain = BigDecimal.ZERO;
+
+        for (Holding holding : holdings) {
+            if (holding.getTotalCostBasis() != null) {
+                totalCostBasis = totalCostBasis.add(holding.getTotalCostBasis());
+            }
+            if (holding.getRealizedGain() != null) {
+                realizedGain = realizedGain.add(holding.getRealizedGain());
+            }
+            if (holding.getStock() == null || holding.getQuantity() == null) {
+                continue;
+            }
+
+            BigDecimal price = prices.get(holding.getStock().getStockId());
+            if (price == null || price.signum() < 0) {
+                price = BigDecimal.ZERO;
+            }
+            totalValue = totalValue.add(price.multiply(holding.getQuantity()).setScale(2, RoundingMode.HALF_UP));
+            unrealizedGain = unrealizedGain.add(holding.getUnrealizedGain(price));
+        }
+
+        totalValue = totalValue.setScale(2, RoundingMode.HALF_UP);
+        unrealizedGain = unrealizedGain.setScale(2, RoundingMode.HALF_UP);
+        BigDecimal totalGain = unrealizedGain.add(realizedGain).setScale(2, RoundingMode.HALF_UP);
+
+        // Day change against the account's previous snapshot
+        BigDecimal dayChange = BigDecimal.ZERO;
+        BigDecimal dayChangePercent = BigDecimal.ZERO;
+        if (previousValue != null) {
+            dayChange = totalValue.subtract(previousValue);
+            if (previousValue.signum() > 0) {
+                dayChangePercent = dayChange
+                        .divide(previousValue, 4, RoundingMode.HALF_UP)
+                        .multiply(BigDecimal.valueOf(100));
+            }
+        }
+
+        BigDecimal roiPercentage = totalCostBasis.signum() > 0
+                ? totalGain.divide(totalCostBasis, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
+                : BigDecimal.ZERO;
+
+        PortfolioSnapshot snapshot = new PortfolioSnapshot();
+        snapshot.setSnapshotId(UUID.randomUUID());
+        snapshot.setAccount(account);
+        snapshot.setSnapshotDate(snapshotDate);
+        snapshot.setTotalValue(totalValue);
+        snapshot.setCashBalance(BigDecimal.ZERO);
+        snapshot.setTotalCostBasis(totalCostBasis.setScale(2, RoundingMode.HALF_UP));
+        snapshot.setTotalGain(totalGain);
+        snapshot.setRealizedGain(realizedGain.setScale(2, RoundingMode.HALF_UP));
+        snapshot.setUnrealizedGain(unrealizedGain);
+        snapshot.setDayChange(dayChange);
+        snapshot.setDayChangePercent(dayChangePercent);
+        snapshot.setRoiPercentage(roiPercentage);
+        return snapshot;
+    }
+}
@@ -0,0 +1,8 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.portfoliosnapshot;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Total value of an account's most recent earlier snapshot, used for the day change of the next one
+public record PreviousSnapshotValue(UUID accountId, BigDecimal totalValue) {
+}
@@ -0,0 +1,14 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.portfoliosnapshot;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+// Outcome of one pass of the batch snapshot job; resumed is true when it picked up from a checkpoint
+public record SnapshotBatchResult(LocalDate snapshotDate, boolean resumed, int accountsProcessed,
+                                  int snapshotsWritten, int failures, Duration elapsed) {
+
+    public double accountsPerSecond() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds > 0 ? accountsProcessed / seconds : accountsProcessed;
+    }
+}
@@ -0,0 +1,20 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricealert;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.PriceAlert;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Active price alert as held in the threshold index, detached from the persistence context
+public record IndexedAlert(UUID alertId, UUID userId, UUID stockId, String stockCode, String type,
+                           BigDecimal targetPrice) {
+
+    public static IndexedAlert from(PriceAlert alert) {
+        return new IndexedAlert(alert.getAlertId(), alert.getUser().getUserId(), alert.getStock().getStockId(),
+                alert.getStock().getStockCode(), alert.getType(), alert.getTargetPrice());
+    }
+
+    public boolean isAbove() {
+        return "ABOVE".equals(type);
+    }
+}
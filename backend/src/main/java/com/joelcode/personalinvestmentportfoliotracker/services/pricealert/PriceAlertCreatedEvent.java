@@ -0,0 +1,4 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricealert;
+
+// Published when a new active price alert is saved
+public record PriceAlertCreatedEvent(IndexedAlert alert) {}
@@ -0,0 +1,13 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricealert;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface PriceAlertEngine {
+
+    int rebuild();
+
+    int evaluate(UUID stockId, BigDecimal price);
+
+    int getActiveAlertCount();
+}
@@ -0,0 +1,135 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricealert;
+
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceAlertRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PriceTickEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory price alert evaluation keyed by stock.
+ *
+ * Active alerts are loaded from the database when the application is ready and then kept up to date
+ * from PriceAlertCreatedEvent and PriceAlertRemovedEvent. Each PriceTickEvent scans only the ticked
+ * stock's index; the alerts it crossed are taken out and handed to PriceAlertTriggerService, which
+ * closes them in one statement and pushes the notifications. If that fails the alerts go back into
+ * the index and fire on the next tick.
+ *
+ * Metrics: app.alerts.active, app.alerts.fired and app.alerts.evaluation
+ */
+@Service
+@Profile("!test")
+public class PriceAlertEngineImpl implements PriceAlertEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceAlertEngineImpl.class);
+
+    // Define key fields
+    private final PriceAlertRepository priceAlertRepository;
+    private final PriceAlertTriggerService priceAlertTriggerService;
+
+    private volatile Map<UUID, PriceAlertIndex> indexes = new ConcurrentHashMap<>();
+
+    private final Counter fired;
+    private final Timer evaluationTimer;
+
+
+    // Constructor
+    public PriceAlertEngineImpl(PriceAlertRepository priceAlertRepository,
+                                PriceAlertTriggerService priceAlertTriggerService,
+                                MeterRegistry meterRegistry) {
+        this.priceAlertRepository = priceAlertRepository;
+        this.priceAlertTriggerService = priceAlertTriggerService;
+
+        this.fired = Counter.builder("app.alerts.fired").register(meterRegistry);
+        this.evaluationTimer = Timer.builder("app.alerts.evaluation").register(meterRegistry);
+        Gauge.builder("app.alerts.active", this, PriceAlertEngine::getActiveAlertCount).register(meterRegistry);
+    }
+
+
+    // Interface functions
+
+    // Replace every index with the active alerts currently in the database
+    @Override
+    public int rebuild() {
+        Map<UUID, PriceAlertIndex> rebuilt = new ConcurrentHashMap<>();
+        List<IndexedAlert> alerts = priceAlertRepository.findActiveIndexedAlerts();
+        for (IndexedAlert alert : alerts) {
+            rebuilt.computeIfAbsent(alert.stockId(), stockId -> new PriceAlertIndex()).add(alert);
+        }
+        indexes = rebuilt;
+        return alerts.size();
+    }
+
+    // Fire every alert on the stock that the price has crossed
+    @Override
+    public int evaluate(UUID stockId, BigDecimal price) {
+        PriceAlertIndex index = indexes.get(stockId);
+        if (index == null || price == null) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        List<IndexedAlert> crossed = index.takeCrossed(price);
+        evaluationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (crossed.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            priceAlertTriggerService.trigger(crossed, price);
+            fired.increment(crossed.size());
+            return crossed.size();
+        } catch (Exception e) {
+            logger.warn("Could not trigger {} price alerts for stock {}: {}", crossed.size(), stockId, e.getMessage());
+            crossed.forEach(index::add);
+            return 0;
+        }
+    }
+
+    @Override
+    public int getActiveAlertCount() {
+        return indexes.values().stream().mapToInt(PriceAlertIndex::size).sum();
+    }
+
+
+    // Event listeners
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        logger.info("Loaded {} active price alerts into the alert engine", rebuild());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlertCreated(PriceAlertCreatedEvent event) {
+        IndexedAlert alert = event.alert();
+        indexes.computeIfAbsent(alert.stockId(), stockId -> new PriceAlertIndex()).add(alert);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlertRemoved(PriceAlertRemovedEvent event) {
+        PriceAlertIndex index = indexes.get(event.stockId());
+        if (index != null) {
+            index.remove(event.alertId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPriceTick(PriceTickEvent event) {
+        evaluate(event.stockId(), event.price());
+    }
+}
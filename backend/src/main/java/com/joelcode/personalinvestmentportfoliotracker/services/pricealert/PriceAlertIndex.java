@@ -0,0 +1,82 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricealert;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Active alerts for one stock, indexed by target price.
+ *
+ * An ABOVE alert fires once the price reaches its target and a BELOW alert once the price falls to
+ * it, so the alerts fired by a price are the ABOVE targets at or below it and the BELOW targets at or
+ * above it. Each is one range view over a sorted map: O(log n + k) for k fired alerts among n.
+ */
+final class PriceAlertIndex {
+
+    private final NavigableMap<BigDecimal, Map<UUID, IndexedAlert>> above = new TreeMap<>();
+    private final NavigableMap<BigDecimal, Map<UUID, IndexedAlert>> below = new TreeMap<>();
+    private final Map<UUID, IndexedAlert> alertsById = new HashMap<>();
+
+    synchronized void add(IndexedAlert alert) {
+        if (alertsById.putIfAbsent(alert.alertId(), alert) != null) {
+            return;
+        }
+        side(alert)
+                .computeIfAbsent(alert.targetPrice(), price -> new LinkedHashMap<>())
+                .put(alert.alertId(), alert);
+    }
+
+    synchronized boolean remove(UUID alertId) {
+        IndexedAlert alert = alertsById.remove(alertId);
+        if (alert == null) {
+            return false;
+        }
+
+        NavigableMap<BigDecimal, Map<UUID, IndexedAlert>> side = side(alert);
+        Map<UUID, IndexedAlert> level = side.get(alert.targetPrice());
+        if (level != null) {
+            level.remove(alertId);
+            if (level.isEmpty()) {
+                side.remove(alert.targetPrice());
+            }
+        }
+        return true;
+    }
+
+    // Remove and return every alert the price has crossed
+    synchronized List<IndexedAlert> takeCrossed(BigDecimal price) {
+        List<IndexedAlert> crossed = new ArrayList<>();
+        drain(above.headMap(price, true), crossed);
+        drain(below.tailMap(price, true), crossed);
+        return crossed;
+    }
+
+    synchronized int size() {
+        return alertsById.size();
+    }
+
+    private void drain(NavigableMap<BigDecimal, Map<UUID, IndexedAlert>> levels, List<IndexedAlert> crossed) {
+        if (levels.isEmpty()) {
+            return;
+        }
+        Iterator<Map<UUID, IndexedAlert>> iterator = levels.values().iterator();
+        while (iterator.hasNext()) {
+            for (IndexedAlert alert : iterator.next().values()) {
+                alertsById.remove(alert.alertId());
+                crossed.add(alert);
+            }
+            iterator.remove();
+        }
+    }
+
+    private NavigableMap<BigDecimal, Map<UUID, IndexedAlert>> side(IndexedAlert alert) {
+        return alert.isAbove() ? above : below;
+    }
+}
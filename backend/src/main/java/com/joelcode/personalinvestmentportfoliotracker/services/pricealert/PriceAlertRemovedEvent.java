@@ -0,0 +1,6 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricealert;
+
+import java.util.UUID;
+
+// Published when a price alert is deleted
+public record PriceAlertRemovedEvent(UUID stockId, UUID alertId) {}
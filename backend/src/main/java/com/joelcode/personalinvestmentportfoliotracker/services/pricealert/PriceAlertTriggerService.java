@@ -0,0 +1,9 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricealert;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface PriceAlertTriggerService {
+
+    int trigger(List<IndexedAlert> alerts, BigDecimal price);
+}
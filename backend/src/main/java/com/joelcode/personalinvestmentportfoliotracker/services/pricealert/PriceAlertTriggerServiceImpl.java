@@ -0,0 +1,74 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricealert;
+
+import com.joelcode.personalinvestmentportfoliotracker.controllers.WebSocketController;
+import com.joelcode.personalinvestmentportfoliotracker.entities.User;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceAlertRepository;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.UserRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("!test")
+public class PriceAlertTriggerServiceImpl implements PriceAlertTriggerService {
+
+    // Define key fields
+    private final PriceAlertRepository priceAlertRepository;
+    private final UserRepository userRepository;
+    private final WebSocketController webSocketController;
+
+
+    // Constructor
+    public PriceAlertTriggerServiceImpl(PriceAlertRepository priceAlertRepository,
+                                        UserRepository userRepository,
+                                        WebSocketController webSocketController) {
+        this.priceAlertRepository = priceAlertRepository;
+        this.userRepository = userRepository;
+        this.webSocketController = webSocketController;
+    }
+
+
+    // Interface functions
+
+    // Close the fired alerts in one update and notify the users who have price alerts switched on.
+    // Runs in its own transaction because ticks are delivered after the publishing transaction committed.
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int trigger(List<IndexedAlert> alerts, BigDecimal price) {
+        if (alerts == null || alerts.isEmpty()) {
+            return 0;
+        }
+
+        int triggered = priceAlertRepository.markTriggered(
+                alerts.stream().map(IndexedAlert::alertId).collect(Collectors.toList()), LocalDateTime.now());
+
+        Set<UUID> userIds = alerts.stream().map(IndexedAlert::userId).collect(Collectors.toSet());
+        Map<UUID, String> recipients = userRepository.findByUserIdInAndPriceAlertsTrue(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, User::getUsername));
+
+        for (IndexedAlert alert : alerts) {
+            String username = recipients.get(alert.userId());
+            if (username != null) {
+                webSocketController.sendUserNotification(username, buildMessage(alert, price));
+            }
+        }
+        return triggered;
+    }
+
+
+    // Helper methods
+
+    private String buildMessage(IndexedAlert alert, BigDecimal price) {
+        String direction = alert.isAbove() ? "rose above" : "fell below";
+        return alert.stockCode() + " " + direction + " your target of " + alert.targetPrice() + " (now " + price + ")";
+    }
+}
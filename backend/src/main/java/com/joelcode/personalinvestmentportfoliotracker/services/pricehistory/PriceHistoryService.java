@@ -2,9 +2,13 @@ package com.joelcode.personalinvestmentportfoliotracker.services.pricehistory;
 
 import com.joelcode.personalinvestmentportfoliotracker.dto.pricehistory.PriceHistoryCreateRequest;
 import com.joelcode.personalinvestmentportfoliotracker.dto.pricehistory.PriceHistoryDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.pricehistory.PriceSeriesDTO;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface PriceHistoryService {
@@ -19,7 +23,15 @@ public interface PriceHistoryService {
 
     BigDecimal getCurrentPrice(UUID stockId);
 
+    Map<UUID, BigDecimal> getCurrentPrices(Collection<UUID> stockIds);
+
     List<PriceHistoryDTO> getPriceHistoryForStock(UUID stockId);
 
+    List<PriceHistoryDTO> getPriceHistoryForStock(UUID stockId, LocalDateTime from, LocalDateTime to,
+                                                  Integer maxPoints, Integer last);
+
+    PriceSeriesDTO getPriceSeriesForStock(UUID stockId, LocalDateTime from, LocalDateTime to,
+                                          Integer maxPoints, Integer last);
+
     PriceHistoryDTO getLatestPriceForStock(UUID stockId);
 }
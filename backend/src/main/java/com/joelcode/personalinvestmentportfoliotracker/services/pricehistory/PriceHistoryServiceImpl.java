@@ -3,18 +3,30 @@ package com.joelcode.personalinvestmentportfoliotracker.services.pricehistory;
 import com.joelcode.personalinvestmentportfoliotracker.controllers.WebSocketController;
 import com.joelcode.personalinvestmentportfoliotracker.dto.pricehistory.PriceHistoryCreateRequest;
 import com.joelcode.personalinvestmentportfoliotracker.dto.pricehistory.PriceHistoryDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.pricehistory.PriceSeriesDTO;
 import com.joelcode.personalinvestmentportfoliotracker.entities.PriceHistory;
 import com.joelcode.personalinvestmentportfoliotracker.exceptions.CustomAuthenticationException;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceHistoryJdbcRepository;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceHistoryRepository;
 import com.joelcode.personalinvestmentportfoliotracker.services.mapping.PriceHistoryMapper;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.rollup.PriceHistoryTier;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.rollup.PriceRollupService;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSeries;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSlice;
 import org.springframework.context.annotation.Profile;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -26,20 +38,32 @@ public class PriceHistoryServiceImpl implements PriceHistoryService{
 
     // Define key fields
     private final PriceHistoryRepository priceHistoryRepository;
+    private final PriceHistoryJdbcRepository priceHistoryJdbcRepository;
     private final PriceHistoryValidationService validationService;
     private final SimpMessagingTemplate messagingTemplate;
     private final WebSocketController webSocketController;
+    private final PriceRecorder priceRecorder;
+    private final PriceSeriesStore priceSeriesStore;
+    private final PriceRollupService priceRollupService;
 
 
     // Constructor
     public PriceHistoryServiceImpl(PriceHistoryRepository priceHistoryRepository,
+                                   PriceHistoryJdbcRepository priceHistoryJdbcRepository,
                                    PriceHistoryValidationService validationService,
                                    SimpMessagingTemplate messagingTemplate,
-                                   WebSocketController webSocketController) {
+                                   WebSocketController webSocketController,
+                                   PriceRecorder priceRecorder,
+                                   PriceSeriesStore priceSeriesStore,
+                                   PriceRollupService priceRollupService) {
         this.priceHistoryRepository = priceHistoryRepository;
+        this.priceHistoryJdbcRepository = priceHistoryJdbcRepository;
         this.validationService = validationService;
         this.messagingTemplate = messagingTemplate;
         this.webSocketController = webSocketController;
+        this.priceRecorder = priceRecorder;
+        this.priceSeriesStore = priceSeriesStore;
+        this.priceRollupService = priceRollupService;
     }
 
 
@@ -58,6 +82,7 @@ public class PriceHistoryServiceImpl implements PriceHistoryService{
 
         // Save to db
         priceHistory = priceHistoryRepository.save(priceHistory);
+        invalidateAfterCommit(request.getStockId());
 
         // Map to dto
         return PriceHistoryMapper.toDTO(priceHistory);
@@ -85,27 +110,63 @@ public class PriceHistoryServiceImpl implements PriceHistoryService{
     public void deletePriceHistory(UUID priceHistoryId) {
         PriceHistory priceHistory = validationService.validatePriceHistoryExists(priceHistoryId);
         priceHistoryRepository.delete(priceHistory);
+        invalidateAfterCommit(priceHistory.getStock().getStockId());
     }
 
     // Get current price
     @Override
     public BigDecimal getCurrentPrice(UUID stockId) {
+        BigDecimal pendingPrice = priceRecorder.getPendingPrice(stockId);
+        if (pendingPrice != null) {
+            return pendingPrice;
+        }
         return priceHistoryRepository.findTopByStock_StockIdOrderByCloseDateDesc(stockId).map(PriceHistory::getClosePrice)
                 .orElseThrow(() -> new CustomAuthenticationException("No price found for stock " + stockId));
     }
 
+    // Get latest close price for several stocks at once, stocks without any history are left out of the map
+    @Override
+    public Map<UUID, BigDecimal> getCurrentPrices(Collection<UUID> stockIds) {
+        if (stockIds == null || stockIds.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Map<UUID, BigDecimal> prices = new HashMap<>();
+        for (PriceHistory priceHistory : priceHistoryRepository.findLatestByStockIds(new HashSet<>(stockIds))) {
+            prices.putIfAbsent(priceHistory.getStock().getStockId(), priceHistory.getClosePrice());
+        }
+
+        // Recorded prices that have not been flushed yet are fresher than the database
+        for (UUID stockId : stockIds) {
+            BigDecimal pendingPrice = priceRecorder.getPendingPrice(stockId);
+            if (pendingPrice != null) {
+                prices.put(stockId, pendingPrice);
+            }
+        }
+        return prices;
+    }
+
     // Get price history for stock
     @Override
     public List<PriceHistoryDTO> getPriceHistoryForStock(UUID stockId) {
-        // Fetch all price history records for the stock
-        List<PriceHistory> historyList = priceHistoryRepository.findByStock_StockIdOrderByCloseDateAsc(stockId);
+        return getPriceHistoryForStock(stockId, null, null, null, null);
+    }
 
-        // Map to DTOs
-        List<PriceHistoryDTO> dtos = historyList.stream()
-                .map(PriceHistoryMapper::toDTO)
-                .collect(Collectors.toList());
+    // Get price history for stock, optionally limited to a range, downsampled to at most maxPoints points or cut to
+    // the last points. Raw points come from the in-memory series, long ranges from the daily or weekly rollups.
+    // Row ids are looked up for the points returned; rollup points whose raw row is past retention carry none.
+    @Override
+    public List<PriceHistoryDTO> getPriceHistoryForStock(UUID stockId, LocalDateTime from, LocalDateTime to,
+                                                         Integer maxPoints, Integer last) {
+        PriceSlice slice = slice(stockId, from, to, maxPoints, last);
+        return PriceHistoryMapper.toDTOs(stockId, slice, priceHistoryJdbcRepository.findIds(stockId, slice.times()));
+    }
 
-        return dtos;
+    // Same query as getPriceHistoryForStock, answered as two primitive arrays for charts
+    @Override
+    public PriceSeriesDTO getPriceSeriesForStock(UUID stockId, LocalDateTime from, LocalDateTime to,
+                                                 Integer maxPoints, Integer last) {
+        return PriceHistoryMapper.toSeriesDTO(stockId, slice(stockId, from, to, maxPoints, last));
     }
 
     // Get latest price for stock
@@ -130,4 +191,36 @@ public class PriceHistoryServiceImpl implements PriceHistoryService{
         }
     }
 
+
+    // Helper methods
+
+    // Drop the stock's series once the change is committed, so a concurrent load cannot cache the rows from before it
+    private void invalidateAfterCommit(UUID stockId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            priceSeriesStore.invalidate(stockId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                priceSeriesStore.invalidate(stockId);
+            }
+        });
+    }
+
+    private PriceSlice slice(UUID stockId, LocalDateTime from, LocalDateTime to, Integer maxPoints, Integer last) {
+        if (last != null) {
+            return priceSeriesStore.get(stockId).last(last);
+        }
+
+        long fromTime = from != null ? PriceSlice.toTime(from) : Long.MIN_VALUE;
+        long toTime = to != null ? PriceSlice.toTime(to) : Long.MAX_VALUE;
+        int points = maxPoints != null ? maxPoints : 0;
+        PriceHistoryTier tier = priceRollupService.tierFor(stockId, fromTime, toTime, points);
+        PriceSeries series = tier == PriceHistoryTier.RAW
+                ? priceRollupService.getRawSeries(stockId, priceSeriesStore.get(stockId), fromTime)
+                : priceRollupService.getSeries(stockId, tier, fromTime, toTime);
+        return series.downsample(fromTime, toTime, points);
+    }
+
 }
\ No newline at end of file
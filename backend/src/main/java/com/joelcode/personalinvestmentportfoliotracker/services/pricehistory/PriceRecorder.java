@@ -0,0 +1,20 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricehistory;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Write-behind buffer for observed prices. Observations are coalesced to one price_history row per stock per
+ * bucket (the latest price seen in it) and written in batches off the caller's thread, together with the stock's
+ * current value. Until a flush, the freshest price of a stock is served from the buffer.
+ */
+public interface PriceRecorder {
+
+    void record(UUID stockId, BigDecimal price);
+
+    // Latest recorded price that has not reached the database yet, or null
+    BigDecimal getPendingPrice(UUID stockId);
+
+    // Write the buffered prices, returns the number of price_history rows upserted
+    int flush();
+}
@@ -0,0 +1,136 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricehistory;
+
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceHistoryJdbcRepository;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceHistoryJdbcRepository.PricePoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory PriceRecorder. close_date of a recorded row is the start of its bucket (price-history.recorder.bucket),
+ * so price_history grows with symbols x time however often a price is observed. Flushed by
+ * PriceHistoryFlushScheduler and once more on shutdown; a failed flush is logged and its prices are dropped,
+ * the next ingestion run observes them again.
+ *
+ * Metrics: app.price_recorder.pending (buffered rows), app.price_recorder.flushed (rows upserted) and
+ * app.price_recorder.dropped
+ */
+@Service
+@Profile("!test")
+public class PriceRecorderImpl implements PriceRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceRecorderImpl.class);
+
+    private record BucketKey(UUID stockId, LocalDateTime bucketStart) {}
+
+    // Define key fields
+    private final PriceHistoryJdbcRepository priceHistoryJdbcRepository;
+    private final PriceSeriesStore priceSeriesStore;
+    private final long bucketSeconds;
+    private final Map<BucketKey, BigDecimal> buckets = new ConcurrentHashMap<>();
+    private final Map<UUID, BigDecimal> latestPrices = new ConcurrentHashMap<>();
+    private final Counter flushed;
+    private final Counter dropped;
+
+
+    // Constructor
+    @Autowired
+    public PriceRecorderImpl(PriceHistoryJdbcRepository priceHistoryJdbcRepository,
+                             PriceSeriesStore priceSeriesStore,
+                             MeterRegistry meterRegistry,
+                             @Value("${price-history.recorder.bucket:1m}") Duration bucket) {
+        if (bucket.getSeconds() < 1) {
+            throw new IllegalArgumentException("price-history.recorder.bucket must be at least one second");
+        }
+        this.priceHistoryJdbcRepository = priceHistoryJdbcRepository;
+        this.priceSeriesStore = priceSeriesStore;
+        this.bucketSeconds = bucket.getSeconds();
+        Gauge.builder("app.price_recorder.pending", buckets, Map::size).register(meterRegistry);
+        this.flushed = Counter.builder("app.price_recorder.flushed").register(meterRegistry);
+        this.dropped = Counter.builder("app.price_recorder.dropped").register(meterRegistry);
+    }
+
+
+    // Interface functions
+
+    @Override
+    public void record(UUID stockId, BigDecimal price) {
+        record(stockId, price, LocalDateTime.now());
+    }
+
+    // Record a price observed at the given time, the latest observation in a bucket wins
+    public void record(UUID stockId, BigDecimal price, LocalDateTime observedAt) {
+        if (stockId == null || price == null || price.compareTo(BigDecimal.ZERO) <= 0) {
+            return;
+        }
+        buckets.put(new BucketKey(stockId, bucketStart(observedAt)), price);
+        latestPrices.put(stockId, price);
+    }
+
+    @Override
+    public BigDecimal getPendingPrice(UUID stockId) {
+        return latestPrices.get(stockId);
+    }
+
+    // Drain the buffer into one batch of price rows and one batch of stock values. Prices recorded while the
+    // batch is written stay buffered for the next flush; pending prices are only released once written.
+    @Override
+    public synchronized int flush() {
+        List<PricePoint> points = new ArrayList<>();
+        for (Map.Entry<BucketKey, BigDecimal> entry : buckets.entrySet()) {
+            BucketKey key = entry.getKey();
+            if (buckets.remove(key, entry.getValue())) {
+                points.add(new PricePoint(key.stockId(), key.bucketStart(), entry.getValue()));
+            }
+        }
+        Map<UUID, BigDecimal> values = new HashMap<>(latestPrices);
+        if (points.isEmpty() && values.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            priceHistoryJdbcRepository.upsertPrices(points);
+            priceHistoryJdbcRepository.updateStockValues(values);
+            priceSeriesStore.apply(points);
+            flushed.increment(points.size());
+            return points.size();
+        } catch (RuntimeException e) {
+            log.error("Dropped {} buffered prices - {}", points.size(), e.getMessage());
+            dropped.increment(points.size());
+            return 0;
+        } finally {
+            values.forEach(latestPrices::remove);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+
+    // Helper methods
+
+    private LocalDateTime bucketStart(LocalDateTime observedAt) {
+        long seconds = observedAt.toEpochSecond(ZoneOffset.UTC);
+        return LocalDateTime.ofEpochSecond(seconds - Math.floorMod(seconds, bucketSeconds), 0, ZoneOffset.UTC);
+    }
+}
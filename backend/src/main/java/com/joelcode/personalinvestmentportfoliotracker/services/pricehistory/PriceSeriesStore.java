@@ -0,0 +1,223 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricehistory;
+
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceHistoryJdbcRepository.PricePoint;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSeries;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSlice;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hot PriceSeries for recently used stocks. A series is loaded from price_history over plain JDBC the first time
+ * it is asked for (single-flight, like ExpiringCache) and kept while the total stays within
+ * price-history.series.max-size, least recently used series are evicted first.
+ *
+ * The price recorder hands every flushed batch to apply(), so hot series follow price_history without reloading.
+ * A batch that lands while a series is loading, or that is older than a series' last point, drops that series
+ * and the next read loads it again.
+ *
+ * Metrics: app.price_series.loads, app.price_series.evictions, app.price_series.count and app.price_series.bytes
+ */
+@Component
+@Profile("!test")
+public class PriceSeriesStore {
+
+    private static final String LOAD_SQL =
+            "SELECT close_date, close_price FROM price_history WHERE stock_id = ? ORDER BY close_date";
+
+    // Define key fields
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxBytes;
+    private final LinkedHashMap<UUID, PriceSeries> series = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<UUID, CompletableFuture<PriceSeries>> inFlight = new ConcurrentHashMap<>();
+    private final Set<UUID> changedWhileLoading = ConcurrentHashMap.newKeySet();
+    private final Counter loads;
+    private final Counter evictions;
+
+
+    // Constructor
+    public PriceSeriesStore(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                            @Value("${price-history.series.max-size:64MB}") DataSize maxSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxBytes = maxSize.toBytes();
+        this.loads = Counter.builder("app.price_series.loads").register(meterRegistry);
+        this.evictions = Counter.builder("app.price_series.evictions").register(meterRegistry);
+        Gauge.builder("app.price_series.count", this, PriceSeriesStore::count).register(meterRegistry);
+        Gauge.builder("app.price_series.bytes", this, PriceSeriesStore::sizeInBytes).register(meterRegistry);
+    }
+
+
+    // Store functions
+
+    // The series of a stock, loaded from price_history at most once across concurrent callers
+    public PriceSeries get(UUID stockId) {
+        PriceSeries hot = getIfLoaded(stockId);
+        if (hot != null) {
+            return hot;
+        }
+
+        CompletableFuture<PriceSeries> mine = new CompletableFuture<>();
+        CompletableFuture<PriceSeries> existing = inFlight.putIfAbsent(stockId, mine);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            hot = getIfLoaded(stockId);
+            if (hot != null) {
+                mine.complete(hot);
+                return hot;
+            }
+
+            changedWhileLoading.remove(stockId);
+            PriceSeries loaded = load(stockId);
+            if (!changedWhileLoading.remove(stockId)) {
+                synchronized (series) {
+                    series.put(stockId, loaded);
+                    evictOverBudget(stockId);
+                }
+            }
+            mine.complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(stockId, mine);
+        }
+    }
+
+    // Append flushed price_history rows to the series that are loaded
+    public void apply(List<PricePoint> points) {
+        Map<UUID, List<PricePoint>> byStock = new HashMap<>();
+        for (PricePoint point : points) {
+            byStock.computeIfAbsent(point.stockId(), id -> new ArrayList<>()).add(point);
+        }
+
+        for (Map.Entry<UUID, List<PricePoint>> entry : byStock.entrySet()) {
+            UUID stockId = entry.getKey();
+            if (inFlight.containsKey(stockId)) {
+                changedWhileLoading.add(stockId);
+            }
+            PriceSeries hot = getIfLoaded(stockId);
+            if (hot == null) {
+                continue;
+            }
+
+            List<PricePoint> stockPoints = entry.getValue();
+            stockPoints.sort(Comparator.comparing(PricePoint::closeDate));
+            for (PricePoint point : stockPoints) {
+                if (!hot.append(PriceSlice.toTime(point.closeDate()), PriceSlice.toPrice(point.closePrice()))) {
+                    invalidate(stockId);
+                    break;
+                }
+            }
+        }
+    }
+
+    public void invalidate(UUID stockId) {
+        if (inFlight.containsKey(stockId)) {
+            changedWhileLoading.add(stockId);
+        }
+        synchronized (series) {
+            series.remove(stockId);
+        }
+    }
+
+    // Drop every loaded series, used after raw rows were deleted underneath them
+    public void invalidateAll() {
+        changedWhileLoading.addAll(inFlight.keySet());
+        synchronized (series) {
+            series.clear();
+        }
+    }
+
+    public int count() {
+        synchronized (series) {
+            return series.size();
+        }
+    }
+
+    public long sizeInBytes() {
+        synchronized (series) {
+            long total = 0;
+            for (PriceSeries loaded : series.values()) {
+                total += loaded.sizeInBytes();
+            }
+            return total;
+        }
+    }
+
+
+    // Helper methods
+
+    private PriceSeries getIfLoaded(UUID stockId) {
+        synchronized (series) {
+            return series.get(stockId);
+        }
+    }
+
+    // Rows are streamed straight into the series, no entities or BigDecimal lists are built
+    private PriceSeries load(UUID stockId) {
+        loads.increment();
+        PriceSeries loaded = new PriceSeries();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            loaded.append(PriceSlice.toTime(rs.getTimestamp(1).toLocalDateTime()),
+                    PriceSlice.toPrice(rs.getBigDecimal(2)));
+        }, stockId);
+        return loaded;
+    }
+
+    // Called holding the series monitor; the series just loaded is never evicted
+    private void evictOverBudget(UUID keep) {
+        long total = 0;
+        for (PriceSeries loaded : series.values()) {
+            total += loaded.sizeInBytes();
+        }
+
+        Iterator<Map.Entry<UUID, PriceSeries>> eldestFirst = series.entrySet().iterator();
+        while (total > maxBytes && eldestFirst.hasNext()) {
+            Map.Entry<UUID, PriceSeries> entry = eldestFirst.next();
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            total -= entry.getValue().sizeInBytes();
+            eldestFirst.remove();
+            evictions.increment();
+        }
+    }
+
+    // Wait for another caller's load and rethrow its failure unwrapped
+    private PriceSeries await(CompletableFuture<PriceSeries> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.rollup;
+
+import java.time.Duration;
+
+/**
+ * Storage tiers of a stock's price history, from finest to coarsest: the raw price_history rows (one per recorder
+ * bucket), price_history_daily and price_history_weekly.
+ */
+public enum PriceHistoryTier {
+    RAW(Duration.ZERO),
+    DAILY(Duration.ofDays(1)),
+    WEEKLY(Duration.ofDays(7));
+
+    private final long stepMillis;
+
+    PriceHistoryTier(Duration step) {
+        this.stepMillis = step.toMillis();
+    }
+
+    // The coarsest tier whose bars are no wider than the requested spacing between points
+    public static PriceHistoryTier forStep(long stepMillis) {
+        if (stepMillis >= WEEKLY.stepMillis) {
+            return WEEKLY;
+        }
+        if (stepMillis >= DAILY.stepMillis) {
+            return DAILY;
+        }
+        return RAW;
+    }
+}
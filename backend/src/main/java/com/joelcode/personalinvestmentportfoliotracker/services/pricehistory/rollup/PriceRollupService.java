@@ -0,0 +1,26 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.rollup;
+
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSeries;
+
+import java.util.UUID;
+
+/**
+ * Daily and weekly OHLC rollups of price_history and the retention of raw rows behind them. Range queries ask for
+ * the tier that serves them, so long ranges read one row per day or week instead of every raw row.
+ */
+public interface PriceRollupService {
+
+    // Roll new raw rows up into the daily and weekly tiers, then delete raw rows past retention
+    void rollup();
+
+    // Tier for a range of epoch milliseconds (open ends as Long.MIN_VALUE / Long.MAX_VALUE) and at most
+    // maxPoints points, 0 for no limit
+    PriceHistoryTier tierFor(UUID stockId, long from, long to, int maxPoints);
+
+    // Closes of a rollup tier overlapping the range, followed by the latest raw close
+    PriceSeries getSeries(UUID stockId, PriceHistoryTier tier, long from, long to);
+
+    // The raw series of a stock for a range starting at from. Days before raw retention are served from the daily
+    // tier, since their raw rows have been deleted.
+    PriceSeries getRawSeries(UUID stockId, PriceSeries raw, long from);
+}
@@ -0,0 +1,203 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.rollup;
+
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceRollupJdbcRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceSeriesStore;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSeries;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSlice;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Rolls price_history up into price_history_daily (UTC days) and price_history_weekly (weeks from Monday).
+ *
+ * Each run recomputes every day from the day before the last rolled one through today, so the open day and rows
+ * flushed just after midnight are picked up, then the weeks containing those days. The first run starts at the
+ * oldest raw row. Raw rows older than price-history.retention.raw are then deleted a day at a time, each day and
+ * its week rolled up again just before so late rows are not lost; 0 keeps raw rows forever. The latest row of
+ * every stock is kept whatever its age, it is the stock's current price.
+ *
+ * Range queries are served from the coarsest tier whose bars are no wider than the spacing maxPoints asks for.
+ * Requests without maxPoints ask for full resolution and get raw rows, with daily bars standing in for the days
+ * before raw retention.
+ *
+ * Metrics: app.price_rollup.days and app.price_rollup.deleted
+ */
+@Service
+@Profile("!test")
+public class PriceRollupServiceImpl implements PriceRollupService {
+
+    // Bounds for open-ended ranges that every database takes as a DATE
+    private static final LocalDate FIRST_DAY = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(9999, 12, 31);
+
+    // Define key fields
+    private final PriceRollupJdbcRepository priceRollupJdbcRepository;
+    private final PriceSeriesStore priceSeriesStore;
+    private final LongSupplier epochMillis;
+    private final long rawRetentionMillis;
+    private final Counter days;
+    private final Counter deleted;
+
+
+    // Constructor
+    @Autowired
+    public PriceRollupServiceImpl(PriceRollupJdbcRepository priceRollupJdbcRepository,
+                                  PriceSeriesStore priceSeriesStore,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${price-history.retention.raw:0}") Duration rawRetention) {
+        this(priceRollupJdbcRepository, priceSeriesStore, meterRegistry, rawRetention, System::currentTimeMillis);
+    }
+
+    public PriceRollupServiceImpl(PriceRollupJdbcRepository priceRollupJdbcRepository,
+                                  PriceSeriesStore priceSeriesStore, MeterRegistry meterRegistry,
+                                  Duration rawRetention, LongSupplier epochMillis) {
+        if (rawRetention.isNegative()) {
+            throw new IllegalArgumentException("price-history.retention.raw must not be negative");
+        }
+        this.priceRollupJdbcRepository = priceRollupJdbcRepository;
+        this.priceSeriesStore = priceSeriesStore;
+        this.epochMillis = epochMillis;
+        this.rawRetentionMillis = rawRetention.toMillis();
+        this.days = Counter.builder("app.price_rollup.days").register(meterRegistry);
+        this.deleted = Counter.builder("app.price_rollup.deleted").register(meterRegistry);
+    }
+
+
+    // Interface functions
+
+    @Override
+    public void rollup() {
+        LocalDate today = toDay(epochMillis.getAsLong());
+        LocalDateTime firstRaw = priceRollupJdbcRepository.findFirstRawDate();
+        if (firstRaw == null) {
+            return;
+        }
+
+        LocalDate lastRolled = priceRollupJdbcRepository.findLastRolledDay();
+        LocalDate start = lastRolled != null ? lastRolled.minusDays(1) : firstRaw.toLocalDate();
+
+        TreeSet<LocalDate> weeks = new TreeSet<>();
+        for (LocalDate day = start; !day.isAfter(today); day = day.plusDays(1)) {
+            priceRollupJdbcRepository.rollupDay(day);
+            weeks.add(weekStart(day));
+            days.increment();
+        }
+        for (LocalDate week : weeks) {
+            priceRollupJdbcRepository.rollupWeek(week);
+        }
+
+        applyRetention();
+    }
+
+    @Override
+    public PriceHistoryTier tierFor(UUID stockId, long from, long to, int maxPoints) {
+        // Without a point limit the request asks for full resolution
+        if (maxPoints <= 0) {
+            return PriceHistoryTier.RAW;
+        }
+
+        // Nothing rolled up for the stock yet, raw rows are all there is
+        LocalDate firstRolled = priceRollupJdbcRepository.findFirstRolledDay(stockId);
+        if (firstRolled == null) {
+            return PriceHistoryTier.RAW;
+        }
+
+        long start = Math.max(from, PriceSlice.toTime(firstRolled.atStartOfDay()));
+        long end = to == Long.MAX_VALUE ? epochMillis.getAsLong() : to;
+        return end > start ? PriceHistoryTier.forStep((end - start) / maxPoints) : PriceHistoryTier.RAW;
+    }
+
+    @Override
+    public PriceSeries getSeries(UUID stockId, PriceHistoryTier tier, long from, long to) {
+        LocalDate fromDay = from == Long.MIN_VALUE ? FIRST_DAY : toDay(from);
+        LocalDate toDay = to == Long.MAX_VALUE ? LAST_DAY : toDay(to);
+
+        PriceSeries series = switch (tier) {
+            case DAILY -> priceRollupJdbcRepository.findDailyCloses(stockId, fromDay, toDay);
+            case WEEKLY -> priceRollupJdbcRepository.findWeeklyCloses(stockId, weekStart(fromDay), toDay);
+            case RAW -> throw new IllegalArgumentException("Raw prices are served by PriceSeriesStore");
+        };
+        priceRollupJdbcRepository.appendLatestRaw(stockId, series);
+        return series;
+    }
+
+    @Override
+    public PriceSeries getRawSeries(UUID stockId, PriceSeries raw, long from) {
+        if (rawRetentionMillis <= 0) {
+            return raw;
+        }
+        LocalDate cutoff = retentionCutoff();
+        long horizon = PriceSlice.toTime(cutoff.atStartOfDay());
+        if (from >= horizon || priceRollupJdbcRepository.findFirstRolledDay(stockId) == null) {
+            return raw;
+        }
+
+        // Daily bars close at their last raw close_date, before the horizon, so the raw points append after them
+        LocalDate fromDay = from == Long.MIN_VALUE ? FIRST_DAY : toDay(from);
+        PriceSeries series = priceRollupJdbcRepository.findDailyCloses(stockId, fromDay, cutoff.minusDays(1));
+        PriceSlice recent = raw.range(horizon, Long.MAX_VALUE);
+        for (int i = 0; i < recent.size(); i++) {
+            series.append(recent.times()[i], recent.prices()[i]);
+        }
+        return series;
+    }
+
+
+    // Helper methods
+
+    // Delete whole days of raw rows older than retention, never today's. Each day is rolled up again first, so rows
+    // that arrived after its last rollup reach the tiers before they are deleted.
+    private void applyRetention() {
+        if (rawRetentionMillis <= 0) {
+            return;
+        }
+
+        LocalDate cutoff = retentionCutoff();
+        long removed = 0;
+        LocalDate rolledWeek = null;
+        for (LocalDate day : priceRollupJdbcRepository.findRawDaysBefore(cutoff)) {
+            priceRollupJdbcRepository.rollupDay(day);
+            if (rolledWeek != null && !rolledWeek.equals(weekStart(day))) {
+                priceRollupJdbcRepository.rollupWeek(rolledWeek);
+            }
+            rolledWeek = weekStart(day);
+            removed += priceRollupJdbcRepository.deleteRawDay(day);
+        }
+        if (rolledWeek != null) {
+            priceRollupJdbcRepository.rollupWeek(rolledWeek);
+        }
+        if (removed > 0) {
+            deleted.increment(removed);
+            priceSeriesStore.invalidateAll();
+        }
+    }
+
+    // First day whose raw rows are kept, never after today
+    private LocalDate retentionCutoff() {
+        long now = epochMillis.getAsLong();
+        LocalDate cutoff = toDay(now - rawRetentionMillis);
+        LocalDate today = toDay(now);
+        return cutoff.isAfter(today) ? today : cutoff;
+    }
+
+    private static LocalDate toDay(long epochMillis) {
+        return PriceSlice.toCloseDate(epochMillis).toLocalDate();
+    }
+
+    private static LocalDate weekStart(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
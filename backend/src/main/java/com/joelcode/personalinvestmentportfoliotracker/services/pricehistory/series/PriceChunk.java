@@ -0,0 +1,106 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series;
+
+import java.util.Arrays;
+
+/**
+ * Immutable, compressed run of price points. Timestamps are stored as zigzag varint delta-of-deltas, so evenly spaced
+ * points cost one byte each; prices are scaled longs stored as zigzag varint deltas, usually one or two bytes.
+ * The first point is kept uncompressed in the header so chunks can be skipped without decoding.
+ */
+final class PriceChunk {
+
+    // Define key fields
+    private final int size;
+    private final long firstTime;
+    private final long lastTime;
+    private final byte[] data;
+
+
+    // Constructor
+    private PriceChunk(int size, long firstTime, long lastTime, byte[] data) {
+        this.size = size;
+        this.firstTime = firstTime;
+        this.lastTime = lastTime;
+        this.data = data;
+    }
+
+
+    // Encode length points starting at offset, timestamps must be strictly increasing
+    static PriceChunk encode(long[] times, long[] prices, int offset, int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("A chunk needs at least one point");
+        }
+
+        // Worst case is ten bytes per varint, two varints per point
+        byte[] buffer = new byte[length * 20];
+        int position = 0;
+        long previousTime = times[offset];
+        long previousDelta = 0;
+        long previousPrice = prices[offset];
+        position = writeVarLong(buffer, position, previousTime);
+        position = writeVarLong(buffer, position, previousPrice);
+        for (int i = offset + 1; i < offset + length; i++) {
+            long delta = times[i] - previousTime;
+            position = writeVarLong(buffer, position, delta - previousDelta);
+            position = writeVarLong(buffer, position, prices[i] - previousPrice);
+            previousTime = times[i];
+            previousDelta = delta;
+            previousPrice = prices[i];
+        }
+        return new PriceChunk(length, times[offset], previousTime, Arrays.copyOf(buffer, position));
+    }
+
+    // Decode every point into the given arrays starting at offset
+    void decode(long[] times, long[] prices, int offset) {
+        int[] position = {0};
+        long time = readVarLong(data, position);
+        long price = readVarLong(data, position);
+        long delta = 0;
+        times[offset] = time;
+        prices[offset] = price;
+        for (int i = 1; i < size; i++) {
+            delta += readVarLong(data, position);
+            time += delta;
+            price += readVarLong(data, position);
+            times[offset + i] = time;
+            prices[offset + i] = price;
+        }
+    }
+
+
+    // Accessors
+
+    int size() {return size;}
+
+    long firstTime() {return firstTime;}
+
+    long lastTime() {return lastTime;}
+
+    // Retained heap: the compressed bytes plus the object, array and field headers
+    long sizeInBytes() {return data.length + 56L;}
+
+
+    // Helper methods
+
+    private static int writeVarLong(byte[] buffer, int position, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        buffer[position++] = (byte) zigzag;
+        return position;
+    }
+
+    private static long readVarLong(byte[] buffer, int[] position) {
+        long zigzag = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer[position[0]++];
+            zigzag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
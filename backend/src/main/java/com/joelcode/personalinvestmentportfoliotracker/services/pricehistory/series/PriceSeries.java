@@ -0,0 +1,189 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Price history of one stock in primitive, columnar form: sealed compressed chunks of CHUNK_SIZE points followed by
+ * an uncompressed tail that takes appends. Queries decode only the chunks they overlap and return a PriceSlice.
+ *
+ * Points must arrive in time order. Appending the time of the last point replaces its price, which is how a
+ * re-flushed price_history bucket lands; anything older is refused and the caller reloads the series instead.
+ */
+public final class PriceSeries {
+
+    static final int CHUNK_SIZE = 256;
+
+    // Define key fields
+    private final List<PriceChunk> chunks = new ArrayList<>();
+    private final long[] tailTimes = new long[CHUNK_SIZE];
+    private final long[] tailPrices = new long[CHUNK_SIZE];
+    private int tailSize;
+    private int sealedSize;
+    private long sealedBytes;
+
+
+    // Append functions
+
+    public synchronized boolean append(long time, long price) {
+        if (tailSize > 0 || !chunks.isEmpty()) {
+            long lastTime = tailSize > 0 ? tailTimes[tailSize - 1] : chunks.get(chunks.size() - 1).lastTime();
+            if (time < lastTime) {
+                return false;
+            }
+            if (time == lastTime) {
+                if (tailSize == 0) {
+                    return false;
+                }
+                tailPrices[tailSize - 1] = price;
+                return true;
+            }
+        }
+
+        tailTimes[tailSize] = time;
+        tailPrices[tailSize] = price;
+        tailSize++;
+        if (tailSize == CHUNK_SIZE) {
+            PriceChunk chunk = PriceChunk.encode(tailTimes, tailPrices, 0, tailSize);
+            chunks.add(chunk);
+            sealedSize += chunk.size();
+            sealedBytes += chunk.sizeInBytes();
+            tailSize = 0;
+        }
+        return true;
+    }
+
+
+    // Query functions
+
+    public synchronized int size() {
+        return sealedSize + tailSize;
+    }
+
+    // Approximate retained heap, used for the store's memory budget
+    public synchronized long sizeInBytes() {
+        return sealedBytes + 2L * CHUNK_SIZE * Long.BYTES + 96L + 8L * chunks.size();
+    }
+
+    public synchronized PriceSlice all() {
+        return decode(0, chunks.size(), true);
+    }
+
+    // Points with from <= time <= to
+    public synchronized PriceSlice range(long from, long to) {
+        if (from > to) {
+            return PriceSlice.EMPTY;
+        }
+
+        int firstChunk = 0;
+        while (firstChunk < chunks.size() && chunks.get(firstChunk).lastTime() < from) {
+            firstChunk++;
+        }
+        int endChunk = firstChunk;
+        while (endChunk < chunks.size() && chunks.get(endChunk).firstTime() <= to) {
+            endChunk++;
+        }
+        PriceSlice decoded = decode(firstChunk, endChunk, tailSize > 0 && tailTimes[0] <= to);
+
+        // Decoded times are sorted, so the range is one contiguous run
+        int start = lowerBound(decoded.times(), from);
+        int end = lowerBound(decoded.times(), to == Long.MAX_VALUE ? to : to + 1);
+        if (start == 0 && end == decoded.size()) {
+            return decoded;
+        }
+        return new PriceSlice(Arrays.copyOfRange(decoded.times(), start, end),
+                Arrays.copyOfRange(decoded.prices(), start, end));
+    }
+
+    // The latest count points
+    public synchronized PriceSlice last(int count) {
+        if (count <= 0) {
+            return PriceSlice.EMPTY;
+        }
+
+        int firstChunk = chunks.size();
+        int available = tailSize;
+        while (available < count && firstChunk > 0) {
+            firstChunk--;
+            available += chunks.get(firstChunk).size();
+        }
+        PriceSlice decoded = decode(firstChunk, chunks.size(), true);
+
+        int start = Math.max(0, decoded.size() - count);
+        if (start == 0) {
+            return decoded;
+        }
+        return new PriceSlice(Arrays.copyOfRange(decoded.times(), start, decoded.size()),
+                Arrays.copyOfRange(decoded.prices(), start, decoded.size()));
+    }
+
+    // At most maxPoints points over [from, to]: the range is cut into equal time buckets and the last point of each
+    // bucket is kept, so every returned price is a real close
+    public synchronized PriceSlice downsample(long from, long to, int maxPoints) {
+        PriceSlice slice = range(from, to);
+        if (maxPoints <= 0 || slice.size() <= maxPoints) {
+            return slice;
+        }
+
+        long[] times = slice.times();
+        long[] prices = slice.prices();
+        long first = times[0];
+        long width = (times[times.length - 1] - first) / maxPoints + 1;
+
+        long[] sampledTimes = new long[maxPoints];
+        long[] sampledPrices = new long[maxPoints];
+        int sampled = 0;
+        for (int i = 0; i < times.length; i++) {
+            boolean lastInBucket = i == times.length - 1 || (times[i + 1] - first) / width != (times[i] - first) / width;
+            if (lastInBucket) {
+                sampledTimes[sampled] = times[i];
+                sampledPrices[sampled] = prices[i];
+                sampled++;
+            }
+        }
+        return new PriceSlice(Arrays.copyOf(sampledTimes, sampled), Arrays.copyOf(sampledPrices, sampled));
+    }
+
+
+    // Helper methods
+
+    // Decode chunks [firstChunk, endChunk) and optionally the tail into one slice
+    private PriceSlice decode(int firstChunk, int endChunk, boolean includeTail) {
+        int tail = includeTail ? tailSize : 0;
+        int length = tail;
+        for (int i = firstChunk; i < endChunk; i++) {
+            length += chunks.get(i).size();
+        }
+        if (length == 0) {
+            return PriceSlice.EMPTY;
+        }
+
+        long[] times = new long[length];
+        long[] prices = new long[length];
+        int position = 0;
+        for (int i = firstChunk; i < endChunk; i++) {
+            PriceChunk chunk = chunks.get(i);
+            chunk.decode(times, prices, position);
+            position += chunk.size();
+        }
+        System.arraycopy(tailTimes, 0, times, position, tail);
+        System.arraycopy(tailPrices, 0, prices, position, tail);
+        return new PriceSlice(times, prices);
+    }
+
+    // Index of the first time >= value
+    private static int lowerBound(long[] times, long value) {
+        int low = 0;
+        int high = times.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (times[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,49 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Decoded, ordered price points of one stock. times are close dates as epoch milliseconds (close_date read as UTC)
+ * and prices are close prices in cents, matching the two decimal places of price_history.close_price.
+ */
+public record PriceSlice(long[] times, long[] prices) {
+
+    public static final int PRICE_SCALE = 2;
+
+    public static final PriceSlice EMPTY = new PriceSlice(new long[0], new long[0]);
+
+    public int size() {
+        return times.length;
+    }
+
+    public LocalDateTime closeDate(int index) {
+        return toCloseDate(times[index]);
+    }
+
+    public BigDecimal closePrice(int index) {
+        return BigDecimal.valueOf(prices[index], PRICE_SCALE);
+    }
+
+    public double closePriceAsDouble(int index) {
+        return prices[index] / 100.0;
+    }
+
+
+    // Conversions between price_history columns and the primitive representation
+
+    public static long toTime(LocalDateTime closeDate) {
+        return closeDate.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    public static LocalDateTime toCloseDate(long time) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneOffset.UTC);
+    }
+
+    public static long toPrice(BigDecimal closePrice) {
+        return closePrice.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
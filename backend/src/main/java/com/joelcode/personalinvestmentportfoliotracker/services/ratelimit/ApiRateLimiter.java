@@ -0,0 +1,154 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.ratelimit;
+
+import com.joelcode.personalinvestmentportfoliotracker.exceptions.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token bucket rate limits for the external market data APIs, enforced by the API clients before every
+ * outbound HTTP call.
+ *
+ * INTERACTIVE calls queue for the next token and wait up to their max wait. BACKGROUND calls only ever take
+ * free tokens outside the interactive reserve and poll until their max wait runs out, so they can never push
+ * an interactive call further back in the queue. A call that cannot get a token in time fails with
+ * RateLimitExceededException instead of reaching the API and coming back as a 429.
+ *
+ * Metrics: app.ratelimit.available{api, lane}, app.ratelimit.throttled{api, lane} (calls that had to wait)
+ * and app.ratelimit.rejected{api, lane}
+ */
+@Component
+public class ApiRateLimiter {
+
+    public enum Api {
+        FINNHUB, YAHOO_FINANCE
+    }
+
+    // Background calls re-check a busy bucket at least this often
+    private static final long MAX_POLL_NANOS = Duration.ofMillis(250).toNanos();
+
+    // Define key fields
+    private final Map<Api, TokenBucket> buckets = new EnumMap<>(Api.class);
+    private final Map<RequestPriority, Long> maxWaitNanos = new EnumMap<>(RequestPriority.class);
+    private final Map<Api, Map<RequestPriority, Counter>> throttled = new EnumMap<>(Api.class);
+    private final Map<Api, Map<RequestPriority, Counter>> rejected = new EnumMap<>(Api.class);
+
+
+    // Constructor
+    @Autowired
+    public ApiRateLimiter(MeterRegistry meterRegistry,
+                          @Value("${rate-limit.finnhub.per-minute:60}") int finnhubPerMinute,
+                          @Value("${rate-limit.finnhub.burst:30}") int finnhubBurst,
+                          @Value("${rate-limit.finnhub.interactive-reserve:10}") int finnhubReserve,
+                          @Value("${rate-limit.yahoo.per-minute:120}") int yahooPerMinute,
+                          @Value("${rate-limit.yahoo.burst:20}") int yahooBurst,
+                          @Value("${rate-limit.yahoo.interactive-reserve:5}") int yahooReserve,
+                          @Value("${rate-limit.interactive.max-wait:2s}") Duration interactiveMaxWait,
+                          @Value("${rate-limit.background.max-wait:10s}") Duration backgroundMaxWait) {
+        this(meterRegistry,
+                Map.of(Api.FINNHUB, new TokenBucket(finnhubPerMinute, finnhubBurst, finnhubReserve),
+                        Api.YAHOO_FINANCE, new TokenBucket(yahooPerMinute, yahooBurst, yahooReserve)),
+                interactiveMaxWait, backgroundMaxWait);
+    }
+
+    public ApiRateLimiter(MeterRegistry meterRegistry, Map<Api, TokenBucket> buckets,
+                          Duration interactiveMaxWait, Duration backgroundMaxWait) {
+        this.buckets.putAll(buckets);
+        this.maxWaitNanos.put(RequestPriority.INTERACTIVE, interactiveMaxWait.toNanos());
+        this.maxWaitNanos.put(RequestPriority.BACKGROUND, backgroundMaxWait.toNanos());
+
+        for (Map.Entry<Api, TokenBucket> entry : this.buckets.entrySet()) {
+            String api = entry.getKey().name().toLowerCase();
+            Map<RequestPriority, Counter> throttledByLane = new EnumMap<>(RequestPriority.class);
+            Map<RequestPriority, Counter> rejectedByLane = new EnumMap<>(RequestPriority.class);
+            for (RequestPriority lane : RequestPriority.values()) {
+                String laneTag = lane.name().toLowerCase();
+                TokenBucket bucket = entry.getValue();
+                Gauge.builder("app.ratelimit.available", bucket, b -> b.available(lane))
+                        .tag("api", api).tag("lane", laneTag)
+                        .register(meterRegistry);
+                throttledByLane.put(lane, Counter.builder("app.ratelimit.throttled")
+                        .tag("api", api).tag("lane", laneTag)
+                        .register(meterRegistry));
+                rejectedByLane.put(lane, Counter.builder("app.ratelimit.rejected")
+                        .tag("api", api).tag("lane", laneTag)
+                        .register(meterRegistry));
+            }
+            throttled.put(entry.getKey(), throttledByLane);
+            rejected.put(entry.getKey(), rejectedByLane);
+        }
+    }
+
+
+    // Rate limit functions
+
+    // Block until the current lane may call the API, or throw once its max wait would be exceeded
+    public void acquire(Api api) {
+        RequestPriority lane = RequestPriority.current();
+        TokenBucket bucket = buckets.get(api);
+        if (bucket.tryAcquire(lane)) {
+            return;
+        }
+
+        throttled.get(api).get(lane).increment();
+        boolean acquired = lane == RequestPriority.INTERACTIVE
+                ? waitForReservation(bucket, lane)
+                : pollUntilFree(bucket, lane);
+        if (!acquired) {
+            rejected.get(api).get(lane).increment();
+            throw new RateLimitExceededException(api.name() + " rate limit reached for " + lane.name().toLowerCase() + " calls");
+        }
+    }
+
+    // Tokens the lane could take from the API's bucket right now
+    public int available(Api api, RequestPriority lane) {
+        return buckets.get(api).available(lane);
+    }
+
+
+    // Helper methods
+
+    private boolean waitForReservation(TokenBucket bucket, RequestPriority lane) {
+        long wait = bucket.reserve(lane, maxWaitNanos.get(lane));
+        if (wait < 0) {
+            return false;
+        }
+        sleep(wait);
+        return true;
+    }
+
+    private boolean pollUntilFree(TokenBucket bucket, RequestPriority lane) {
+        long deadline = System.nanoTime() + maxWaitNanos.get(lane);
+        while (true) {
+            long remaining = deadline - System.nanoTime();
+            long wait = bucket.nanosUntilAvailable(lane);
+            if (wait > remaining) {
+                return false;
+            }
+            sleep(Math.min(Math.max(wait, 1_000_000L), MAX_POLL_NANOS));
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            if (bucket.tryAcquire(lane)) {
+                return true;
+            }
+        }
+    }
+
+    private static void sleep(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        long remaining = nanos;
+        while (remaining > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.ratelimit;
+
+import java.util.function.Supplier;
+
+/**
+ * Rate limiter lane for outbound API calls made on the current thread.
+ *
+ * Calls are INTERACTIVE unless wrapped in BACKGROUND.call, which scheduled jobs and enrichment use so that
+ * user-facing requests keep a share of the budget to themselves.
+ */
+public enum RequestPriority {
+    INTERACTIVE,
+    BACKGROUND;
+
+    private static final ThreadLocal<RequestPriority> CURRENT = ThreadLocal.withInitial(() -> INTERACTIVE);
+
+    public static RequestPriority current() {
+        return CURRENT.get();
+    }
+
+    // Run the call in this lane, restoring the previous lane afterwards
+    public <T> T call(Supplier<T> call) {
+        RequestPriority previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket.
+ *
+ * The whole state is one atomic "theoretical arrival time": the instant at which the bucket would be full
+ * again. Taking a token pushes it forward by one refill interval, and the bucket is empty once it runs more
+ * than a full bucket's worth of intervals ahead of now. Every update is a single compare-and-set.
+ *
+ * The last reservedForInteractive tokens can only be taken by the INTERACTIVE lane, so background work can
+ * never drain the bucket that user requests depend on.
+ */
+public class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long capacityNanos;
+    private final long backgroundCapacityNanos;
+    private final LongSupplier clock;
+
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int tokensPerMinute, int capacity, int reservedForInteractive) {
+        this(tokensPerMinute, capacity, reservedForInteractive, System::nanoTime);
+    }
+
+    public TokenBucket(int tokensPerMinute, int capacity, int reservedForInteractive, LongSupplier clock) {
+        if (tokensPerMinute <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Token bucket rate and capacity must be positive");
+        }
+        if (reservedForInteractive < 0 || reservedForInteractive >= capacity) {
+            throw new IllegalArgumentException("Interactive reserve must be smaller than the bucket capacity");
+        }
+        this.nanosPerToken = 60_000_000_000L / tokensPerMinute;
+        this.capacityNanos = capacity * nanosPerToken;
+        this.backgroundCapacityNanos = (capacity - reservedForInteractive) * nanosPerToken;
+        this.clock = clock;
+        this.fullAt = new AtomicLong(clock.getAsLong());
+    }
+
+
+    // Take a token only if one is free for the lane right now
+    public boolean tryAcquire(RequestPriority lane) {
+        long ceiling = ceiling(lane);
+        while (true) {
+            long now = clock.getAsLong();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            if (next - now > ceiling) {
+                return false;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    // Claim the next token for the lane even if it is not free yet. Returns how long the caller must wait before
+    // using it, or -1 without claiming anything if that wait would be longer than maxWaitNanos.
+    public long reserve(RequestPriority lane, long maxWaitNanos) {
+        long ceiling = ceiling(lane);
+        while (true) {
+            long now = clock.getAsLong();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            long wait = Math.max(0, next - now - ceiling);
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return wait;
+            }
+        }
+    }
+
+    // Time until the lane could take a token, zero if it can now
+    public long nanosUntilAvailable(RequestPriority lane) {
+        long now = clock.getAsLong();
+        return Math.max(0, Math.max(fullAt.get(), now) + nanosPerToken - now - ceiling(lane));
+    }
+
+    // Whole tokens the lane could take right now
+    public int available(RequestPriority lane) {
+        long now = clock.getAsLong();
+        long backlog = Math.max(fullAt.get(), now) - now;
+        return (int) Math.max(0, (ceiling(lane) - backlog) / nanosPerToken);
+    }
+
+    private long ceiling(RequestPriority lane) {
+        return lane == RequestPriority.INTERACTIVE ? capacityNanos : backgroundCapacityNanos;
+    }
+}
@@ -0,0 +1,169 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.resilience;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker for one provider endpoint.
+ *
+ * The outcome of the last windowSize calls is kept in a ring buffer. Once at least minimumCalls have been seen,
+ * the breaker opens when the share of failed calls or the share of calls slower than slowCallDuration reaches
+ * its threshold. While OPEN every call is refused. After openDuration it goes HALF_OPEN and lets halfOpenProbes
+ * calls through: if they all succeed in time the breaker closes with a fresh window, the first failed or slow
+ * probe opens it again.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED(0), HALF_OPEN(1), OPEN(2);
+
+        private final int level;
+
+        State(int level) {
+            this.level = level;
+        }
+
+        // Gauge value: 0 closed, 1 half open, 2 open
+        public int level() {
+            return level;
+        }
+    }
+
+    public record Settings(int windowSize, int minimumCalls, int failureRateThreshold, Duration slowCallDuration,
+                           int slowCallRateThreshold, Duration openDuration, int halfOpenProbes) {
+
+        public Settings {
+            if (windowSize <= 0 || minimumCalls <= 0 || minimumCalls > windowSize || halfOpenProbes <= 0) {
+                throw new IllegalArgumentException("Circuit breaker window, minimum calls and probes must be positive, "
+                        + "with minimum calls no larger than the window");
+            }
+        }
+    }
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final Settings settings;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    // Guarded by this
+    private final byte[] outcomes;
+    private int recorded;
+    private int next;
+    private int failures;
+    private int slowCalls;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesStarted;
+    private int probesPassed;
+
+    public CircuitBreaker(Settings settings) {
+        this(settings, System::nanoTime);
+    }
+
+    public CircuitBreaker(Settings settings, LongSupplier clock) {
+        this.settings = settings;
+        this.slowCallNanos = settings.slowCallDuration().toNanos();
+        this.openNanos = settings.openDuration().toNanos();
+        this.clock = clock;
+        this.outcomes = new byte[settings.windowSize()];
+    }
+
+
+    // Ask to make a call. Every granted call must be reported through onResult or onIgnored.
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesStarted = 0;
+            probesPassed = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesStarted >= settings.halfOpenProbes()) {
+                return false;
+            }
+            probesStarted++;
+        }
+        return true;
+    }
+
+    // Report a granted call that reached the provider
+    public synchronized void onResult(boolean failed, long durationNanos) {
+        boolean slow = durationNanos > slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (failed || slow) {
+                open();
+            } else if (++probesPassed >= settings.halfOpenProbes()) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // Call was granted before another one tripped the breaker
+            return;
+        }
+
+        record(failed ? FAILURE : slow ? SLOW : SUCCESS);
+        if (recorded >= settings.minimumCalls()
+                && (failures * 100 >= settings.failureRateThreshold() * recorded
+                || slowCalls * 100 >= settings.slowCallRateThreshold() * recorded)) {
+            open();
+        }
+    }
+
+    // Report a granted call that never reached the provider, giving a half-open probe slot back
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesStarted > probesPassed) {
+            probesStarted--;
+        }
+    }
+
+    public synchronized State getState() {
+        // Report HALF_OPEN as soon as the open period is over, not only once the next call arrives
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+
+    // Helper methods
+
+    private void record(byte outcome) {
+        if (recorded == outcomes.length) {
+            byte evicted = outcomes[next];
+            if (evicted == FAILURE) {
+                failures--;
+            } else if (evicted == SLOW) {
+                slowCalls--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = outcome;
+        next = (next + 1) % outcomes.length;
+        if (outcome == FAILURE) {
+            failures++;
+        } else if (outcome == SLOW) {
+            slowCalls++;
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
@@ -0,0 +1,296 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.resilience;
+
+import com.joelcode.personalinvestmentportfoliotracker.exceptions.CircuitOpenException;
+import com.joelcode.personalinvestmentportfoliotracker.exceptions.RateLimitExceededException;
+import com.joelcode.personalinvestmentportfoliotracker.monitoring.ExternalApiHealthTracker;
+import com.joelcode.personalinvestmentportfoliotracker.monitoring.RequestProfile;
+import com.joelcode.personalinvestmentportfoliotracker.services.cache.ExpiringCache;
+import com.joelcode.personalinvestmentportfoliotracker.services.ratelimit.RequestPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breakers and stale-while-revalidate for external market data calls.
+ *
+ * Every provider endpoint has its own CircuitBreaker, and the last good response for every key is kept. For
+ * INTERACTIVE callers that already have a last known value:
+ * - while the breaker is open the value is served straight away;
+ * - otherwise the call runs on the stale refresh pool and the caller waits at most resilience.stale.serve-after before being
+ *   served the last known value, while that single refresh carries on and updates it;
+ * - a failed call also falls back to the value.
+ * Callers without a value wait for the call as before, or get CircuitOpenException while the breaker is open.
+ * BACKGROUND callers never get stale data, so jobs such as price ingestion only ever record live values.
+ *
+ * Stale responses carry a "Warning: 110" header when served to an HTTP request. Provider 4xx responses other than
+ * 429 count as healthy calls and are never hidden behind a stale value; rate limiter rejections never reach the
+ * provider and do not count either way.
+ *
+ * Every call that reaches the provider is also reported to ExternalApiHealthTracker, which backs the health endpoint,
+ * and to the current RequestProfile.
+ *
+ * Metrics: app.circuitbreaker.state{provider, endpoint} (0 closed, 1 half open, 2 open),
+ * app.circuitbreaker.calls{provider, endpoint, outcome=success|slow|failure|rejected},
+ * app.outbound.duration{provider, endpoint, outcome=success|failure} with a percentile histogram, and
+ * app.marketdata.stale{provider, endpoint}
+ */
+@Component
+public class ResilientCallExecutor {
+
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    // Define key fields
+    private final ExecutorService staleRefreshExecutor;
+    private final MeterRegistry meterRegistry;
+    private final ExternalApiHealthTracker healthTracker;
+    private final CircuitBreaker.Settings breakerSettings;
+    private final long slowCallNanos;
+    private final Duration serveStaleAfter;
+
+    private final ExpiringCache<String, Object> lastKnownValues;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Object>> refreshing = new ConcurrentHashMap<>();
+
+
+    // Constructor
+    @Autowired
+    public ResilientCallExecutor(@Qualifier("staleRefreshExecutor") ExecutorService staleRefreshExecutor,
+                                 MeterRegistry meterRegistry,
+                                 ExternalApiHealthTracker healthTracker,
+                                 @Value("${resilience.breaker.window-size:20}") int windowSize,
+                                 @Value("${resilience.breaker.minimum-calls:10}") int minimumCalls,
+                                 @Value("${resilience.breaker.failure-rate-threshold:50}") int failureRateThreshold,
+                                 @Value("${resilience.breaker.slow-call-duration:2s}") Duration slowCallDuration,
+                                 @Value("${resilience.breaker.slow-call-rate-threshold:50}") int slowCallRateThreshold,
+                                 @Value("${resilience.breaker.open-duration:30s}") Duration openDuration,
+                                 @Value("${resilience.breaker.half-open-probes:3}") int halfOpenProbes,
+                                 @Value("${resilience.stale.serve-after:1s}") Duration serveStaleAfter,
+                                 @Value("${resilience.stale.max-age:24h}") Duration staleMaxAge,
+                                 @Value("${resilience.stale.max-size:5000}") int staleMaxSize) {
+        this(staleRefreshExecutor, meterRegistry, healthTracker,
+                new CircuitBreaker.Settings(windowSize, minimumCalls, failureRateThreshold, slowCallDuration,
+                        slowCallRateThreshold, openDuration, halfOpenProbes),
+                serveStaleAfter, staleMaxAge, staleMaxSize);
+    }
+
+    public ResilientCallExecutor(ExecutorService staleRefreshExecutor, MeterRegistry meterRegistry,
+                                 ExternalApiHealthTracker healthTracker, CircuitBreaker.Settings breakerSettings, Duration serveStaleAfter,
+                                 Duration staleMaxAge, int staleMaxSize) {
+        this.staleRefreshExecutor = staleRefreshExecutor;
+        this.meterRegistry = meterRegistry;
+        this.healthTracker = healthTracker;
+        this.breakerSettings = breakerSettings;
+        this.slowCallNanos = breakerSettings.slowCallDuration().toNanos();
+        this.serveStaleAfter = serveStaleAfter;
+        this.lastKnownValues = new ExpiringCache<>("resilience.last-known", staleMaxAge, staleMaxSize, meterRegistry);
+    }
+
+
+    // Resilience functions
+
+    // Run one provider call for key, keeping its result as the last known value
+    @SuppressWarnings("unchecked")
+    public <V> V call(String provider, String endpoint, String key, Supplier<V> call) {
+        Endpoint target = endpoint(provider, endpoint);
+        String valueKey = provider + ":" + endpoint + ":" + key;
+        RequestPriority lane = RequestPriority.current();
+        V stale = lane == RequestPriority.INTERACTIVE ? (V) lastKnownValues.getIfFresh(valueKey) : null;
+
+        if (stale != null && refreshing.containsKey(valueKey)) {
+            return serveStale(target, stale);
+        }
+        if (!target.breaker().tryAcquirePermission()) {
+            target.rejected().increment();
+            if (stale != null) {
+                return serveStale(target, stale);
+            }
+            throw new CircuitOpenException(provider + " " + endpoint + " is temporarily unavailable");
+        }
+        if (stale == null) {
+            return invoke(target, valueKey, call);
+        }
+        return refreshOrServeStale(target, valueKey, lane, call, stale);
+    }
+
+    public CircuitBreaker.State getState(String provider, String endpoint) {
+        return endpoint(provider, endpoint).breaker().getState();
+    }
+
+
+    // Helper methods
+
+    @SuppressWarnings("unchecked")
+    private <V> V refreshOrServeStale(Endpoint target, String valueKey, RequestPriority lane, Supplier<V> call, V stale) {
+        CompletableFuture<Object> refresh = new CompletableFuture<>();
+        if (refreshing.putIfAbsent(valueKey, refresh) != null) {
+            target.breaker().onIgnored();
+            return serveStale(target, stale);
+        }
+
+        try {
+            // The refresh is unregistered before it completes, so a caller woken by it never sees it as running
+            staleRefreshExecutor.execute(() -> {
+                Object value;
+                try {
+                    value = lane.call(() -> invoke(target, valueKey, call));
+                } catch (Throwable e) {
+                    refreshing.remove(valueKey, refresh);
+                    refresh.completeExceptionally(e);
+                    return;
+                }
+                refreshing.remove(valueKey, refresh);
+                refresh.complete(value);
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(valueKey, refresh);
+            target.breaker().onIgnored();
+            return serveStale(target, stale);
+        }
+
+        try {
+            return (V) refresh.get(serveStaleAfter.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // The refresh keeps running and replaces the last known value when it lands
+            return serveStale(target, stale);
+        } catch (ExecutionException e) {
+            if (isClientError(e.getCause())) {
+                throw (RuntimeException) e.getCause();
+            }
+            return serveStale(target, stale);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return serveStale(target, stale);
+        }
+    }
+
+    private <V> V invoke(Endpoint target, String valueKey, Supplier<V> call) {
+        long start = System.nanoTime();
+        V value;
+        try {
+            value = call.get();
+        } catch (RuntimeException e) {
+            if (isIgnored(e)) {
+                target.breaker().onIgnored();
+            } else if (isClientError(e)) {
+                record(target, false, System.nanoTime() - start);
+            } else {
+                record(target, true, System.nanoTime() - start);
+            }
+            throw e;
+        }
+
+        record(target, false, System.nanoTime() - start);
+        if (value != null) {
+            lastKnownValues.put(valueKey, value);
+        }
+        return value;
+    }
+
+    private void record(Endpoint target, boolean failed, long durationNanos) {
+        target.breaker().onResult(failed, durationNanos);
+        healthTracker.record(target.provider(), target.name(), failed, durationNanos);
+        RequestProfile.recordExternalCall(durationNanos);
+        (failed ? target.failedTime() : target.succeededTime()).record(durationNanos, TimeUnit.NANOSECONDS);
+        if (failed) {
+            target.failed().increment();
+        } else if (durationNanos > slowCallNanos) {
+            target.slow().increment();
+        } else {
+            target.succeeded().increment();
+        }
+    }
+
+    private <V> V serveStale(Endpoint target, V stale) {
+        target.stale().increment();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletResponse response = servletAttributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                response.setHeader("Warning", STALE_WARNING);
+            }
+        }
+        return stale;
+    }
+
+    // Our own rate limiter refused the call before it reached the provider
+    private static boolean isIgnored(Throwable error) {
+        return findCause(error, RateLimitExceededException.class) != null;
+    }
+
+    // The provider answered and rejected the request itself, which says nothing about its health
+    private static boolean isClientError(Throwable error) {
+        HttpClientErrorException clientError = findCause(error, HttpClientErrorException.class);
+        return clientError != null && clientError.getStatusCode().value() != 429 && error instanceof RuntimeException;
+    }
+
+    // Clients wrap provider errors in their own exceptions, so look down the cause chain
+    private static <T extends Throwable> T findCause(Throwable error, Class<T> type) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (type.isInstance(current)) {
+                return type.cast(current);
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    private Endpoint endpoint(String provider, String endpoint) {
+        return endpoints.computeIfAbsent(provider + ":" + endpoint, name -> {
+            CircuitBreaker breaker = new CircuitBreaker(breakerSettings);
+            Gauge.builder("app.circuitbreaker.state", breaker, b -> b.getState().level())
+                    .tag("provider", provider).tag("endpoint", endpoint)
+                    .register(meterRegistry);
+            return new Endpoint(provider, endpoint, breaker,
+                    callCounter(provider, endpoint, "success"),
+                    callCounter(provider, endpoint, "slow"),
+                    callCounter(provider, endpoint, "failure"),
+                    callCounter(provider, endpoint, "rejected"),
+                    callTimer(provider, endpoint, "success"),
+                    callTimer(provider, endpoint, "failure"),
+                    Counter.builder("app.marketdata.stale")
+                            .tag("provider", provider).tag("endpoint", endpoint)
+                            .register(meterRegistry));
+        });
+    }
+
+    private Counter callCounter(String provider, String endpoint, String outcome) {
+        return Counter.builder("app.circuitbreaker.calls")
+                .tag("provider", provider).tag("endpoint", endpoint).tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Timer callTimer(String provider, String endpoint, String outcome) {
+        return Timer.builder("app.outbound.duration")
+                .tag("provider", provider).tag("endpoint", endpoint).tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(5))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+
+    private record Endpoint(String provider, String name, CircuitBreaker breaker, Counter succeeded, Counter slow, Counter failed,
+                            Counter rejected, Timer succeededTime, Timer failedTime, Counter stale) {}
+}
@@ -0,0 +1,51 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.scheduler;
+
+import com.joelcode.personalinvestmentportfoliotracker.logging.BetterStackLogger;
+import com.joelcode.personalinvestmentportfoliotracker.services.marketdata.MarketDataIngestionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@Profile("!test")
+public class MarketDataIngestionScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(MarketDataIngestionScheduler.class);
+
+    private final MarketDataIngestionService marketDataIngestionService;
+    private final BetterStackLogger logger;
+
+    @Autowired
+    public MarketDataIngestionScheduler(MarketDataIngestionService marketDataIngestionService,
+                                        @Autowired(required = false) BetterStackLogger logger) {
+        this.marketDataIngestionService = marketDataIngestionService;
+        this.logger = logger;
+    }
+
+    /**
+     * Scheduled task to refresh prices for every held, watched, ordered or alerted stock
+     * Runs one minute after the previous run finished by default (market-data.ingest.interval-ms)
+     * Read paths only ever read the prices this task writes
+     */
+    @Scheduled(fixedDelayString = "${market-data.ingest.interval-ms:60000}",
+            initialDelayString = "${market-data.ingest.initial-delay-ms:10000}")
+    public void ingestPrices() {
+        try {
+            marketDataIngestionService.ingestPrices();
+        } catch (Exception e) {
+            logError("Market data ingestion failed - " + e.getMessage());
+        }
+    }
+
+    // Helper methods for logging
+    private void logError(String message) {
+        if (logger != null) {
+            logger.error(message);
+        } else {
+            log.error(message);
+        }
+    }
+}
@@ -1,31 +1,42 @@
 package com.joelcode.personalinvestmentportfoliotracker.services.scheduler;
 
-import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
 import com.joelcode.personalinvestmentportfoliotracker.logging.BetterStackLogger;
-import com.joelcode.personalinvestmentportfoliotracker.repositories.AccountRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfoliosnapshot.PortfolioSnapshotBatchService;
 import com.joelcode.personalinvestmentportfoliotracker.services.portfoliosnapshot.PortfolioSnapshotCalculationService;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfoliosnapshot.SnapshotBatchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.time.LocalDate;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
 
 @Service
 @Profile("!test")
 public class PortfolioSnapshotScheduler {
 
-    private final AccountRepository accountRepository;
+    private static final Logger log = LoggerFactory.getLogger(PortfolioSnapshotScheduler.class);
+
+    private final PortfolioSnapshotBatchService snapshotBatchService;
     private final PortfolioSnapshotCalculationService snapshotCalculationService;
+    private final ExecutorService snapshotResumeExecutor;
     private final BetterStackLogger logger;
 
     @Autowired
-    public PortfolioSnapshotScheduler(AccountRepository accountRepository,
+    public PortfolioSnapshotScheduler(PortfolioSnapshotBatchService snapshotBatchService,
                                       PortfolioSnapshotCalculationService snapshotCalculationService,
+                                      @Qualifier("snapshotResumeExecutor") ExecutorService snapshotResumeExecutor,
                                       @Autowired(required = false) BetterStackLogger logger) {
-        this.accountRepository = accountRepository;
+        this.snapshotBatchService = snapshotBatchService;
         this.snapshotCalculationService = snapshotCalculationService;
+        this.snapshotResumeExecutor = snapshotResumeExecutor;
         this.logger = logger;
     }
 
@@ -38,31 +49,27 @@ public class PortfolioSnapshotScheduler {
     public void createDailySnapshotsForAllAccounts() {
         logInfo("Starting daily portfolio snapshot generation for all accounts");
 
-        List<Account> accounts = accountRepository.findAll();
-        int successCount = 0;
-        int failureCount = 0;
+        try {
+            logResult("Daily", snapshotBatchService.runSnapshots(LocalDate.now()));
+        } catch (Exception e) {
+            logError("Daily snapshot generation stopped, it will resume from its checkpoint - " + e.getMessage());
+        }
+    }
 
-        for (Account account : accounts) {
+    /**
+     * Resume today's snapshot run if the application stopped part way through it
+     * Runs on snapshotResumeExecutor so a long resume does not hold up other startup listeners
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeIncompleteSnapshots() {
+        snapshotResumeExecutor.execute(() -> {
             try {
-                UUID accountId = account.getAccountId();
-                snapshotCalculationService.generateSnapshotForToday(accountId);
-                successCount++;
-                logInfo("Generated snapshot for account: " + account.getAccountName() + " (ID: " + accountId + ")");
-            } catch (RuntimeException e) {
-                failureCount++;
-                // Don't stop the entire process if one account fails
-                if (e.getMessage().contains("already exists")) {
-                    logInfo("Snapshot already exists for account: " + account.getAccountName() + " - skipping");
-                } else {
-                    logError("Failed to generate snapshot for account: " + account.getAccountName() + " - " + e.getMessage());
-                }
+                snapshotBatchService.resumeIfIncomplete(LocalDate.now())
+                        .ifPresent(result -> logResult("Resumed", result));
             } catch (Exception e) {
-                failureCount++;
-                logError("Unexpected error generating snapshot for account: " + account.getAccountName() + " - " + e.getMessage());
+                logError("Failed to resume snapshot generation - " + e.getMessage());
             }
-        }
-
-        logInfo("Daily snapshot generation completed. Success: " + successCount + ", Failed: " + failureCount + ", Total: " + accounts.size());
+        });
     }
 
     /**
@@ -86,25 +93,18 @@ public class PortfolioSnapshotScheduler {
     public int createSnapshotsForAllAccounts() {
         logInfo("Manually triggering snapshot generation for all accounts");
 
-        List<Account> accounts = accountRepository.findAll();
-        int successCount = 0;
-
-        for (Account account : accounts) {
-            try {
-                UUID accountId = account.getAccountId();
-                snapshotCalculationService.generateSnapshotForToday(accountId);
-                successCount++;
-            } catch (RuntimeException e) {
-                if (!e.getMessage().contains("already exists")) {
-                    logError("Failed to generate snapshot for account: " + account.getAccountName() + " - " + e.getMessage());
-                }
-            } catch (Exception e) {
-                logError("Unexpected error for account: " + account.getAccountName() + " - " + e.getMessage());
-            }
-        }
+        SnapshotBatchResult result = snapshotBatchService.runSnapshots(LocalDate.now());
+        logResult("Manual", result);
+        return result.snapshotsWritten();
+    }
 
-        logInfo("Manual snapshot generation completed. Generated: " + successCount + " snapshots");
-        return successCount;
+    private void logResult(String run, SnapshotBatchResult result) {
+        logInfo(run + " snapshot generation completed" + (result.resumed() ? " from checkpoint" : "")
+                + ". Accounts: " + result.accountsProcessed()
+                + ", Written: " + result.snapshotsWritten()
+                + ", Failed: " + result.failures()
+                + ", Took: " + result.elapsed().toMillis() + "ms"
+                + String.format(" (%.1f accounts/s)", result.accountsPerSecond()));
     }
 
     // Helper methods for logging
@@ -112,7 +112,7 @@ public class PortfolioSnapshotScheduler {
         if (logger != null) {
             logger.info(message);
         } else {
-            System.out.println("[INFO] " + message);
+            log.info(message);
         }
     }
 
@@ -120,7 +120,7 @@ public class PortfolioSnapshotScheduler {
         if (logger != null) {
             logger.error(message);
         } else {
-            System.err.println("[ERROR] " + message);
+            log.error(message);
         }
     }
 }
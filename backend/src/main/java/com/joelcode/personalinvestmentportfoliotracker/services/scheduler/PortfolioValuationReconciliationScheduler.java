@@ -0,0 +1,61 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.scheduler;
+
+import com.joelcode.personalinvestmentportfoliotracker.logging.BetterStackLogger;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PortfolioValuationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@Profile("!test")
+public class PortfolioValuationReconciliationScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioValuationReconciliationScheduler.class);
+
+    private final PortfolioValuationService portfolioValuationService;
+    private final BetterStackLogger logger;
+
+    @Autowired
+    public PortfolioValuationReconciliationScheduler(PortfolioValuationService portfolioValuationService,
+                                                     @Autowired(required = false) BetterStackLogger logger) {
+        this.portfolioValuationService = portfolioValuationService;
+        this.logger = logger;
+    }
+
+    /**
+     * Scheduled task to check the in-memory valuations against the database
+     * Runs every five minutes by default (portfolio.valuation.reconcile-cron)
+     * Accounts whose running totals drifted are rebuilt from the database
+     */
+    @Scheduled(cron = "${portfolio.valuation.reconcile-cron:0 */5 * * * *}")
+    public void reconcileValuations() {
+        try {
+            int drifted = portfolioValuationService.reconcileAll();
+            if (drifted > 0) {
+                logWarn("Valuation reconciliation rebuilt " + drifted + " drifted account(s)");
+            }
+        } catch (Exception e) {
+            logError("Valuation reconciliation failed - " + e.getMessage());
+        }
+    }
+
+    // Helper methods for logging
+    private void logWarn(String message) {
+        if (logger != null) {
+            logger.warn(message);
+        } else {
+            log.warn(message);
+        }
+    }
+
+    private void logError(String message) {
+        if (logger != null) {
+            logger.error(message);
+        } else {
+            log.error(message);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.scheduler;
+
+import com.joelcode.personalinvestmentportfoliotracker.logging.BetterStackLogger;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@Profile("!test")
+public class PriceHistoryFlushScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceHistoryFlushScheduler.class);
+
+    private final PriceRecorder priceRecorder;
+    private final BetterStackLogger logger;
+
+    @Autowired
+    public PriceHistoryFlushScheduler(PriceRecorder priceRecorder,
+                                      @Autowired(required = false) BetterStackLogger logger) {
+        this.priceRecorder = priceRecorder;
+        this.logger = logger;
+    }
+
+    /**
+     * Scheduled task to write the prices buffered by the price recorder
+     * Runs five seconds after the previous flush finished by default (price-history.recorder.flush-interval-ms)
+     */
+    @Scheduled(fixedDelayString = "${price-history.recorder.flush-interval-ms:5000}")
+    public void flushPrices() {
+        try {
+            priceRecorder.flush();
+        } catch (Exception e) {
+            logError("Price history flush failed - " + e.getMessage());
+        }
+    }
+
+    // Helper methods for logging
+    private void logError(String message) {
+        if (logger != null) {
+            logger.error(message);
+        } else {
+            log.error(message);
+        }
+    }
+}
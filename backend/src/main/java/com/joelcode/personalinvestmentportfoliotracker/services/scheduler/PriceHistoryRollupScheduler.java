@@ -0,0 +1,50 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.scheduler;
+
+import com.joelcode.personalinvestmentportfoliotracker.logging.BetterStackLogger;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.rollup.PriceRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@Profile("!test")
+public class PriceHistoryRollupScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceHistoryRollupScheduler.class);
+
+    private final PriceRollupService priceRollupService;
+    private final BetterStackLogger logger;
+
+    @Autowired
+    public PriceHistoryRollupScheduler(PriceRollupService priceRollupService,
+                                       @Autowired(required = false) BetterStackLogger logger) {
+        this.priceRollupService = priceRollupService;
+        this.logger = logger;
+    }
+
+    /**
+     * Scheduled task to roll price history up into the daily and weekly tiers and apply raw retention
+     * Runs an hour after the previous run finished by default (price-history.rollup.interval-ms)
+     */
+    @Scheduled(fixedDelayString = "${price-history.rollup.interval-ms:3600000}",
+            initialDelayString = "${price-history.rollup.initial-delay-ms:60000}")
+    public void rollupPriceHistory() {
+        try {
+            priceRollupService.rollup();
+        } catch (Exception e) {
+            logError("Price history rollup failed - " + e.getMessage());
+        }
+    }
+
+    // Helper methods for logging
+    private void logError(String message) {
+        if (logger != null) {
+            logger.error(message);
+        } else {
+            log.error(message);
+        }
+    }
+}
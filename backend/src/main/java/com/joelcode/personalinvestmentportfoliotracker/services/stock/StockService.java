@@ -6,7 +6,9 @@ import com.joelcode.personalinvestmentportfoliotracker.dto.stock.StockUpdateRequ
 import com.joelcode.personalinvestmentportfoliotracker.entities.Stock;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface StockService {
@@ -23,6 +25,10 @@ public interface StockService {
 
     BigDecimal getCurrentPrice(UUID stockId);
 
+    Map<UUID, BigDecimal> getCurrentPrices(Collection<UUID> stockIds);
+
+    int recordPrices(Map<UUID, BigDecimal> prices);
+
     void deleteStock(UUID id);
 
     void populateMissingIndustryData(Stock stock);
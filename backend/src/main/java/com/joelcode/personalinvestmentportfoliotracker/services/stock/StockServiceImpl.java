@@ -9,14 +9,21 @@ import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceHistory
 import com.joelcode.personalinvestmentportfoliotracker.repositories.StockRepository;
 import com.joelcode.personalinvestmentportfoliotracker.services.finnhub.FinnhubApiClient;
 import com.joelcode.personalinvestmentportfoliotracker.services.mapping.StockMapper;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PriceTickEvent;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceRecorder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -29,14 +36,20 @@ public class StockServiceImpl implements StockService {
     private final StockValidationService stockValidationService;
     private final PriceHistoryRepository priceHistoryRepository;
     private final FinnhubApiClient finnhubApiClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PriceRecorder priceRecorder;
 
 
     // Constructor
-    public StockServiceImpl(StockRepository stockRepository, StockValidationService stockValidationService, PriceHistoryRepository priceHistoryRepository, FinnhubApiClient finnhubApiClient) {
+    public StockServiceImpl(StockRepository stockRepository, StockValidationService stockValidationService,
+                            PriceHistoryRepository priceHistoryRepository, FinnhubApiClient finnhubApiClient,
+                            ApplicationEventPublisher eventPublisher, PriceRecorder priceRecorder) {
         this.stockRepository = stockRepository;
         this.stockValidationService = stockValidationService;
         this.priceHistoryRepository = priceHistoryRepository;
         this.finnhubApiClient = finnhubApiClient;
+        this.eventPublisher = eventPublisher;
+        this.priceRecorder = priceRecorder;
     }
 
 
@@ -57,8 +70,8 @@ public class StockServiceImpl implements StockService {
         // Save to db
         stock = stockRepository.save(stock);
 
-        // ✅ Option 1 Implementation: Create initial price history record
-        savePriceHistory(stock, stock.getStockValue());
+        // Initial price history record, written by the price recorder
+        priceRecorder.record(stock.getStockId(), stock.getStockValue());
 
         // Map entity to dto
         return StockMapper.toDTO(stock);
@@ -114,33 +127,21 @@ public class StockServiceImpl implements StockService {
         return StockMapper.toDTO(stock);
     }
 
-    // Get current price
+    // Get current price from the database, prices are kept fresh by the market data ingestion
     @Override
-    @Transactional(readOnly = false)
     public BigDecimal getCurrentPrice(UUID stockId) {
 
         // Validate stock exists
         Stock stock = stockRepository.findByStockId(stockId)
                 .orElseThrow(() -> new IllegalArgumentException("Stock with ID " + stockId + " does not exist."));
 
-        try {
-            // Fetch real-time price from FinnHub
-            BigDecimal realtimePrice = finnhubApiClient.getCurrentPrice(stock.getStockCode());
-            if (realtimePrice != null && realtimePrice.compareTo(BigDecimal.ZERO) > 0) {
-                // Update stock value with real-time price
-                stock.setStockValue(realtimePrice);
-                stockRepository.save(stock);
-
-                // Optionally save to price history for tracking
-                savePriceHistory(stock, realtimePrice);
-
-                return realtimePrice;
-            }
-        } catch (Exception e) {
-            // Silently fall back to database if FinnHub call fails
+        // A recorded price that has not been flushed yet is the freshest
+        BigDecimal pendingPrice = priceRecorder.getPendingPrice(stockId);
+        if (pendingPrice != null) {
+            return pendingPrice;
         }
 
-        // Fallback: Try to fetch latest price history record
+        // Try to fetch latest price history record
         Optional<PriceHistory> latestPrice = priceHistoryRepository
                 .findTopByStockOrderByCloseDateDesc(stock);
 
@@ -150,17 +151,56 @@ public class StockServiceImpl implements StockService {
                 .orElse(stock.getStockValue());
     }
 
-    // Helper method to save price history
-    private void savePriceHistory(Stock stock, BigDecimal price) {
-        try {
-            PriceHistory priceHistory = new PriceHistory();
-            priceHistory.setStock(stock);
-            priceHistory.setClosePrice(price);
-            priceHistory.setCloseDate(LocalDateTime.now());
-            priceHistoryRepository.save(priceHistory);
-        } catch (Exception e) {
-            // Silently ignore if price history save fails
+    // Get current prices for several stocks: one stock query and one latest-price query
+    @Override
+    public Map<UUID, BigDecimal> getCurrentPrices(Collection<UUID> stockIds) {
+        Map<UUID, BigDecimal> prices = new HashMap<>();
+        if (stockIds == null || stockIds.isEmpty()) {
+            return prices;
+        }
+
+        Set<UUID> ids = new HashSet<>(stockIds);
+        List<Stock> stocks = stockRepository.findAllById(ids);
+
+        Map<UUID, PriceHistory> latestPrices = new HashMap<>();
+        for (PriceHistory priceHistory : priceHistoryRepository.findLatestByStockIds(ids)) {
+            latestPrices.putIfAbsent(priceHistory.getStock().getStockId(), priceHistory);
+        }
+
+        for (Stock stock : stocks) {
+            // Unflushed recorded price, then latest price history record, otherwise stock.stockValue
+            PriceHistory latest = latestPrices.get(stock.getStockId());
+            BigDecimal price = priceRecorder.getPendingPrice(stock.getStockId());
+            if (price == null) {
+                price = latest != null ? latest.getClosePrice() : stock.getStockValue();
+            }
+            if (price != null) {
+                prices.put(stock.getStockId(), price);
+            }
+        }
+
+        return prices;
+    }
+
+    // Record freshly polled prices: the price recorder coalesces them into price history rows and stock values
+    // and writes them in batches, a tick is published per stock straight away
+    @Override
+    public int recordPrices(Map<UUID, BigDecimal> prices) {
+        if (prices == null || prices.isEmpty()) {
+            return 0;
+        }
+
+        int recorded = 0;
+        for (Stock stock : stockRepository.findAllById(prices.keySet())) {
+            BigDecimal price = prices.get(stock.getStockId());
+            if (price == null || price.compareTo(BigDecimal.ZERO) <= 0) {
+                continue;
+            }
+            priceRecorder.record(stock.getStockId(), price);
+            eventPublisher.publishEvent(new PriceTickEvent(stock.getStockId(), price));
+            recorded++;
         }
+        return recorded;
     }
 
     // Helper method to fetch and populate missing industry data from FinnHub
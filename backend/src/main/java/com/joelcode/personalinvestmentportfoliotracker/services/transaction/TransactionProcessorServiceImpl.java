@@ -11,8 +11,11 @@ import com.joelcode.personalinvestmentportfoliotracker.services.account.AccountS
 import com.joelcode.personalinvestmentportfoliotracker.services.dividendpayment.DividendPaymentCalculationService;
 import com.joelcode.personalinvestmentportfoliotracker.services.holding.HoldingCalculationService;
 import com.joelcode.personalinvestmentportfoliotracker.services.holding.HoldingService;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.CashBalanceChangedEvent;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PositionChangedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
@@ -40,6 +43,7 @@ public class TransactionProcessorServiceImpl implements TransactionProcessorServ
     private final AccountRepository accountRepository;
     private final HoldingRepository holdingRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     // Constructor
@@ -48,7 +52,8 @@ public class TransactionProcessorServiceImpl implements TransactionProcessorServ
                                            AccountService accountService,
                                            DividendPaymentCalculationService dividendPaymentCalculationService,
                                            AccountRepository accountRepository, HoldingRepository holdingRepository,
-                                           SimpMessagingTemplate messagingTemplate) {
+                                           SimpMessagingTemplate messagingTemplate,
+                                           ApplicationEventPublisher eventPublisher) {
         this.transactionService = transactionService;
         this.holdingService = holdingService;
         this.holdingCalculationService = holdingCalculationService;
@@ -57,6 +62,7 @@ public class TransactionProcessorServiceImpl implements TransactionProcessorServ
         this.accountRepository = accountRepository;
         this.holdingRepository = holdingRepository;
         this.messagingTemplate = messagingTemplate;
+        this.eventPublisher = eventPublisher;
     }
 
 
@@ -128,6 +134,7 @@ public class TransactionProcessorServiceImpl implements TransactionProcessorServ
 
                 try {
                     holdingRepository.delete(holding);
+                    eventPublisher.publishEvent(PositionChangedEvent.closed(holding));
                     logger.info("✅ Holding deleted successfully - Holding ID: {}", holding.getHoldingId());
                 } catch (Exception e) {
                     logger.error("❌ Failed to delete holding - Holding ID: {}, Error: {}",
@@ -141,6 +148,7 @@ public class TransactionProcessorServiceImpl implements TransactionProcessorServ
 
         // 🔑 KEY: Save account with updated balance
         account = accountRepository.save(account);
+        eventPublisher.publishEvent(new CashBalanceChangedEvent(account.getAccountId(), account.getCashBalance()));
 
         // Create transaction and update/create holding
         holdingService.updateOrCreateHoldingFromTransaction(request);
@@ -10,6 +10,7 @@ import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
 import com.joelcode.personalinvestmentportfoliotracker.entities.User;
 import com.joelcode.personalinvestmentportfoliotracker.model.CustomUserDetails;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.UserRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.customuserdetails.CustomUserDetailsService;
 import com.joelcode.personalinvestmentportfoliotracker.services.mapping.AccountMapper;
 import com.joelcode.personalinvestmentportfoliotracker.services.mapping.UserMapper;
 import org.springframework.context.annotation.Profile;
@@ -34,13 +35,16 @@ public class UserServiceImpl implements UserService{
     private final UserRepository userRepository;
     private final UserValidationService userValidationService;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService customUserDetailsService;
 
 
     // Constructor
-    public UserServiceImpl(UserRepository userRepository, UserValidationService userValidationService, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, UserValidationService userValidationService, PasswordEncoder passwordEncoder,
+                           CustomUserDetailsService customUserDetailsService) {
         this.userRepository = userRepository;
         this.userValidationService = userValidationService;
         this.passwordEncoder = passwordEncoder;
+        this.customUserDetailsService = customUserDetailsService;
     }
 
 
@@ -97,6 +101,7 @@ public class UserServiceImpl implements UserService{
         UserMapper.updateEntity(user, request);
 
         user = userRepository.save(user);
+        customUserDetailsService.evict(userId);
 
         // Map entity to dto
         return UserMapper.toDTO(user);
@@ -108,6 +113,7 @@ public class UserServiceImpl implements UserService{
         User user = userValidationService.validateUserExists(userId);
 
         userRepository.delete(user);
+        customUserDetailsService.evict(userId);
     }
 
     // Get all accounts by user
@@ -138,7 +144,11 @@ public class UserServiceImpl implements UserService{
         User user = userValidationService.validateUserExists(userId);
 
         UserMapper.updatePreferences(user, request);
-        user = userRepository.save(user);
+        try {
+            user = userRepository.save(user);
+        } finally {
+            customUserDetailsService.evict(userId);
+        }
 
         return UserMapper.toPreferencesDTO(user);
     }
@@ -167,11 +177,11 @@ public class UserServiceImpl implements UserService{
 
             CustomUserDetails userDetails = (CustomUserDetails) principal;
 
-            // Check User entity exists
-            User user = userDetails.getUser();
-            if (user == null) {
+            // Check User entity exists, then read a fresh copy instead of the one shared through the user cache
+            if (userDetails.getUser() == null) {
                 throw new RuntimeException("User entity not found in authentication");
             }
+            User user = userValidationService.validateUserExists(userDetails.getUser().getUserId());
 
             // Ensure preferences are not null (defensive)
             ensurePreferencesNotNull(user);
@@ -209,17 +219,22 @@ public class UserServiceImpl implements UserService{
 
             CustomUserDetails userDetails = (CustomUserDetails) principal;
 
-            // Check User entity exists
-            User user = userDetails.getUser();
-            if (user == null) {
+            // Check User entity exists, then update a fresh copy instead of the one shared through the user cache
+            if (userDetails.getUser() == null) {
                 throw new RuntimeException("User entity not found in authentication");
             }
+            UUID userId = userDetails.getUser().getUserId();
+            User user = userValidationService.validateUserExists(userId);
 
             // Ensure preferences are not null before updating (defensive)
             ensurePreferencesNotNull(user);
 
             UserMapper.updatePreferences(user, request);
-            user = userRepository.save(user);
+            try {
+                user = userRepository.save(user);
+            } finally {
+                customUserDetailsService.evict(userId);
+            }
 
             return UserMapper.toPreferencesDTO(user);
 
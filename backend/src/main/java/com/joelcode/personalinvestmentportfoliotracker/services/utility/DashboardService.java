@@ -0,0 +1,12 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.utility;
+
+import com.joelcode.personalinvestmentportfoliotracker.dto.utility.DashboardDTO;
+
+import java.util.UUID;
+
+public interface DashboardService {
+
+    DashboardDTO getDashboardForAccount(UUID accountId);
+
+    DashboardDTO getDashboardForUser(UUID userId);
+}
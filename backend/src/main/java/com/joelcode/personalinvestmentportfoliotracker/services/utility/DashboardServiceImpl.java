@@ -0,0 +1,198 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.utility;
+
+import com.joelcode.personalinvestmentportfoliotracker.dto.holding.HoldingDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.portfolio.AllocationBreakdownDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.portfolio.PortfolioOverviewDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.portfolio.PortfolioPerformanceDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.transaction.TransactionDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.utility.DashboardDTO;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.AccountRepository;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.TransactionRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.mapping.PortfolioMapper;
+import com.joelcode.personalinvestmentportfoliotracker.services.mapping.TransactionMapper;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.AccountValuation;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PortfolioValuationService;
+import com.joelcode.personalinvestmentportfoliotracker.services.user.UserValidationService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Builds dashboards from a single snapshot per account.
+ *
+ * Each account's valuation and recent transactions are read once into a DashboardContext, and the
+ * overview, performance, allocation and transaction sections are all derived from that context.
+ * For a user the account contexts are built in parallel on the dashboard executor and then merged.
+ */
+@Service
+@Profile("!test")
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final int RECENT_TRANSACTION_LIMIT = 10;
+
+    // Define key fields
+    private final PortfolioValuationService portfolioValuationService;
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final UserValidationService userValidationService;
+    private final ExecutorService dashboardExecutor;
+
+
+    // Constructor
+    public DashboardServiceImpl(PortfolioValuationService portfolioValuationService,
+                                TransactionRepository transactionRepository,
+                                AccountRepository accountRepository,
+                                UserValidationService userValidationService,
+                                @Qualifier("dashboardExecutor") ExecutorService dashboardExecutor) {
+        this.portfolioValuationService = portfolioValuationService;
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.userValidationService = userValidationService;
+        this.dashboardExecutor = dashboardExecutor;
+    }
+
+
+    // Interface functions
+
+    // Get dashboard for a single account
+    @Override
+    public DashboardDTO getDashboardForAccount(UUID accountId) {
+        DashboardContext context = loadContext(accountId);
+
+        return new DashboardDTO(
+                PortfolioMapper.toOverviewDTO(context.valuation()),
+                PortfolioMapper.toPerformanceDTO(context.valuation()),
+                PortfolioMapper.toAllocationDTOs(context.valuation()),
+                context.recentTransactions()
+        );
+    }
+
+    // Get dashboard for a user, aggregating all accounts
+    @Override
+    public DashboardDTO getDashboardForUser(UUID userId) {
+        // Validate user exists
+        userValidationService.validateUserExists(userId);
+
+        List<Account> accounts = accountRepository.findByUser_UserId(userId, Pageable.unpaged());
+
+        // Build every account's context side by side
+        List<CompletableFuture<DashboardContext>> futures = accounts.stream()
+                .map(account -> CompletableFuture.supplyAsync(() -> loadContext(account.getAccountId()), dashboardExecutor))
+                .collect(Collectors.toList());
+
+        List<DashboardContext> contexts = new ArrayList<>();
+        for (CompletableFuture<DashboardContext> future : futures) {
+            contexts.add(await(future));
+        }
+
+        return mergeForUser(userId, contexts);
+    }
+
+
+    // Helpers
+
+    // Read everything the dashboard needs for one account exactly once
+    private DashboardContext loadContext(UUID accountId) {
+        AccountValuation valuation = portfolioValuationService.getAccountValuation(accountId);
+        List<TransactionDTO> recentTransactions = transactionRepository
+                .findTop10ByAccount_AccountIdOrderByCreatedAtDesc(accountId).stream()
+                .map(TransactionMapper::toDTO)
+                .collect(Collectors.toList());
+        return new DashboardContext(valuation, recentTransactions);
+    }
+
+    private DashboardDTO mergeForUser(UUID userId, List<DashboardContext> contexts) {
+        BigDecimal totalPortfolioValue = BigDecimal.ZERO;
+        BigDecimal holdingsValue = BigDecimal.ZERO;
+        BigDecimal totalCostBasis = BigDecimal.ZERO;
+        BigDecimal totalUnrealizedGain = BigDecimal.ZERO;
+        BigDecimal totalRealizedGain = BigDecimal.ZERO;
+        BigDecimal totalDividends = BigDecimal.ZERO;
+        BigDecimal cashBalance = BigDecimal.ZERO;
+
+        List<HoldingDTO> holdings = new ArrayList<>();
+        List<AllocationBreakdownDTO> allocations = new ArrayList<>();
+        List<TransactionDTO> transactions = new ArrayList<>();
+
+        for (DashboardContext context : contexts) {
+            PortfolioOverviewDTO overview = PortfolioMapper.toOverviewDTO(context.valuation());
+
+            totalPortfolioValue = totalPortfolioValue.add(overview.getTotalPortfolioValue());
+            holdingsValue = holdingsValue.add(overview.getHoldingsValue());
+            totalCostBasis = totalCostBasis.add(overview.getTotalCostBasis());
+            totalUnrealizedGain = totalUnrealizedGain.add(overview.getTotalUnrealizedGain());
+            totalRealizedGain = totalRealizedGain.add(overview.getTotalRealizedGain());
+            totalDividends = totalDividends.add(overview.getTotalDividends());
+            cashBalance = cashBalance.add(overview.getCashBalance());
+
+            holdings.addAll(overview.getHoldings());
+            allocations.addAll(PortfolioMapper.toAllocationDTOs(context.valuation()));
+            transactions.addAll(context.recentTransactions());
+        }
+
+        PortfolioOverviewDTO overview = new PortfolioOverviewDTO(
+                userId,
+                null,
+                totalPortfolioValue,
+                holdingsValue,
+                totalCostBasis,
+                totalUnrealizedGain,
+                totalRealizedGain,
+                totalDividends,
+                cashBalance,
+                holdings
+        );
+
+        // Total Return = Unrealized Gain + Realized Gain + Dividends
+        BigDecimal totalReturn = totalUnrealizedGain.add(totalRealizedGain).add(totalDividends);
+        PortfolioPerformanceDTO performance = new PortfolioPerformanceDTO(
+                userId,
+                totalPortfolioValue,
+                totalCostBasis,
+                totalRealizedGain,
+                totalUnrealizedGain,
+                totalDividends,
+                cashBalance,
+                PortfolioMapper.roiPercentage(totalReturn, totalCostBasis),
+                BigDecimal.ZERO,
+                BigDecimal.ZERO
+        );
+
+        // Each account contributed its latest 10, so the overall latest 10 are among them
+        List<TransactionDTO> recentTransactions = transactions.stream()
+                .sorted(Comparator.comparing(TransactionDTO::getTransactionDate,
+                        Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).reversed())
+                .limit(RECENT_TRANSACTION_LIMIT)
+                .collect(Collectors.toList());
+
+        return new DashboardDTO(overview, performance, allocations, recentTransactions);
+    }
+
+    // Wait for an account's context and rethrow its failure unwrapped
+    private DashboardContext await(CompletableFuture<DashboardContext> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    // Request-scoped snapshot of one account, shared by every dashboard section
+    private record DashboardContext(AccountValuation valuation, List<TransactionDTO> recentTransactions) {}
+}
@@ -17,7 +17,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -80,8 +83,14 @@ public class SearchServiceImpl implements SearchService {
             holdingEntities = holdingRepository.findByStock_CompanyNameContainingIgnoreCase(query);
         }
 
+        // Resolve all matched holding prices in one query
+        Map<UUID, BigDecimal> currentPrices = priceHistoryService.getCurrentPrices(holdingEntities.stream()
+                .map(h -> h.getStock().getStockId())
+                .collect(Collectors.toSet()));
+
         List<HoldingDTO> holdings = holdingEntities.stream()
-                .map(h -> HoldingMapper.toDTO(h, priceHistoryService.getCurrentPrice(h.getStock().getStockId())))
+                .map(h -> HoldingMapper.toDTO(h, currentPrices.get(h.getStock().getStockId())))
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
         return new SearchDTO(stocks, accounts, holdings);
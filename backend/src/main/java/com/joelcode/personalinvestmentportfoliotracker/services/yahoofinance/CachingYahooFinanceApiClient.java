@@ -0,0 +1,265 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.yahoofinance;
+
+import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.CandleSeries;
+import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.YahooNewsItem;
+import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.YahooSearchResponse;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.CandleJdbcRepository;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.CandleJdbcRepository.CoveredRange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Candle store in front of ResilientYahooFinanceApiClient (and through it YahooFinanceApiClientImpl).
+ *
+ * Chart bars are kept in the candles table per symbol and resolution, next to the ranges already fetched
+ * (candle_coverage). A request only fetches the parts of its range that are not covered yet, in at most
+ * yahoo.candles.max-gaps calls (more gaps are fetched as one call spanning them), and is then served from the table.
+ *
+ * Only closed bars are recorded as covered, so they are never fetched again. The still-open tail of a range
+ * (bars starting less than one bar length ago) is refetched once yahoo.candles.open-bar-ttl has passed. Concurrent
+ * requests for the same symbol and resolution wait for each other instead of fetching the same gap twice. If Yahoo
+ * fails, what is stored for the range is served; with nothing stored the failure is passed on.
+ *
+ * Search and news are passed straight through.
+ *
+ * Metrics: app.candle_cache.requests{result=hit|fetched|fallback} and app.candle_cache.fetches
+ */
+@Service
+@Primary
+public class CachingYahooFinanceApiClient implements YahooFinanceApiClient {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingYahooFinanceApiClient.class);
+
+    // Bar length in seconds per resolution, months are taken as 31 days so a bar is never closed too early
+    private static final Map<String, Long> BAR_SECONDS = Map.of(
+            "1", 60L,
+            "5", 300L,
+            "15", 900L,
+            "30", 1_800L,
+            "60", 3_600L,
+            "D", 86_400L,
+            "W", 604_800L,
+            "M", 2_678_400L);
+
+    // Last fetch of the open tail of a symbol and resolution; instances are also the per-key lock
+    private static final class KeyState {
+        private long openFrom;
+        private long openTo;
+        private long openFetchedAt = Long.MIN_VALUE;
+    }
+
+    // Define key fields
+    private final YahooFinanceApiClient delegate;
+    private final CandleJdbcRepository candleJdbcRepository;
+    private final LongSupplier epochSeconds;
+    private final long openBarTtlSeconds;
+    private final int maxGaps;
+    private final Map<String, KeyState> states = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter fetched;
+    private final Counter fallbacks;
+    private final Counter fetches;
+
+
+    // Constructor
+    @Autowired
+    public CachingYahooFinanceApiClient(@Qualifier("resilientYahooFinanceApiClient") YahooFinanceApiClient delegate,
+                                        CandleJdbcRepository candleJdbcRepository,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${yahoo.candles.open-bar-ttl:60s}") Duration openBarTtl,
+                                        @Value("${yahoo.candles.max-gaps:4}") int maxGaps) {
+        this(delegate, candleJdbcRepository, meterRegistry, openBarTtl, maxGaps,
+                () -> System.currentTimeMillis() / 1000);
+    }
+
+    public CachingYahooFinanceApiClient(YahooFinanceApiClient delegate, CandleJdbcRepository candleJdbcRepository,
+                                        MeterRegistry meterRegistry, Duration openBarTtl, int maxGaps,
+                                        LongSupplier epochSeconds) {
+        if (maxGaps < 1) {
+            throw new IllegalArgumentException("yahoo.candles.max-gaps must be at least 1");
+        }
+        this.delegate = delegate;
+        this.candleJdbcRepository = candleJdbcRepository;
+        this.epochSeconds = epochSeconds;
+        this.openBarTtlSeconds = openBarTtl.getSeconds();
+        this.maxGaps = maxGaps;
+        this.hits = requests(meterRegistry, "hit");
+        this.fetched = requests(meterRegistry, "fetched");
+        this.fallbacks = requests(meterRegistry, "fallback");
+        this.fetches = Counter.builder("app.candle_cache.fetches").register(meterRegistry);
+    }
+
+
+    // Interface functions
+
+    @Override
+    public CandleSeries getCandles(String symbol, String interval, long from, long to) {
+        if (from >= to) {
+            return delegate.getCandles(symbol, interval, from, to);
+        }
+
+        String key = key(symbol);
+        String resolution = BAR_SECONDS.containsKey(interval) ? interval : "D";
+        KeyState state = states.computeIfAbsent(key + ":" + resolution, k -> new KeyState());
+
+        synchronized (state) {
+            long now = epochSeconds.getAsLong();
+            long closedBefore = now - BAR_SECONDS.get(resolution);
+            List<CoveredRange> coverage = candleJdbcRepository.findCoverage(key, resolution);
+
+            List<CoveredRange> gaps = missing(coverage, from, Math.min(to, closedBefore));
+            long openFrom = Math.max(from, closedBefore);
+            boolean refreshOpen = to > closedBefore && !isOpenFresh(state, openFrom, to, now);
+            if (refreshOpen) {
+                gaps.add(new CoveredRange(openFrom, to));
+            }
+            gaps = merge(gaps);
+            if (gaps.isEmpty()) {
+                hits.increment();
+                return candleJdbcRepository.findCandles(key, resolution, from, to);
+            }
+            if (gaps.size() > maxGaps) {
+                gaps = List.of(new CoveredRange(gaps.get(0).from(), gaps.get(gaps.size() - 1).to()));
+            }
+
+            List<CoveredRange> newlyCovered = new ArrayList<>();
+            try {
+                for (CoveredRange gap : gaps) {
+                    fetch(key, resolution, gap);
+                    if (gap.from() < Math.min(gap.to(), closedBefore)) {
+                        newlyCovered.add(new CoveredRange(gap.from(), Math.min(gap.to(), closedBefore)));
+                    }
+                }
+                if (refreshOpen) {
+                    state.openFrom = openFrom;
+                    state.openTo = to;
+                    state.openFetchedAt = now;
+                }
+            } catch (RuntimeException e) {
+                CandleSeries stored = candleJdbcRepository.findCandles(key, resolution, from, to);
+                if (stored.isEmpty()) {
+                    throw e;
+                }
+                log.warn("Serving stored candles for {} {} - {}", key, resolution, e.getMessage());
+                fallbacks.increment();
+                return stored;
+            } finally {
+                if (!newlyCovered.isEmpty()) {
+                    newlyCovered.addAll(coverage);
+                    candleJdbcRepository.replaceCoverage(key, resolution, merge(newlyCovered));
+                }
+            }
+
+            fetched.increment();
+            return candleJdbcRepository.findCandles(key, resolution, from, to);
+        }
+    }
+
+    @Override
+    public YahooSearchResponse search(String query) {
+        return delegate.search(query);
+    }
+
+    @Override
+    public List<YahooNewsItem> getNewsForSymbol(String symbol, int limit) {
+        return delegate.getNewsForSymbol(symbol, limit);
+    }
+
+    @Override
+    public List<YahooNewsItem> getGeneralNews(int limit) {
+        return delegate.getGeneralNews(limit);
+    }
+
+
+    // Helper methods
+
+    // Fetch one gap and store its bars. Bars outside the gap and bars without a close are ignored.
+    private void fetch(String symbol, String resolution, CoveredRange gap) {
+        fetches.increment();
+        CandleSeries response = delegate.getCandles(symbol, resolution, gap.from(), gap.to());
+        if (response == null || response.isEmpty()) {
+            return;
+        }
+
+        CandleSeries.Builder rows = CandleSeries.builder(response.size());
+        for (int i = 0; i < response.size(); i++) {
+            long time = response.time(i);
+            if (Double.isNaN(response.close(i)) || time < gap.from() || time >= gap.to()) {
+                continue;
+            }
+            rows.add(time, response.open(i), response.high(i), response.low(i), response.close(i), response.volume(i));
+        }
+        candleJdbcRepository.upsertCandles(symbol, resolution, rows.build());
+    }
+
+    // The open tail was fetched within the TTL, from no later than openFrom and up to to (or up to that moment)
+    private boolean isOpenFresh(KeyState state, long openFrom, long to, long now) {
+        return state.openFetchedAt != Long.MIN_VALUE
+                && now - state.openFetchedAt < openBarTtlSeconds
+                && state.openFrom <= openFrom
+                && (state.openTo >= to || state.openTo >= state.openFetchedAt);
+    }
+
+    // The parts of [from, to) not in coverage, which is sorted and merged
+    private static List<CoveredRange> missing(List<CoveredRange> coverage, long from, long to) {
+        List<CoveredRange> gaps = new ArrayList<>();
+        long cursor = from;
+        for (CoveredRange range : coverage) {
+            if (cursor >= to || range.from() >= to) {
+                break;
+            }
+            if (range.to() <= cursor) {
+                continue;
+            }
+            if (range.from() > cursor) {
+                gaps.add(new CoveredRange(cursor, range.from()));
+            }
+            cursor = Math.max(cursor, range.to());
+        }
+        if (cursor < to) {
+            gaps.add(new CoveredRange(cursor, to));
+        }
+        return gaps;
+    }
+
+    // Sort ranges and join the ones that overlap or touch
+    private static List<CoveredRange> merge(List<CoveredRange> ranges) {
+        List<CoveredRange> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingLong(CoveredRange::from));
+
+        List<CoveredRange> merged = new ArrayList<>();
+        for (CoveredRange range : sorted) {
+            CoveredRange last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && range.from() <= last.to()) {
+                merged.set(merged.size() - 1, new CoveredRange(last.from(), Math.max(last.to(), range.to())));
+            } else {
+                merged.add(range);
+            }
+        }
+        return merged;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("app.candle_cache.requests").tag("result", result).register(meterRegistry);
+    }
+
+    // Helper to normalise keys so "aapl" and "AAPL" share candles
+    private String key(String symbol) {
+        return symbol.trim().toUpperCase();
+    }
+}
@@ -0,0 +1,65 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.yahoofinance;
+
+import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.CandleSeries;
+import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.YahooNewsItem;
+import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.YahooSearchResponse;
+import com.joelcode.personalinvestmentportfoliotracker.services.resilience.ResilientCallExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Circuit breaker and stale-while-revalidate decorator around YahooFinanceApiClientImpl, sitting behind
+ * CachingYahooFinanceApiClient.
+ *
+ * News is fetched through the search endpoint, so the news methods share the search breaker.
+ */
+@Service
+public class ResilientYahooFinanceApiClient implements YahooFinanceApiClient {
+
+    private static final String PROVIDER = "yahoo";
+
+    // Define key fields
+    private final YahooFinanceApiClient delegate;
+    private final ResilientCallExecutor resilientCallExecutor;
+
+
+    // Constructor
+    public ResilientYahooFinanceApiClient(YahooFinanceApiClientImpl delegate, ResilientCallExecutor resilientCallExecutor) {
+        this.delegate = delegate;
+        this.resilientCallExecutor = resilientCallExecutor;
+    }
+
+
+    // Interface functions
+
+    // Keyed by range, CachingYahooFinanceApiClient records every fetched range as covered and must never be
+    // handed a stale series for a different one
+    @Override
+    public CandleSeries getCandles(String symbol, String interval, long from, long to) {
+        return resilientCallExecutor.call(PROVIDER, "candles", key(symbol) + ":" + interval + ":" + from + ":" + to,
+                () -> delegate.getCandles(symbol, interval, from, to));
+    }
+
+    @Override
+    public YahooSearchResponse search(String query) {
+        return resilientCallExecutor.call(PROVIDER, "search", key(query), () -> delegate.search(query));
+    }
+
+    @Override
+    public List<YahooNewsItem> getNewsForSymbol(String symbol, int limit) {
+        return resilientCallExecutor.call(PROVIDER, "search", "news:" + key(symbol) + ":" + limit,
+                () -> delegate.getNewsForSymbol(symbol, limit));
+    }
+
+    @Override
+    public List<YahooNewsItem> getGeneralNews(int limit) {
+        return resilientCallExecutor.call(PROVIDER, "search", "news::" + limit, () -> delegate.getGeneralNews(limit));
+    }
+
+
+    // Helper to normalise keys so "aapl" and "AAPL" share a last known value
+    private String key(String symbol) {
+        return symbol.trim().toUpperCase();
+    }
+}
@@ -1,6 +1,6 @@
 package com.joelcode.personalinvestmentportfoliotracker.services.yahoofinance;
 
-import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubCandleDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.CandleSeries;
 import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.YahooNewsItem;
 import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.YahooSearchResponse;
 
@@ -14,9 +14,9 @@ public interface YahooFinanceApiClient {
      * @param interval Interval - "1m", "5m", "15m", "30m", "1h", "1d", "1wk", "1mo"
      * @param from Unix timestamp start
      * @param to Unix timestamp end
-     * @return FinnhubCandleDTO with OHLCV data
+     * @return CandleSeries with OHLCV data, serialized in the FinnhubCandleDTO shape
      */
-    FinnhubCandleDTO getCandles(String symbol, String interval, long from, long to);
+    CandleSeries getCandles(String symbol, String interval, long from, long to);
 
     /**
      * Search Yahoo Finance for news and quotes
@@ -1,84 +1,72 @@
 package com.joelcode.personalinvestmentportfoliotracker.services.yahoofinance;
 
-import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubCandleDTO;
-import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.YahooChartResponse;
-import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.YahooChartResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.CandleSeries;
+import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.YahooChartDeserializer;
 import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.YahooNewsItem;
-import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.YahooQuote;
 import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.YahooSearchResponse;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import com.joelcode.personalinvestmentportfoliotracker.services.http.OutboundHttpClient;
+import com.joelcode.personalinvestmentportfoliotracker.services.ratelimit.ApiRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class YahooFinanceApiClientImpl implements YahooFinanceApiClient {
 
-    private final RestTemplate restTemplate;
-    private static final String YAHOO_FINANCE_API = "https://query2.finance.yahoo.com/v8/finance/chart";
-    private static final String YAHOO_SEARCH_API = "https://query2.finance.yahoo.com/v1/finance/search";
-
-    public YahooFinanceApiClientImpl(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    private final OutboundHttpClient outboundHttpClient;
+    private final ApiRateLimiter apiRateLimiter;
+    private final String chartApi;
+    private final String searchApi;
+    private final ObjectReader chartReader;
+    private static final Map<String, String> REQUEST_HEADERS = Map.of(
+            "User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36",
+            "Accept", "application/json");
+
+    public YahooFinanceApiClientImpl(OutboundHttpClient outboundHttpClient, ApiRateLimiter apiRateLimiter,
+                                     ObjectMapper objectMapper,
+                                     @Value("${yahoo.api.base-url:https://query2.finance.yahoo.com}") String baseUrl) {
+        this.outboundHttpClient = outboundHttpClient;
+        this.apiRateLimiter = apiRateLimiter;
+        this.chartApi = baseUrl + "/v8/finance/chart";
+        this.searchApi = baseUrl + "/v1/finance/search";
+        // Chart responses are read token by token into primitive arrays instead of being bound to YahooChartResponse
+        this.chartReader = objectMapper.copy()
+                .registerModule(new SimpleModule("yahoo-chart")
+                        .addDeserializer(CandleSeries.class, new YahooChartDeserializer()))
+                .readerFor(CandleSeries.class);
     }
 
     @Override
-    public FinnhubCandleDTO getCandles(String symbol, String interval, long from, long to) {
+    public CandleSeries getCandles(String symbol, String interval, long from, long to) {
+        apiRateLimiter.acquire(ApiRateLimiter.Api.YAHOO_FINANCE);
         try {
             // Map resolution to Yahoo Finance interval
             String yahooInterval = mapInterval(interval);
 
             String url = String.format(
                     "%s/%s?period1=%d&period2=%d&interval=%s&events=div,split&includeAdjustedClose=true",
-                    YAHOO_FINANCE_API,
+                    chartApi,
                     symbol.toUpperCase(),
                     from,
                     to,
                     yahooInterval
             );
 
-            // Create headers with User-Agent (Yahoo Finance requires this)
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36");
-            headers.set("Accept", "application/json");
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            // Fetch JSON data from Yahoo Finance Chart API
-            ResponseEntity<YahooChartResponse> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    YahooChartResponse.class
-            );
-
-            YahooChartResponse chartResponse = response.getBody();
-
-            if (chartResponse == null || chartResponse.getChart() == null) {
-                return createEmptyResponse();
-            }
-
-            // Check for API errors
-            if (chartResponse.getChart().getError() != null) {
-                throw new RuntimeException("Yahoo Finance error: " + chartResponse.getChart().getError());
+            // Fetch the raw chart JSON (headers include the User-Agent Yahoo requires) and stream it into arrays
+            byte[] body = outboundHttpClient.get(url, REQUEST_HEADERS, byte[].class);
+            if (body == null) {
+                return CandleSeries.EMPTY;
             }
-
-            // Check if result exists and has data
-            if (chartResponse.getChart().getResult() == null || chartResponse.getChart().getResult().isEmpty()) {
-                return createEmptyResponse();
-            }
-
-            // Convert Yahoo Finance Chart data to FinnhubCandleDTO format
-            return convertYahooChartToCandles(chartResponse.getChart().getResult().get(0));
+            return chartReader.readValue(body);
 
         } catch (RestClientException e) {
             throw new RuntimeException("Failed to fetch candles for symbol: " + symbol, e);
@@ -87,44 +75,6 @@ public class YahooFinanceApiClientImpl implements YahooFinanceApiClient {
         }
     }
 
-    /**
-     * Convert Yahoo Finance Chart API response to FinnhubCandleDTO format
-     */
-    private FinnhubCandleDTO convertYahooChartToCandles(YahooChartResult chartResult) {
-        FinnhubCandleDTO candles = new FinnhubCandleDTO();
-
-        if (chartResult == null || chartResult.getIndicators() == null || chartResult.getIndicators().getQuote() == null
-                || chartResult.getIndicators().getQuote().isEmpty()) {
-            return createEmptyResponse();
-        }
-
-        List<Long> timestamps = chartResult.getTimestamp();
-        YahooQuote quote = chartResult.getIndicators().getQuote().get(0);
-
-        // Extract OHLCV data from Yahoo response
-        List<BigDecimal> closePrices = quote.getClose();
-        List<BigDecimal> highPrices = quote.getHigh();
-        List<BigDecimal> lowPrices = quote.getLow();
-        List<BigDecimal> openPrices = quote.getOpen();
-        List<Long> volumes = quote.getVolume();
-
-        // Validate data exists
-        if (closePrices == null || closePrices.isEmpty()) {
-            return createEmptyResponse();
-        }
-
-        // Set data in FinnhubCandleDTO format
-        candles.setClosePrices(closePrices);
-        candles.setHighPrices(highPrices != null ? highPrices : new ArrayList<>());
-        candles.setLowPrices(lowPrices != null ? lowPrices : new ArrayList<>());
-        candles.setOpenPrices(openPrices != null ? openPrices : new ArrayList<>());
-        candles.setTimestamps(timestamps != null ? timestamps : new ArrayList<>());
-        candles.setVolumes(volumes != null ? volumes : new ArrayList<>());
-        candles.setStatus("ok");
-
-        return candles;
-    }
-
     /**
      * Map resolution format to Yahoo Finance interval
      * Resolution: "1", "5", "15", "30", "60" (minutes), "D" (daily), "W" (weekly), "M" (monthly)
@@ -144,41 +94,17 @@ public class YahooFinanceApiClientImpl implements YahooFinanceApiClient {
         };
     }
 
-    private FinnhubCandleDTO createEmptyResponse() {
-        FinnhubCandleDTO candles = new FinnhubCandleDTO();
-        candles.setClosePrices(new ArrayList<>());
-        candles.setHighPrices(new ArrayList<>());
-        candles.setLowPrices(new ArrayList<>());
-        candles.setOpenPrices(new ArrayList<>());
-        candles.setTimestamps(new ArrayList<>());
-        candles.setVolumes(new ArrayList<>());
-        candles.setStatus("no_data");
-        return candles;
-    }
-
     @Override
     public YahooSearchResponse search(String query) {
+        apiRateLimiter.acquire(ApiRateLimiter.Api.YAHOO_FINANCE);
         try {
-            String url = UriComponentsBuilder.fromHttpUrl(YAHOO_SEARCH_API)
+            String url = UriComponentsBuilder.fromHttpUrl(searchApi)
                     .queryParam("q", query)
                     .queryParam("quotesCount", 10)
                     .queryParam("newsCount", 25)
                     .toUriString();
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36");
-            headers.set("Accept", "application/json");
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<YahooSearchResponse> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    YahooSearchResponse.class
-            );
-
-            return response.getBody();
+            return outboundHttpClient.get(url, REQUEST_HEADERS, YahooSearchResponse.class);
         } catch (RestClientException e) {
             throw new RuntimeException("Failed to search Yahoo Finance", e);
         }
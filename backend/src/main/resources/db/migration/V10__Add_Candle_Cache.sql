@@ -0,0 +1,28 @@
+-- V10__Add_Candle_Cache.sql
+-- Local store for Yahoo Finance chart candles, so overlapping chart requests only fetch the ranges not seen before
+
+-- ==================== CANDLES ====================
+-- One bar per symbol, resolution and bar start (unix seconds, as returned by Yahoo)
+CREATE TABLE candles (
+    symbol VARCHAR(20) NOT NULL,
+    resolution VARCHAR(4) NOT NULL,
+    bar_time BIGINT NOT NULL,
+    open_price DOUBLE PRECISION,
+    high_price DOUBLE PRECISION,
+    low_price DOUBLE PRECISION,
+    close_price DOUBLE PRECISION NOT NULL,
+    volume BIGINT,
+    PRIMARY KEY (symbol, resolution, bar_time)
+);
+
+-- ==================== CANDLE COVERAGE ====================
+-- Half-open [range_from, range_to) ranges already fetched for a symbol and resolution. Only ranges of closed bars
+-- are recorded, so a covered range never needs fetching again; ranges without trading simply have no candles.
+CREATE TABLE candle_coverage (
+    symbol VARCHAR(20) NOT NULL,
+    resolution VARCHAR(4) NOT NULL,
+    range_from BIGINT NOT NULL,
+    range_to BIGINT NOT NULL,
+    PRIMARY KEY (symbol, resolution, range_from),
+    CHECK (range_from < range_to)
+);
@@ -0,0 +1,37 @@
+-- V11__Add_Price_History_Rollups.sql
+-- Daily and weekly OHLC rollups of price_history, so long chart ranges read one row per day or week and raw rows
+-- can be dropped after price-history.retention.raw
+
+-- ==================== DAILY ROLLUP ====================
+-- One bar per stock and UTC day. close_date is the last raw close of the day, sample_count the raw rows behind it.
+CREATE TABLE price_history_daily (
+    stock_id UUID NOT NULL,
+    bucket_date DATE NOT NULL,
+    open_price NUMERIC(19, 2) NOT NULL,
+    high_price NUMERIC(19, 2) NOT NULL,
+    low_price NUMERIC(19, 2) NOT NULL,
+    close_price NUMERIC(19, 2) NOT NULL,
+    close_date TIMESTAMP NOT NULL,
+    sample_count INTEGER NOT NULL,
+    PRIMARY KEY (stock_id, bucket_date),
+    CONSTRAINT fk_price_history_daily_stock FOREIGN KEY (stock_id) REFERENCES stock(stock_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_price_history_daily_bucket_date ON price_history_daily(bucket_date);
+
+-- ==================== WEEKLY ROLLUP ====================
+-- One bar per stock and week starting on Monday, rolled up from price_history_daily
+CREATE TABLE price_history_weekly (
+    stock_id UUID NOT NULL,
+    week_start DATE NOT NULL,
+    open_price NUMERIC(19, 2) NOT NULL,
+    high_price NUMERIC(19, 2) NOT NULL,
+    low_price NUMERIC(19, 2) NOT NULL,
+    close_price NUMERIC(19, 2) NOT NULL,
+    close_date TIMESTAMP NOT NULL,
+    sample_count INTEGER NOT NULL,
+    PRIMARY KEY (stock_id, week_start),
+    CONSTRAINT fk_price_history_weekly_stock FOREIGN KEY (stock_id) REFERENCES stock(stock_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_price_history_weekly_week_start ON price_history_weekly(week_start);
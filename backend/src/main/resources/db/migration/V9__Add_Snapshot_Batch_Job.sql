@@ -0,0 +1,28 @@
+-- V9__Add_Snapshot_Batch_Job.sql
+-- Support for the batched daily portfolio snapshot job
+-- Makes snapshot inserts idempotent per account and day and records job progress so a crashed run can resume
+
+-- ==================== PORTFOLIO SNAPSHOTS ====================
+-- Keep only the earliest snapshot for any account that has more than one on the same day
+DELETE FROM portfolio_snapshots ps
+USING portfolio_snapshots dup
+WHERE ps.account_id = dup.account_id
+  AND ps.snapshot_date = dup.snapshot_date
+  AND (ps.created_at, ps.snapshot_id) > (dup.created_at, dup.snapshot_id);
+
+-- One snapshot per account per day, so the batch job can insert with ON CONFLICT DO NOTHING
+ALTER TABLE portfolio_snapshots
+ADD CONSTRAINT uq_portfolio_snapshots_account_date
+UNIQUE (account_id, snapshot_date);
+
+-- ==================== SNAPSHOT JOB CHECKPOINTS ====================
+CREATE TABLE snapshot_job_checkpoints (
+    snapshot_date DATE PRIMARY KEY,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('RUNNING', 'COMPLETED')),
+    last_account_id UUID,
+    accounts_processed BIGINT NOT NULL DEFAULT 0,
+    snapshots_written BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
@@ -7,6 +7,7 @@ import com.joelcode.personalinvestmentportfoliotracker.dto.auth.RegistrationRequ
 import com.joelcode.personalinvestmentportfoliotracker.entities.User;
 import com.joelcode.personalinvestmentportfoliotracker.jwt.JwtTokenProvider;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.UserRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.customuserdetails.CustomUserDetailsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -44,6 +45,9 @@ class AuthControllerTest {
     @Mock
     private Authentication authentication;
 
+    @Mock
+    private CustomUserDetailsService customUserDetailsService;
+
     private AuthController authController;
 
     @BeforeEach
@@ -53,7 +57,8 @@ class AuthControllerTest {
                 authenticationManager,
                 jwtTokenProvider,
                 userRepository,
-                passwordEncoder
+                passwordEncoder,
+                customUserDetailsService
         );
     }
 
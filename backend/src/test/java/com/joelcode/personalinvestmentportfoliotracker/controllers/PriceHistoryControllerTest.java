@@ -151,15 +151,15 @@ class PriceHistoryControllerTest {
         priceHistories.add(new PriceHistoryDTO(UUID.randomUUID(), LocalDateTime.now().minusDays(1), BigDecimal.valueOf(155), stockId));
 
         // Map method return value to setup
-        when(priceHistoryService.getPriceHistoryForStock(stockId)).thenReturn(priceHistories);
+        when(priceHistoryService.getPriceHistoryForStock(stockId, null, null, null, null)).thenReturn(priceHistories);
 
         // Run method
-        ResponseEntity<List<PriceHistoryDTO>> response = priceHistoryController.getPriceHistoryForStock(stockId);
+        ResponseEntity<List<PriceHistoryDTO>> response = priceHistoryController.getPriceHistoryForStock(stockId, null, null, null, null);
 
         // Assert testing variables are correct
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(2, response.getBody().size());
-        verify(priceHistoryService, times(1)).getPriceHistoryForStock(stockId);
+        verify(priceHistoryService, times(1)).getPriceHistoryForStock(stockId, null, null, null, null);
     }
 
     // Test retrieving price histories for a specific stock when no records exist
@@ -167,15 +167,15 @@ class PriceHistoryControllerTest {
     void testGetPriceHistoryForStock_Empty() {
         // Setup stock ID and empty list
         UUID stockId = UUID.randomUUID();
-        when(priceHistoryService.getPriceHistoryForStock(stockId)).thenReturn(new ArrayList<>());
+        when(priceHistoryService.getPriceHistoryForStock(stockId, null, null, null, null)).thenReturn(new ArrayList<>());
 
         // Run method
-        ResponseEntity<List<PriceHistoryDTO>> response = priceHistoryController.getPriceHistoryForStock(stockId);
+        ResponseEntity<List<PriceHistoryDTO>> response = priceHistoryController.getPriceHistoryForStock(stockId, null, null, null, null);
 
         // Assert testing variables are correct
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(0, response.getBody().size());
-        verify(priceHistoryService, times(1)).getPriceHistoryForStock(stockId);
+        verify(priceHistoryService, times(1)).getPriceHistoryForStock(stockId, null, null, null, null);
     }
 
     // Test retrieving latest price for a stock successfully
@@ -0,0 +1,95 @@
+package com.joelcode.personalinvestmentportfoliotracker.datagen;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The generator commits on its own connections, so the tests run outside a test-managed transaction
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:datagen;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SyntheticDataGeneratorTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2025, 6, 30);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testGenerate_WritesEveryTableConsistently() throws Exception {
+        // Arrange
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(dataSource, new BCryptPasswordEncoder(4));
+        DataGenerationSettings settings = settings("t1", 30, 2, 100);
+
+        // Act
+        SyntheticDataGenerator.Result result = generator.generate(settings);
+
+        // Assert
+        int accounts = 30 * 3;
+        int tradingDays = new SyntheticMarket(settings).getTradingDays().size();
+        int snapshotDays = jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT snapshot_date) FROM portfolio_snapshots", Integer.class);
+        assertEquals(30L, count("users"));
+        assertEquals(accounts, count("accounts"));
+        assertEquals(accounts * 4L, count("holdings"));
+        assertEquals(accounts * 2L, count("orders"));
+        assertEquals(30 * 2L, count("price_alerts"));
+        assertEquals(30 * 5L, count("watchlist"));
+        assertEquals(20L * tradingDays, count("price_history"));
+        assertEquals((long) accounts * snapshotDays, count("portfolio_snapshots"));
+        assertTrue(count("dividends") > 0);
+        assertEquals(result.totalRows(), result.rowsPerTable().values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(count("transactions"), result.rowsPerTable().get("transactions"));
+
+        // Holdings match their buy and sell transactions
+        Long mismatched = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM holdings h
+                WHERE h.quantity <> (SELECT SUM(CASE WHEN t.transaction_type = 'BUY' THEN t.share_quantity
+                                                     ELSE -t.share_quantity END)
+                                     FROM transactions t
+                                     WHERE t.account_id = h.account_id AND t.stock_id = h.stock_id)
+                """, Long.class);
+        assertEquals(0L, mismatched);
+    }
+
+    @Test
+    void testSyntheticMarket_SameSeedGivesSameData() {
+        // Arrange
+        DataGenerationSettings settings = settings("t2", 1, 1, 10);
+
+        // Act
+        SyntheticMarket first = new SyntheticMarket(settings);
+        SyntheticMarket second = new SyntheticMarket(settings);
+
+        // Assert
+        for (int stock = 0; stock < first.getStockCount(); stock++) {
+            assertEquals(first.getStockId(stock), second.getStockId(stock));
+            assertEquals(first.getStockCode(stock), second.getStockCode(stock));
+            assertEquals(first.getLastClose(stock), second.getLastClose(stock));
+            assertEquals(first.getDividends(stock), second.getDividends(stock));
+        }
+        assertEquals("T2AAA", first.getStockCode(0));
+    }
+
+    private DataGenerationSettings settings(String prefix, int users, int alerts, int snapshotDays) {
+        return new DataGenerationSettings(users, 3, 20, 1, snapshotDays, 4, 3, 2, alerts, 5, 7L, AS_OF,
+                prefix, 2, 500);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
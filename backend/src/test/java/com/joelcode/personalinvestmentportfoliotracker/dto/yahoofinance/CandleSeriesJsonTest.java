@@ -0,0 +1,89 @@
+package com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubCandleDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Testing the streaming Yahoo chart reader and the candle series writer
+class CandleSeriesJsonTest {
+
+    private static final String CHART = """
+            {"chart":{"result":[{
+              "meta":{"symbol":"AAPL","validRanges":["1d","5d"],"currentTradingPeriod":{"pre":{"start":1}}},
+              "timestamp":[1700000000,1700086400,1700172800],
+              "events":{"splits":{"1700000000":{"numerator":4}}},
+              "indicators":{
+                "quote":[{"open":[189.5,null,191.25],"close":[190.75,null,192.0],"low":[188.0,null,190.5],
+                          "high":[191.0,null,193.5],"volume":[52000000,null,48000000]}],
+                "adjclose":[{"adjclose":[190.1,null,191.4]}]}}],
+              "error":null}}
+            """;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader chartReader;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        chartReader = objectMapper.copy()
+                .registerModule(new SimpleModule().addDeserializer(CandleSeries.class, new YahooChartDeserializer()))
+                .readerFor(CandleSeries.class);
+    }
+
+    @Test
+    void testDeserialize_ReadsQuoteColumnsAndSkipsTheRest() throws Exception {
+        CandleSeries series = chartReader.readValue(CHART);
+
+        assertEquals(3, series.size());
+        assertEquals(1700086400L, series.time(1));
+        assertEquals(189.5, series.open(0));
+        assertEquals(193.5, series.high(2));
+        assertEquals(190.5, series.low(2));
+        assertEquals(192.0, series.close(2));
+        assertEquals(52000000L, series.volume(0));
+        assertTrue(Double.isNaN(series.close(1)));
+        assertEquals(CandleSeries.MISSING_VOLUME, series.volume(1));
+        assertEquals("ok", series.getStatus());
+    }
+
+    @Test
+    void testDeserialize_EmptyResultIsNoData() throws Exception {
+        CandleSeries series = chartReader.readValue(
+                "{\"chart\":{\"result\":[{\"meta\":{},\"indicators\":{\"quote\":[{}]}}],\"error\":null}}");
+
+        assertTrue(series.isEmpty());
+        assertEquals("no_data", series.getStatus());
+    }
+
+    @Test
+    void testDeserialize_ChartErrorFails() {
+        JsonMappingException error = assertThrows(JsonMappingException.class, () -> chartReader.readValue(
+                "{\"chart\":{\"result\":null,\"error\":{\"code\":\"Not Found\",\"description\":\"No data found\"}}}"));
+
+        assertTrue(error.getMessage().contains("No data found"));
+    }
+
+    @Test
+    void testSerialize_WritesTheFinnhubCandleShape() throws Exception {
+        CandleSeries series = chartReader.readValue(CHART);
+
+        FinnhubCandleDTO written = objectMapper.readValue(objectMapper.writeValueAsBytes(series), FinnhubCandleDTO.class);
+
+        assertEquals(Arrays.asList(new BigDecimal("190.75"), null, new BigDecimal("192.0")), written.getClosePrices());
+        assertEquals(Arrays.asList(1700000000L, 1700086400L, 1700172800L), written.getTimestamps());
+        assertEquals(Arrays.asList(52000000L, null, 48000000L), written.getVolumes());
+        assertEquals(new BigDecimal("189.5"), written.getOpenPrices().get(0));
+        assertEquals("ok", written.getStatus());
+        assertEquals("{\"c\":[],\"h\":[],\"l\":[],\"o\":[],\"t\":[],\"v\":[],\"s\":\"no_data\"}",
+                objectMapper.writeValueAsString(CandleSeries.EMPTY));
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
@@ -57,6 +58,9 @@ class DividendFlowTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
@@ -112,7 +116,8 @@ class DividendFlowTest {
                 holdingRepository,
                 null, // DividendPaymentValidationService
                 messagingTemplate,
-                null // HoldingCalculationService
+                null, // HoldingCalculationService
+                eventPublisher
         );
 
         dividendService = new DividendServiceImpl(
@@ -0,0 +1,110 @@
+package com.joelcode.personalinvestmentportfoliotracker.jwt;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.User;
+import com.joelcode.personalinvestmentportfoliotracker.model.CustomUserDetails;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.UserRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.customuserdetails.CustomUserDetailsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// Testing that authenticated requests verify the token once and reuse the cached user
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "this-is-a-super-secret-key-that-is-at-least-256-bits-long-for-testing-purposes-only";
+
+    private UserRepository userRepository;
+    private CustomUserDetailsService customUserDetailsService;
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        customUserDetailsService = new CustomUserDetailsService(userRepository, new SimpleMeterRegistry(),
+                Duration.ofMinutes(5), 100);
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 3600000);
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, customUserDetailsService);
+
+        user = new User();
+        user.setUserId(UUID.randomUUID());
+        user.setUsername("testuser");
+        user.setEmail("test@example.com");
+        user.setFullName("Test User");
+        user.setRoles(User.Role.ROLE_USER);
+        when(userRepository.findById(user.getUserId())).thenReturn(Optional.of(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testRepeatedRequestsHitTheDatabaseOnce() throws Exception {
+        String token = jwtTokenProvider.generateToken(user);
+
+        for (int i = 0; i < 3; i++) {
+            Authentication authentication = authenticate(token);
+            assertNotNull(authentication);
+            assertEquals(user.getUserId(), ((CustomUserDetails) authentication.getPrincipal()).getUser().getUserId());
+        }
+
+        verify(userRepository, times(1)).findById(user.getUserId());
+        verify(userRepository, never()).findByUsername(any());
+    }
+
+    @Test
+    void testEvictReloadsTheUser() throws Exception {
+        String token = jwtTokenProvider.generateToken(user);
+        authenticate(token);
+
+        customUserDetailsService.evict(user.getUserId());
+        authenticate(token);
+
+        verify(userRepository, times(2)).findById(user.getUserId());
+    }
+
+    @Test
+    void testInvalidOrExpiredTokenLeavesRequestUnauthenticated() throws Exception {
+        String expired = new JwtTokenProvider(SECRET, -1000).generateToken(user);
+
+        assertNull(authenticate(expired));
+        assertNull(authenticate("invalid.token.here"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testUnknownUserLeavesRequestUnauthenticated() throws Exception {
+        User deleted = new User();
+        deleted.setUserId(UUID.randomUUID());
+        deleted.setUsername("gone");
+        deleted.setRoles(User.Role.ROLE_USER);
+        when(userRepository.findById(deleted.getUserId())).thenReturn(Optional.empty());
+
+        assertNull(authenticate(jwtTokenProvider.generateToken(deleted)));
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/portfolio");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
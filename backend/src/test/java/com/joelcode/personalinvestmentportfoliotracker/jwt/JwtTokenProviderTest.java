@@ -8,7 +8,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Date;
 import java.util.UUID;
@@ -24,9 +23,7 @@ class JwtTokenProviderTest {
 
     @BeforeEach
     void setUp() {
-        jwtTokenProvider = new JwtTokenProvider();
-        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", validSecret);
-        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationInMs", 3600000); // 1 hour
+        jwtTokenProvider = new JwtTokenProvider(validSecret, 3600000); // 1 hour
 
         testUser = new User();
         testUser.setUserId(UUID.randomUUID());
@@ -221,9 +218,7 @@ class JwtTokenProviderTest {
     @Test
     void testValidateToken_ExpiredToken_Failure() {
         // Arrange
-        jwtTokenProvider = new JwtTokenProvider();
-        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", validSecret);
-        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationInMs", -1000); // Already expired
+        jwtTokenProvider = new JwtTokenProvider(validSecret, -1000); // Already expired
 
         String expiredToken = jwtTokenProvider.generateToken(testUser);
 
@@ -248,9 +243,7 @@ class JwtTokenProviderTest {
     @Test
     void testIsTokenExpired_ExpiredToken_Success() {
         // Arrange
-        jwtTokenProvider = new JwtTokenProvider();
-        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", validSecret);
-        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationInMs", -1000); // Already expired
+        jwtTokenProvider = new JwtTokenProvider(validSecret, -1000); // Already expired
 
         String expiredToken = jwtTokenProvider.generateToken(testUser);
 
@@ -349,9 +342,7 @@ class JwtTokenProviderTest {
         String token = jwtTokenProvider.generateToken(testUser);
 
         // Create new provider with different secret
-        JwtTokenProvider wrongSecretProvider = new JwtTokenProvider();
-        ReflectionTestUtils.setField(wrongSecretProvider, "jwtSecret", "different-secret-key-for-testing-purposes-only");
-        ReflectionTestUtils.setField(wrongSecretProvider, "jwtExpirationInMs", 3600000);
+        JwtTokenProvider wrongSecretProvider = new JwtTokenProvider("different-secret-key-for-testing-purposes-only", 3600000);
 
         // Act
         assertThrows(Exception.class, () -> {
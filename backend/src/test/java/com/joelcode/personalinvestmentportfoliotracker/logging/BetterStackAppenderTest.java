@@ -0,0 +1,154 @@
+package com.joelcode.personalinvestmentportfoliotracker.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Testing batched, compressed log shipping against a local stub of the Better Stack endpoint
+class BetterStackAppenderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<List<JsonNode>> batches = new CopyOnWriteArrayList<>();
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private LoggerContext loggerContext;
+    private BetterStackAppender appender;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+            assertEquals("gzip", exchange.getRequestHeaders().getFirst("Content-Encoding"));
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            batches.add(decode(body));
+            exchange.sendResponseHeaders(202, -1);
+            exchange.close();
+        });
+        server.start();
+        loggerContext = new LoggerContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (appender != null) {
+            appender.stop();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void testShipsFullBatchesAsGzipNdjson() throws InterruptedException {
+        appender = appender(3, 60_000);
+
+        for (int i = 0; i < 6; i++) {
+            appender.doAppend(event(Level.INFO, "line " + i));
+        }
+        awaitShipped(6);
+
+        assertEquals(2, batches.size());
+        assertEquals(3, batches.get(0).size());
+        assertEquals("line 0", batches.get(0).get(0).get("message").asText());
+        assertEquals("INFO", batches.get(0).get(0).get("level").asText());
+        assertEquals("line 5", batches.get(1).get(2).get("message").asText());
+        assertEquals("Bearer test-token", authorizations.get(0));
+    }
+
+    @Test
+    void testPartialBatchIsShippedAfterFlushInterval() throws InterruptedException {
+        appender = appender(100, 50);
+
+        appender.doAppend(event(Level.WARN, "lonely line"));
+        awaitShipped(1);
+
+        assertEquals(1, batches.size());
+        assertEquals("WARN", batches.get(0).get(0).get("level").asText());
+    }
+
+    @Test
+    void testStopFlushesQueuedEvents() {
+        appender = appender(100, 60_000);
+
+        for (int i = 0; i < 5; i++) {
+            appender.doAppend(event(Level.INFO, "before shutdown " + i));
+        }
+        appender.stop();
+
+        assertEquals(5, appender.getShippedCount());
+        assertEquals(5, batches.stream().mapToInt(List::size).sum());
+
+        // Events after stop are ignored
+        appender.doAppend(event(Level.INFO, "after shutdown"));
+        assertEquals(0, appender.getQueueSize());
+    }
+
+    @Test
+    void testQueueDropsOldestWhenFull() {
+        DropOldestQueue<Integer> queue = new DropOldestQueue<>(3);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(i);
+        }
+
+        List<Integer> drained = new ArrayList<>();
+        queue.drainTo(drained, 10);
+
+        assertEquals(List.of(2, 3, 4), drained);
+        assertEquals(2, queue.droppedCount());
+        assertTrue(queue.isEmpty());
+    }
+
+    private BetterStackAppender appender(int batchSize, long flushIntervalMillis) {
+        BetterStackAppender appender = new BetterStackAppender();
+        appender.setContext(loggerContext);
+        appender.setUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+        appender.setToken("test-token");
+        appender.setBatchSize(batchSize);
+        appender.setFlushIntervalMillis(flushIntervalMillis);
+        appender.start();
+        assertTrue(appender.isStarted());
+        return appender;
+    }
+
+    private LoggingEvent event(Level level, String message) {
+        return new LoggingEvent(BetterStackAppenderTest.class.getName(), loggerContext.getLogger("test"), level,
+                message, null, null);
+    }
+
+    private void awaitShipped(long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (appender.getShippedCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, appender.getShippedCount());
+    }
+
+    private List<JsonNode> decode(byte[] body) throws IOException {
+        String ndjson;
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            ndjson = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,105 @@
+package com.joelcode.personalinvestmentportfoliotracker.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Testing the lock-free sliding window of call outcomes behind the external API health indicator
+class CallOutcomeWindowTest {
+
+    @Test
+    void testSuccessRateCoversOnlyTheLastWindowOfCalls() {
+        CallOutcomeWindow window = new CallOutcomeWindow(4);
+        for (int i = 0; i < 4; i++) {
+            window.record(true, millis(10), i);
+        }
+        assertEquals(0.0, window.getSuccessRate());
+
+        // Three successes push three failures out of the window
+        for (int i = 0; i < 3; i++) {
+            window.record(false, millis(10), 10 + i);
+        }
+
+        assertEquals(4, window.getCalls());
+        assertEquals(1, window.getFailures());
+        assertEquals(0.75, window.getSuccessRate());
+        assertEquals(12, window.getLastCallNanos());
+    }
+
+    @Test
+    void testLatencyPercentilesFollowEvictions() {
+        CallOutcomeWindow window = new CallOutcomeWindow(10);
+        for (int i = 0; i < 9; i++) {
+            window.record(false, millis(20), i);
+        }
+        window.record(false, millis(2_000), 9);
+
+        assertEquals(20, window.getLatencyPercentileMillis(0.50), 20 * 0.25);
+        assertEquals(2_000, window.getLatencyPercentileMillis(0.99), 2_000 * 0.25);
+
+        // The slow call leaves the window once ten more calls arrive
+        for (int i = 0; i < 10; i++) {
+            window.record(false, millis(20), 10 + i);
+        }
+        assertEquals(20, window.getLatencyPercentileMillis(0.99), 20 * 0.25);
+    }
+
+    @Test
+    void testEmptyWindowReportsNoCalls() {
+        CallOutcomeWindow window = new CallOutcomeWindow(5);
+
+        assertEquals(0, window.getCalls());
+        assertEquals(1.0, window.getSuccessRate());
+        assertEquals(0.0, window.getLatencyPercentileMillis(0.95));
+        assertEquals(Long.MIN_VALUE, window.getLastCallNanos());
+    }
+
+    @Test
+    void testBucketsAreContiguousAndWithinAQuarter() {
+        long previousUpper = -1;
+        for (int bucket = 0; bucket < CallOutcomeWindow.BUCKETS; bucket++) {
+            long upper = CallOutcomeWindow.upperBoundMicros(bucket);
+            assertEquals(bucket, CallOutcomeWindow.bucketOf(previousUpper + 1));
+            assertEquals(bucket, CallOutcomeWindow.bucketOf(upper));
+            assertTrue(upper - (previousUpper + 1) <= Math.max(0, (previousUpper + 1) / 4));
+            previousUpper = upper;
+        }
+    }
+
+    @Test
+    void testConcurrentRecordsKeepCountersConsistent() throws Exception {
+        CallOutcomeWindow window = new CallOutcomeWindow(64);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        window.record((i + thread) % 4 == 0, millis(5), i);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(64, window.getCalls());
+        assertTrue(window.getFailures() >= 0 && window.getFailures() <= 64);
+        assertEquals(5, window.getLatencyPercentileMillis(1.0), 5 * 0.25);
+    }
+
+    private static long millis(long millis) {
+        return Duration.ofMillis(millis).toNanos();
+    }
+}
@@ -0,0 +1,80 @@
+package com.joelcode.personalinvestmentportfoliotracker.monitoring;
+
+import com.joelcode.personalinvestmentportfoliotracker.services.finnhub.FinnhubApiClient;
+import com.joelcode.personalinvestmentportfoliotracker.services.yahoofinance.YahooFinanceApiClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Testing that health is read from recorded call outcomes and probes only run for idle providers
+class ExternalApiHealthIndicatorTest {
+
+    private ExternalApiHealthTracker healthTracker;
+    private FinnhubApiClient finnhubApiClient;
+    private YahooFinanceApiClient yahooFinanceApiClient;
+    private ExternalApiHealthIndicator indicator;
+
+    @BeforeEach
+    void setup() {
+        healthTracker = new ExternalApiHealthTracker(10);
+        finnhubApiClient = mock(FinnhubApiClient.class);
+        yahooFinanceApiClient = mock(YahooFinanceApiClient.class);
+        // Probes run inline so their effect is visible straight away
+        indicator = new ExternalApiHealthIndicator(healthTracker, finnhubApiClient, yahooFinanceApiClient,
+                Runnable::run, 0.5, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testRecentTrafficIsReportedWithoutCallingProviders() {
+        for (int i = 0; i < 4; i++) {
+            healthTracker.record("finnhub", "quote", false, Duration.ofMillis(40).toNanos());
+            healthTracker.record("yahoo", "candles", false, Duration.ofMillis(80).toNanos());
+        }
+
+        Health health = indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        Map<?, ?> finnhub = (Map<?, ?>) health.getDetails().get("finnhub");
+        assertEquals("UP", finnhub.get("status"));
+        assertEquals(4L, finnhub.get("calls"));
+        Map<?, ?> quote = (Map<?, ?>) ((Map<?, ?>) finnhub.get("endpoints")).get("quote");
+        assertEquals(40.0, (Double) quote.get("p95Ms"), 10.0);
+        verifyNoInteractions(finnhubApiClient, yahooFinanceApiClient);
+    }
+
+    @Test
+    void testFailingProviderMakesHealthDegraded() {
+        for (int i = 0; i < 4; i++) {
+            healthTracker.record("finnhub", "quote", true, Duration.ofSeconds(2).toNanos());
+            healthTracker.record("yahoo", "candles", false, Duration.ofMillis(80).toNanos());
+        }
+
+        Health health = indicator.health();
+
+        assertEquals("DEGRADED", health.getStatus().getCode());
+        assertEquals("FinnHub API is down", health.getDetails().get("message"));
+    }
+
+    @Test
+    void testIdleProviderIsProbedOncePerIdleWindow() {
+        healthTracker.record("yahoo", "candles", false, Duration.ofMillis(80).toNanos());
+
+        Health first = indicator.health();
+        indicator.health();
+        indicator.health();
+
+        // Finnhub had no traffic, so one probe started; Yahoo was busy and is left alone
+        verify(finnhubApiClient, times(1)).getQuote("AAPL");
+        verify(yahooFinanceApiClient, never()).getCandles(anyString(), anyString(), anyLong(), anyLong());
+        assertEquals("UNKNOWN", ((Map<?, ?>) first.getDetails().get("finnhub")).get("status"));
+        assertEquals(Status.UP, first.getStatus());
+    }
+}
@@ -0,0 +1,87 @@
+package com.joelcode.personalinvestmentportfoliotracker.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Testing the per-request SQL statement count, the N+1 flag and profile propagation to executor threads
+class RequestProfilingFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestProfilingFilter filter;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestProfilingFilter(meterRegistry, 5, Duration.ofSeconds(1));
+        request = new MockHttpServletRequest("GET", "/api/accounts/42/holdings");
+    }
+
+    @Test
+    void testRequestOverThresholdIsFlaggedAsNPlusOne() throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/accounts/{id}/holdings");
+            for (int i = 0; i < 6; i++) {
+                RequestProfile.recordStatement();
+            }
+        });
+
+        assertEquals(Boolean.TRUE, request.getAttribute(RequestProfilingFilter.SUSPECTED_N_PLUS_ONE));
+        assertEquals(1.0, meterRegistry.get("app.request.n_plus_one")
+                .tag("uri", "/api/accounts/{id}/holdings").counter().count());
+        assertEquals(6.0, meterRegistry.get("app.request.statements").summary().totalAmount());
+        assertNull(RequestProfile.current());
+    }
+
+    @Test
+    void testRequestAtThresholdIsNotFlagged() throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            for (int i = 0; i < 5; i++) {
+                RequestProfile.recordStatement();
+            }
+        });
+
+        assertNull(request.getAttribute(RequestProfilingFilter.SUSPECTED_N_PLUS_ONE));
+        assertNull(meterRegistry.find("app.request.n_plus_one").counter());
+    }
+
+    @Test
+    void testWorkOnWrappedExecutorCountsAgainstTheRequest() throws Exception {
+        ExecutorService executor = new ProfilePropagatingExecutorService(Executors.newSingleThreadExecutor());
+        RequestProfile[] seen = new RequestProfile[1];
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                seen[0] = RequestProfile.current();
+                try {
+                    executor.submit(() -> {
+                        RequestProfile.recordStatement();
+                        RequestProfile.recordDbTime(Duration.ofMillis(3).toNanos());
+                        RequestProfile.recordExternalCall(Duration.ofMillis(7).toNanos());
+                    }).get();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            assertEquals(1, seen[0].getStatements());
+            assertEquals(Duration.ofMillis(3).toNanos(), seen[0].getDbNanos());
+            assertEquals(1, seen[0].getExternalCalls());
+            assertEquals(Duration.ofMillis(7).toNanos(), seen[0].getExternalNanos());
+
+            // The executor thread is left without a profile once the task is done
+            assertNull(executor.submit(RequestProfile::current).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
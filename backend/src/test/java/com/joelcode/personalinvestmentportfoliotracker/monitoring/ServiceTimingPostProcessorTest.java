@@ -0,0 +1,65 @@
+package com.joelcode.personalinvestmentportfoliotracker.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Testing that matching beans are proxied and their public methods timed by outcome
+class ServiceTimingPostProcessorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ServiceTimingPostProcessor postProcessor;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry));
+        postProcessor = new ServiceTimingPostProcessor(List.of(ServiceTimingPostProcessorTest.class.getName() + "$Timed"),
+                beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    void testPublicMethodsAreTimedBySuccessAndError() {
+        TimedService service = (TimedService) postProcessor.postProcessAfterInitialization(new TimedService(), "timedService");
+
+        assertTrue(AopUtils.isAopProxy(service));
+        assertEquals(4, service.twice(2));
+        assertThrows(IllegalArgumentException.class, () -> service.twice(-1));
+
+        assertEquals(1, meterRegistry.get("app.service.duration")
+                .tags("service", "TimedService", "method", "twice", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("app.service.duration")
+                .tags("service", "TimedService", "method", "twice", "outcome", "error").timer().count());
+    }
+
+    @Test
+    void testOtherBeansAreLeftAlone() {
+        Object bean = new OtherService();
+
+        assertSame(bean, postProcessor.postProcessAfterInitialization(bean, "otherService"));
+    }
+
+
+    static class TimedService {
+        public int twice(int value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("negative");
+            }
+            return value * 2;
+        }
+    }
+
+    static class OtherService {
+        public int once(int value) {
+            return value;
+        }
+    }
+}
@@ -7,10 +7,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -213,4 +216,29 @@ class AccountRepositoryTest {
         // Assert
         assertTrue(results.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testKeysetPages_WalkEveryAccountOnce() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            Account account = new Account();
+            account.setAccountName("Savings " + i);
+            account.setUser(testUser);
+            entityManager.persist(account);
+        }
+        entityManager.flush();
+
+        // Act
+        List<UUID> seen = new ArrayList<>();
+        List<Account> page = accountRepository.findAllByOrderByAccountIdAsc(PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            page.forEach(a -> seen.add(a.getAccountId()));
+            page = accountRepository.findByAccountIdGreaterThanOrderByAccountIdAsc(
+                    page.get(page.size() - 1).getAccountId(), PageRequest.of(0, 2));
+        }
+
+        // Assert
+        assertEquals(5, seen.size());
+        assertEquals(5, new HashSet<>(seen).size());
+    }
+}
@@ -0,0 +1,104 @@
+package com.joelcode.personalinvestmentportfoliotracker.repositories;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
+import com.joelcode.personalinvestmentportfoliotracker.entities.PortfolioSnapshot;
+import com.joelcode.personalinvestmentportfoliotracker.entities.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ON CONFLICT needs H2's PostgreSQL mode, so this runs on its own database instead of the default embedded one
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:snapshotbatch;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PortfolioSnapshotJdbcRepository.class)
+class PortfolioSnapshotJdbcRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PortfolioSnapshotJdbcRepository portfolioSnapshotJdbcRepository;
+
+    @Autowired
+    private PortfolioSnapshotRepository portfolioSnapshotRepository;
+
+    private Account snapshotted;
+    private Account fresh;
+
+    // One account already has today's snapshot, the other has none
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("batchuser");
+        entityManager.persistAndFlush(user);
+
+        snapshotted = persistAccount(user, "Snapshotted");
+        fresh = persistAccount(user, "Fresh");
+
+        PortfolioSnapshot existing = snapshot(snapshotted, 55000);
+        existing.setSnapshotId(null);
+        entityManager.persistAndFlush(existing);
+    }
+
+    @Test
+    void testInsertIgnoringExisting_SkipsAccountsAlreadySnapshotted() {
+        // Act
+        int written = portfolioSnapshotJdbcRepository.insertIgnoringExisting(List.of(
+                snapshot(snapshotted, 60000),
+                snapshot(fresh, 1000)));
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1, written);
+        assertEquals(1L, portfolioSnapshotRepository.countByAccount(snapshotted));
+        assertEquals(1L, portfolioSnapshotRepository.countByAccount(fresh));
+        assertEquals(0, BigDecimal.valueOf(55000).compareTo(
+                portfolioSnapshotRepository.findLatestByAccount(snapshotted).orElseThrow().getTotalValue()));
+    }
+
+    @Test
+    void testInsertIgnoringExisting_RerunWritesNothing() {
+        // Arrange
+        portfolioSnapshotJdbcRepository.insertIgnoringExisting(List.of(snapshot(fresh, 1000)));
+
+        // Act
+        int written = portfolioSnapshotJdbcRepository.insertIgnoringExisting(List.of(
+                snapshot(snapshotted, 60000),
+                snapshot(fresh, 1000)));
+
+        // Assert
+        assertEquals(0, written);
+        assertEquals(0, portfolioSnapshotJdbcRepository.insertIgnoringExisting(List.of()));
+    }
+
+    private Account persistAccount(User user, String name) {
+        Account account = new Account();
+        account.setAccountName(name);
+        account.setUser(user);
+        return entityManager.persistAndFlush(account);
+    }
+
+    private PortfolioSnapshot snapshot(Account account, int totalValue) {
+        PortfolioSnapshot snapshot = new PortfolioSnapshot();
+        snapshot.setSnapshotId(UUID.randomUUID());
+        snapshot.setAccount(account);
+        snapshot.setSnapshotDate(LocalDate.now());
+        snapshot.setTotalValue(BigDecimal.valueOf(totalValue));
+        snapshot.setCashBalance(BigDecimal.ZERO);
+        snapshot.setTotalCostBasis(BigDecimal.valueOf(totalValue));
+        snapshot.setTotalGain(BigDecimal.ZERO);
+        snapshot.setDayChange(BigDecimal.ZERO);
+        return snapshot;
+    }
+}
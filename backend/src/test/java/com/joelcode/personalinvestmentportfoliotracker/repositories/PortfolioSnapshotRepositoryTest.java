@@ -3,6 +3,7 @@ package com.joelcode.personalinvestmentportfoliotracker.repositories;
 import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
 import com.joelcode.personalinvestmentportfoliotracker.entities.PortfolioSnapshot;
 import com.joelcode.personalinvestmentportfoliotracker.entities.User;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfoliosnapshot.PreviousSnapshotValue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -249,4 +250,32 @@ class PortfolioSnapshotRepositoryTest {
         assertTrue(count > 0);
         assertEquals(1L, count);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindLatestValuesBefore_OnlyEarlierDates() {
+        // Arrange
+        persistSnapshot(LocalDate.now().minusDays(3), 50000);
+        persistSnapshot(LocalDate.now().minusDays(1), 54000);
+
+        // Act
+        List<PreviousSnapshotValue> results = portfolioSnapshotRepository.findLatestValuesBefore(
+                List.of(testAccount.getAccountId()), LocalDate.now());
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals(testAccount.getAccountId(), results.get(0).accountId());
+        assertEquals(0, BigDecimal.valueOf(54000).compareTo(results.get(0).totalValue()));
+    }
+
+    private void persistSnapshot(LocalDate date, int totalValue) {
+        PortfolioSnapshot snapshot = new PortfolioSnapshot();
+        snapshot.setAccount(testAccount);
+        snapshot.setSnapshotDate(date);
+        snapshot.setTotalValue(BigDecimal.valueOf(totalValue));
+        snapshot.setCashBalance(BigDecimal.ZERO);
+        snapshot.setTotalCostBasis(BigDecimal.valueOf(totalValue));
+        snapshot.setTotalGain(BigDecimal.ZERO);
+        snapshot.setDayChange(BigDecimal.ZERO);
+        entityManager.persistAndFlush(snapshot);
+    }
+}
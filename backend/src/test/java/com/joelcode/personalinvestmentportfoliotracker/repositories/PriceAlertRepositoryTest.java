@@ -0,0 +1,84 @@
+package com.joelcode.personalinvestmentportfoliotracker.repositories;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.PriceAlert;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Stock;
+import com.joelcode.personalinvestmentportfoliotracker.entities.User;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricealert.IndexedAlert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class PriceAlertRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PriceAlertRepository priceAlertRepository;
+
+    private User user;
+    private Stock stock;
+    private PriceAlert activeAlert;
+    private PriceAlert inactiveAlert;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("alertuser");
+        entityManager.persistAndFlush(user);
+
+        stock = new Stock();
+        stock.setStockCode("AAPL");
+        stock.setCompanyName("Apple");
+        entityManager.persistAndFlush(stock);
+
+        activeAlert = entityManager.persist(new PriceAlert(user, stock, "ABOVE", BigDecimal.valueOf(200)));
+        inactiveAlert = new PriceAlert(user, stock, "BELOW", BigDecimal.valueOf(100));
+        inactiveAlert.setIsActive(false);
+        entityManager.persist(inactiveAlert);
+        entityManager.flush();
+    }
+
+    @Test
+    void testFindActiveIndexedAlerts_Success() {
+        // Act
+        List<IndexedAlert> results = priceAlertRepository.findActiveIndexedAlerts();
+
+        // Assert
+        assertEquals(1, results.size());
+        IndexedAlert alert = results.get(0);
+        assertEquals(activeAlert.getAlertId(), alert.alertId());
+        assertEquals(user.getUserId(), alert.userId());
+        assertEquals(stock.getStockId(), alert.stockId());
+        assertEquals("AAPL", alert.stockCode());
+        assertTrue(alert.isAbove());
+    }
+
+    @Test
+    void testMarkTriggered_OnlyClosesActiveAlerts() {
+        // Arrange
+        LocalDateTime triggeredAt = LocalDateTime.now().withNano(0);
+
+        // Act
+        int updated = priceAlertRepository.markTriggered(
+                List.of(activeAlert.getAlertId(), inactiveAlert.getAlertId()), triggeredAt);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1, updated);
+        PriceAlert fired = entityManager.find(PriceAlert.class, activeAlert.getAlertId());
+        assertFalse(fired.getIsActive());
+        assertEquals(triggeredAt, fired.getTriggeredAt());
+        assertNull(entityManager.find(PriceAlert.class, inactiveAlert.getAlertId()).getTriggeredAt());
+        assertTrue(priceAlertRepository.findActiveIndexedAlerts().isEmpty());
+    }
+}
@@ -0,0 +1,140 @@
+package com.joelcode.personalinvestmentportfoliotracker.repositories;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.PriceHistory;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Stock;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceHistoryJdbcRepository.PricePoint;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSlice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ON CONFLICT needs H2's PostgreSQL mode, so this runs on its own database instead of the default embedded one
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:pricebatch;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PriceHistoryJdbcRepository.class)
+class PriceHistoryJdbcRepositoryTest {
+
+    private static final LocalDateTime BUCKET = LocalDateTime.of(2025, 6, 30, 14, 31);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PriceHistoryJdbcRepository priceHistoryJdbcRepository;
+
+    @Autowired
+    private PriceHistoryRepository priceHistoryRepository;
+
+    private Stock stock;
+
+    // The stock already has a row for the bucket
+    @BeforeEach
+    void setUp() {
+        stock = new Stock();
+        stock.setStockCode("UPSRT");
+        stock.setCompanyName("Upsert Corp");
+        stock.setStockValue(BigDecimal.valueOf(100));
+        entityManager.persistAndFlush(stock);
+
+        entityManager.persistAndFlush(new PriceHistory(BUCKET, BigDecimal.valueOf(100), stock));
+    }
+
+    @Test
+    void testUpsertPrices_UpdatesExistingBucketAndInsertsNewOnes() {
+        // Act
+        priceHistoryJdbcRepository.upsertPrices(List.of(
+                new PricePoint(stock.getStockId(), BUCKET, BigDecimal.valueOf(101)),
+                new PricePoint(stock.getStockId(), BUCKET.plusMinutes(1), BigDecimal.valueOf(102))));
+        entityManager.clear();
+
+        // Assert
+        List<PriceHistory> rows = priceHistoryRepository.findByStock_StockIdOrderByCloseDateAsc(stock.getStockId());
+        assertEquals(2, rows.size());
+        assertEquals(0, BigDecimal.valueOf(101).compareTo(rows.get(0).getClosePrice()));
+        assertEquals(0, BigDecimal.valueOf(102).compareTo(rows.get(1).getClosePrice()));
+    }
+
+    @Test
+    void testUpsertPrices_SkipsUnknownStocks() {
+        // Act
+        priceHistoryJdbcRepository.upsertPrices(List.of(
+                new PricePoint(UUID.randomUUID(), BUCKET, BigDecimal.valueOf(50))));
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1L, priceHistoryRepository.count());
+    }
+
+    @Test
+    void testFindIds_AlignsRowIdsWithCloseTimes() {
+        // Arrange
+        PriceHistory later = entityManager.persistAndFlush(
+                new PriceHistory(BUCKET.plusMinutes(5), BigDecimal.valueOf(104), stock));
+        long[] times = {PriceSlice.toTime(BUCKET), PriceSlice.toTime(BUCKET.plusMinutes(1)),
+                PriceSlice.toTime(BUCKET.plusMinutes(5))};
+
+        // Act
+        UUID[] ids = priceHistoryJdbcRepository.findIds(stock.getStockId(), times);
+
+        // Assert
+        assertNotNull(ids[0]);
+        assertNull(ids[1]);
+        assertEquals(later.getPriceHistoryId(), ids[2]);
+    }
+
+    @Test
+    void testFindIds_AlignsLargeSlicesFromOneRangeScan() {
+        // Arrange: a row a minute after BUCKET, and a slice of 600 of them with one time that has no row
+        List<PricePoint> points = new ArrayList<>();
+        for (int i = 1; i <= 700; i++) {
+            points.add(new PricePoint(stock.getStockId(), BUCKET.plusMinutes(i), BigDecimal.valueOf(100 + i)));
+        }
+        priceHistoryJdbcRepository.upsertPrices(points);
+        long[] times = new long[600];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = PriceSlice.toTime(BUCKET.plusMinutes(i));
+        }
+        times[300] = PriceSlice.toTime(BUCKET.plusMinutes(299).plusSeconds(30));
+
+        // Act
+        UUID[] ids = priceHistoryJdbcRepository.findIds(stock.getStockId(), times);
+
+        // Assert
+        Map<LocalDateTime, UUID> rowIds = new HashMap<>();
+        for (PriceHistory row : priceHistoryRepository.findByStock_StockIdOrderByCloseDateAsc(stock.getStockId())) {
+            rowIds.put(row.getCloseDate(), row.getPriceHistoryId());
+        }
+        assertEquals(600, ids.length);
+        assertNull(ids[300]);
+        for (int i = 0; i < times.length; i++) {
+            if (i != 300) {
+                assertEquals(rowIds.get(BUCKET.plusMinutes(i)), ids[i]);
+            }
+        }
+    }
+
+    @Test
+    void testUpdateStockValues_SetsLatestValue() {
+        // Act
+        priceHistoryJdbcRepository.updateStockValues(Map.of(stock.getStockId(), BigDecimal.valueOf(103)));
+        entityManager.clear();
+
+        // Assert
+        Stock updated = entityManager.find(Stock.class, stock.getStockId());
+        assertEquals(0, BigDecimal.valueOf(103).compareTo(updated.getStockValue()));
+    }
+}
@@ -90,6 +90,36 @@ class PriceHistoryRepositoryTest {
         assertEquals(BigDecimal.valueOf(150.0), result.get().getClosePrice());
     }
 
+    @Test
+    void testFindLatestByStockIds_ReturnsOneRowPerStock() {
+        // Arrange
+        PriceHistory olderPrice = new PriceHistory();
+        olderPrice.setStock(testStock);
+        olderPrice.setClosePrice(BigDecimal.valueOf(120.0));
+        olderPrice.setCloseDate(LocalDateTime.now().minusDays(2));
+        entityManager.persistAndFlush(olderPrice);
+
+        Stock otherStock = new Stock();
+        otherStock.setStockCode("MSFT");
+        otherStock.setCompanyName("Microsoft");
+        entityManager.persistAndFlush(otherStock);
+
+        PriceHistory otherPrice = new PriceHistory();
+        otherPrice.setStock(otherStock);
+        otherPrice.setClosePrice(BigDecimal.valueOf(300.0));
+        otherPrice.setCloseDate(LocalDateTime.now().minusDays(1));
+        entityManager.persistAndFlush(otherPrice);
+
+        // Act
+        List<PriceHistory> results = priceHistoryRepository.findLatestByStockIds(
+                List.of(testStock.getStockId(), otherStock.getStockId()));
+
+        // Assert
+        assertEquals(2, results.size());
+        assertTrue(results.stream().anyMatch(ph -> ph.getPriceHistoryId().equals(testPriceHistory.getPriceHistoryId())));
+        assertTrue(results.stream().anyMatch(ph -> ph.getPriceHistoryId().equals(otherPrice.getPriceHistoryId())));
+    }
+
     @Test
     void testFindByStock_IdAndDateBetween_Success() {
         // Arrange
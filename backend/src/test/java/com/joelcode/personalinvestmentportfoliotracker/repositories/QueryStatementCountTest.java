@@ -0,0 +1,189 @@
+package com.joelcode.personalinvestmentportfoliotracker.repositories;
+
+import com.joelcode.personalinvestmentportfoliotracker.dto.pricealert.PriceAlertDTO;
+import com.joelcode.personalinvestmentportfoliotracker.entities.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Hot list queries must run a fixed number of statements no matter how many rows they return
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class QueryStatementCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private HoldingRepository holdingRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private WatchlistRepository watchlistRepository;
+
+    @Autowired
+    private PriceAlertRepository priceAlertRepository;
+
+    private Statistics statistics;
+    private User user;
+    private Account account;
+    private int stockCounter;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        user = new User();
+        user.setUsername("statementuser");
+        entityManager.persistAndFlush(user);
+
+        account = new Account();
+        account.setAccountName("Statement Account");
+        account.setUser(user);
+        entityManager.persistAndFlush(account);
+    }
+
+    @Test
+    void testHoldingsByAccount_SingleStatement() {
+        seedHoldings(1);
+        assertEquals(1, statementsFor(() -> touchHoldings(holdingRepository.findByAccount_AccountId(account.getAccountId()))));
+
+        seedHoldings(24);
+        assertEquals(1, statementsFor(() -> touchHoldings(holdingRepository.findByAccount_AccountId(account.getAccountId()))));
+    }
+
+    @Test
+    void testHoldingsByUser_SingleStatement() {
+        seedHoldings(1);
+        assertEquals(1, statementsFor(() -> touchHoldings(holdingRepository.findByAccount_User_UserId(user.getUserId()))));
+
+        seedHoldings(24);
+        assertEquals(1, statementsFor(() -> touchHoldings(holdingRepository.findByAccount_User_UserId(user.getUserId()))));
+    }
+
+    @Test
+    void testPendingOrders_SingleStatement() {
+        seedOrders(1);
+        assertEquals(1, statementsFor(() -> touchOrders(orderRepository.findByStatusOrderByCreatedAtAsc(Order.OrderStatus.PENDING))));
+
+        seedOrders(24);
+        assertEquals(1, statementsFor(() -> touchOrders(orderRepository.findByStatusOrderByCreatedAtAsc(Order.OrderStatus.PENDING))));
+    }
+
+    @Test
+    void testWatchlistByUser_SingleStatement() {
+        seedWatchlist(1);
+        assertEquals(1, statementsFor(() -> touchWatchlist(watchlistRepository.findByUser_UserId(user.getUserId()))));
+
+        seedWatchlist(24);
+        assertEquals(1, statementsFor(() -> touchWatchlist(watchlistRepository.findByUser_UserId(user.getUserId()))));
+    }
+
+    @Test
+    void testPriceAlertDTOsByUser_SingleStatement() {
+        seedPriceAlerts(1);
+        assertEquals(1, statementsFor(() -> priceAlertRepository.findAlertDTOsByUserId(user.getUserId())));
+
+        seedPriceAlerts(24);
+        List<PriceAlertDTO> alerts = priceAlertRepository.findAlertDTOsByUserIdAndIsActive(user.getUserId(), true);
+        assertEquals(25, alerts.size());
+        assertNotNull(alerts.get(0).getStockCode());
+        assertEquals(1, statementsFor(() -> priceAlertRepository.findAlertDTOsByUserId(user.getUserId())));
+        assertEquals(1, statementsFor(() -> priceAlertRepository.findAlertDTOsByUserIdAndIsActive(user.getUserId(), true)));
+    }
+
+
+    // Helpers
+
+    // Count the JDBC statements prepared while running the query and walking its results on a cold session
+    private long statementsFor(Supplier<?> work) {
+        entityManager.clear();
+        statistics.clear();
+        work.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Walk the same associations the services and controllers read per row
+    private List<Holding> touchHoldings(List<Holding> holdings) {
+        holdings.forEach(h -> {
+            h.getStock().getStockCode();
+            h.getAccount().getAccountName();
+        });
+        return holdings;
+    }
+
+    private List<Order> touchOrders(List<Order> orders) {
+        orders.forEach(o -> {
+            o.getStock().getStockCode();
+            o.getAccount().getAccountName();
+        });
+        return orders;
+    }
+
+    private List<Watchlist> touchWatchlist(List<Watchlist> watchlist) {
+        watchlist.forEach(w -> w.getStock().getCompanyName());
+        return watchlist;
+    }
+
+    private Stock newStock() {
+        stockCounter++;
+        Stock stock = new Stock();
+        stock.setStockCode("STK" + stockCounter);
+        stock.setCompanyName("Company " + stockCounter);
+        stock.setStockValue(BigDecimal.valueOf(100));
+        entityManager.persist(stock);
+        return stock;
+    }
+
+    private void seedHoldings(int count) {
+        for (int i = 0; i < count; i++) {
+            Holding holding = new Holding();
+            holding.setAccount(account);
+            holding.setStock(newStock());
+            holding.setQuantity(BigDecimal.TEN);
+            holding.setAverageCostBasis(BigDecimal.valueOf(90));
+            holding.setTotalCostBasis(BigDecimal.valueOf(900));
+            holding.setRealizedGain(BigDecimal.ZERO);
+            holding.setFirstPurchaseDate(LocalDateTime.now());
+            entityManager.persist(holding);
+        }
+        entityManager.flush();
+    }
+
+    private void seedOrders(int count) {
+        for (int i = 0; i < count; i++) {
+            entityManager.persist(new Order(account, newStock(), Order.OrderType.BUY_LIMIT, BigDecimal.ONE, BigDecimal.valueOf(95)));
+        }
+        entityManager.flush();
+    }
+
+    private void seedWatchlist(int count) {
+        for (int i = 0; i < count; i++) {
+            entityManager.persist(new Watchlist(user, newStock()));
+        }
+        entityManager.flush();
+    }
+
+    private void seedPriceAlerts(int count) {
+        for (int i = 0; i < count; i++) {
+            entityManager.persist(new PriceAlert(user, newStock(), "ABOVE", BigDecimal.valueOf(120)));
+        }
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,96 @@
+package com.joelcode.personalinvestmentportfoliotracker.repositories;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class StockRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    private User user;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("trackeduser");
+        entityManager.persistAndFlush(user);
+
+        account = new Account();
+        account.setAccountName("Tracked Account");
+        account.setUser(user);
+        entityManager.persistAndFlush(account);
+    }
+
+    @Test
+    void testFindTrackedStocks_DistinctAcrossSources() {
+        // Arrange
+        Stock held = persistStock("HELD");
+        Stock sold = persistStock("SOLD");
+        Stock watched = persistStock("WATCH");
+        Stock ordered = persistStock("ORDER");
+        Stock cancelled = persistStock("CANCEL");
+        Stock alerted = persistStock("ALERT");
+        Stock inactiveAlert = persistStock("QUIET");
+        persistStock("UNUSED");
+
+        persistHolding(held, BigDecimal.TEN);
+        persistHolding(sold, BigDecimal.ZERO);
+        entityManager.persist(new Watchlist(user, watched));
+        entityManager.persist(new Watchlist(user, held));
+        entityManager.persist(new Order(account, ordered, Order.OrderType.BUY_LIMIT, BigDecimal.ONE, BigDecimal.TEN));
+        Order cancelledOrder = new Order(account, cancelled, Order.OrderType.BUY_LIMIT, BigDecimal.ONE, BigDecimal.TEN);
+        cancelledOrder.setStatus(Order.OrderStatus.CANCELLED);
+        entityManager.persist(cancelledOrder);
+        entityManager.persist(new PriceAlert(user, alerted, "ABOVE", BigDecimal.TEN));
+        PriceAlert quietAlert = new PriceAlert(user, inactiveAlert, "BELOW", BigDecimal.ONE);
+        quietAlert.setIsActive(false);
+        entityManager.persist(quietAlert);
+        entityManager.flush();
+
+        // Act
+        List<Stock> results = stockRepository.findTrackedStocks();
+
+        // Assert
+        Set<String> codes = results.stream().map(Stock::getStockCode).collect(Collectors.toSet());
+        assertEquals(Set.of("HELD", "WATCH", "ORDER", "ALERT"), codes);
+        assertEquals(4, results.size());
+    }
+
+    private Stock persistStock(String code) {
+        Stock stock = new Stock();
+        stock.setStockCode(code);
+        stock.setCompanyName(code + " Corp");
+        stock.setStockValue(BigDecimal.valueOf(100));
+        return entityManager.persist(stock);
+    }
+
+    private void persistHolding(Stock stock, BigDecimal quantity) {
+        Holding holding = new Holding();
+        holding.setAccount(account);
+        holding.setStock(stock);
+        holding.setQuantity(quantity);
+        holding.setAverageCostBasis(BigDecimal.valueOf(90));
+        holding.setTotalCostBasis(BigDecimal.valueOf(90).multiply(quantity));
+        holding.setRealizedGain(BigDecimal.ZERO);
+        holding.setFirstPurchaseDate(LocalDateTime.now());
+        entityManager.persist(holding);
+    }
+}
@@ -16,12 +16,15 @@ import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.Pri
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -50,6 +53,8 @@ public class AccountServiceImplTest {
 
     @Mock
     private SimpMessagingTemplate messagingTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private AccountServiceImpl accountService;
@@ -218,7 +223,7 @@ public class AccountServiceImplTest {
         when(accountValidationService.validateAccountExistsById(accountId))
                 .thenReturn(testAccount);
         UUID stockId = h.getStock().getStockId();
-        when(priceHistoryService.getCurrentPrice(stockId)).thenReturn(BigDecimal.TEN);
+        when(priceHistoryService.getCurrentPrices(Set.of(stockId))).thenReturn(Map.of(stockId, BigDecimal.TEN));
         try (MockedStatic<HoldingMapper> mockedHoldingMapper = Mockito.mockStatic(HoldingMapper.class)) {
             mockedHoldingMapper.when(() -> HoldingMapper.toDTO(h, BigDecimal.TEN))
                     .thenReturn(new HoldingDTO());
@@ -0,0 +1,86 @@
+package com.joelcode.personalinvestmentportfoliotracker.services;
+
+import com.joelcode.personalinvestmentportfoliotracker.exceptions.RateLimitExceededException;
+import com.joelcode.personalinvestmentportfoliotracker.services.ratelimit.ApiRateLimiter;
+import com.joelcode.personalinvestmentportfoliotracker.services.ratelimit.ApiRateLimiter.Api;
+import com.joelcode.personalinvestmentportfoliotracker.services.ratelimit.RequestPriority;
+import com.joelcode.personalinvestmentportfoliotracker.services.ratelimit.TokenBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Testing priority lanes and bounded waiting in front of the external APIs
+public class ApiRateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ApiRateLimiter rateLimiter;
+
+    // FinnHub refills every 100ms with a burst of 3, one token reserved for interactive calls
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new ApiRateLimiter(meterRegistry,
+                Map.of(Api.FINNHUB, new TokenBucket(600, 3, 1),
+                        Api.YAHOO_FINANCE, new TokenBucket(600, 3, 1)),
+                Duration.ofMillis(500), Duration.ofMillis(50));
+    }
+
+    @Test
+    void testAcquire_InteractiveWaitsForNextToken() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(Api.FINNHUB);
+        }
+
+        long start = System.nanoTime();
+        rateLimiter.acquire(Api.FINNHUB);
+        long waitedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(waitedMillis >= 50 && waitedMillis < 450, "waited " + waitedMillis + "ms");
+        assertEquals(1.0, throttled("interactive"));
+        assertEquals(0.0, rejected("interactive"));
+    }
+
+    @Test
+    void testAcquire_BackgroundCannotUseInteractiveReserve() {
+        RequestPriority.BACKGROUND.call(() -> {
+            rateLimiter.acquire(Api.FINNHUB);
+            rateLimiter.acquire(Api.FINNHUB);
+            assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire(Api.FINNHUB));
+            return null;
+        });
+
+        assertEquals(1.0, rejected("background"));
+        assertEquals(1, rateLimiter.available(Api.FINNHUB, RequestPriority.INTERACTIVE));
+        assertEquals(1.0, meterRegistry.get("app.ratelimit.available")
+                .tag("api", "finnhub").tag("lane", "interactive").gauge().value());
+
+        // The reserve is still there for the user request
+        rateLimiter.acquire(Api.FINNHUB);
+        assertEquals(0.0, throttled("interactive"));
+    }
+
+    @Test
+    void testAcquire_InteractiveRejectedBeyondMaxWait() {
+        ApiRateLimiter strict = new ApiRateLimiter(new SimpleMeterRegistry(),
+                Map.of(Api.FINNHUB, new TokenBucket(1, 2, 1), Api.YAHOO_FINANCE, new TokenBucket(1, 2, 1)),
+                Duration.ofMillis(100), Duration.ofMillis(100));
+        strict.acquire(Api.FINNHUB);
+        strict.acquire(Api.FINNHUB);
+
+        assertThrows(RateLimitExceededException.class, () -> strict.acquire(Api.FINNHUB));
+        assertEquals(2, strict.available(Api.YAHOO_FINANCE, RequestPriority.INTERACTIVE));
+    }
+
+    private double throttled(String lane) {
+        return meterRegistry.get("app.ratelimit.throttled").tag("api", "finnhub").tag("lane", lane).counter().count();
+    }
+
+    private double rejected(String lane) {
+        return meterRegistry.get("app.ratelimit.rejected").tag("api", "finnhub").tag("lane", lane).counter().count();
+    }
+}
@@ -0,0 +1,132 @@
+package com.joelcode.personalinvestmentportfoliotracker.services;
+
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubCompanyProfileDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubQuoteDTO;
+import com.joelcode.personalinvestmentportfoliotracker.services.finnhub.CachingFinnhubApiClient;
+import com.joelcode.personalinvestmentportfoliotracker.services.finnhub.FinnhubApiClientImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.client.RestClientException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Testing the caching decorator in front of the Finnhub client
+public class CachingFinnhubApiClientTest {
+
+    @Mock
+    private FinnhubApiClientImpl delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingFinnhubApiClient client;
+    private FinnhubQuoteDTO quote;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        client = new CachingFinnhubApiClient(delegate, meterRegistry,
+                Duration.ofMinutes(1), Duration.ofHours(1), Duration.ofHours(1), 100);
+
+        quote = new FinnhubQuoteDTO();
+        quote.setCurrentPrice(BigDecimal.valueOf(190.25));
+    }
+
+    // Test repeated quotes for the same symbol only hit the network once
+    @Test
+    void testGetQuote_SecondCallServedFromCache() {
+        when(delegate.getQuote("AAPL")).thenReturn(quote);
+
+        client.getQuote("AAPL");
+        FinnhubQuoteDTO result = client.getQuote("aapl");
+
+        assertSame(quote, result);
+        assertEquals(BigDecimal.valueOf(190.25), client.getCurrentPrice("AAPL"));
+        verify(delegate, times(1)).getQuote("AAPL");
+        assertEquals(2.0, requests("finnhub.quote", "hit"));
+        assertEquals(1.0, requests("finnhub.quote", "miss"));
+    }
+
+    // Test quotes and profiles are cached independently
+    @Test
+    void testGetCompanyProfile_UsesSeparateCache() {
+        FinnhubCompanyProfileDTO profile = new FinnhubCompanyProfileDTO();
+        when(delegate.getQuote("MSFT")).thenReturn(quote);
+        when(delegate.getCompanyProfile("MSFT")).thenReturn(profile);
+
+        client.getQuote("MSFT");
+        client.getCompanyProfile("MSFT");
+        client.getCompanyProfile("MSFT");
+
+        verify(delegate, times(1)).getQuote("MSFT");
+        verify(delegate, times(1)).getCompanyProfile("MSFT");
+    }
+
+    // Test failures are propagated and not cached
+    @Test
+    void testGetQuote_FailureIsNotCached() {
+        when(delegate.getQuote("TSLA"))
+                .thenThrow(new RestClientException("429 Too Many Requests"))
+                .thenReturn(quote);
+
+        assertThrows(RestClientException.class, () -> client.getQuote("TSLA"));
+        assertSame(quote, client.getQuote("TSLA"));
+        verify(delegate, times(2)).getQuote("TSLA");
+    }
+
+    // Test concurrent requests for one symbol share a single in-flight call
+    @Test
+    void testGetQuote_ConcurrentCallsAreCoalesced() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getQuote("NVDA")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return quote;
+        });
+
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<FinnhubQuoteDTO>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> client.getQuote("NVDA")));
+            }
+
+            // Wait until every caller is either loading or parked on the in-flight call
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (requests("finnhub.quote", "coalesced") < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<FinnhubQuoteDTO> result : results) {
+                assertSame(quote, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(delegate, times(1)).getQuote("NVDA");
+        assertEquals(callers - 1, requests("finnhub.quote", "coalesced"));
+    }
+
+    private double requests(String cache, String result) {
+        return meterRegistry.get("app.cache.requests")
+                .tag("cache", cache)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,128 @@
+package com.joelcode.personalinvestmentportfoliotracker.services;
+
+import com.joelcode.personalinvestmentportfoliotracker.dto.yahoofinance.CandleSeries;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.CandleJdbcRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.yahoofinance.CachingYahooFinanceApiClient;
+import com.joelcode.personalinvestmentportfoliotracker.services.yahoofinance.YahooFinanceApiClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Testing the Yahoo candle store against the candles and candle_coverage tables. ON CONFLICT needs H2's
+// PostgreSQL mode, so this runs on its own database instead of the default embedded one.
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:candles;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CandleJdbcRepository.class)
+class CachingYahooFinanceApiClientTest {
+
+    private static final long HOUR = 3_600L;
+    private static final long T0 = 472_222L * HOUR;
+
+    @Autowired
+    private CandleJdbcRepository candleJdbcRepository;
+
+    private YahooFinanceApiClient delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong now;
+    private CachingYahooFinanceApiClient client;
+
+    // Yahoo answers with one hourly bar per hour of the range, closing at the hour number
+    @BeforeEach
+    void setUp() {
+        delegate = mock(YahooFinanceApiClient.class);
+        when(delegate.getCandles(anyString(), anyString(), anyLong(), anyLong()))
+                .thenAnswer(invocation -> hourlyBars(invocation.getArgument(2), invocation.getArgument(3)));
+        meterRegistry = new SimpleMeterRegistry();
+        now = new AtomicLong(T0 + 100 * HOUR);
+        client = new CachingYahooFinanceApiClient(delegate, candleJdbcRepository, meterRegistry,
+                Duration.ofSeconds(60), 4, now::get);
+    }
+
+    @Test
+    void testGetCandles_FetchesOnlyMissingRanges() {
+        CandleSeries first = client.getCandles("aapl", "60", T0, T0 + 10 * HOUR);
+        CandleSeries second = client.getCandles("AAPL", "60", T0 + 5 * HOUR, T0 + 15 * HOUR);
+        CandleSeries third = client.getCandles("AAPL", "60", T0 + 2 * HOUR, T0 + 12 * HOUR);
+
+        verify(delegate).getCandles("AAPL", "60", T0, T0 + 10 * HOUR);
+        verify(delegate).getCandles("AAPL", "60", T0 + 10 * HOUR, T0 + 15 * HOUR);
+        verifyNoMoreInteractions(delegate);
+
+        assertEquals(10, first.size());
+        assertEquals(T0 + 5 * HOUR, second.time(0));
+        assertEquals(14.0, second.close(9));
+        assertEquals(1_000L, second.volume(9));
+        assertEquals(10, third.size());
+        assertEquals("ok", third.getStatus());
+        assertEquals(1.0, meterRegistry.get("app.candle_cache.requests").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void testGetCandles_RefetchesOnlyTheOpenTailAfterTtl() {
+        // The bar starting at T0 + 9h is still open half an hour in
+        now.set(T0 + 9 * HOUR + HOUR / 2);
+        long closedBefore = now.get() - HOUR;
+
+        client.getCandles("AAPL", "60", T0, T0 + 11 * HOUR);
+        client.getCandles("AAPL", "60", T0, T0 + 11 * HOUR);
+        now.addAndGet(61);
+        client.getCandles("AAPL", "60", T0, T0 + 11 * HOUR);
+
+        verify(delegate).getCandles("AAPL", "60", T0, T0 + 11 * HOUR);
+        verify(delegate).getCandles("AAPL", "60", closedBefore, T0 + 11 * HOUR);
+        verifyNoMoreInteractions(delegate);
+        assertEquals(List.of(new CandleJdbcRepository.CoveredRange(T0, closedBefore + 61)),
+                candleJdbcRepository.findCoverage("AAPL", "60"));
+    }
+
+    @Test
+    void testGetCandles_FetchesOneSpanningRangeOverMaxGaps() {
+        for (int hour = 0; hour < 10; hour += 2) {
+            client.getCandles("AAPL", "60", T0 + hour * HOUR, T0 + (hour + 1) * HOUR);
+        }
+        clearInvocations(delegate);
+
+        CandleSeries candles = client.getCandles("AAPL", "60", T0, T0 + 10 * HOUR);
+
+        verify(delegate).getCandles("AAPL", "60", T0 + HOUR, T0 + 10 * HOUR);
+        verifyNoMoreInteractions(delegate);
+        assertEquals(10, candles.size());
+    }
+
+    @Test
+    void testGetCandles_ServesStoredCandlesWhenYahooFails() {
+        client.getCandles("AAPL", "60", T0, T0 + 5 * HOUR);
+        when(delegate.getCandles(anyString(), anyString(), anyLong(), anyLong()))
+                .thenThrow(new RuntimeException("Yahoo Finance error"));
+
+        CandleSeries candles = client.getCandles("AAPL", "60", T0, T0 + 10 * HOUR);
+
+        assertEquals(5, candles.size());
+        assertEquals(1.0, meterRegistry.get("app.candle_cache.requests").tag("result", "fallback").counter().count());
+        assertThrows(RuntimeException.class, () -> client.getCandles("MSFT", "60", T0, T0 + 10 * HOUR));
+    }
+
+    private static CandleSeries hourlyBars(long from, long to) {
+        CandleSeries.Builder bars = CandleSeries.builder(0);
+        for (long time = from - Math.floorMod(from - T0, HOUR); time < to; time += HOUR) {
+            if (time < from) {
+                continue;
+            }
+            double price = (time - T0) / HOUR;
+            bars.add(time, price, price, price, price, 1_000L);
+        }
+        return bars.build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.joelcode.personalinvestmentportfoliotracker.services;
+
+import com.joelcode.personalinvestmentportfoliotracker.services.resilience.CircuitBreaker;
+import com.joelcode.personalinvestmentportfoliotracker.services.resilience.CircuitBreaker.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Testing breaker transitions against a hand-driven clock
+public class CircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(50).toNanos();
+    private static final long SLOW = Duration.ofSeconds(3).toNanos();
+
+    private final AtomicLong clock = new AtomicLong(0);
+    private CircuitBreaker breaker;
+
+    // Window of 10, judged after 4 calls, opens at 50% failed or slow (over 1s), 30s open, 2 half-open probes
+    @BeforeEach
+    void setup() {
+        breaker = new CircuitBreaker(new CircuitBreaker.Settings(10, 4, 50, Duration.ofSeconds(1), 50,
+                Duration.ofSeconds(30), 2), clock::get);
+    }
+
+    @Test
+    void testOpensOnFailureRateOnceMinimumCallsSeen() {
+        call(true, FAST);
+        call(true, FAST);
+        call(true, FAST);
+        assertEquals(State.CLOSED, breaker.getState());
+
+        call(false, FAST);
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void testOpensOnSlowCallRate() {
+        call(false, FAST);
+        call(false, SLOW);
+        call(false, FAST);
+        call(false, SLOW);
+
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void testRateIsJudgedOverTheLastWindowOnly() {
+        call(true, FAST);
+        for (int i = 0; i < 9; i++) {
+            call(false, FAST);
+        }
+
+        // The early failure has left the window: 4 of the last 10 failed
+        for (int i = 0; i < 4; i++) {
+            call(true, FAST);
+        }
+        assertEquals(State.CLOSED, breaker.getState());
+
+        call(true, FAST);
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void testHalfOpenProbesCloseTheBreaker() {
+        trip();
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertEquals(State.HALF_OPEN, breaker.getState());
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+
+        breaker.onResult(false, FAST);
+        breaker.onResult(false, FAST);
+        assertEquals(State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void testFailedOrSlowProbeReopens() {
+        trip();
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onResult(false, SLOW);
+
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void testIgnoredProbeGivesItsSlotBack() {
+        trip();
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onIgnored();
+
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    private void trip() {
+        for (int i = 0; i < 4; i++) {
+            call(true, FAST);
+        }
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    private void call(boolean failed, long durationNanos) {
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onResult(failed, durationNanos);
+    }
+}
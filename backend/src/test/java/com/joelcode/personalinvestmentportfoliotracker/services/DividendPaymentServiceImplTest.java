@@ -10,6 +10,7 @@ import com.joelcode.personalinvestmentportfoliotracker.services.holding.HoldingC
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import java.math.BigDecimal;
@@ -41,6 +42,8 @@ public class DividendPaymentServiceImplTest {
     private SimpMessagingTemplate messagingTemplate;
     @Mock
     private HoldingCalculationService holdingCalculationService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private DividendPaymentServiceImpl paymentService;
@@ -0,0 +1,65 @@
+package com.joelcode.personalinvestmentportfoliotracker.services;
+
+import com.joelcode.personalinvestmentportfoliotracker.services.cache.ExpiringCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Testing TTL expiry and size bound of the shared expiring cache
+public class ExpiringCacheTest {
+
+    private AtomicLong now;
+    private AtomicInteger loads;
+    private ExpiringCache<String, String> cache;
+
+    @BeforeEach
+    void setup() {
+        now = new AtomicLong();
+        loads = new AtomicInteger();
+        cache = new ExpiringCache<>("test", Duration.ofSeconds(10), 2, new SimpleMeterRegistry(), now::get);
+    }
+
+    // Test entries are reloaded once their TTL has passed
+    @Test
+    void testGet_ReloadsAfterTtl() {
+        cache.get("AAPL", this::load);
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        cache.get("AAPL", this::load);
+        assertEquals(1, loads.get());
+
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        cache.get("AAPL", this::load);
+        assertEquals(2, loads.get());
+    }
+
+    // Test the least recently used entry is evicted when the cache is full
+    @Test
+    void testPut_EvictsLeastRecentlyUsed() {
+        cache.get("AAPL", this::load);
+        cache.get("MSFT", this::load);
+        cache.get("AAPL", this::load);
+        cache.get("TSLA", this::load);
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.getIfFresh("AAPL"));
+        assertNull(cache.getIfFresh("MSFT"));
+    }
+
+    // Test null results are not stored
+    @Test
+    void testGet_NullIsNotCached() {
+        assertNull(cache.get("NONE", key -> null));
+        assertEquals(0, cache.size());
+    }
+
+    private String load(String key) {
+        loads.incrementAndGet();
+        return key + "-value";
+    }
+}
@@ -0,0 +1,108 @@
+package com.joelcode.personalinvestmentportfoliotracker.services;
+
+import com.joelcode.personalinvestmentportfoliotracker.config.ExternalCallExecutorConfig;
+import com.joelcode.personalinvestmentportfoliotracker.services.fanout.ExternalCallFanOut;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Testing concurrent external calls with bounded concurrency and per-call timeouts
+public class ExternalCallFanOutTest {
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private ExternalCallFanOut fanOut;
+
+    // Virtual threads are requested; on Java 17 the executor falls back to platform threads
+    @BeforeEach
+    void setup() {
+        executor = new ExternalCallExecutorConfig().externalCallExecutor(true, 20);
+        meterRegistry = new SimpleMeterRegistry();
+        fanOut = new ExternalCallFanOut(executor, 20, Duration.ofSeconds(2), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testFetchAll_CallsRunConcurrently() {
+        List<String> symbols = IntStream.range(0, 20).mapToObj(i -> "SYM" + i).toList();
+
+        long start = System.nanoTime();
+        Map<String, String> results = fanOut.fetchAll(symbols, symbol -> slowCall(symbol, 200));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertEquals(20, results.size());
+        assertEquals(symbols, List.copyOf(results.keySet()));
+        assertEquals("SYM7-ok", results.get("SYM7"));
+        assertTrue(elapsedMillis < 1500, "20 calls of 200ms took " + elapsedMillis + "ms");
+        assertEquals(20.0, meterRegistry.get("app.fanout.calls").tag("result", "success").counter().count());
+    }
+
+    @Test
+    void testFetchAll_DropsFailedTimedOutAndNullResults() {
+        Map<String, String> results = fanOut.fetchAll(List.of("OK", "SLOW", "FAIL", "NULL"), symbol -> switch (symbol) {
+            case "SLOW" -> slowCall(symbol, 2000);
+            case "FAIL" -> throw new IllegalStateException("API down");
+            case "NULL" -> null;
+            default -> symbol + "-ok";
+        }, Duration.ofMillis(200));
+
+        assertEquals(Map.of("OK", "OK-ok"), results);
+        assertEquals(1.0, meterRegistry.get("app.fanout.calls").tag("result", "timeout").counter().count());
+        assertEquals(1.0, meterRegistry.get("app.fanout.calls").tag("result", "failed").counter().count());
+    }
+
+    @Test
+    void testFetchAll_ConcurrencyIsBounded() {
+        ExternalCallFanOut bounded = new ExternalCallFanOut(executor, 3, Duration.ofSeconds(5), meterRegistry);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        Map<Integer, Integer> results = bounded.fetchAll(IntStream.range(0, 12).boxed().toList(), i -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            slowCall("x", 50);
+            inFlight.decrementAndGet();
+            return i;
+        });
+
+        assertEquals(12, results.size());
+        assertTrue(maxInFlight.get() <= 3, "max in flight was " + maxInFlight.get());
+    }
+
+    @Test
+    void testSubmitAll_SeveralFanOutsShareOneRoundTrip() {
+        List<String> symbols = List.of("A", "B", "C", "D", "E");
+
+        long start = System.nanoTime();
+        Map<String, CompletableFuture<String>> quotes = fanOut.submitAll(symbols, symbol -> slowCall(symbol, 300));
+        Map<String, CompletableFuture<String>> profiles = fanOut.submitAll(symbols, symbol -> slowCall(symbol, 300));
+        assertEquals(5, fanOut.joinAll(quotes).size());
+        assertEquals(5, fanOut.joinAll(profiles).size());
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(elapsedMillis < 550, "two fan-outs of 300ms took " + elapsedMillis + "ms");
+    }
+
+    private String slowCall(String symbol, long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return symbol + "-ok";
+    }
+}
@@ -10,6 +10,7 @@ import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.Pri
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import java.math.BigDecimal;
@@ -35,6 +36,8 @@ public class HoldingServiceImplTest {
     private WebSocketController webSocketController;
     @Mock
     private SimpMessagingTemplate messagingTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private HoldingServiceImpl holdingService;
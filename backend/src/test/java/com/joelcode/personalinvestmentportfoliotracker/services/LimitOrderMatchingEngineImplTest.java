@@ -0,0 +1,210 @@
+package com.joelcode.personalinvestmentportfoliotracker.services;
+
+import com.joelcode.personalinvestmentportfoliotracker.dto.transaction.TransactionDTO;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Order;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Stock;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.OrderRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.order.LimitOrderExecutionService;
+import com.joelcode.personalinvestmentportfoliotracker.services.order.OrderService;
+import com.joelcode.personalinvestmentportfoliotracker.services.order.matching.*;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PriceTickEvent;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceHistoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// Testing tick-driven limit order matching
+public class LimitOrderMatchingEngineImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private OrderService orderService;
+    @Mock
+    private LimitOrderExecutionService limitOrderExecutionService;
+    @Mock
+    private PriceHistoryService priceHistoryService;
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private LimitOrderMatchingEngineImpl engine;
+
+    private Account account;
+    private Stock stock;
+    private Order buyAt100;
+    private Order buyAt90;
+    private Order sellAt110;
+    private Order sellAt120;
+
+    // One stock with buys at 90 and 100 and sells at 110 and 120
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        executor = Executors.newSingleThreadExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new LimitOrderMatchingEngineImpl(orderRepository, orderService, limitOrderExecutionService,
+                priceHistoryService, messagingTemplate, executor, meterRegistry);
+
+        account = new Account();
+        account.setAccountId(UUID.randomUUID());
+        stock = new Stock();
+        stock.setStockId(UUID.randomUUID());
+        stock.setStockCode("TEST");
+
+        buyAt100 = order(Order.OrderType.BUY_LIMIT, 100);
+        buyAt90 = order(Order.OrderType.BUY_LIMIT, 90);
+        sellAt110 = order(Order.OrderType.SELL_LIMIT, 110);
+        sellAt120 = order(Order.OrderType.SELL_LIMIT, 120);
+
+        when(orderRepository.findByStatusOrderByCreatedAtAsc(Order.OrderStatus.PENDING))
+                .thenReturn(List.of(buyAt100, buyAt90, sellAt110, sellAt120));
+        when(limitOrderExecutionService.executeOrder(any(UUID.class), any(BigDecimal.class)))
+                .thenReturn(new TransactionDTO());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testRebuild_LoadsPendingOrders() {
+        assertEquals(4, engine.rebuild());
+        assertEquals(4, engine.getRestingOrderCount());
+        assertEquals(4.0, meterRegistry.get("app.orders.matching.resting").gauge().value());
+    }
+
+    @Test
+    void testRebuild_KeepsOrderEventsThatArriveWhileLoading() throws InterruptedException {
+        engine.rebuild();
+        Order placedMeanwhile = order(Order.OrderType.BUY_LIMIT, 80);
+
+        // The query result predates an order placed and an order closed while it ran
+        when(orderRepository.findByStatusOrderByCreatedAtAsc(Order.OrderStatus.PENDING)).thenAnswer(invocation -> {
+            engine.onOrderPlaced(new OrderPlacedEvent(RestingOrder.from(placedMeanwhile)));
+            engine.onOrderClosed(new OrderClosedEvent(stock.getStockId(), buyAt90.getOrderId()));
+            return List.of(buyAt100, buyAt90, sellAt110, sellAt120);
+        });
+
+        assertEquals(4, engine.rebuild());
+        engine.match(stock.getStockId(), BigDecimal.valueOf(80));
+        awaitExecutions();
+
+        verify(limitOrderExecutionService).executeOrder(placedMeanwhile.getOrderId(), BigDecimal.valueOf(80));
+        verify(limitOrderExecutionService, never()).executeOrder(eq(buyAt90.getOrderId()), any());
+    }
+
+    @Test
+    void testPriceTick_ExecutesOnlyCrossingOrders() throws InterruptedException {
+        engine.rebuild();
+
+        engine.onPriceTick(new PriceTickEvent(stock.getStockId(), BigDecimal.valueOf(95)));
+        engine.onPriceTick(new PriceTickEvent(stock.getStockId(), BigDecimal.valueOf(115)));
+        awaitExecutions();
+
+        verify(limitOrderExecutionService).executeOrder(buyAt100.getOrderId(), BigDecimal.valueOf(95));
+        verify(limitOrderExecutionService).executeOrder(sellAt110.getOrderId(), BigDecimal.valueOf(115));
+        verify(limitOrderExecutionService, never()).executeOrder(eq(buyAt90.getOrderId()), any());
+        verify(limitOrderExecutionService, never()).executeOrder(eq(sellAt120.getOrderId()), any());
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/orders/" + account.getAccountId()), any(OrderExecutionMessage.class));
+        assertEquals(2, engine.getRestingOrderCount());
+        assertEquals(2.0, meterRegistry.get("app.orders.matching.executed").counter().count());
+    }
+
+    @Test
+    void testPriceTick_OtherStockLeavesBookUntouched() throws InterruptedException {
+        engine.rebuild();
+
+        assertEquals(0, engine.match(UUID.randomUUID(), BigDecimal.ONE));
+        awaitExecutions();
+
+        verifyNoInteractions(limitOrderExecutionService);
+        assertEquals(4, engine.getRestingOrderCount());
+    }
+
+    @Test
+    void testExecutionFailure_MarksOrderFailed() throws InterruptedException {
+        engine.rebuild();
+        when(limitOrderExecutionService.executeOrder(eq(buyAt100.getOrderId()), any()))
+                .thenThrow(new IllegalArgumentException("Insufficient funds"));
+
+        assertEquals(1, engine.match(stock.getStockId(), BigDecimal.valueOf(95)));
+        awaitExecutions();
+
+        verify(orderService).markOrderAsFailed(buyAt100.getOrderId(), "Insufficient funds");
+        verifyNoInteractions(messagingTemplate);
+        assertEquals(1.0, meterRegistry.get("app.orders.matching.failed").counter().count());
+    }
+
+    @Test
+    void testOrderClosed_RemovedFromBook() throws InterruptedException {
+        engine.rebuild();
+
+        engine.onOrderClosed(new OrderClosedEvent(stock.getStockId(), buyAt100.getOrderId()));
+        assertEquals(0, engine.match(stock.getStockId(), BigDecimal.valueOf(95)));
+        awaitExecutions();
+
+        verifyNoInteractions(limitOrderExecutionService);
+        assertEquals(3, engine.getRestingOrderCount());
+    }
+
+    @Test
+    void testOrderPlaced_MatchesAgainstLastTick() throws InterruptedException {
+        when(orderRepository.findByStatusOrderByCreatedAtAsc(Order.OrderStatus.PENDING)).thenReturn(List.of());
+        engine.rebuild();
+        engine.onPriceTick(new PriceTickEvent(stock.getStockId(), BigDecimal.valueOf(95)));
+
+        engine.onOrderPlaced(new OrderPlacedEvent(RestingOrder.from(buyAt90)));
+        engine.onOrderPlaced(new OrderPlacedEvent(RestingOrder.from(buyAt100)));
+        awaitExecutions();
+
+        verify(limitOrderExecutionService).executeOrder(buyAt100.getOrderId(), BigDecimal.valueOf(95));
+        verify(limitOrderExecutionService, never()).executeOrder(eq(buyAt90.getOrderId()), any());
+        assertEquals(1, engine.getRestingOrderCount());
+    }
+
+    @Test
+    void testReconcile_MatchesAgainstStoredPrices() throws InterruptedException {
+        when(priceHistoryService.getCurrentPrices(anyCollection()))
+                .thenReturn(Map.of(stock.getStockId(), BigDecimal.valueOf(125)));
+
+        assertEquals(2, engine.reconcile());
+        awaitExecutions();
+
+        verify(limitOrderExecutionService).executeOrder(sellAt110.getOrderId(), BigDecimal.valueOf(125));
+        verify(limitOrderExecutionService).executeOrder(sellAt120.getOrderId(), BigDecimal.valueOf(125));
+        verify(orderService, never()).markOrderAsFailed(any(), anyString());
+    }
+
+    private void awaitExecutions() throws InterruptedException {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private Order order(Order.OrderType type, int limitPrice) {
+        Order order = new Order(account, stock, type, BigDecimal.ONE, BigDecimal.valueOf(limitPrice));
+        order.setOrderId(UUID.randomUUID());
+        return order;
+    }
+}
@@ -0,0 +1,134 @@
+package com.joelcode.personalinvestmentportfoliotracker.services;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.PriceHistory;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Stock;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceHistoryRepository;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.StockRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.fallback.ApiRateLimitService;
+import com.joelcode.personalinvestmentportfoliotracker.services.finnhub.FinnhubApiClient;
+import com.joelcode.personalinvestmentportfoliotracker.services.marketdata.MarketDataIngestionServiceImpl;
+import com.joelcode.personalinvestmentportfoliotracker.services.ratelimit.RequestPriority;
+import com.joelcode.personalinvestmentportfoliotracker.services.stock.StockService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+// Testing background price ingestion for the tracked symbol universe
+public class MarketDataIngestionServiceImplTest {
+
+    @Mock
+    private StockRepository stockRepository;
+    @Mock
+    private PriceHistoryRepository priceHistoryRepository;
+    @Mock
+    private StockService stockService;
+    @Mock
+    private FinnhubApiClient finnhubApiClient;
+    @Mock
+    private ApiRateLimitService apiRateLimitService;
+
+    private ExecutorService executor;
+    private MarketDataIngestionServiceImpl ingestionService;
+
+    private Stock aapl;
+    private Stock msft;
+    private Stock tsla;
+
+    // Three tracked stocks: AAPL never priced, MSFT priced an hour ago, TSLA priced just now
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        executor = Executors.newFixedThreadPool(2);
+        ingestionService = new MarketDataIngestionServiceImpl(stockRepository, priceHistoryRepository, stockService,
+                finnhubApiClient, apiRateLimitService, executor, Duration.ofMinutes(1), Duration.ofSeconds(5), 60);
+
+        aapl = stock("AAPL");
+        msft = stock("MSFT");
+        tsla = stock("TSLA");
+
+        when(stockRepository.findTrackedStocks()).thenReturn(List.of(tsla, msft, aapl));
+        when(priceHistoryRepository.findLatestByStockIds(anyCollection())).thenReturn(List.of(
+                price(msft, LocalDateTime.now().minusHours(1)),
+                price(tsla, LocalDateTime.now())
+        ));
+        when(finnhubApiClient.getCurrentPrice("AAPL")).thenReturn(BigDecimal.valueOf(155));
+        when(finnhubApiClient.getCurrentPrice("MSFT")).thenReturn(BigDecimal.valueOf(310));
+        when(stockService.recordPrices(anyMap())).thenAnswer(invocation -> ((Map<?, ?>) invocation.getArgument(0)).size());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testIngestPrices_PollsOnlyStaleStocksInOneBatch() {
+        when(apiRateLimitService.getRemainingFinnhubCalls()).thenReturn(60);
+        List<RequestPriority> lanes = new CopyOnWriteArrayList<>();
+        when(finnhubApiClient.getCurrentPrice("AAPL")).thenAnswer(invocation -> {
+            lanes.add(RequestPriority.current());
+            return BigDecimal.valueOf(155);
+        });
+
+        int recorded = ingestionService.ingestPrices();
+
+        assertEquals(2, recorded);
+        verify(finnhubApiClient, never()).getCurrentPrice("TSLA");
+        verify(stockService, times(1)).recordPrices(Map.of(
+                aapl.getStockId(), BigDecimal.valueOf(155),
+                msft.getStockId(), BigDecimal.valueOf(310)));
+        assertEquals(List.of(RequestPriority.BACKGROUND), lanes);
+    }
+
+    @Test
+    void testIngestPrices_SpendsOnlyRemainingBudgetStalestFirst() {
+        when(apiRateLimitService.getRemainingFinnhubCalls()).thenReturn(1, 0);
+
+        int recorded = ingestionService.ingestPrices();
+
+        assertEquals(1, recorded);
+        verify(finnhubApiClient, times(1)).getCurrentPrice("AAPL");
+        verify(finnhubApiClient, never()).getCurrentPrice("MSFT");
+        verify(stockService, times(1)).recordPrices(Map.of(aapl.getStockId(), BigDecimal.valueOf(155)));
+    }
+
+    @Test
+    void testIngestPrices_NothingTracked() {
+        when(stockRepository.findTrackedStocks()).thenReturn(List.of());
+
+        assertEquals(0, ingestionService.ingestPrices());
+        verifyNoInteractions(finnhubApiClient);
+        verify(stockService, never()).recordPrices(anyMap());
+    }
+
+    private Stock stock(String code) {
+        Stock stock = new Stock();
+        stock.setStockId(UUID.randomUUID());
+        stock.setStockCode(code);
+        return stock;
+    }
+
+    private PriceHistory price(Stock stock, LocalDateTime closeDate) {
+        PriceHistory priceHistory = new PriceHistory();
+        priceHistory.setStock(stock);
+        priceHistory.setClosePrice(BigDecimal.valueOf(100));
+        priceHistory.setCloseDate(closeDate);
+        return priceHistory;
+    }
+}
@@ -0,0 +1,153 @@
+package com.joelcode.personalinvestmentportfoliotracker.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joelcode.personalinvestmentportfoliotracker.config.OutboundHttpClientConfig;
+import com.joelcode.personalinvestmentportfoliotracker.dto.finnhub.FinnhubQuoteDTO;
+import com.joelcode.personalinvestmentportfoliotracker.services.http.OutboundHttpClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Testing the pooled outbound HTTP client against a local stub server
+public class OutboundHttpClientTest {
+
+    private static final String QUOTE_JSON = "{\"c\":155.5,\"h\":157.0,\"l\":150.0,\"o\":151.0,\"pc\":150.5}";
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicReference<String> lastAuthorization = new AtomicReference<>();
+    private final AtomicReference<String> lastBody = new AtomicReference<>();
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/quote", exchange -> respond(exchange, 200, QUOTE_JSON));
+        server.createContext("/missing", exchange -> respond(exchange, 404, "{\"error\":\"not found\"}"));
+        server.createContext("/slow", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(100);
+            inFlight.decrementAndGet();
+            respond(exchange, 200, "\"ok\"");
+        });
+        server.createContext("/logs", exchange -> {
+            lastAuthorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            lastBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            respond(exchange, 202, "");
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testGet_DecodesGzipJson() {
+        OutboundHttpClient client = client(10, Duration.ofSeconds(5));
+
+        FinnhubQuoteDTO quote = client.get(baseUrl + "/quote?symbol=AAPL", FinnhubQuoteDTO.class);
+
+        assertNotNull(quote);
+        assertEquals(0, new BigDecimal("155.5").compareTo(quote.getCurrentPrice()));
+    }
+
+    @Test
+    void testGet_ErrorStatusThrowsRestTemplateException() {
+        OutboundHttpClient client = client(10, Duration.ofSeconds(5));
+
+        HttpClientErrorException exception = assertThrows(HttpClientErrorException.class,
+                () -> client.get(baseUrl + "/missing", FinnhubQuoteDTO.class));
+        assertEquals(404, exception.getStatusCode().value());
+    }
+
+    @Test
+    void testGet_ConnectionFailureThrowsResourceAccessException() {
+        OutboundHttpClient client = client(10, Duration.ofSeconds(2));
+        server.stop(0);
+
+        assertThrows(ResourceAccessException.class, () -> client.get(baseUrl + "/quote", FinnhubQuoteDTO.class));
+    }
+
+    @Test
+    void testGetAsync_InFlightRequestsBoundedPerHost() {
+        OutboundHttpClient client = client(2, Duration.ofSeconds(5));
+
+        List<CompletableFuture<String>> responses = IntStream.range(0, 8)
+                .mapToObj(i -> client.getAsync(URI.create(baseUrl + "/slow"), Map.of(), String.class))
+                .toList();
+        responses.forEach(CompletableFuture::join);
+
+        assertEquals("\"ok\"", responses.get(7).join());
+        assertTrue(maxInFlight.get() <= 2, "max in flight was " + maxInFlight.get());
+    }
+
+    @Test
+    void testPostJson_SendsHeadersAndBody() {
+        OutboundHttpClient client = client(10, Duration.ofSeconds(5));
+
+        client.postJson(baseUrl + "/logs", Map.of("Authorization", "Bearer token"), Map.of("level", "INFO"));
+
+        assertEquals("Bearer token", lastAuthorization.get());
+        assertEquals("{\"level\":\"INFO\"}", lastBody.get());
+    }
+
+    private OutboundHttpClient client(int maxRequestsPerHost, Duration readTimeout) {
+        return new OutboundHttpClient(new OutboundHttpClientConfig().pooledHttpClient(Duration.ofSeconds(2)),
+                new ObjectMapper(), readTimeout, maxRequestsPerHost);
+    }
+
+    // Compresses the body when the client asks for gzip, like the real providers do
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (bytes.length > 0 && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
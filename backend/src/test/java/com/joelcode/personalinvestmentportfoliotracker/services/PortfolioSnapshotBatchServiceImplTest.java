@@ -0,0 +1,182 @@
+package com.joelcode.personalinvestmentportfoliotracker.services;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.*;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.*;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfoliosnapshot.PortfolioSnapshotBatchServiceImpl;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfoliosnapshot.PreviousSnapshotValue;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfoliosnapshot.SnapshotBatchResult;
+import com.joelcode.personalinvestmentportfoliotracker.services.stock.StockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// Testing the paged, checkpointed daily snapshot job
+public class PortfolioSnapshotBatchServiceImplTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private HoldingRepository holdingRepository;
+    @Mock
+    private PortfolioSnapshotRepository snapshotRepository;
+    @Mock
+    private PortfolioSnapshotJdbcRepository snapshotJdbcRepository;
+    @Mock
+    private SnapshotJobCheckpointRepository checkpointRepository;
+    @Mock
+    private StockService stockService;
+
+    @Captor
+    private ArgumentCaptor<List<PortfolioSnapshot>> written;
+
+    private final LocalDate today = LocalDate.now();
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private PortfolioSnapshotBatchServiceImpl batchService;
+
+    private Stock stock;
+    private Account first;
+    private Account second;
+    private Account third;
+
+    // Three accounts read two per page; the first holds 10 shares bought at 90 and priced at 100
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        executor = Executors.newFixedThreadPool(2);
+        meterRegistry = new SimpleMeterRegistry();
+        batchService = new PortfolioSnapshotBatchServiceImpl(accountRepository, holdingRepository, snapshotRepository,
+                snapshotJdbcRepository, checkpointRepository, stockService, executor, meterRegistry, 2, 2);
+
+        stock = new Stock();
+        stock.setStockId(UUID.randomUUID());
+        stock.setStockCode("TEST");
+
+        first = account();
+        second = account();
+        third = account();
+
+        when(accountRepository.findAllByOrderByAccountIdAsc(any(Pageable.class))).thenReturn(List.of(first, second));
+        when(accountRepository.findByAccountIdGreaterThanOrderByAccountIdAsc(eq(second.getAccountId()), any(Pageable.class)))
+                .thenReturn(List.of(third));
+        when(holdingRepository.findDistinctHeldStockIds()).thenReturn(List.of(stock.getStockId()));
+        when(stockService.getCurrentPrices(List.of(stock.getStockId())))
+                .thenReturn(Map.of(stock.getStockId(), BigDecimal.valueOf(100)));
+        when(holdingRepository.findByAccount_AccountIdIn(anyCollection())).thenReturn(List.of(holding(first)));
+        when(snapshotRepository.findLatestValuesBefore(anyCollection(), eq(today)))
+                .thenReturn(List.of(new PreviousSnapshotValue(first.getAccountId(), BigDecimal.valueOf(800))));
+        when(snapshotJdbcRepository.insertIgnoringExisting(anyList()))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        when(checkpointRepository.findById(today)).thenReturn(Optional.empty());
+        when(checkpointRepository.save(any(SnapshotJobCheckpoint.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testRunSnapshots_PricesOnceAndWritesOneBatchPerPage() {
+        SnapshotBatchResult result = batchService.runSnapshots(today);
+
+        assertFalse(result.resumed());
+        assertEquals(3, result.accountsProcessed());
+        assertEquals(3, result.snapshotsWritten());
+        assertEquals(0, result.failures());
+        verify(stockService, times(1)).getCurrentPrices(anyCollection());
+        verify(snapshotJdbcRepository, times(2)).insertIgnoringExisting(anyList());
+        assertEquals(3.0, meterRegistry.get("app.snapshots.batch.accounts").counter().count());
+        assertEquals(3.0, meterRegistry.get("app.snapshots.batch.written").counter().count());
+        assertEquals(2L, meterRegistry.get("app.snapshots.batch.page").timer().count());
+
+        ArgumentCaptor<SnapshotJobCheckpoint> checkpoint = ArgumentCaptor.forClass(SnapshotJobCheckpoint.class);
+        verify(checkpointRepository, atLeastOnce()).save(checkpoint.capture());
+        SnapshotJobCheckpoint last = checkpoint.getValue();
+        assertTrue(last.isCompleted());
+        assertEquals(third.getAccountId(), last.getLastAccountId());
+        assertEquals(3, last.getAccountsProcessed());
+    }
+
+    @Test
+    void testRunSnapshots_CalculatesFromPreloadedHoldingsAndPreviousValue() {
+        batchService.runSnapshots(today);
+
+        verify(snapshotJdbcRepository, atLeastOnce()).insertIgnoringExisting(written.capture());
+        PortfolioSnapshot snapshot = written.getAllValues().stream()
+                .flatMap(List::stream)
+                .filter(s -> s.getAccount() == first)
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(today, snapshot.getSnapshotDate());
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(snapshot.getTotalValue()));
+        assertEquals(0, BigDecimal.valueOf(900).compareTo(snapshot.getTotalCostBasis()));
+        assertEquals(0, BigDecimal.valueOf(150).compareTo(snapshot.getTotalGain()));
+        assertEquals(0, BigDecimal.valueOf(200).compareTo(snapshot.getDayChange()));
+        assertEquals(0, BigDecimal.valueOf(25).compareTo(snapshot.getDayChangePercent()));
+    }
+
+    @Test
+    void testRunSnapshots_ResumesAfterCheckpointedAccount() {
+        SnapshotJobCheckpoint checkpoint = new SnapshotJobCheckpoint(today);
+        checkpoint.advance(second.getAccountId(), 2, 2);
+        when(checkpointRepository.findById(today)).thenReturn(Optional.of(checkpoint));
+
+        Optional<SnapshotBatchResult> result = batchService.resumeIfIncomplete(today);
+
+        assertTrue(result.isPresent());
+        assertTrue(result.get().resumed());
+        assertEquals(1, result.get().accountsProcessed());
+        verify(accountRepository, never()).findAllByOrderByAccountIdAsc(any());
+        verify(snapshotJdbcRepository, times(1)).insertIgnoringExisting(anyList());
+        assertTrue(checkpoint.isCompleted());
+        assertEquals(3, checkpoint.getAccountsProcessed());
+    }
+
+    @Test
+    void testResumeIfIncomplete_NothingToResume() {
+        SnapshotJobCheckpoint completed = new SnapshotJobCheckpoint(today);
+        completed.complete();
+        when(checkpointRepository.findById(today)).thenReturn(Optional.of(completed));
+
+        assertTrue(batchService.resumeIfIncomplete(today).isEmpty());
+        verifyNoInteractions(snapshotJdbcRepository);
+    }
+
+    private Account account() {
+        Account account = new Account();
+        account.setAccountId(UUID.randomUUID());
+        return account;
+    }
+
+    // 10 shares at an average of 90 with 50 already realized
+    private Holding holding(Account account) {
+        Holding holding = new Holding();
+        holding.setAccount(account);
+        holding.setStock(stock);
+        holding.setQuantity(BigDecimal.TEN);
+        holding.setAverageCostBasis(BigDecimal.valueOf(90));
+        holding.setTotalCostBasis(BigDecimal.valueOf(900));
+        holding.setRealizedGain(BigDecimal.valueOf(50));
+        holding.setFirstPurchaseDate(LocalDateTime.now());
+        return holding;
+    }
+}
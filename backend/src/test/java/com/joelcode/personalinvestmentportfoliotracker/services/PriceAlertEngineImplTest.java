@@ -0,0 +1,121 @@
+package com.joelcode.personalinvestmentportfoliotracker.services;
+
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceAlertRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PriceTickEvent;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricealert.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// Testing threshold-indexed price alert evaluation
+public class PriceAlertEngineImplTest {
+
+    @Mock
+    private PriceAlertRepository priceAlertRepository;
+    @Mock
+    private PriceAlertTriggerService priceAlertTriggerService;
+
+    @Captor
+    private ArgumentCaptor<List<IndexedAlert>> firedCaptor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PriceAlertEngineImpl engine;
+
+    private UUID stockId;
+    private IndexedAlert above110;
+    private IndexedAlert above120;
+    private IndexedAlert below90;
+    private IndexedAlert below80;
+
+    // One stock with ABOVE alerts at 110 and 120 and BELOW alerts at 90 and 80
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new PriceAlertEngineImpl(priceAlertRepository, priceAlertTriggerService, meterRegistry);
+
+        stockId = UUID.randomUUID();
+        above110 = alert("ABOVE", 110);
+        above120 = alert("ABOVE", 120);
+        below90 = alert("BELOW", 90);
+        below80 = alert("BELOW", 80);
+
+        when(priceAlertRepository.findActiveIndexedAlerts()).thenReturn(List.of(above110, above120, below90, below80));
+        engine.rebuild();
+    }
+
+    @Test
+    void testRebuild_IndexesActiveAlerts() {
+        assertEquals(4, engine.getActiveAlertCount());
+        assertEquals(4.0, meterRegistry.get("app.alerts.active").gauge().value());
+    }
+
+    @Test
+    void testEvaluate_PriceBetweenThresholdsFiresNothing() {
+        assertEquals(0, engine.evaluate(stockId, BigDecimal.valueOf(100)));
+
+        verifyNoInteractions(priceAlertTriggerService);
+        assertEquals(4, engine.getActiveAlertCount());
+    }
+
+    @Test
+    void testEvaluate_FiresExactlyTheCrossedAlertsOnce() {
+        assertEquals(1, engine.evaluate(stockId, BigDecimal.valueOf(115)));
+        verify(priceAlertTriggerService).trigger(firedCaptor.capture(), eq(BigDecimal.valueOf(115)));
+        assertEquals(List.of(above110), firedCaptor.getValue());
+
+        // Already fired, so a second tick at the same price does nothing
+        assertEquals(0, engine.evaluate(stockId, BigDecimal.valueOf(115)));
+
+        assertEquals(2, engine.evaluate(stockId, BigDecimal.valueOf(80)));
+        verify(priceAlertTriggerService).trigger(firedCaptor.capture(), eq(BigDecimal.valueOf(80)));
+        assertEquals(Set.of(below90, below80), Set.copyOf(firedCaptor.getValue()));
+
+        assertEquals(1, engine.getActiveAlertCount());
+        assertEquals(3.0, meterRegistry.get("app.alerts.fired").counter().count());
+    }
+
+    @Test
+    void testEvaluate_TriggerFailureKeepsAlertsIndexed() {
+        when(priceAlertTriggerService.trigger(anyList(), any())).thenThrow(new RuntimeException("Database down"));
+
+        assertEquals(0, engine.evaluate(stockId, BigDecimal.valueOf(125)));
+        assertEquals(4, engine.getActiveAlertCount());
+    }
+
+    @Test
+    void testEvents_AddAndRemoveAlerts() {
+        IndexedAlert above105 = alert("ABOVE", 105);
+        engine.onAlertCreated(new PriceAlertCreatedEvent(above105));
+        engine.onAlertRemoved(new PriceAlertRemovedEvent(stockId, above110.alertId()));
+
+        engine.onPriceTick(new PriceTickEvent(stockId, BigDecimal.valueOf(112)));
+
+        verify(priceAlertTriggerService).trigger(firedCaptor.capture(), eq(BigDecimal.valueOf(112)));
+        assertEquals(List.of(above105.alertId()), firedCaptor.getValue().stream()
+                .map(IndexedAlert::alertId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testEvaluate_UnknownStock() {
+        assertEquals(0, engine.evaluate(UUID.randomUUID(), BigDecimal.valueOf(1000)));
+        verifyNoInteractions(priceAlertTriggerService);
+    }
+
+    private IndexedAlert alert(String type, int targetPrice) {
+        return new IndexedAlert(UUID.randomUUID(), UUID.randomUUID(), stockId, "TEST", type, BigDecimal.valueOf(targetPrice));
+    }
+}
@@ -3,23 +3,36 @@ package com.joelcode.personalinvestmentportfoliotracker.services;
 import com.joelcode.personalinvestmentportfoliotracker.controllers.WebSocketController;
 import com.joelcode.personalinvestmentportfoliotracker.dto.pricehistory.PriceHistoryCreateRequest;
 import com.joelcode.personalinvestmentportfoliotracker.dto.pricehistory.PriceHistoryDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.pricehistory.PriceSeriesDTO;
 import com.joelcode.personalinvestmentportfoliotracker.entities.PriceHistory;
 import com.joelcode.personalinvestmentportfoliotracker.entities.Stock;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceHistoryJdbcRepository;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceHistoryRepository;
 import com.joelcode.personalinvestmentportfoliotracker.services.mapping.PriceHistoryMapper;
 import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceHistoryServiceImpl;
 import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceHistoryValidationService;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceRecorder;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceSeriesStore;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.rollup.PriceHistoryTier;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.rollup.PriceRollupService;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSeries;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSlice;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 // Testing PriceHistory service layer business logic
@@ -28,12 +41,24 @@ public class PriceHistoryServiceImplTest {
     @Mock
     private PriceHistoryRepository priceHistoryRepository;
 
+    @Mock
+    private PriceHistoryJdbcRepository priceHistoryJdbcRepository;
+
     @Mock
     private PriceHistoryValidationService validationService;
 
     @Mock
     private WebSocketController webSocketController;
 
+    @Mock
+    private PriceRecorder priceRecorder;
+
+    @Mock
+    private PriceSeriesStore priceSeriesStore;
+
+    @Mock
+    private PriceRollupService priceRollupService;
+
     @InjectMocks
     private PriceHistoryServiceImpl priceHistoryService;
 
@@ -45,6 +70,8 @@ public class PriceHistoryServiceImplTest {
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        when(priceRollupService.tierFor(any(), anyLong(), anyLong(), anyInt())).thenReturn(PriceHistoryTier.RAW);
+        when(priceRollupService.getRawSeries(any(), any(), anyLong())).thenAnswer(invocation -> invocation.getArgument(1));
 
         priceHistoryId = UUID.randomUUID();
         stockId = UUID.randomUUID();
@@ -117,6 +144,22 @@ public class PriceHistoryServiceImplTest {
         verify(priceHistoryRepository, times(1)).delete(testPriceHistory);
     }
 
+    @Test
+    void testDeletePriceHistory_InvalidatesSeriesAfterCommit() {
+        when(validationService.validatePriceHistoryExists(priceHistoryId)).thenReturn(testPriceHistory);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            priceHistoryService.deletePriceHistory(priceHistoryId);
+            verify(priceSeriesStore, never()).invalidate(any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(priceSeriesStore).invalidate(stockId);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @Test
     void testGetCurrentPrice_ReturnsPrice() {
         UUID stockId = UUID.randomUUID();
@@ -136,20 +179,67 @@ public class PriceHistoryServiceImplTest {
         assertEquals(BigDecimal.valueOf(100), price);
     }
 
+    // Test resolving latest prices for several stocks in one query
+    @Test
+    void testGetCurrentPrices_ReturnsLatestPricePerStock() {
+        testPriceHistory.setClosePrice(BigDecimal.valueOf(42));
+        UUID missingStockId = UUID.randomUUID();
+
+        when(priceHistoryRepository.findLatestByStockIds(anyCollection()))
+                .thenReturn(List.of(testPriceHistory));
+
+        Map<UUID, BigDecimal> prices = priceHistoryService.getCurrentPrices(List.of(stockId, missingStockId));
+
+        assertEquals(1, prices.size());
+        assertEquals(BigDecimal.valueOf(42), prices.get(stockId));
+        assertFalse(prices.containsKey(missingStockId));
+        verify(priceHistoryRepository, times(1)).findLatestByStockIds(anyCollection());
+        verify(priceHistoryRepository, never()).findTopByStock_StockIdOrderByCloseDateDesc(any());
+    }
+
 
     @Test
     void testGetPriceHistoryForStock_ReturnsList() {
-        // Stub the exact repository method called by the service
-        when(priceHistoryRepository.findByStock_StockIdOrderByCloseDateAsc(stockId))
-                .thenReturn(List.of(testPriceHistory));
+        LocalDateTime closeDate = LocalDateTime.of(2025, 6, 30, 14, 31);
+        when(priceSeriesStore.get(stockId)).thenReturn(series(closeDate, 10050));
+        when(priceHistoryJdbcRepository.findIds(eq(stockId), any())).thenReturn(new UUID[] {priceHistoryId});
+
+        List<PriceHistoryDTO> result = priceHistoryService.getPriceHistoryForStock(stockId);
+
+        assertEquals(1, result.size());
+        assertEquals(priceHistoryId, result.get(0).getPriceHistoryId());
+        assertEquals(closeDate, result.get(0).getCloseDate());
+        assertEquals(new BigDecimal("100.50"), result.get(0).getClosePrice());
+        assertEquals(stockId, result.get(0).getStockId());
+        verifyNoInteractions(priceHistoryRepository);
+    }
 
-        try (MockedStatic<PriceHistoryMapper> mapperMock = Mockito.mockStatic(PriceHistoryMapper.class)) {
-            mapperMock.when(() -> PriceHistoryMapper.toDTO(testPriceHistory)).thenReturn(new PriceHistoryDTO());
+    @Test
+    void testGetPriceSeriesForStock_ReturnsLastPointsAsArrays() {
+        LocalDateTime closeDate = LocalDateTime.of(2025, 6, 30, 14, 31);
+        when(priceSeriesStore.get(stockId)).thenReturn(series(closeDate, 10000, 10100, 10200));
 
-            List<PriceHistoryDTO> result = priceHistoryService.getPriceHistoryForStock(stockId);
+        PriceSeriesDTO result = priceHistoryService.getPriceSeriesForStock(stockId, null, null, null, 2);
 
-            assertEquals(1, result.size());
-        }
+        assertArrayEquals(new double[] {101.0, 102.0}, result.getPrices());
+        assertEquals(PriceSlice.toTime(closeDate.plusMinutes(2)), result.getTimes()[1]);
+        verifyNoInteractions(priceHistoryRepository);
+    }
+
+    @Test
+    void testGetPriceSeriesForStock_ReadsLongRangesFromRollupTier() {
+        LocalDateTime from = LocalDateTime.of(2020, 1, 6, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 1, 6, 0, 0);
+        long fromTime = PriceSlice.toTime(from);
+        long toTime = PriceSlice.toTime(to);
+        when(priceRollupService.tierFor(stockId, fromTime, toTime, 200)).thenReturn(PriceHistoryTier.WEEKLY);
+        when(priceRollupService.getSeries(stockId, PriceHistoryTier.WEEKLY, fromTime, toTime))
+                .thenReturn(series(from.plusDays(4), 10000, 10500));
+
+        PriceSeriesDTO result = priceHistoryService.getPriceSeriesForStock(stockId, from, to, 200, null);
+
+        assertArrayEquals(new double[] {100.0, 105.0}, result.getPrices());
+        verifyNoInteractions(priceSeriesStore);
     }
 
     @Test
@@ -164,4 +254,13 @@ public class PriceHistoryServiceImplTest {
             verify(webSocketController, times(1)).broadcastStockPriceUpdate(eq(stockId), eq("TEST"), any());
         }
     }
-}
\ No newline at end of file
+
+    // One point a minute from start, prices in cents
+    private PriceSeries series(LocalDateTime start, long... prices) {
+        PriceSeries series = new PriceSeries();
+        for (int i = 0; i < prices.length; i++) {
+            series.append(PriceSlice.toTime(start.plusMinutes(i)), prices[i]);
+        }
+        return series;
+    }
+}
@@ -0,0 +1,105 @@
+package com.joelcode.personalinvestmentportfoliotracker.services;
+
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceHistoryJdbcRepository;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceHistoryJdbcRepository.PricePoint;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceRecorderImpl;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceSeriesStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+// Testing the write-coalescing price recorder
+public class PriceRecorderImplTest {
+
+    private static final LocalDateTime MINUTE = LocalDateTime.of(2025, 6, 30, 14, 31);
+
+    @Mock
+    private PriceHistoryJdbcRepository priceHistoryJdbcRepository;
+
+    @Mock
+    private PriceSeriesStore priceSeriesStore;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PriceRecorderImpl priceRecorder;
+    private UUID stockId;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        priceRecorder = new PriceRecorderImpl(priceHistoryJdbcRepository, priceSeriesStore, meterRegistry, Duration.ofMinutes(1));
+        stockId = UUID.randomUUID();
+    }
+
+    // Test observations in the same bucket collapse to one row at the bucket start holding the latest price
+    @Test
+    void testFlush_CoalescesObservationsPerBucket() {
+        priceRecorder.record(stockId, BigDecimal.valueOf(100), MINUTE.plusSeconds(5));
+        priceRecorder.record(stockId, BigDecimal.valueOf(101), MINUTE.plusSeconds(40));
+        priceRecorder.record(stockId, BigDecimal.valueOf(102), MINUTE.plusMinutes(1).plusSeconds(2));
+
+        int flushed = priceRecorder.flush();
+
+        assertEquals(2, flushed);
+        verify(priceHistoryJdbcRepository).upsertPrices(argThat(points -> new HashSet<>(points).equals(Set.of(
+                new PricePoint(stockId, MINUTE, BigDecimal.valueOf(101)),
+                new PricePoint(stockId, MINUTE.plusMinutes(1), BigDecimal.valueOf(102))))));
+        verify(priceHistoryJdbcRepository).updateStockValues(Map.of(stockId, BigDecimal.valueOf(102)));
+        verify(priceSeriesStore).apply(anyList());
+        assertEquals(2.0, meterRegistry.get("app.price_recorder.flushed").counter().count());
+    }
+
+    // Test the latest price is served from the buffer until it has been written
+    @Test
+    void testGetPendingPrice_ClearedByFlush() {
+        priceRecorder.record(stockId, BigDecimal.valueOf(100));
+        assertEquals(BigDecimal.valueOf(100), priceRecorder.getPendingPrice(stockId));
+
+        priceRecorder.flush();
+
+        assertNull(priceRecorder.getPendingPrice(stockId));
+        assertEquals(0, priceRecorder.flush());
+        verify(priceHistoryJdbcRepository, times(1)).upsertPrices(anyList());
+    }
+
+    // Test non-positive prices are never buffered
+    @Test
+    void testRecord_IgnoresInvalidPrices() {
+        priceRecorder.record(stockId, BigDecimal.ZERO);
+        priceRecorder.record(stockId, null);
+
+        assertNull(priceRecorder.getPendingPrice(stockId));
+        assertEquals(0, priceRecorder.flush());
+        verifyNoInteractions(priceHistoryJdbcRepository);
+    }
+
+    // Test a failed flush drops its batch instead of retrying it forever
+    @Test
+    void testFlush_FailureDropsBatch() {
+        doThrow(new DataIntegrityViolationException("boom")).when(priceHistoryJdbcRepository).upsertPrices(anyList());
+        priceRecorder.record(stockId, BigDecimal.valueOf(100), MINUTE);
+
+        assertEquals(0, priceRecorder.flush());
+
+        assertNull(priceRecorder.getPendingPrice(stockId));
+        assertEquals(1.0, meterRegistry.get("app.price_recorder.dropped").counter().count());
+        verifyNoInteractions(priceSeriesStore);
+        assertEquals(0, priceRecorder.flush());
+        verify(priceHistoryJdbcRepository, times(1)).upsertPrices(anyList());
+    }
+}
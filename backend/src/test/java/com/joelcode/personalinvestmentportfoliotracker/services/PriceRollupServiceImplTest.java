@@ -0,0 +1,220 @@
+package com.joelcode.personalinvestmentportfoliotracker.services;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.PriceHistory;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Stock;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceRollupJdbcRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceSeriesStore;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.rollup.PriceHistoryTier;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.rollup.PriceRollupServiceImpl;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSeries;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSlice;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Testing the daily and weekly rollups, raw retention and tier routing against the rollup tables. The rollups are
+// written with INSERT ... SELECT casts that need H2's PostgreSQL mode, so this runs on its own database.
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:rollups;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PriceRollupJdbcRepository.class)
+class PriceRollupServiceImplTest {
+
+    // A Monday, the week's bars are rolled up under this date
+    private static final LocalDate MONDAY = LocalDate.of(2025, 6, 2);
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 20, 12, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PriceRollupJdbcRepository priceRollupJdbcRepository;
+
+    private PriceSeriesStore priceSeriesStore;
+    private AtomicLong now;
+    private PriceRollupServiceImpl priceRollupService;
+    private Stock stock;
+
+    // Four prices on Monday, two on Tuesday and one the day before NOW; raw rows are kept for seven days
+    @BeforeEach
+    void setUp() {
+        stock = new Stock();
+        stock.setStockCode("ROLL");
+        stock.setCompanyName("Rollup Corp");
+        stock.setStockValue(BigDecimal.valueOf(100));
+        entityManager.persist(stock);
+
+        price(MONDAY.atTime(14, 30), "100.00");
+        price(MONDAY.atTime(15, 0), "110.00");
+        price(MONDAY.atTime(16, 0), "95.00");
+        price(MONDAY.atTime(20, 0), "105.00");
+        price(MONDAY.plusDays(1).atTime(14, 30), "106.00");
+        price(MONDAY.plusDays(1).atTime(20, 0), "104.00");
+        price(NOW.minusDays(1), "120.00");
+        entityManager.flush();
+
+        priceSeriesStore = mock(PriceSeriesStore.class);
+        now = new AtomicLong(PriceSlice.toTime(NOW));
+        priceRollupService = new PriceRollupServiceImpl(priceRollupJdbcRepository, priceSeriesStore,
+                new SimpleMeterRegistry(), Duration.ofDays(7), now::get);
+    }
+
+    @Test
+    void testRollup_WritesDailyAndWeeklyOhlcBars() {
+        priceRollupService.rollup();
+
+        Map<String, Object> monday = bar("price_history_daily", "bucket_date", MONDAY);
+        assertPrices(monday, "100.00", "110.00", "95.00", "105.00");
+        assertEquals(4, ((Number) monday.get("sample_count")).intValue());
+
+        Map<String, Object> week = bar("price_history_weekly", "week_start", MONDAY);
+        assertPrices(week, "100.00", "110.00", "95.00", "104.00");
+        assertEquals(6, ((Number) week.get("sample_count")).intValue());
+        assertEquals(MONDAY.plusDays(1).atTime(20, 0), ((Timestamp) week.get("close_date")).toLocalDateTime());
+    }
+
+    @Test
+    void testRollup_DeletesRawRowsPastRetentionAndKeepsTheirBars() {
+        priceRollupService.rollup();
+        priceRollupService.rollup();
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM price_history", Integer.class));
+        assertPrices(bar("price_history_daily", "bucket_date", MONDAY), "100.00", "110.00", "95.00", "105.00");
+        verify(priceSeriesStore, times(1)).invalidateAll();
+    }
+
+    @Test
+    void testRollup_KeepsTheLatestRawRowOfEveryStock() {
+        Stock stale = new Stock();
+        stale.setStockCode("STALE");
+        stale.setCompanyName("Stale Corp");
+        stale.setStockValue(BigDecimal.valueOf(50));
+        entityManager.persist(stale);
+        entityManager.persist(new PriceHistory(MONDAY.atTime(14, 30), new BigDecimal("50.00"), stale));
+        entityManager.persist(new PriceHistory(MONDAY.atTime(20, 0), new BigDecimal("52.00"), stale));
+        entityManager.flush();
+
+        priceRollupService.rollup();
+        priceRollupService.rollup();
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM price_history WHERE stock_id = ?", Integer.class, stale.getStockId()));
+        Map<String, Object> bar = jdbcTemplate.queryForMap(
+                "SELECT * FROM price_history_daily WHERE stock_id = ? AND bucket_date = ?",
+                stale.getStockId(), Date.valueOf(MONDAY));
+        assertPrices(bar, "50.00", "52.00", "50.00", "52.00");
+        assertEquals(2, ((Number) bar.get("sample_count")).intValue());
+    }
+
+    @Test
+    void testRollup_RollsLateRowsUpBeforeDeletingTheirDay() {
+        price(MONDAY.plusDays(6).atTime(15, 0), "108.00");
+        entityManager.flush();
+        now.set(PriceSlice.toTime(MONDAY.plusDays(7).atTime(12, 0)));
+        priceRollupService.rollup();
+
+        // A row for Monday arrives after Monday was rolled up; the next run only recomputes from the Sunday before
+        price(MONDAY.atTime(21, 0), "90.00");
+        entityManager.flush();
+        now.set(PriceSlice.toTime(NOW));
+        priceRollupService.rollup();
+
+        assertPrices(bar("price_history_daily", "bucket_date", MONDAY), "100.00", "110.00", "90.00", "90.00");
+        assertPrices(bar("price_history_weekly", "week_start", MONDAY), "100.00", "110.00", "90.00", "108.00");
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM price_history WHERE close_date < ?", Integer.class,
+                Timestamp.valueOf(MONDAY.plusDays(2).atStartOfDay())));
+    }
+
+    @Test
+    void testTierFor_PicksCoarsestTierForTheRequestedSpacing() {
+        UUID stockId = stock.getStockId();
+        long now = PriceSlice.toTime(NOW);
+        long day = Duration.ofDays(1).toMillis();
+
+        // Before the first rollup only raw rows exist
+        assertEquals(PriceHistoryTier.RAW, priceRollupService.tierFor(stockId, now - 365 * day, now, 10));
+
+        priceRollupService.rollup();
+
+        // The span starts at the first rolled day, June 2nd, so two points are more than a week apart
+        assertEquals(PriceHistoryTier.WEEKLY, priceRollupService.tierFor(stockId, now - 365 * day, now, 2));
+        assertEquals(PriceHistoryTier.DAILY, priceRollupService.tierFor(stockId, now - 10 * day, now, 10));
+        assertEquals(PriceHistoryTier.RAW, priceRollupService.tierFor(stockId, now - 2 * day, Long.MAX_VALUE, 0));
+        // Without a point limit the request asks for full resolution, even past retention
+        assertEquals(PriceHistoryTier.RAW, priceRollupService.tierFor(stockId, Long.MIN_VALUE, Long.MAX_VALUE, 0));
+    }
+
+    @Test
+    void testGetRawSeries_ServesDaysPastRetentionFromDailyBars() {
+        priceRollupService.rollup();
+        PriceSeries raw = new PriceSeries();
+        raw.append(PriceSlice.toTime(NOW.minusDays(1)), 12000);
+        raw.append(PriceSlice.toTime(NOW.minusDays(1).plusMinutes(1)), 12100);
+
+        PriceSlice slice = priceRollupService.getRawSeries(stock.getStockId(), raw, Long.MIN_VALUE).all();
+
+        // Monday and Tuesday were deleted by retention and come back as one close a day, the rest stays intraday
+        assertEquals(4, slice.size());
+        assertEquals(MONDAY.atTime(20, 0), slice.closeDate(0));
+        assertEquals(new BigDecimal("105.00"), slice.closePrice(0));
+        assertEquals(new BigDecimal("104.00"), slice.closePrice(1));
+        assertEquals(NOW.minusDays(1), slice.closeDate(2));
+        assertEquals(new BigDecimal("121.00"), slice.closePrice(3));
+
+        // A range inside retention is the raw series itself
+        assertSame(raw, priceRollupService.getRawSeries(stock.getStockId(), raw, PriceSlice.toTime(NOW.minusDays(2))));
+    }
+
+    @Test
+    void testGetSeries_ReadsTierClosesFollowedByLatestRawPrice() {
+        priceRollupService.rollup();
+        price(NOW.minusMinutes(5), "121.00");
+        entityManager.flush();
+
+        PriceSlice slice = priceRollupService.getSeries(stock.getStockId(), PriceHistoryTier.DAILY,
+                Long.MIN_VALUE, Long.MAX_VALUE).all();
+
+        assertEquals(4, slice.size());
+        assertEquals(new BigDecimal("105.00"), slice.closePrice(0));
+        assertEquals(MONDAY.atTime(20, 0), slice.closeDate(0));
+        assertEquals(new BigDecimal("121.00"), slice.closePrice(3));
+    }
+
+    private void price(LocalDateTime closeDate, String closePrice) {
+        entityManager.persist(new PriceHistory(closeDate, new BigDecimal(closePrice), stock));
+    }
+
+    private Map<String, Object> bar(String table, String dateColumn, LocalDate date) {
+        return jdbcTemplate.queryForMap("SELECT * FROM " + table + " WHERE stock_id = ? AND " + dateColumn + " = ?",
+                stock.getStockId(), Date.valueOf(date));
+    }
+
+    private static void assertPrices(Map<String, Object> bar, String open, String high, String low, String close) {
+        assertEquals(new BigDecimal(open), bar.get("open_price"));
+        assertEquals(new BigDecimal(high), bar.get("high_price"));
+        assertEquals(new BigDecimal(low), bar.get("low_price"));
+        assertEquals(new BigDecimal(close), bar.get("close_price"));
+    }
+}
@@ -0,0 +1,112 @@
+package com.joelcode.personalinvestmentportfoliotracker.services;
+
+import com.joelcode.personalinvestmentportfoliotracker.entities.PriceHistory;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Stock;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.PriceHistoryJdbcRepository.PricePoint;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceSeriesStore;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSeries;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSlice;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Testing the price series store against price_history rows
+@DataJpaTest
+class PriceSeriesStoreTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 30, 14, 30);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private Stock first;
+    private Stock second;
+
+    // Two stocks with three one-minute closes each
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        first = persistStock("SERA");
+        second = persistStock("SERB");
+        for (int minute = 0; minute < 3; minute++) {
+            entityManager.persist(new PriceHistory(START.plusMinutes(minute), BigDecimal.valueOf(100 + minute), first));
+            entityManager.persist(new PriceHistory(START.plusMinutes(minute), BigDecimal.valueOf(200 + minute), second));
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void testGet_LoadsOnceAndKeepsSeriesHot() {
+        PriceSeriesStore store = store(DataSize.ofMegabytes(1));
+
+        PriceSeries series = store.get(first.getStockId());
+
+        assertSame(series, store.get(first.getStockId()));
+        assertEquals(3, series.size());
+        assertEquals(START.plusMinutes(2), series.all().closeDate(2));
+        assertEquals(new BigDecimal("102.00"), series.all().closePrice(2));
+        assertEquals(1.0, meterRegistry.get("app.price_series.loads").counter().count());
+    }
+
+    @Test
+    void testApply_AppendsFlushedRowsToHotSeries() {
+        PriceSeriesStore store = store(DataSize.ofMegabytes(1));
+        PriceSeries series = store.get(first.getStockId());
+
+        store.apply(List.of(
+                new PricePoint(first.getStockId(), START.plusMinutes(3), BigDecimal.valueOf(103)),
+                new PricePoint(first.getStockId(), START.plusMinutes(1), BigDecimal.valueOf(99)),
+                new PricePoint(second.getStockId(), START.plusMinutes(3), BigDecimal.valueOf(203))));
+
+        // The older point does not fit the series any more, so it is dropped and reloaded from the table
+        assertEquals(0, store.count());
+        assertNotSame(series, store.get(first.getStockId()));
+
+        PriceSeries reloaded = store.get(first.getStockId());
+        store.apply(List.of(new PricePoint(first.getStockId(), START.plusMinutes(4), BigDecimal.valueOf(104))));
+        PriceSlice last = reloaded.last(1);
+        assertEquals(PriceSlice.toTime(START.plusMinutes(4)), last.times()[0]);
+        assertEquals(10400, last.prices()[0]);
+    }
+
+    @Test
+    void testGet_EvictsLeastRecentlyUsedOverBudget() {
+        // Each series has a fixed uncompressed tail of about 4KB, so a 6KB budget holds one
+        PriceSeriesStore store = store(DataSize.ofKilobytes(6));
+
+        store.get(first.getStockId());
+        store.get(second.getStockId());
+
+        assertEquals(1, store.count());
+        assertEquals(1.0, meterRegistry.get("app.price_series.evictions").counter().count());
+        assertEquals(3, store.get(second.getStockId()).size());
+        assertEquals(2.0, meterRegistry.get("app.price_series.loads").counter().count());
+    }
+
+    private PriceSeriesStore store(DataSize maxSize) {
+        return new PriceSeriesStore(jdbcTemplate, meterRegistry, maxSize);
+    }
+
+    private Stock persistStock(String code) {
+        Stock stock = new Stock();
+        stock.setStockCode(code);
+        stock.setCompanyName(code + " Corp");
+        stock.setStockValue(BigDecimal.valueOf(100));
+        return entityManager.persist(stock);
+    }
+}
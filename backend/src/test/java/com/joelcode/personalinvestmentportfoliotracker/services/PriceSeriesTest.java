@@ -0,0 +1,100 @@
+package com.joelcode.personalinvestmentportfoliotracker.services;
+
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSeries;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.series.PriceSlice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Testing the compressed columnar price series
+public class PriceSeriesTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final int POINTS = 2_000;
+
+    private PriceSeries series;
+    private long[] times;
+    private long[] prices;
+
+    // A random walk of one-minute closes with some gaps, long enough to span several sealed chunks
+    @BeforeEach
+    void setup() {
+        series = new PriceSeries();
+        times = new long[POINTS];
+        prices = new long[POINTS];
+
+        Random random = new Random(7);
+        long time = 1_700_000_000_000L;
+        long price = 15_000;
+        for (int i = 0; i < POINTS; i++) {
+            time += random.nextInt(10) == 0 ? MINUTE * (2 + random.nextInt(60)) : MINUTE;
+            price = Math.max(1, price + random.nextInt(201) - 100);
+            times[i] = time;
+            prices[i] = price;
+            assertTrue(series.append(time, price));
+        }
+    }
+
+    @Test
+    void testAll_RoundTripsEveryPoint() {
+        PriceSlice all = series.all();
+
+        assertEquals(POINTS, series.size());
+        assertArrayEquals(times, all.times());
+        assertArrayEquals(prices, all.prices());
+    }
+
+    @Test
+    void testSizeInBytes_IsFarBelowBoxedRows() {
+        // Two longs per point uncompressed would already be 16 bytes a point
+        assertTrue(series.sizeInBytes() < POINTS * 6L, "size was " + series.sizeInBytes());
+    }
+
+    @Test
+    void testRange_IsInclusiveAndCrossesChunks() {
+        PriceSlice range = series.range(times[250], times[900]);
+
+        assertEquals(651, range.size());
+        assertEquals(times[250], range.times()[0]);
+        assertEquals(prices[900], range.prices()[650]);
+        assertEquals(0, series.range(times[5] + 1, times[6] - 1).size());
+        assertEquals(0, series.range(times[9], times[8]).size());
+    }
+
+    @Test
+    void testLast_ReturnsNewestPoints() {
+        PriceSlice last = series.last(300);
+
+        assertEquals(300, last.size());
+        assertEquals(times[POINTS - 300], last.times()[0]);
+        assertEquals(prices[POINTS - 1], last.prices()[299]);
+        assertEquals(POINTS, series.last(POINTS * 2).size());
+    }
+
+    @Test
+    void testDownsample_KeepsLastCloseOfEachBucket() {
+        PriceSlice sampled = series.downsample(Long.MIN_VALUE, Long.MAX_VALUE, 100);
+
+        assertTrue(sampled.size() <= 100);
+        assertTrue(sampled.size() > 50);
+        assertEquals(times[POINTS - 1], sampled.times()[sampled.size() - 1]);
+        assertEquals(prices[POINTS - 1], sampled.prices()[sampled.size() - 1]);
+        for (int i = 1; i < sampled.size(); i++) {
+            assertTrue(sampled.times()[i] > sampled.times()[i - 1]);
+        }
+    }
+
+    @Test
+    void testAppend_ReplacesSameTimeAndRefusesOlder() {
+        long lastTime = times[POINTS - 1];
+
+        assertTrue(series.append(lastTime, 42));
+        assertFalse(series.append(lastTime - 1, 43));
+
+        assertEquals(POINTS, series.size());
+        assertEquals(42, series.last(1).prices()[0]);
+    }
+}
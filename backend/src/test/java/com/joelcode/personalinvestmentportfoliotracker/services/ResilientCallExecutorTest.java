@@ -0,0 +1,135 @@
+package com.joelcode.personalinvestmentportfoliotracker.services;
+
+import com.joelcode.personalinvestmentportfoliotracker.exceptions.CircuitOpenException;
+import com.joelcode.personalinvestmentportfoliotracker.monitoring.ExternalApiHealthTracker;
+import com.joelcode.personalinvestmentportfoliotracker.services.ratelimit.RequestPriority;
+import com.joelcode.personalinvestmentportfoliotracker.services.resilience.CircuitBreaker;
+import com.joelcode.personalinvestmentportfoliotracker.services.resilience.ResilientCallExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Testing circuit breaking and stale-while-revalidate around provider calls
+public class ResilientCallExecutorTest {
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private ExternalApiHealthTracker healthTracker;
+    private ResilientCallExecutor resilience;
+
+    // Breaker judged over 4 calls, opens at 50% failures for 30s; stale values are served after 100ms
+    @BeforeEach
+    void setup() {
+        executor = Executors.newFixedThreadPool(2);
+        meterRegistry = new SimpleMeterRegistry();
+        healthTracker = new ExternalApiHealthTracker(10);
+        resilience = new ResilientCallExecutor(executor, meterRegistry, healthTracker,
+                new CircuitBreaker.Settings(4, 4, 50, Duration.ofSeconds(1), 50, Duration.ofSeconds(30), 1),
+                Duration.ofMillis(100), Duration.ofHours(1), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testCall_SlowProviderServesLastKnownValueWhileOneRefreshRuns() throws InterruptedException {
+        assertEquals("150", resilience.call("finnhub", "quote", "AAPL", () -> "150"));
+
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger refreshes = new AtomicInteger();
+        long start = System.nanoTime();
+        String first = resilience.call("finnhub", "quote", "AAPL", () -> {
+            refreshes.incrementAndGet();
+            await(release);
+            return "155";
+        });
+        String second = resilience.call("finnhub", "quote", "AAPL", () -> {
+            refreshes.incrementAndGet();
+            return "999";
+        });
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertEquals("150", first);
+        assertEquals("150", second);
+        assertEquals(1, refreshes.get());
+        assertTrue(elapsedMillis < 1000, "stale values took " + elapsedMillis + "ms");
+        assertEquals(2.0, meterRegistry.get("app.marketdata.stale").tag("endpoint", "quote").counter().count());
+
+        // Once the refresh lands its value is the one served on the next failure
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals("155", resilience.call("finnhub", "quote", "AAPL", () -> {
+            throw new ResourceAccessException("down");
+        }));
+    }
+
+    @Test
+    void testCall_OpenBreakerFailsFastOrServesStale() {
+        resilience.call("finnhub", "quote", "AAPL", () -> "150");
+        for (int i = 0; i < 3; i++) {
+            assertEquals("150", resilience.call("finnhub", "quote", "AAPL", () -> {
+                throw new ResourceAccessException("timeout");
+            }));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, resilience.getState("finnhub", "quote"));
+        assertEquals(3, healthTracker.getEndpoints("finnhub").get("quote").getFailures());
+        assertEquals(2.0, meterRegistry.get("app.circuitbreaker.state").tag("endpoint", "quote").gauge().value());
+
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals("150", resilience.call("finnhub", "quote", "AAPL", () -> String.valueOf(calls.incrementAndGet())));
+        assertThrows(CircuitOpenException.class,
+                () -> resilience.call("finnhub", "quote", "MSFT", () -> String.valueOf(calls.incrementAndGet())));
+        assertEquals(0, calls.get());
+
+        // Other endpoints keep their own breaker
+        assertEquals("ok", resilience.call("finnhub", "profile", "AAPL", () -> "ok"));
+    }
+
+    @Test
+    void testCall_BackgroundCallsNeverGetStaleValues() {
+        resilience.call("finnhub", "quote", "AAPL", () -> "150");
+
+        assertThrows(ResourceAccessException.class, () -> RequestPriority.BACKGROUND.call(() ->
+                resilience.call("finnhub", "quote", "AAPL", () -> {
+                    throw new ResourceAccessException("timeout");
+                })));
+    }
+
+    @Test
+    void testCall_ClientErrorsPassThroughAndKeepBreakerClosed() {
+        resilience.call("finnhub", "profile", "NOPE", () -> "old");
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpClientErrorException.class, () -> resilience.call("finnhub", "profile", "NOPE", () -> {
+                throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.getState("finnhub", "profile"));
+        assertEquals(1.0, healthTracker.getEndpoints("finnhub").get("profile").getSuccessRate());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -3,18 +3,26 @@ package com.joelcode.personalinvestmentportfoliotracker.services;
 import com.joelcode.personalinvestmentportfoliotracker.dto.stock.*;
 import com.joelcode.personalinvestmentportfoliotracker.entities.*;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.*;
+import com.joelcode.personalinvestmentportfoliotracker.services.finnhub.FinnhubApiClient;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PriceTickEvent;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceRecorder;
 import com.joelcode.personalinvestmentportfoliotracker.services.stock.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 // Testing stock service layer business logic
@@ -26,6 +34,12 @@ public class StockServiceImplTest {
     private StockValidationService stockValidationService;
     @Mock
     private PriceHistoryRepository priceHistoryRepository;
+    @Mock
+    private FinnhubApiClient finnhubApiClient;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PriceRecorder priceRecorder;
 
     @InjectMocks
     private StockServiceImpl stockService;
@@ -65,6 +79,8 @@ public class StockServiceImplTest {
         assertNotNull(result);
         assertEquals("AAPL", result.getStockCode());
         verify(stockRepository, times(1)).save(any(Stock.class));
+        verify(priceRecorder, times(1)).record(stockId, BigDecimal.valueOf(150.0));
+        verify(priceHistoryRepository, never()).save(any(PriceHistory.class));
     }
 
     // Test retrieving stock by id
@@ -116,4 +132,67 @@ public class StockServiceImplTest {
 
         verify(stockRepository, times(1)).delete(testStock);
     }
-}
\ No newline at end of file
+
+    // Test batch prices are read from the latest price history, falling back to the stored stock value
+    @Test
+    void testGetCurrentPrices_ReadsStoredPricesOnly() {
+        Stock unpricedStock = new Stock();
+        unpricedStock.setStockId(UUID.randomUUID());
+        unpricedStock.setStockCode("MSFT");
+        unpricedStock.setStockValue(BigDecimal.valueOf(300));
+
+        PriceHistory latestPrice = new PriceHistory();
+        latestPrice.setStock(testStock);
+        latestPrice.setClosePrice(BigDecimal.valueOf(140));
+        latestPrice.setCloseDate(LocalDateTime.now().minusHours(1));
+
+        when(stockRepository.findAllById(anyCollection())).thenReturn(List.of(testStock, unpricedStock));
+        when(priceHistoryRepository.findLatestByStockIds(anyCollection())).thenReturn(List.of(latestPrice));
+
+        Map<UUID, BigDecimal> prices = stockService.getCurrentPrices(List.of(stockId, unpricedStock.getStockId()));
+
+        assertEquals(BigDecimal.valueOf(140), prices.get(stockId));
+        assertEquals(BigDecimal.valueOf(300), prices.get(unpricedStock.getStockId()));
+        verifyNoInteractions(finnhubApiClient);
+        verify(priceHistoryRepository, never()).saveAll(anyList());
+        verify(stockRepository, never()).saveAll(anyList());
+    }
+
+    // Test a recorded price that has not been flushed yet wins over the stored price history
+    @Test
+    void testGetCurrentPrice_PrefersPendingRecordedPrice() {
+        when(stockRepository.findByStockId(stockId)).thenReturn(Optional.of(testStock));
+        when(priceRecorder.getPendingPrice(stockId)).thenReturn(BigDecimal.valueOf(156));
+
+        BigDecimal price = stockService.getCurrentPrice(stockId);
+
+        assertEquals(BigDecimal.valueOf(156), price);
+        verify(priceHistoryRepository, never()).findTopByStockOrderByCloseDateDesc(any());
+    }
+
+    // Test recorded prices go to the price recorder instead of the repositories and publish one tick per stock
+    @Test
+    void testRecordPrices_BuffersPricesAndPublishesTicks() {
+        when(stockRepository.findAllById(anyCollection())).thenReturn(List.of(testStock));
+
+        int recorded = stockService.recordPrices(Map.of(stockId, BigDecimal.valueOf(155)));
+
+        assertEquals(1, recorded);
+        verify(priceRecorder, times(1)).record(stockId, BigDecimal.valueOf(155));
+        verify(stockRepository, never()).saveAll(anyList());
+        verify(priceHistoryRepository, never()).saveAll(anyList());
+        verify(eventPublisher, times(1)).publishEvent(new PriceTickEvent(stockId, BigDecimal.valueOf(155)));
+    }
+
+    // Test non-positive prices are ignored
+    @Test
+    void testRecordPrices_IgnoresInvalidPrices() {
+        when(stockRepository.findAllById(anyCollection())).thenReturn(List.of(testStock));
+
+        int recorded = stockService.recordPrices(Map.of(stockId, BigDecimal.ZERO));
+
+        assertEquals(0, recorded);
+        verifyNoInteractions(priceRecorder);
+        verifyNoInteractions(eventPublisher);
+    }
+}
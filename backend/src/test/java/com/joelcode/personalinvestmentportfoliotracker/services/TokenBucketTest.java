@@ -0,0 +1,108 @@
+package com.joelcode.personalinvestmentportfoliotracker.services;
+
+import com.joelcode.personalinvestmentportfoliotracker.services.ratelimit.RequestPriority;
+import com.joelcode.personalinvestmentportfoliotracker.services.ratelimit.TokenBucket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Testing the lock-free token bucket against a hand-driven clock
+public class TokenBucketTest {
+
+    private static final long ONE_SECOND = 1_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(0);
+    private TokenBucket bucket;
+
+    // 60 tokens a minute (one a second), bursts of 10, the last 3 reserved for interactive calls
+    @BeforeEach
+    void setup() {
+        bucket = new TokenBucket(60, 10, 3, clock::get);
+    }
+
+    @Test
+    void testTryAcquire_BackgroundStopsAtInteractiveReserve() {
+        for (int i = 0; i < 7; i++) {
+            assertTrue(bucket.tryAcquire(RequestPriority.BACKGROUND));
+        }
+
+        assertFalse(bucket.tryAcquire(RequestPriority.BACKGROUND));
+        assertEquals(0, bucket.available(RequestPriority.BACKGROUND));
+        assertEquals(3, bucket.available(RequestPriority.INTERACTIVE));
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(bucket.tryAcquire(RequestPriority.INTERACTIVE));
+        }
+        assertFalse(bucket.tryAcquire(RequestPriority.INTERACTIVE));
+    }
+
+    @Test
+    void testTryAcquire_RefillsAtConfiguredRate() {
+        while (bucket.tryAcquire(RequestPriority.INTERACTIVE)) {
+            // drain
+        }
+
+        clock.addAndGet(ONE_SECOND);
+        assertEquals(1, bucket.available(RequestPriority.INTERACTIVE));
+        assertTrue(bucket.tryAcquire(RequestPriority.INTERACTIVE));
+        assertFalse(bucket.tryAcquire(RequestPriority.INTERACTIVE));
+
+        // A long idle period refills to capacity, never beyond it
+        clock.addAndGet(60 * ONE_SECOND);
+        assertEquals(10, bucket.available(RequestPriority.INTERACTIVE));
+        assertEquals(7, bucket.available(RequestPriority.BACKGROUND));
+    }
+
+    @Test
+    void testReserve_QueuesInteractiveCallsWithinMaxWait() {
+        while (bucket.tryAcquire(RequestPriority.INTERACTIVE)) {
+            // drain
+        }
+
+        assertEquals(ONE_SECOND, bucket.reserve(RequestPriority.INTERACTIVE, 5 * ONE_SECOND));
+        assertEquals(2 * ONE_SECOND, bucket.reserve(RequestPriority.INTERACTIVE, 5 * ONE_SECOND));
+        assertEquals(-1, bucket.reserve(RequestPriority.INTERACTIVE, 2 * ONE_SECOND));
+
+        // Queued interactive calls hold back background work until they have been served
+        assertEquals(6 * ONE_SECOND, bucket.nanosUntilAvailable(RequestPriority.BACKGROUND));
+    }
+
+    @Test
+    void testTryAcquire_ConcurrentCallersNeverOverdraw() throws InterruptedException {
+        TokenBucket shared = new TokenBucket(60, 500, 0, clock::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    if (shared.tryAcquire(RequestPriority.INTERACTIVE)) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(500, granted.get());
+    }
+
+    @Test
+    void testConstructor_RejectsReserveAtCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(60, 5, 5));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 5, 1));
+    }
+}
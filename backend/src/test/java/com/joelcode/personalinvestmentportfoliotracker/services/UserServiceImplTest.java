@@ -3,17 +3,23 @@ package com.joelcode.personalinvestmentportfoliotracker.services;
 import com.joelcode.personalinvestmentportfoliotracker.dto.account.AccountDTO;
 import com.joelcode.personalinvestmentportfoliotracker.dto.user.UserCreateRequest;
 import com.joelcode.personalinvestmentportfoliotracker.dto.user.UserDTO;
+import com.joelcode.personalinvestmentportfoliotracker.dto.user.UserPreferencesUpdateRequest;
 import com.joelcode.personalinvestmentportfoliotracker.dto.user.UserUpdateRequest;
 import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
 import com.joelcode.personalinvestmentportfoliotracker.entities.User;
+import com.joelcode.personalinvestmentportfoliotracker.model.CustomUserDetails;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.UserRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.customuserdetails.CustomUserDetailsService;
 import com.joelcode.personalinvestmentportfoliotracker.services.mapping.AccountMapper;
 import com.joelcode.personalinvestmentportfoliotracker.services.mapping.UserMapper;
 import com.joelcode.personalinvestmentportfoliotracker.services.user.UserServiceImpl;
 import com.joelcode.personalinvestmentportfoliotracker.services.user.UserValidationService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -33,6 +39,9 @@ public class UserServiceImplTest {
     @Mock
     private UserValidationService userValidationService;
 
+    @Mock
+    private CustomUserDetailsService customUserDetailsService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -58,6 +67,11 @@ public class UserServiceImplTest {
         testUser.getAccounts().add(testAccount);
     }
 
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
     // Test user creation
     @Test
     void testCreateUser_Success() {
@@ -123,9 +137,33 @@ public class UserServiceImplTest {
 
             assertNotNull(result);
             verify(userRepository, times(1)).save(any(User.class));
+            verify(customUserDetailsService).evict(userId);
         }
     }
 
+    // Test the current user's preferences are changed on a fresh copy, not the cached principal
+    @Test
+    void testUpdateCurrentUserPreferences_LeavesCachedUserUntouchedWhenSaveFails() {
+        User cached = new User();
+        cached.setUserId(userId);
+        cached.setPriceAlerts(true);
+        CustomUserDetails principal = new CustomUserDetails(cached);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+
+        testUser.setPriceAlerts(true);
+        when(userValidationService.validateUserExists(userId)).thenReturn(testUser);
+        when(userRepository.save(any(User.class))).thenThrow(new RuntimeException("Database unavailable"));
+
+        UserPreferencesUpdateRequest request = new UserPreferencesUpdateRequest();
+        request.setPriceAlerts(false);
+
+        assertThrows(RuntimeException.class, () -> userService.updateCurrentUserPreferences(request));
+        assertTrue(cached.getPriceAlerts());
+        assertFalse(testUser.getPriceAlerts());
+        verify(customUserDetailsService).evict(userId);
+    }
+
     // Test delete user
     @Test
     void testDeleteUser_Success() {
@@ -134,6 +172,7 @@ public class UserServiceImplTest {
         userService.deleteUser(userId);
 
         verify(userRepository, times(1)).delete(testUser);
+        verify(customUserDetailsService).evict(userId);
     }
 
     // Test get all accounts for user
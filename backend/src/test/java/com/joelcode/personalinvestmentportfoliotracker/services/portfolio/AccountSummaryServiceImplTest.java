@@ -3,14 +3,11 @@ package com.joelcode.personalinvestmentportfoliotracker.services.portfolio;
 import com.joelcode.personalinvestmentportfoliotracker.dto.portfolio.AccountSummaryDTO;
 import com.joelcode.personalinvestmentportfoliotracker.dto.portfolio.HoldingSummaryDTO;
 import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
-import com.joelcode.personalinvestmentportfoliotracker.entities.Holding;
-import com.joelcode.personalinvestmentportfoliotracker.entities.Stock;
 import com.joelcode.personalinvestmentportfoliotracker.entities.User;
-import com.joelcode.personalinvestmentportfoliotracker.repositories.AccountRepository;
-import com.joelcode.personalinvestmentportfoliotracker.repositories.HoldingRepository;
-import com.joelcode.personalinvestmentportfoliotracker.services.dividendpayment.DividendPaymentCalculationService;
 import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.summary.AccountSummaryServiceImpl;
-import com.joelcode.personalinvestmentportfoliotracker.services.stock.StockService;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.AccountValuation;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PortfolioValuationService;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PositionValuation;
 import com.joelcode.personalinvestmentportfoliotracker.services.user.UserValidationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,26 +16,15 @@ import org.mockito.*;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 public class AccountSummaryServiceImplTest {
 
     @Mock
-    private AccountRepository accountRepository;
-
-    @Mock
-    private HoldingRepository holdingRepository;
-
-    @Mock
-    private StockService stockService;
-
-    @Mock
-    private DividendPaymentCalculationService dividendPaymentCalculationService;
+    private PortfolioValuationService portfolioValuationService;
 
     @Mock
     private UserValidationService userValidationService;
@@ -50,8 +36,7 @@ public class AccountSummaryServiceImplTest {
     private UUID stockId;
     private UUID userId;
     private Account testAccount;
-    private Holding testHolding;
-    private Stock testStock;
+    private PositionValuation testPosition;
     private User testUser;
 
     @BeforeEach
@@ -62,16 +47,10 @@ public class AccountSummaryServiceImplTest {
         stockId = UUID.randomUUID();
         userId = UUID.randomUUID();
 
-        // Initialize Stock
-        testStock = new Stock();
-        testStock.setStockId(stockId);
-        testStock.setStockCode("TEST");
-
-        // Initialize Holding
-        testHolding = new Holding();
-        testHolding.setStock(testStock);
-        testHolding.setQuantity(BigDecimal.valueOf(10));
-        testHolding.setAverageCostBasis(BigDecimal.valueOf(50));
+        // Initialize position (10 shares at 50, priced at 60)
+        testPosition = new PositionValuation(UUID.randomUUID(), stockId, "TEST", null, null,
+                BigDecimal.valueOf(10), BigDecimal.valueOf(50), BigDecimal.valueOf(500), BigDecimal.ZERO,
+                null, BigDecimal.valueOf(60));
 
         // Initialize Account
         testAccount = new Account();
@@ -85,16 +64,13 @@ public class AccountSummaryServiceImplTest {
         accounts.add(testAccount);
         testUser.setAccounts(accounts);
 
-        // Link holdings repository
-        when(holdingRepository.findByAccount_AccountId(accountId)).thenReturn(List.of(testHolding));
+        // Link valuation engine
+        when(portfolioValuationService.getAccountValuation(accountId)).thenReturn(AccountValuation.of(
+                accountId, userId, BigDecimal.valueOf(1000), BigDecimal.valueOf(25), List.of(testPosition)));
     }
 
     @Test
     void testGetAccountSummary_Success() {
-        when(accountRepository.findByAccountId(accountId)).thenReturn(Optional.of(testAccount));
-        when(stockService.getCurrentPrice(stockId)).thenReturn(BigDecimal.valueOf(60));
-        when(dividendPaymentCalculationService.calculateTotalDividends(accountId)).thenReturn(BigDecimal.valueOf(25));
-
         AccountSummaryDTO summary = accountSummaryService.getAccountSummary(accountId);
 
         assertNotNull(summary);
@@ -114,10 +90,6 @@ public class AccountSummaryServiceImplTest {
     @Test
     void testGetAccountSummariesForUser_Success() {
         when(userValidationService.validateUserExists(userId)).thenReturn(testUser);
-        when(accountRepository.findByAccountId(accountId)).thenReturn(Optional.of(testAccount));
-        when(stockService.getCurrentPrice(stockId)).thenReturn(BigDecimal.valueOf(60));
-        when(dividendPaymentCalculationService.calculateTotalDividends(accountId)).thenReturn(BigDecimal.valueOf(25));
-
         List<AccountSummaryDTO> summaries = accountSummaryService.getAccountSummariesForUser(userId);
 
         assertEquals(1, summaries.size());
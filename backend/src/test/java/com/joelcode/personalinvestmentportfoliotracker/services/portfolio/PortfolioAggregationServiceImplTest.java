@@ -52,7 +52,7 @@ class PortfolioAggregationServiceImplTest {
                 null, // allocationBreakdownService
                 dividendPaymentService,
                 userValidationService,
-                null, // priceHistoryService
+                null, // portfolioValuationService
                 null  // accountValidationService
         );
 
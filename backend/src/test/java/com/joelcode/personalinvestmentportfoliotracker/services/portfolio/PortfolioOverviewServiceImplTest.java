@@ -1,13 +1,13 @@
 package com.joelcode.personalinvestmentportfoliotracker.services.portfolio;
 
-import com.joelcode.personalinvestmentportfoliotracker.dto.holding.HoldingDTO;
 import com.joelcode.personalinvestmentportfoliotracker.dto.portfolio.PortfolioOverviewDTO;
 import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
 import com.joelcode.personalinvestmentportfoliotracker.entities.User;
-import com.joelcode.personalinvestmentportfoliotracker.services.account.AccountValidationService;
-import com.joelcode.personalinvestmentportfoliotracker.services.dividendpayment.DividendPaymentService;
-import com.joelcode.personalinvestmentportfoliotracker.services.holding.HoldingService;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.allocation.AllocationBreakdownService;
 import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.overview.PortfolioOverviewServiceImpl;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.AccountValuation;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PortfolioValuationService;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PositionValuation;
 import com.joelcode.personalinvestmentportfoliotracker.services.user.UserValidationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,13 +24,10 @@ import static org.mockito.Mockito.*;
 public class PortfolioOverviewServiceImplTest {
 
     @Mock
-    private AccountValidationService accountValidationService;
+    private PortfolioValuationService portfolioValuationService;
 
     @Mock
-    private HoldingService holdingService;
-
-    @Mock
-    private DividendPaymentService dividendPaymentService;
+    private AllocationBreakdownService allocationService;
 
     @Mock
     private UserValidationService userValidationService;
@@ -42,7 +39,7 @@ public class PortfolioOverviewServiceImplTest {
     private UUID userId;
     private Account account;
     private User user;
-    private HoldingDTO holdingDTO;
+    private PositionValuation position;
 
     @BeforeEach
     void setup() {
@@ -63,19 +60,14 @@ public class PortfolioOverviewServiceImplTest {
         accounts.add(account);
         user.setAccounts(accounts);
 
-        // Initialize HoldingDTO
-        holdingDTO = new HoldingDTO();
-        holdingDTO.setStockId(UUID.randomUUID());
-        holdingDTO.setQuantity(BigDecimal.valueOf(10));
-        holdingDTO.setAverageCostBasis(BigDecimal.valueOf(50));
-        holdingDTO.setCurrentPrice(BigDecimal.valueOf(60));
+        // Initialize position (10 shares bought at 50, now 60)
+        position = new PositionValuation(UUID.randomUUID(), UUID.randomUUID(), "TEST", "Test Corp", "Technology",
+                BigDecimal.valueOf(10), BigDecimal.valueOf(50), BigDecimal.valueOf(500), BigDecimal.ZERO,
+                null, BigDecimal.valueOf(60));
 
         // Mocks
-        when(accountValidationService.validateAccountExistsById(accountId)).thenReturn(account);
-        when(holdingService.getHoldingsForAccount(accountId)).thenReturn(List.of(holdingDTO));
-        when(dividendPaymentService.getDividendPaymentsForAccount(accountId)).thenReturn(List.of(
-                new com.joelcode.personalinvestmentportfoliotracker.dto.dividendpayment.DividendPaymentDTO(accountId, BigDecimal.valueOf(25))
-        ));
+        when(portfolioValuationService.getAccountValuation(accountId)).thenReturn(
+                AccountValuation.of(accountId, userId, BigDecimal.valueOf(1000), BigDecimal.valueOf(25), List.of(position)));
         when(userValidationService.validateUserExists(userId)).thenReturn(user);
     }
 
@@ -107,7 +99,8 @@ public class PortfolioOverviewServiceImplTest {
 
     @Test
     void testGetPortfolioOverviewForAccount_EmptyHoldings() {
-        when(holdingService.getHoldingsForAccount(accountId)).thenReturn(new ArrayList<>());
+        when(portfolioValuationService.getAccountValuation(accountId)).thenReturn(
+                AccountValuation.of(accountId, userId, BigDecimal.valueOf(1000), BigDecimal.ZERO, new ArrayList<>()));
 
         PortfolioOverviewDTO overview = portfolioOverviewService.getPortfolioOverviewForAccount(accountId);
 
@@ -122,7 +115,8 @@ public class PortfolioOverviewServiceImplTest {
 
     @Test
     void testGetPortfolioOverviewForUser_EmptyHoldings() {
-        when(holdingService.getHoldingsForAccount(accountId)).thenReturn(new ArrayList<>());
+        when(portfolioValuationService.getAccountValuation(accountId)).thenReturn(
+                AccountValuation.of(accountId, userId, BigDecimal.valueOf(1000), BigDecimal.ZERO, new ArrayList<>()));
 
         PortfolioOverviewDTO overview = portfolioOverviewService.getPortfolioOverviewForUser(userId);
 
@@ -2,7 +2,6 @@ package com.joelcode.personalinvestmentportfoliotracker.services.portfolio;
 
 import com.joelcode.personalinvestmentportfoliotracker.controllers.WebSocketController;
 import com.joelcode.personalinvestmentportfoliotracker.dto.dividendpayment.DividendPaymentDTO;
-import com.joelcode.personalinvestmentportfoliotracker.dto.holding.HoldingDTO;
 import com.joelcode.personalinvestmentportfoliotracker.entities.*;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.AccountRepository;
 import com.joelcode.personalinvestmentportfoliotracker.repositories.HoldingRepository;
@@ -11,9 +10,11 @@ import com.joelcode.personalinvestmentportfoliotracker.services.account.AccountV
 import com.joelcode.personalinvestmentportfoliotracker.services.account.AccountService;
 import com.joelcode.personalinvestmentportfoliotracker.services.dividendpayment.DividendPaymentCalculationService;
 import com.joelcode.personalinvestmentportfoliotracker.services.dividendpayment.DividendPaymentService;
-import com.joelcode.personalinvestmentportfoliotracker.services.holding.HoldingService;
 import com.joelcode.personalinvestmentportfoliotracker.dto.portfolio.PortfolioPerformanceDTO;
 import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.performance.PortfolioPerformanceServiceImpl;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.AccountValuation;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PortfolioValuationService;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PositionValuation;
 import com.joelcode.personalinvestmentportfoliotracker.services.user.UserValidationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,7 +35,7 @@ public class PortfolioPerformanceServiceImplTest {
     private AccountService accountService;
 
     @Mock
-    private HoldingService holdingService;
+    private PortfolioValuationService portfolioValuationService;
 
     @Mock
     private DividendPaymentCalculationService dividendPaymentCalculationService;
@@ -73,7 +74,6 @@ public class PortfolioPerformanceServiceImplTest {
     private Holding holding;
     private Stock stock;
     private User user;
-    private HoldingDTO holdingDTO;
 
     @BeforeEach
     void setup() {
@@ -98,14 +98,6 @@ public class PortfolioPerformanceServiceImplTest {
         holding.setUnrealizedGain(BigDecimal.valueOf(100)); // (60-50)*10 = 100
         holding.setRealizedGain(BigDecimal.valueOf(10));
 
-        // Initialize HoldingDTO
-        holdingDTO = new HoldingDTO();
-        holdingDTO.setStockId(stockId);
-        holdingDTO.setQuantity(BigDecimal.valueOf(10));
-        holdingDTO.setAverageCostBasis(BigDecimal.valueOf(50));
-        holdingDTO.setCurrentPrice(BigDecimal.valueOf(60));
-        holdingDTO.setRealizedGain(BigDecimal.valueOf(10));
-
         // Initialize Account
         account = new Account();
         account.setAccountId(accountId);
@@ -122,7 +114,8 @@ public class PortfolioPerformanceServiceImplTest {
         when(accountRepository.findByAccountId(accountId)).thenReturn(Optional.of(account));
         when(accountValidationService.validateAccountExistsById(accountId)).thenReturn(account);
         when(holdingRepository.findByAccount_AccountId(accountId)).thenReturn(List.of(holding));
-        when(holdingService.getHoldingsForAccount(accountId)).thenReturn(List.of(holdingDTO));
+        when(portfolioValuationService.getAccountValuation(accountId)).thenReturn(AccountValuation.of(accountId, userId,
+                BigDecimal.valueOf(1000), BigDecimal.valueOf(25), List.of(PositionValuation.from(holding, BigDecimal.valueOf(60)))));
         when(dividendPaymentCalculationService.calculateTotalDividends(accountId)).thenReturn(BigDecimal.valueOf(25));
         when(dividendPaymentService.getDividendPaymentsForAccount(accountId)).thenReturn(List.of(
                 new DividendPaymentDTO(accountId, BigDecimal.valueOf(25))
@@ -157,7 +150,8 @@ public class PortfolioPerformanceServiceImplTest {
 
     @Test
     void testGetPerformanceForAccount_EmptyHoldings() {
-        when(holdingService.getHoldingsForAccount(accountId)).thenReturn(new ArrayList<>());
+        when(portfolioValuationService.getAccountValuation(accountId)).thenReturn(
+                AccountValuation.of(accountId, userId, BigDecimal.valueOf(1000), BigDecimal.ZERO, new ArrayList<>()));
 
         PortfolioPerformanceDTO perf = portfolioPerformanceService.getPerformanceForAccount(accountId);
 
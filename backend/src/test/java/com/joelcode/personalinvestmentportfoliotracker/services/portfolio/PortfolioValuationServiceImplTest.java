@@ -0,0 +1,182 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.portfolio;
+
+import com.joelcode.personalinvestmentportfoliotracker.dto.dividendpayment.DividendPaymentDTO;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Holding;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Stock;
+import com.joelcode.personalinvestmentportfoliotracker.entities.User;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.HoldingRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.account.AccountValidationService;
+import com.joelcode.personalinvestmentportfoliotracker.services.dividendpayment.DividendPaymentService;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.*;
+import com.joelcode.personalinvestmentportfoliotracker.services.pricehistory.PriceHistoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+// Testing the incremental valuation engine against its database rebuild
+public class PortfolioValuationServiceImplTest {
+
+    @Mock
+    private AccountValidationService accountValidationService;
+    @Mock
+    private HoldingRepository holdingRepository;
+    @Mock
+    private PriceHistoryService priceHistoryService;
+    @Mock
+    private DividendPaymentService dividendPaymentService;
+
+    private PortfolioValuationServiceImpl valuationService;
+
+    private UUID accountId;
+    private UUID userId;
+    private UUID stockId;
+    private Account account;
+    private Stock stock;
+    private Holding holding;
+
+    // Set up one account holding 10 shares bought at 50, priced at 60, with 1000 cash and 25 in dividends
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        accountId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+        stockId = UUID.randomUUID();
+
+        User user = new User();
+        user.setUserId(userId);
+
+        account = new Account();
+        account.setAccountId(accountId);
+        account.setUser(user);
+        account.setAccountBalance(BigDecimal.valueOf(1000));
+
+        stock = new Stock();
+        stock.setStockId(stockId);
+        stock.setStockCode("TEST");
+        stock.setIndustry("Technology");
+        stock.setStockValue(BigDecimal.valueOf(55));
+
+        holding = new Holding();
+        holding.setHoldingId(UUID.randomUUID());
+        holding.setAccount(account);
+        holding.setStock(stock);
+        holding.setQuantity(BigDecimal.valueOf(10));
+        holding.setAverageCostBasis(BigDecimal.valueOf(50));
+        holding.setTotalCostBasis(BigDecimal.valueOf(500));
+        holding.setRealizedGain(BigDecimal.ZERO);
+
+        when(accountValidationService.validateAccountExistsById(accountId)).thenReturn(account);
+        when(holdingRepository.findByAccount_AccountId(accountId)).thenReturn(List.of(holding));
+        when(priceHistoryService.getCurrentPrices(anyCollection())).thenReturn(Map.of(stockId, BigDecimal.valueOf(60)));
+        when(dividendPaymentService.getDividendPaymentsForAccount(accountId)).thenReturn(List.of(
+                new DividendPaymentDTO(accountId, BigDecimal.valueOf(25))
+        ));
+
+        valuationService = new PortfolioValuationServiceImpl(accountValidationService, holdingRepository,
+                priceHistoryService, dividendPaymentService, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testGetAccountValuation_LoadsOnceThenServesFromMemory() {
+        AccountValuation first = valuationService.getAccountValuation(accountId);
+        AccountValuation second = valuationService.getAccountValuation(accountId);
+
+        assertEquals(userId, first.getUserId());
+        assertEquals(BigDecimal.valueOf(600), first.getHoldingsValue());
+        assertEquals(BigDecimal.valueOf(500), first.getTotalCostBasis());
+        assertEquals(BigDecimal.valueOf(100), first.getTotalUnrealizedGain());
+        assertEquals(BigDecimal.valueOf(1600), first.getTotalPortfolioValue());
+        assertEquals(BigDecimal.valueOf(25), first.getTotalDividends());
+        assertSame(first, second);
+        verify(holdingRepository, times(1)).findByAccount_AccountId(accountId);
+    }
+
+    @Test
+    void testOnPositionChanged_UpdatesTotalsWithoutReload() {
+        valuationService.getAccountValuation(accountId);
+
+        holding.setQuantity(BigDecimal.valueOf(15));
+        valuationService.onPositionChanged(PositionChangedEvent.of(holding));
+
+        AccountValuation valuation = valuationService.getAccountValuation(accountId);
+        // Price already held by the engine (60) wins over the stock entity's value (55)
+        assertEquals(BigDecimal.valueOf(900), valuation.getHoldingsValue());
+        assertEquals(BigDecimal.valueOf(750), valuation.getTotalCostBasis());
+        verify(holdingRepository, times(1)).findByAccount_AccountId(accountId);
+    }
+
+    @Test
+    void testOnPositionChanged_ClosedPositionIsRemoved() {
+        valuationService.getAccountValuation(accountId);
+
+        valuationService.onPositionChanged(PositionChangedEvent.closed(holding));
+
+        AccountValuation valuation = valuationService.getAccountValuation(accountId);
+        assertEquals(0, valuation.getNumberOfHoldings());
+        assertEquals(0, valuation.getHoldingsValue().compareTo(BigDecimal.ZERO));
+        assertEquals(BigDecimal.valueOf(1000), valuation.getTotalPortfolioValue());
+    }
+
+    @Test
+    void testOnPriceTick_RepricesHeldStock() {
+        valuationService.getAccountValuation(accountId);
+
+        valuationService.onPriceTick(new PriceTickEvent(stockId, BigDecimal.valueOf(70)));
+        valuationService.onPriceTick(new PriceTickEvent(UUID.randomUUID(), BigDecimal.valueOf(999)));
+
+        AccountValuation valuation = valuationService.getAccountValuation(accountId);
+        assertEquals(BigDecimal.valueOf(700), valuation.getHoldingsValue());
+        assertEquals(BigDecimal.valueOf(200), valuation.getTotalUnrealizedGain());
+    }
+
+    @Test
+    void testOnCashAndDividendEvents_UpdateTotals() {
+        valuationService.getAccountValuation(accountId);
+
+        valuationService.onCashBalanceChanged(new CashBalanceChangedEvent(accountId, BigDecimal.valueOf(1200)));
+        valuationService.onDividendRecorded(new DividendRecordedEvent(accountId, BigDecimal.valueOf(15)));
+
+        AccountValuation valuation = valuationService.getAccountValuation(accountId);
+        assertEquals(BigDecimal.valueOf(1200), valuation.getCashBalance());
+        assertEquals(BigDecimal.valueOf(40), valuation.getTotalDividends());
+        assertEquals(BigDecimal.valueOf(1800), valuation.getTotalPortfolioValue());
+    }
+
+    @Test
+    void testReconcileAll_ReplacesDriftedAccount() {
+        valuationService.getAccountValuation(accountId);
+        assertEquals(0, valuationService.reconcileAll());
+
+        // Database changed without an event reaching the engine
+        holding.setQuantity(BigDecimal.valueOf(20));
+        account.setAccountBalance(BigDecimal.valueOf(500));
+
+        assertEquals(1, valuationService.reconcileAll());
+
+        AccountValuation valuation = valuationService.getAccountValuation(accountId);
+        assertEquals(BigDecimal.valueOf(1200), valuation.getHoldingsValue());
+        assertEquals(BigDecimal.valueOf(500), valuation.getCashBalance());
+    }
+
+    @Test
+    void testOnAccountClosed_EvictsAccount() {
+        valuationService.getAccountValuation(accountId);
+
+        valuationService.onAccountClosed(new AccountClosedEvent(accountId));
+        valuationService.getAccountValuation(accountId);
+
+        verify(holdingRepository, times(2)).findByAccount_AccountId(accountId);
+    }
+}
@@ -0,0 +1,152 @@
+package com.joelcode.personalinvestmentportfoliotracker.services.utility;
+
+import com.joelcode.personalinvestmentportfoliotracker.dto.utility.DashboardDTO;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Account;
+import com.joelcode.personalinvestmentportfoliotracker.entities.Transaction;
+import com.joelcode.personalinvestmentportfoliotracker.entities.User;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.AccountRepository;
+import com.joelcode.personalinvestmentportfoliotracker.repositories.TransactionRepository;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.AccountValuation;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PortfolioValuationService;
+import com.joelcode.personalinvestmentportfoliotracker.services.portfolio.valuation.PositionValuation;
+import com.joelcode.personalinvestmentportfoliotracker.services.user.UserValidationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Testing dashboard assembly from one snapshot per account
+public class DashboardServiceImplTest {
+
+    @Mock
+    private PortfolioValuationService portfolioValuationService;
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private UserValidationService userValidationService;
+
+    private ExecutorService executor;
+    private DashboardServiceImpl dashboardService;
+
+    private UUID userId;
+    private UUID account1Id;
+    private UUID account2Id;
+
+    // Two accounts: one with 10 shares at 50 priced 60 and 1000 cash, one with cash only
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        executor = Executors.newFixedThreadPool(2);
+        dashboardService = new DashboardServiceImpl(portfolioValuationService, transactionRepository,
+                accountRepository, userValidationService, executor);
+
+        userId = UUID.randomUUID();
+        account1Id = UUID.randomUUID();
+        account2Id = UUID.randomUUID();
+
+        PositionValuation position = new PositionValuation(UUID.randomUUID(), UUID.randomUUID(), "TEST", "Test Corp",
+                "Technology", BigDecimal.valueOf(10), BigDecimal.valueOf(50), BigDecimal.valueOf(500), BigDecimal.ZERO,
+                null, BigDecimal.valueOf(60));
+
+        when(portfolioValuationService.getAccountValuation(account1Id)).thenReturn(AccountValuation.of(
+                account1Id, userId, BigDecimal.valueOf(1000), BigDecimal.valueOf(25), List.of(position)));
+        when(portfolioValuationService.getAccountValuation(account2Id)).thenReturn(AccountValuation.of(
+                account2Id, userId, BigDecimal.valueOf(400), BigDecimal.ZERO, new ArrayList<>()));
+
+        when(transactionRepository.findTop10ByAccount_AccountIdOrderByCreatedAtDesc(account1Id))
+                .thenReturn(transactions(account1Id, 8, 0));
+        when(transactionRepository.findTop10ByAccount_AccountIdOrderByCreatedAtDesc(account2Id))
+                .thenReturn(transactions(account2Id, 6, 30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testGetDashboardForAccount_ReadsAccountOnce() {
+        DashboardDTO dashboard = dashboardService.getDashboardForAccount(account1Id);
+
+        assertEquals(BigDecimal.valueOf(1600), dashboard.getPortfolioOverview().getTotalPortfolioValue());
+        assertEquals(BigDecimal.valueOf(1600), dashboard.getPortfolioPerformance().getTotalPortfolioValue());
+        // ROI: (100 unrealized + 25 dividends) / 500 cost basis
+        assertEquals(new BigDecimal("25.00"), dashboard.getPortfolioPerformance().getRoiPercentage());
+        assertEquals(1, dashboard.getAllocations().size());
+        assertEquals(new BigDecimal("100.00"), dashboard.getAllocations().get(0).getPercentage());
+        assertEquals(8, dashboard.getRecentTransactions().size());
+
+        verify(portfolioValuationService, times(1)).getAccountValuation(account1Id);
+        verify(transactionRepository, times(1)).findTop10ByAccount_AccountIdOrderByCreatedAtDesc(account1Id);
+    }
+
+    @Test
+    void testGetDashboardForUser_MergesAccounts() {
+        Account account1 = new Account();
+        account1.setAccountId(account1Id);
+        Account account2 = new Account();
+        account2.setAccountId(account2Id);
+
+        when(userValidationService.validateUserExists(userId)).thenReturn(new User());
+        when(accountRepository.findByUser_UserId(userId, Pageable.unpaged())).thenReturn(List.of(account1, account2));
+
+        DashboardDTO dashboard = dashboardService.getDashboardForUser(userId);
+
+        assertNull(dashboard.getPortfolioOverview().getAccountId());
+        assertEquals(BigDecimal.valueOf(2000), dashboard.getPortfolioOverview().getTotalPortfolioValue());
+        assertEquals(BigDecimal.valueOf(1400), dashboard.getPortfolioPerformance().getCashBalance());
+        assertEquals(1, dashboard.getPortfolioOverview().getHoldings().size());
+        assertEquals(1, dashboard.getAllocations().size());
+
+        // Latest 10 across both accounts: all 8 from account 1 (newest) and the 2 newest from account 2
+        assertEquals(10, dashboard.getRecentTransactions().size());
+        assertEquals(8, dashboard.getRecentTransactions().stream()
+                .filter(t -> account1Id.equals(t.getAccountId())).count());
+
+        verify(portfolioValuationService, times(1)).getAccountValuation(account1Id);
+        verify(portfolioValuationService, times(1)).getAccountValuation(account2Id);
+    }
+
+    @Test
+    void testGetDashboardForUser_PropagatesAccountFailure() {
+        Account account1 = new Account();
+        account1.setAccountId(account1Id);
+
+        when(userValidationService.validateUserExists(userId)).thenReturn(new User());
+        when(accountRepository.findByUser_UserId(userId, Pageable.unpaged())).thenReturn(List.of(account1));
+        when(portfolioValuationService.getAccountValuation(account1Id))
+                .thenThrow(new IllegalArgumentException("Account not found"));
+
+        assertThrows(IllegalArgumentException.class, () -> dashboardService.getDashboardForUser(userId));
+    }
+
+    // Newest first, starting offsetMinutes ago
+    private List<Transaction> transactions(UUID accountId, int count, int offsetMinutes) {
+        Account account = new Account();
+        account.setAccountId(accountId);
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setTransactionId(UUID.randomUUID());
+            transaction.setAccount(account);
+            transaction.setCreatedAt(LocalDateTime.now().minusMinutes(offsetMinutes + i));
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+}
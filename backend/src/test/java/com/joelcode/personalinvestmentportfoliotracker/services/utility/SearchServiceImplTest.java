@@ -19,6 +19,8 @@ import org.mockito.*;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -83,8 +85,8 @@ public class SearchServiceImplTest {
                 .thenReturn(List.of(holding));
 
         // Mock price
-        when(priceHistoryService.getCurrentPrice(stock.getStockId()))
-                .thenReturn(BigDecimal.TEN);
+        when(priceHistoryService.getCurrentPrices(Set.of(stock.getStockId())))
+                .thenReturn(Map.of(stock.getStockId(), BigDecimal.TEN));
 
         // Mock static mappers
         StockDTO stockDTO = new StockDTO();
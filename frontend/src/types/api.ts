@@ -385,7 +385,7 @@ export interface EarningsDTO {
 // ============================================================================
 
 export interface PriceHistoryDTO {
-  priceHistoryId: string;    // UUID
+  priceHistoryId: string | null; // UUID, null only for rolled-up points whose raw row is past retention
   closeDate: string;         // ISO 8601 timestamp
   closePrice: number;        // BigDecimal
   stockId: string;           // UUID